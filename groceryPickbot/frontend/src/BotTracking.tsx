@@ -1,14 +1,14 @@
 import React, {JSX} from "react";
 import {OrderSuccessResponse} from "./types";
 import ReactButton from "./Button";
-import {useRouteFetch} from "./hooks/useRouteFetch";
+import {useRouteStream} from "./hooks/useRouteStream";
 import "./style.css";
 
 export default function BotTracking({result}: { result: OrderSuccessResponse }): JSX.Element {
-    const {fetchRoutes, isLoading, routes, error} = useRouteFetch();
+    const {streamRoutes, isLoading, assignments, routes, error} = useRouteStream();
 
     const handleCollectOrder = (isParallel: boolean) => {
-        fetchRoutes(result.orderId, isParallel);
+        streamRoutes(result.orderId, isParallel);
     };
     return (
         <div id="track-section">
@@ -22,6 +22,9 @@ export default function BotTracking({result}: { result: OrderSuccessResponse }):
 
             <div id="bot-path">
                 {isLoading && <p>Loading routes...</p>}
+                {isLoading && assignments.map((assignment, idx) => (
+                    <p key={idx}>🤖 Bot {assignment.botId} is collecting {assignment.routeName}</p>
+                ))}
                 {error && <p className="error-message">{error}</p>}
 
                 {routes && (
@@ -0,0 +1,61 @@
+import {useEffect, useRef, useState} from "react";
+import {BotAssignment, BotRoute} from "../types";
+
+export function useRouteStream() {
+    const [isLoading, setIsLoading] = useState(false);
+    const [assignments, setAssignments] = useState<BotAssignment[]>([]);
+    const [routes, setRoutes] = useState<BotRoute[] | null>(null);
+    const [error, setError] = useState<string | null>(null);
+    const sourceRef = useRef<EventSource | null>(null);
+
+    const close = () => {
+        sourceRef.current?.close();
+        sourceRef.current = null;
+    };
+
+    useEffect(() => close, []);
+
+    const streamRoutes = (orderId: number, collectInParallel: boolean) => {
+        close();
+        setIsLoading(true);
+        setError(null);
+        setAssignments([]);
+        setRoutes(null);
+
+        const source = new EventSource(`/routes/stream?orderId=${orderId}&collectInParallel=${collectInParallel}`);
+        sourceRef.current = source;
+
+        source.addEventListener("assignment", (event) => {
+            const assignment: BotAssignment = JSON.parse((event as MessageEvent).data);
+            setAssignments(current => [...current, assignment]);
+        });
+        source.addEventListener("route", (event) => {
+            const route: BotRoute = JSON.parse((event as MessageEvent).data);
+            setRoutes(current => [...(current ?? []), route]);
+        });
+        source.addEventListener("completed", (event) => {
+            const data: BotRoute[] = JSON.parse((event as MessageEvent).data);
+            if (data.length > 0) {
+                setRoutes(data);
+            } else {
+                setError('No routes found for the given order ID.');
+            }
+            setIsLoading(false);
+            close();
+        });
+        source.addEventListener("failed", (event) => {
+            setError((event as MessageEvent).data || 'Failed to fetch routes');
+            setIsLoading(false);
+            close();
+        });
+        source.onerror = () => {
+            if (sourceRef.current === source) {
+                setError('Lost connection while loading the routes.');
+                setIsLoading(false);
+                close();
+            }
+        };
+    };
+
+    return {streamRoutes, isLoading, assignments, routes, error};
+}
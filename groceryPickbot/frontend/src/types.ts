@@ -41,4 +41,10 @@ export type Location = [number, number];
 export interface BotRoute {
     routeName: string;
     visitedLocations: Location[];
-}
\ No newline at end of file
+}
+export interface BotAssignment {
+    orderId: number;
+    botId: string;
+    routeName: string;
+    queueWaitMs: number;
+}
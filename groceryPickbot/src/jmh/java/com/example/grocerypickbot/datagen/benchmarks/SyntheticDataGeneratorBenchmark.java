@@ -0,0 +1,69 @@
+package com.example.grocerypickbot.datagen.benchmarks;
+
+import com.example.grocerypickbot.datagen.configuration.DataGeneratorProperties;
+import com.example.grocerypickbot.datagen.models.GeneratedOrder;
+import com.example.grocerypickbot.datagen.services.SyntheticDataGenerator;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the synthetic data generator without a database.
+ *
+ * <p>Comparing its throughput with a {@code DataGeneratorService} run shows how much of a
+ * load is spent generating rows and how much writing them.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticDataGeneratorBenchmark {
+
+  /**
+   * Number of products orders are drawn from.
+   */
+  @Param({"1000", "100000"})
+  public int catalogSize;
+
+  private SyntheticDataGenerator generator;
+
+  /**
+   * Creates a generator on a 1000x1000 warehouse.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    generator = new SyntheticDataGenerator(new DataGeneratorProperties(),
+        new WarehouseGrid(1000, 1000));
+  }
+
+  /**
+   * One order with its basket.
+   */
+  @Benchmark
+  public GeneratedOrder nextOrder() {
+    return generator.nextOrder(catalogSize);
+  }
+
+  /**
+   * One product on a free cell.
+   */
+  @Benchmark
+  public Product nextProduct() {
+    return generator.nextProduct();
+  }
+}
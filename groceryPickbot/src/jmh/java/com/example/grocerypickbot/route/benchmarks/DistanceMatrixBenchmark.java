@@ -0,0 +1,107 @@
+package com.example.grocerypickbot.route.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.benchmarks.RoutePlanningBenchmark.ProductDistribution;
+import com.example.grocerypickbot.route.solvers.TourInstance;
+import com.example.grocerypickbot.warehouse.configuration.WarehouseProperties;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import com.example.grocerypickbot.warehouse.services.GridPathfinder;
+import com.example.grocerypickbot.warehouse.services.WarehouseDistanceMatrix;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the distance matrix of one tour, the first step of every single-bot
+ * plan.
+ *
+ * <p>The grid has shelf rows, so distances come from grid searches rather than Manhattan
+ * distance. With {@code cacheCells=0} nothing is kept between invocations and every stop
+ * costs a full-grid BFS, the cost a plan pays for stops it has not seen before; otherwise
+ * the rows of the stops stay cached as far as the bound allows and a tour is built from
+ * lookups.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistanceMatrixBenchmark {
+
+  /**
+   * Width and height of the square warehouse grid.
+   */
+  @Param({"10", "100", "1000"})
+  public int gridSize;
+
+  /**
+   * Number of products in the order.
+   */
+  @Param({"1", "10", "50", "500"})
+  public int basketSize;
+
+  /**
+   * How the ordered products are spread over the grid.
+   */
+  @Param({"UNIFORM", "CLUSTERED", "FRONT_LOADED"})
+  public ProductDistribution distribution;
+
+  /**
+   * Bound of the distance cache in cells; {@code 4000000} is the shipped default.
+   */
+  @Param({"0", "4000000"})
+  public long cacheCells;
+
+  private WarehouseDistanceMatrix distanceMatrix;
+  private int[] stopX;
+  private int[] stopY;
+
+  /**
+   * Builds the shelved warehouse, the stops and a distance matrix around them.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    stopX = new int[basketSize];
+    stopY = new int[basketSize];
+    for (int i = 0; i < basketSize; i++) {
+      int[] cell = distribution.place(random, gridSize);
+      stopX[i] = cell[0];
+      stopY[i] = cell[1];
+    }
+
+    WarehouseGrid grid = new WarehouseGrid(gridSize, gridSize);
+    // Shelf rows every third column, with cross aisles along the first and last row.
+    for (int x = 2; x < gridSize; x += 3) {
+      grid.block(x, 1, x, gridSize - 2);
+    }
+    WarehouseProperties properties = new WarehouseProperties();
+    properties.getDistanceCache().setMaxCells(cacheCells);
+    distanceMatrix = new WarehouseDistanceMatrix(new GridPathfinder(grid),
+        mock(ProductRepository.class, withSettings().stubOnly()), properties);
+  }
+
+  /**
+   * The distance matrix of a tour from the origin through every stop and back.
+   */
+  @Benchmark
+  public TourInstance tourInstance() {
+    return distanceMatrix.tourInstance(0, 0, stopX, stopY, 0, 0);
+  }
+}
@@ -0,0 +1,268 @@
+package com.example.grocerypickbot.route.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.Bot;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.bot.services.FleetCapacity;
+import com.example.grocerypickbot.bot.services.FleetStateService;
+import com.example.grocerypickbot.order.models.Order;
+import com.example.grocerypickbot.order.models.OrderItem;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.product.mappers.ProductMapperImpl;
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.ParallelPlanner;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.repositories.RouteRepository;
+import com.example.grocerypickbot.route.services.PathSegmentCache;
+import com.example.grocerypickbot.route.services.RouteServiceImpl;
+import com.example.grocerypickbot.warehouse.configuration.WarehouseProperties;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import com.example.grocerypickbot.warehouse.services.CooperativePathPlanner;
+import com.example.grocerypickbot.warehouse.services.GridPathfinder;
+import com.example.grocerypickbot.warehouse.services.WarehouseDistanceMatrix;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the route planners on generated warehouses and baskets.
+ *
+ * <p>The planners run through the preview methods of {@link RouteServiceImpl}, which take
+ * the same path as collecting an order (tour planning, bot selection, product pairing and
+ * grid paths between the stops) but store nothing, so every invocation does the full work.
+ * Repositories are stub-only mocks that just hand out the generated order. The path segment
+ * cache is off unless {@code cacheSegments=true}, since a warm cache would hide the cost of
+ * the grid searches.
+ * </p>
+ *
+ * <p>Run with the {@code benchmarks} Maven profile; {@code -prof gc} adds the allocation
+ * rate to the throughput and average time reported here.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutePlanningBenchmark {
+
+  private static final long ORDER_ID = 1L;
+  private static final int BOTS = 3;
+
+  /**
+   * Width and height of the square warehouse grid.
+   */
+  @Param({"10", "100", "1000"})
+  public int gridSize;
+
+  /**
+   * Number of products in the order.
+   */
+  @Param({"1", "10", "50", "500"})
+  public int basketSize;
+
+  /**
+   * How the ordered products are spread over the grid.
+   */
+  @Param({"UNIFORM", "CLUSTERED", "FRONT_LOADED"})
+  public ProductDistribution distribution;
+
+  /**
+   * Whether grid paths between stops are cached across invocations.
+   */
+  @Param({"false"})
+  public boolean cacheSegments;
+
+  private RouteServiceImpl routeService;
+  private GridPathfinder pathfinder;
+  private ForkJoinPool solverPool;
+  private int[] stopX;
+  private int[] stopY;
+  private int nextSegment;
+
+  /**
+   * Builds the warehouse, the order and a route service around them.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    List<Product> products = new ArrayList<>(basketSize);
+    stopX = new int[basketSize];
+    stopY = new int[basketSize];
+    for (int i = 0; i < basketSize; i++) {
+      int[] cell = distribution.place(random, gridSize);
+      stopX[i] = cell[0];
+      stopY[i] = cell[1];
+      Product product = new Product();
+      product.setId((long) i + 1);
+      product.setName("Product" + i);
+      product.setLocation(location(cell[0], cell[1]));
+      products.add(product);
+    }
+    Order order = new Order();
+    order.setId(ORDER_ID);
+    List<OrderItem> items = new ArrayList<>(basketSize);
+    for (Product product : products) {
+      OrderItem item = new OrderItem();
+      item.setOrder(order);
+      item.setProduct(product);
+      item.setQuantity(1);
+      items.add(item);
+    }
+    order.setOrderItems(items);
+
+    BotProperties botProperties = new BotProperties();
+    List<BotAvailability> bots = new ArrayList<>(BOTS);
+    for (int i = 0; i < BOTS; i++) {
+      bots.add(new BotAvailability(new Bot("BA-" + i, location(Math.min(i, gridSize - 1), 0)),
+          new AtomicBoolean(true)));
+    }
+    botProperties.setBots(bots);
+    RouteProperties routeProperties = new RouteProperties();
+    if (!cacheSegments) {
+      routeProperties.getSegmentCache().setMaxSteps(0);
+    }
+
+    pathfinder = new GridPathfinder(new WarehouseGrid(gridSize, gridSize));
+    WarehouseDistanceMatrix distanceMatrix = new WarehouseDistanceMatrix(pathfinder,
+        stub(ProductRepository.class), new WarehouseProperties());
+    OrderRepository orderRepository = stub(OrderRepository.class);
+    when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+    solverPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    routeService = new RouteServiceImpl(stub(RouteRepository.class), botProperties,
+        orderRepository, new ObjectMapper(), Runnable::run, new ProductMapperImpl(),
+        routeProperties, distanceMatrix, pathfinder,
+        new CooperativePathPlanner(pathfinder.getGrid()), new PathSegmentCache(routeProperties),
+        new FleetCapacity(botProperties), new FleetStateService(botProperties), solverPool);
+  }
+
+  /**
+   * Stops the solver pool.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    solverPool.shutdown();
+  }
+
+  /**
+   * One bot visits every stop: tour planning plus the grid path of the whole tour.
+   */
+  @Benchmark
+  public List<RouteResponse> singleBot() {
+    return routeService.previewPath(ORDER_ID);
+  }
+
+  /**
+   * Product pairing and nearest-bot selection with a grid path per pair.
+   */
+  @Benchmark
+  public List<RouteResponse> pairs() {
+    return routeService.previewItemsParallel(ORDER_ID, ParallelPlanner.PAIRS);
+  }
+
+  /**
+   * Clustering into bot tours, tour scheduling and a grid path per tour.
+   */
+  @Benchmark
+  public List<RouteResponse> partitioned() {
+    return routeService.previewItemsParallel(ORDER_ID, ParallelPlanner.PARTITIONED);
+  }
+
+  /**
+   * A single uncached grid search between two consecutive stops.
+   */
+  @Benchmark
+  public int[] gridPath() {
+    int from = nextSegment;
+    int to = (from + 1) % basketSize;
+    nextSegment = to;
+    return pathfinder.findPath(stopX[from], stopY[from], stopX[to], stopY[to]);
+  }
+
+  private static Location location(int x, int y) {
+    Location location = new Location();
+    location.setX(x);
+    location.setY(y);
+    return location;
+  }
+
+  private static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  /**
+   * Where the products of an order lie in the warehouse.
+   */
+  public enum ProductDistribution {
+    /**
+     * Every cell is equally likely.
+     */
+    UNIFORM {
+      @Override
+      int[] place(Random random, int size) {
+        return new int[]{random.nextInt(size), random.nextInt(size)};
+      }
+    },
+
+    /**
+     * Products gather around four hot spots, as in zones of related goods.
+     */
+    CLUSTERED {
+      @Override
+      int[] place(Random random, int size) {
+        int spot = random.nextInt(4);
+        double centreX = size * (spot % 2 == 0 ? 0.25 : 0.75);
+        double centreY = size * (spot < 2 ? 0.25 : 0.75);
+        double spread = Math.max(1, size / 20.0);
+        return new int[]{clamp(centreX + random.nextGaussian() * spread, size),
+            clamp(centreY + random.nextGaussian() * spread, size)};
+      }
+    },
+
+    /**
+     * Most products lie close to the drop-off at the origin, as with fast movers slotted
+     * near dispatch.
+     */
+    FRONT_LOADED {
+      @Override
+      int[] place(Random random, int size) {
+        double u = random.nextDouble();
+        double v = random.nextDouble();
+        return new int[]{clamp(size * u * u * u, size), clamp(size * v * v * v, size)};
+      }
+    };
+
+    abstract int[] place(Random random, int size);
+
+    private static int clamp(double value, int size) {
+      return (int) Math.max(0, Math.min(size - 1, Math.round(value)));
+    }
+  }
+}
@@ -15,5 +15,17 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @ConfigurationProperties(prefix = "bot")
 public class BotProperties {
+  /**
+   * Default time a bot needs to move one grid cell, in milliseconds.
+   */
+  public static final long DEFAULT_STEP_DURATION_MS = 250;
+
   private List<BotAvailability> bots;
+
+  /**
+   * Time a bot needs to move one grid cell, used to estimate when a route ends. The
+   * simulation moves its bots at the same speed unless {@code simulation.step-duration-ms}
+   * is set.
+   */
+  private long stepDurationMs = DEFAULT_STEP_DURATION_MS;
 }
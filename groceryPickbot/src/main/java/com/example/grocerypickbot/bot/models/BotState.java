@@ -0,0 +1,27 @@
+package com.example.grocerypickbot.bot.models;
+
+/**
+ * Snapshot of where a bot is and what it is doing.
+ *
+ * @param x            the x coordinate of the bot's current cell
+ * @param y            the y coordinate of the bot's current cell
+ * @param busyUntil    the epoch millisecond at which the bot is expected to finish its
+ *                     current route, or the time it became idle
+ * @param currentRoute the name of the route being collected, or {@code null} when idle
+ */
+public record BotState(
+    int x,
+    int y,
+    long busyUntil,
+    String currentRoute
+) {
+
+  /**
+   * Returns whether the bot is collecting a route.
+   *
+   * @return {@code true} while a route is assigned
+   */
+  public boolean isBusy() {
+    return currentRoute != null;
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.grocerypickbot.bot.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import java.util.concurrent.Semaphore;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds how many bot tasks run at once across all orders.
+ *
+ * <p>One permit exists per configured bot, so the number of collections in progress is
+ * limited by the size of the fleet rather than by the size of the bot executor. This keeps
+ * the limit meaningful when bot tasks run on virtual threads.
+ * </p>
+ */
+@Component
+public class FleetCapacity {
+  private final Semaphore permits;
+
+  /**
+   * Constructs a FleetCapacity with one permit per configured bot.
+   *
+   * @param botProperties the configured fleet
+   */
+  public FleetCapacity(BotProperties botProperties) {
+    int fleetSize = botProperties.getBots() == null ? 0 : botProperties.getBots().size();
+    this.permits = new Semaphore(Math.max(1, fleetSize), true);
+  }
+
+  /**
+   * Waits until a bot is free to start a task.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void acquire() throws InterruptedException {
+    permits.acquire();
+  }
+
+  /**
+   * Returns the permit taken by {@link #acquire()}.
+   */
+  public void release() {
+    permits.release();
+  }
+
+  /**
+   * Returns the number of bot tasks that could start right now.
+   *
+   * @return the number of free permits
+   */
+  public int available() {
+    return permits.availablePermits();
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.grocerypickbot.bot.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.bot.models.BotState;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the live position and workload of every bot in memory.
+ *
+ * <p>A bot that has never been assigned stands at its default location. Planners read the
+ * state to start routes where the bots really are, and update it when a route is assigned
+ * and when it is completed, so consecutive orders chain from the end of the previous route.
+ * </p>
+ */
+@Service
+public class FleetStateService {
+  private final Map<BotAvailability, BotState> states = new ConcurrentHashMap<>();
+  private final BotProperties botProperties;
+
+  /**
+   * Constructs a FleetStateService.
+   *
+   * @param botProperties the bot configuration
+   */
+  public FleetStateService(BotProperties botProperties) {
+    this.botProperties = botProperties;
+  }
+
+  /**
+   * Returns the current state of a bot.
+   *
+   * @param bot the bot
+   * @return its state, at its default location and idle if it has not moved yet
+   */
+  public BotState stateOf(BotAvailability bot) {
+    return states.computeIfAbsent(bot, this::initialState);
+  }
+
+  /**
+   * Records that a bot starts collecting a route.
+   *
+   * @param bot       the bot
+   * @param routeName the name of the route
+   * @param steps     the number of steps of the route, used to estimate when it ends
+   * @return the new state of the bot
+   */
+  public BotState startRoute(BotAvailability bot, String routeName, int steps) {
+    long busyUntil = System.currentTimeMillis() + steps * botProperties.getStepDurationMs();
+    return states.compute(bot, (key, state) -> {
+      BotState current = state == null ? initialState(key) : state;
+      return new BotState(current.x(), current.y(), busyUntil, routeName);
+    });
+  }
+
+  /**
+   * Records that a bot finished its route and now stands at the given cell.
+   *
+   * @param bot the bot
+   * @param x   the x coordinate where the route ended
+   * @param y   the y coordinate where the route ended
+   * @return the new state of the bot
+   */
+  public BotState finishRoute(BotAvailability bot, int x, int y) {
+    BotState idle = new BotState(x, y, System.currentTimeMillis(), null);
+    states.put(bot, idle);
+    return idle;
+  }
+
+  private BotState initialState(BotAvailability bot) {
+    return new BotState(bot.getBot().defaultLocation().getX(),
+        bot.getBot().defaultLocation().getY(), System.currentTimeMillis(), null);
+  }
+}
@@ -1,11 +1,24 @@
 package com.example.grocerypickbot.configuration;
 
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
  * Configuration class for setting up thread pool executors.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} on Java 21 or newer (build with the
+ * {@code java21} Maven profile) the executors start a virtual thread per task, the same
+ * switch that moves Tomcat request handling to virtual threads. Bot concurrency is then
+ * bounded by {@link com.example.grocerypickbot.bot.services.FleetCapacity} instead of by
+ * the pool size. Otherwise the platform thread pools below are used.
+ * </p>
  */
 @Configuration
 public class ThreadPoolConfiguration {
@@ -17,6 +30,7 @@ public class ThreadPoolConfiguration {
    * @return the configured ThreadPoolTaskExecutor
    */
   @Bean("botTaskExecutor")
+  @ConditionalOnThreading(Threading.PLATFORM)
   public ThreadPoolTaskExecutor threadPoolTaskExecutor() {
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
     executor.setCorePoolSize(3);
@@ -25,4 +39,115 @@ public class ThreadPoolConfiguration {
     executor.initialize();
     return executor;
   }
+
+  /**
+   * Defines the "botTaskExecutor" bean as a virtual thread per task.
+   *
+   * @return the configured SimpleAsyncTaskExecutor
+   */
+  @Bean("botTaskExecutor")
+  @ConditionalOnThreading(Threading.VIRTUAL)
+  public SimpleAsyncTaskExecutor virtualThreadTaskExecutor() {
+    return virtualThreadExecutor("BotThread-");
+  }
+
+  /**
+   * Defines the executor that runs asynchronous route planning jobs.
+   *
+   * <p>Jobs wait for the bots they dispatch, so they run apart from the "botTaskExecutor"
+   * pool; sharing it would let waiting jobs occupy every bot thread.
+   * </p>
+   *
+   * @param routeProperties the route planning configuration
+   * @return the configured ThreadPoolTaskExecutor
+   */
+  @Bean("routePlanningExecutor")
+  @ConditionalOnThreading(Threading.PLATFORM)
+  public ThreadPoolTaskExecutor routePlanningExecutor(RouteProperties routeProperties) {
+    RouteProperties.Jobs jobs = routeProperties.getJobs();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(jobs.getPlanningThreads());
+    executor.setMaxPoolSize(jobs.getPlanningThreads());
+    executor.setQueueCapacity(jobs.getQueueCapacity());
+    executor.setThreadNamePrefix("RoutePlanner-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Defines the "routePlanningExecutor" bean as a virtual thread per job.
+   *
+   * <p>Waiting jobs only park their virtual thread, so the job count is not limited here.
+   * </p>
+   *
+   * @return the configured SimpleAsyncTaskExecutor
+   */
+  @Bean("routePlanningExecutor")
+  @ConditionalOnThreading(Threading.VIRTUAL)
+  public SimpleAsyncTaskExecutor virtualThreadRoutePlanningExecutor() {
+    return virtualThreadExecutor("RoutePlanner-");
+  }
+
+  /**
+   * Defines the scheduler that closes order waves when their window has passed.
+   *
+   * <p>It only hands closed waves to the "routePlanningExecutor", so a single thread is
+   * enough.
+   * </p>
+   *
+   * @return the configured ThreadPoolTaskScheduler
+   */
+  @Bean("waveScheduler")
+  public ThreadPoolTaskScheduler waveScheduler() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("WaveScheduler-");
+    scheduler.initialize();
+    return scheduler;
+  }
+
+  /**
+   * Defines the executor that plans sampled requests with the shadow strategy.
+   *
+   * <p>A single thread with a short queue in both threading modes. Samples that do not fit
+   * are rejected and skipped, so shadow planning only uses spare capacity and never holds up
+   * a request.
+   * </p>
+   *
+   * @param routeProperties the route planning configuration
+   * @return the configured ThreadPoolTaskExecutor
+   */
+  @Bean("shadowExecutor")
+  public ThreadPoolTaskExecutor shadowExecutor(RouteProperties routeProperties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(routeProperties.getShadow().getQueueCapacity());
+    executor.setThreadNamePrefix("ShadowPlanner-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Defines the pool the route solver portfolio runs on.
+   *
+   * <p>The solvers are CPU bound, so the pool has one thread per processor unless
+   * {@code route.portfolio.parallelism} says otherwise, in both threading modes.
+   * </p>
+   *
+   * @param routeProperties the route planning configuration
+   * @return the configured ForkJoinPool
+   */
+  @Bean(name = "routeSolverPool", destroyMethod = "shutdown")
+  public ForkJoinPool routeSolverPool(RouteProperties routeProperties) {
+    int parallelism = routeProperties.getPortfolio().getParallelism();
+    return new ForkJoinPool(
+        parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+    executor.setVirtualThreads(true);
+    return executor;
+  }
 }
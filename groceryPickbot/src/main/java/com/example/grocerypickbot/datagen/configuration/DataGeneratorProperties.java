@@ -0,0 +1,81 @@
+package com.example.grocerypickbot.datagen.configuration;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the synthetic product and order generator.
+ *
+ * <p>Products are placed on the free cells of the warehouse grid, so its size is set with
+ * {@code warehouse.width} and {@code warehouse.height}.
+ * </p>
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "datagen")
+public class DataGeneratorProperties {
+  /**
+   * Whether to generate {@link #products} and {@link #orders} once the application starts.
+   */
+  private boolean runOnStartup = false;
+
+  /**
+   * Number of products generated on startup.
+   */
+  private int products = 1_000;
+
+  /**
+   * Number of orders generated on startup.
+   */
+  private int orders = 10_000;
+
+  /**
+   * Seed of the generator, so a data set can be reproduced.
+   */
+  private long seed = 42;
+
+  /**
+   * Zipf exponent of product popularity; {@code 0} makes every product equally likely,
+   * around {@code 1} a few best sellers appear in most baskets.
+   */
+  private double popularitySkew = 1.0;
+
+  /**
+   * Median number of distinct products per order; basket sizes are log-normal around it.
+   */
+  private int basketMedian = 8;
+
+  /**
+   * Spread of the log-normal basket size distribution.
+   */
+  private double basketSigma = 0.7;
+
+  /**
+   * Largest number of distinct products in one order.
+   */
+  private int maxBasketSize = 60;
+
+  /**
+   * Largest stock quantity a generated product starts with.
+   */
+  private int maxStock = 1_000;
+
+  /**
+   * Orders are dated evenly over this many days before {@link #referenceTime}.
+   */
+  private int historyDays = 90;
+
+  /**
+   * End of the order history; fixed so that the same seed also repeats the order dates.
+   */
+  private LocalDateTime referenceTime = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+  /**
+   * Number of rows written per JDBC batch and transaction.
+   */
+  private int batchSize = 5_000;
+}
@@ -0,0 +1,17 @@
+package com.example.grocerypickbot.datagen.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * A synthetic order before it is stored.
+ *
+ * @param createdAt       when the order was placed
+ * @param productIndices  positions of the ordered products in the catalog, all distinct
+ * @param quantities      the quantity ordered of each product, in the same order
+ */
+public record GeneratedOrder(
+    LocalDateTime createdAt,
+    int[] productIndices,
+    int[] quantities
+) {
+}
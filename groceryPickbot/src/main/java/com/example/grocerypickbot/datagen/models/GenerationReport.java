@@ -0,0 +1,17 @@
+package com.example.grocerypickbot.datagen.models;
+
+/**
+ * What one generator run wrote.
+ *
+ * @param products   the number of products inserted
+ * @param orders     the number of orders inserted
+ * @param orderItems the number of order items inserted
+ * @param elapsedMs  the duration of the run in milliseconds
+ */
+public record GenerationReport(
+    int products,
+    int orders,
+    long orderItems,
+    long elapsedMs
+) {
+}
@@ -0,0 +1,40 @@
+package com.example.grocerypickbot.datagen.services;
+
+import com.example.grocerypickbot.datagen.configuration.DataGeneratorProperties;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with synthetic data at startup when {@code datagen.run-on-startup} is
+ * set.
+ *
+ * <p>This is the command-line entry point, e.g.
+ * {@code java -jar groceryPickbot.jar --datagen.run-on-startup=true --datagen.products=100000
+ * --datagen.orders=1000000 --warehouse.width=1000 --warehouse.height=1000}.
+ * </p>
+ */
+@Component
+public class DataGeneratorRunner implements ApplicationRunner {
+  private final DataGeneratorService dataGeneratorService;
+  private final DataGeneratorProperties settings;
+
+  /**
+   * Constructs a DataGeneratorRunner.
+   *
+   * @param dataGeneratorService the service that writes the data
+   * @param settings             the generator configuration
+   */
+  public DataGeneratorRunner(DataGeneratorService dataGeneratorService,
+                             DataGeneratorProperties settings) {
+    this.dataGeneratorService = dataGeneratorService;
+    this.settings = settings;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (settings.isRunOnStartup()) {
+      dataGeneratorService.generate(settings.getProducts(), settings.getOrders());
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.example.grocerypickbot.datagen.services;
+
+import com.example.grocerypickbot.datagen.configuration.DataGeneratorProperties;
+import com.example.grocerypickbot.datagen.models.GeneratedOrder;
+import com.example.grocerypickbot.datagen.models.GenerationReport;
+import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stores synthetic products and orders from a {@link SyntheticDataGenerator}.
+ *
+ * <p>Rows go into the tables of the product and order entities as JDBC batches of
+ * {@code datagen.batch-size}, one transaction per batch. The entities use identity
+ * columns, for which Hibernate inserts row by row, so the repositories would take hours
+ * for a million orders. Instead, the service reserves a range of IDs per table by moving
+ * its identity past the range, and writes every row with a known ID, so order items link
+ * to their order and product without reading generated keys back. The generator expects
+ * no other writers to these tables while it runs.
+ * </p>
+ */
+@Service
+public class DataGeneratorService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataGeneratorService.class);
+  private static final String PRODUCTS = "products";
+  private static final String ORDERS = "orders";
+  private static final String ORDER_ITEMS = "order_item";
+  private static final String INSERT_PRODUCT = "INSERT INTO " + PRODUCTS
+      + " (id, name, price, quantity, loc_x, loc_y) VALUES (?, ?, ?, ?, ?, ?)";
+  private static final String INSERT_ORDER =
+      "INSERT INTO " + ORDERS + " (id, status, created_at) VALUES (?, ?, ?)";
+  private static final String INSERT_ORDER_ITEM = "INSERT INTO " + ORDER_ITEMS
+      + " (id, order_id, product_id, quantity) VALUES (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final WarehouseGrid grid;
+  private final DataGeneratorProperties settings;
+  private volatile String databaseProduct;
+
+  /**
+   * Constructs a DataGeneratorService.
+   *
+   * @param jdbcTemplate        the template the batches are written with
+   * @param transactionTemplate the template wrapping each batch in a transaction
+   * @param grid                the warehouse grid products are placed on
+   * @param settings            the generator configuration
+   */
+  public DataGeneratorService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              WarehouseGrid grid, DataGeneratorProperties settings) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.grid = grid;
+    this.settings = settings;
+  }
+
+  /**
+   * Generates and stores products and orders.
+   *
+   * <p>The orders are placed on the products generated in this run, or on the stored
+   * catalog if no products are generated.
+   * </p>
+   *
+   * @param productCount the number of products to generate
+   * @param orderCount   the number of orders to generate
+   * @return the number of rows written and how long it took
+   * @throws IllegalArgumentException if a count is negative, or orders are requested for an
+   *                                  empty catalog
+   */
+  public GenerationReport generate(int productCount, int orderCount) {
+    if (productCount < 0 || orderCount < 0) {
+      throw new IllegalArgumentException("Counts must not be negative");
+    }
+    long started = System.nanoTime();
+    SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, grid);
+    int batchSize = Math.max(1, settings.getBatchSize());
+
+    long[] catalog = new long[productCount];
+    long firstProductId = productCount > 0 ? reserveIds(PRODUCTS, productCount) : 0;
+    for (int from = 0; from < productCount; from += batchSize) {
+      List<Product> products = new ArrayList<>();
+      for (int i = from; i < Math.min(productCount, from + batchSize); i++) {
+        Product product = generator.nextProduct();
+        product.setId(firstProductId + i);
+        catalog[i] = product.getId();
+        products.add(product);
+      }
+      transactionTemplate.executeWithoutResult(status -> insertProducts(products));
+    }
+    if (productCount == 0 && orderCount > 0) {
+      catalog = jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class)
+          .stream()
+          .mapToLong(Long::longValue)
+          .toArray();
+    }
+    if (orderCount > 0 && catalog.length == 0) {
+      throw new IllegalArgumentException("Orders need at least one product");
+    }
+
+    long orderItems = 0;
+    long firstOrderId = orderCount > 0 ? reserveIds(ORDERS, orderCount) : 0;
+    for (int from = 0; from < orderCount; from += batchSize) {
+      List<GeneratedOrder> orders = new ArrayList<>();
+      int items = 0;
+      for (int i = from; i < Math.min(orderCount, from + batchSize); i++) {
+        GeneratedOrder order = generator.nextOrder(catalog.length);
+        orders.add(order);
+        items += order.productIndices().length;
+      }
+      long batchOrderId = firstOrderId + from;
+      long batchItemId = reserveIds(ORDER_ITEMS, items);
+      long[] products = catalog;
+      transactionTemplate.executeWithoutResult(
+          status -> insertOrders(orders, batchOrderId, batchItemId, products));
+      orderItems += items;
+    }
+
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    LOGGER.info("Generated {} products, {} orders and {} order items in {} ms", productCount,
+        orderCount, orderItems, elapsedMs);
+    return new GenerationReport(productCount, orderCount, orderItems, elapsedMs);
+  }
+
+  private void insertProducts(List<Product> products) {
+    jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchSetter(products.size(), (statement, i) -> {
+      Product product = products.get(i);
+      statement.setLong(1, product.getId());
+      statement.setString(2, product.getName());
+      statement.setBigDecimal(3, product.getPrice());
+      statement.setInt(4, product.getQuantity());
+      statement.setInt(5, product.getLocation().getX());
+      statement.setInt(6, product.getLocation().getY());
+    }));
+  }
+
+  private void insertOrders(List<GeneratedOrder> orders, long firstOrderId, long firstItemId,
+                            long[] catalog) {
+    jdbcTemplate.batchUpdate(INSERT_ORDER, new BatchSetter(orders.size(), (statement, i) -> {
+      statement.setLong(1, firstOrderId + i);
+      statement.setString(2, OrderStatus.SUCCESS.name());
+      statement.setTimestamp(3, Timestamp.valueOf(orders.get(i).createdAt()));
+    }));
+
+    int itemCount = 0;
+    for (GeneratedOrder order : orders) {
+      itemCount += order.productIndices().length;
+    }
+    long[] itemOrders = new long[itemCount];
+    long[] itemProducts = new long[itemCount];
+    int[] itemQuantities = new int[itemCount];
+    int item = 0;
+    for (int o = 0; o < orders.size(); o++) {
+      GeneratedOrder order = orders.get(o);
+      for (int i = 0; i < order.productIndices().length; i++, item++) {
+        itemOrders[item] = firstOrderId + o;
+        itemProducts[item] = catalog[order.productIndices()[i]];
+        itemQuantities[item] = order.quantities()[i];
+      }
+    }
+    jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, new BatchSetter(itemCount, (statement, i) -> {
+      statement.setLong(1, firstItemId + i);
+      statement.setLong(2, itemOrders[i]);
+      statement.setLong(3, itemProducts[i]);
+      statement.setInt(4, itemQuantities[i]);
+    }));
+  }
+
+  /**
+   * Reserves a range of IDs in a table by restarting its identity after the range.
+   *
+   * @return the first ID of the range
+   */
+  private long reserveIds(String table, long count) {
+    Long last = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+    long first = (last == null ? 0 : last) + 1;
+    jdbcTemplate.execute(restartIdentity(table, first + count));
+    return first;
+  }
+
+  private String restartIdentity(String table, long nextId) {
+    if (databaseProduct == null) {
+      databaseProduct = jdbcTemplate.execute(
+          (ConnectionCallback<String>) connection -> connection.getMetaData()
+              .getDatabaseProductName());
+    }
+    return switch (databaseProduct) {
+      case "H2" -> "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId;
+      case "MySQL" -> "ALTER TABLE " + table + " AUTO_INCREMENT = " + nextId;
+      default -> throw new IllegalStateException(
+          "Cannot reserve IDs on a " + databaseProduct + " database");
+    };
+  }
+
+  /**
+   * Sets the parameters of row {@code i} of a batch.
+   */
+  @FunctionalInterface
+  private interface RowSetter {
+    void setValues(PreparedStatement statement, int i) throws SQLException;
+  }
+
+  private record BatchSetter(int size, RowSetter rows)
+      implements BatchPreparedStatementSetter {
+    @Override
+    public void setValues(PreparedStatement statement, int i) throws SQLException {
+      rows.setValues(statement, i);
+    }
+
+    @Override
+    public int getBatchSize() {
+      return size;
+    }
+  }
+}
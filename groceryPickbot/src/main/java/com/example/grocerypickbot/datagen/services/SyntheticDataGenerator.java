@@ -0,0 +1,166 @@
+package com.example.grocerypickbot.datagen.services;
+
+import com.example.grocerypickbot.datagen.configuration.DataGeneratorProperties;
+import com.example.grocerypickbot.datagen.models.GeneratedOrder;
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates a synthetic catalog and orders on it, without touching the database.
+ *
+ * <p>Products get unique SKU names and lie on random free cells of the warehouse grid.
+ * Orders pick their products by Zipf-distributed popularity, so a few best sellers appear
+ * in many baskets while the long tail is rarely ordered. Popularity ranks are shuffled
+ * over the catalog, so best sellers are spread over the warehouse. Basket sizes follow a
+ * log-normal distribution, and most lines order a single unit. Everything is derived from
+ * {@code datagen.seed} and {@code datagen.reference-time}, so the same settings produce the
+ * same data.
+ * </p>
+ *
+ * <p>A generator is not thread-safe; tests and benchmarks use one per thread.
+ * </p>
+ */
+public class SyntheticDataGenerator {
+  private static final int MAX_PLACEMENT_TRIES = 10_000;
+  private static final double EXTRA_UNIT_PROBABILITY = 0.2;
+  private static final int MAX_QUANTITY = 5;
+
+  private final DataGeneratorProperties settings;
+  private final WarehouseGrid grid;
+  private final Random random;
+  private int productsGenerated;
+  private int[] productByRank;
+  private double[] cumulativePopularity;
+
+  /**
+   * Constructs a SyntheticDataGenerator.
+   *
+   * @param settings the generator configuration
+   * @param grid     the warehouse grid products are placed on
+   */
+  public SyntheticDataGenerator(DataGeneratorProperties settings, WarehouseGrid grid) {
+    this.settings = settings;
+    this.grid = grid;
+    this.random = new Random(settings.getSeed());
+  }
+
+  /**
+   * Generates the next product of the catalog.
+   *
+   * @return an unsaved product on a free grid cell
+   * @throws IllegalStateException if no free cell is found on the grid
+   */
+  public Product nextProduct() {
+    int number = ++productsGenerated;
+    Product product = new Product();
+    product.setName("SKU-" + number);
+    product.setPrice(BigDecimal.valueOf(50 + random.nextInt(4_951), 2));
+    product.setQuantity(random.nextInt(settings.getMaxStock() + 1));
+    product.setLocation(freeCell());
+    return product;
+  }
+
+  /**
+   * Generates an order on a catalog of the given size.
+   *
+   * @param catalogSize the number of products to choose from
+   * @return the order, with distinct products given by their catalog position
+   * @throws IllegalArgumentException if the catalog is empty
+   */
+  public GeneratedOrder nextOrder(int catalogSize) {
+    if (catalogSize < 1) {
+      throw new IllegalArgumentException("Orders need at least one product");
+    }
+    preparePopularity(catalogSize);
+    int size = basketSize(catalogSize);
+    int[] products = new int[size];
+    int count = 0;
+    for (int tries = 0; count < size && tries < size * 20; tries++) {
+      int product = productByRank[rank()];
+      if (!contains(products, count, product)) {
+        products[count++] = product;
+      }
+    }
+    int[] quantities = new int[count];
+    for (int i = 0; i < count; i++) {
+      int quantity = 1;
+      while (quantity < MAX_QUANTITY && random.nextDouble() < EXTRA_UNIT_PROBABILITY) {
+        quantity++;
+      }
+      quantities[i] = quantity;
+    }
+    long historySeconds = Math.max(1, settings.getHistoryDays() * 86_400L);
+    LocalDateTime createdAt =
+        settings.getReferenceTime().minusSeconds((long) (random.nextDouble() * historySeconds));
+    return new GeneratedOrder(createdAt, Arrays.copyOf(products, count), quantities);
+  }
+
+  private Location freeCell() {
+    for (int tries = 0; tries < MAX_PLACEMENT_TRIES; tries++) {
+      int x = random.nextInt(grid.getWidth());
+      int y = random.nextInt(grid.getHeight());
+      if (!grid.isBlocked(grid.index(x, y))) {
+        Location location = new Location();
+        location.setX(x);
+        location.setY(y);
+        return location;
+      }
+    }
+    throw new IllegalStateException("No free cell found on the warehouse grid");
+  }
+
+  /**
+   * Draws a log-normal basket size around the configured median.
+   */
+  private int basketSize(int catalogSize) {
+    double size = settings.getBasketMedian()
+        * Math.exp(settings.getBasketSigma() * random.nextGaussian());
+    int limit = Math.min(catalogSize, Math.max(1, settings.getMaxBasketSize()));
+    return (int) Math.max(1, Math.min(limit, Math.round(size)));
+  }
+
+  /**
+   * Draws a popularity rank by binary search over the cumulative Zipf weights.
+   */
+  private int rank() {
+    double target = random.nextDouble() * cumulativePopularity[cumulativePopularity.length - 1];
+    int index = Arrays.binarySearch(cumulativePopularity, target);
+    return Math.min(cumulativePopularity.length - 1, index >= 0 ? index : -index - 1);
+  }
+
+  private void preparePopularity(int catalogSize) {
+    if (cumulativePopularity != null && cumulativePopularity.length == catalogSize) {
+      return;
+    }
+    cumulativePopularity = new double[catalogSize];
+    double total = 0;
+    for (int rank = 0; rank < catalogSize; rank++) {
+      total += 1.0 / Math.pow(rank + 1, settings.getPopularitySkew());
+      cumulativePopularity[rank] = total;
+    }
+    productByRank = new int[catalogSize];
+    for (int i = 0; i < catalogSize; i++) {
+      productByRank[i] = i;
+    }
+    for (int i = catalogSize - 1; i > 0; i--) {
+      int swap = random.nextInt(i + 1);
+      int product = productByRank[i];
+      productByRank[i] = productByRank[swap];
+      productByRank[swap] = product;
+    }
+  }
+
+  private static boolean contains(int[] values, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
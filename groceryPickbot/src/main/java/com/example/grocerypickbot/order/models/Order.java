@@ -8,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
@@ -18,7 +19,8 @@ import java.util.List;
  * Order entity representing a user in the system.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+    indexes = @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"))
 public class Order {
 
   @Id
@@ -1,10 +1,46 @@
 package com.example.grocerypickbot.order.repositories;
 
 import com.example.grocerypickbot.order.models.Order;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing Order entities.
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+  /**
+   * Finds the orders placed in the given period, oldest first.
+   *
+   * @param from the start of the period, inclusive
+   * @param to   the end of the period, inclusive
+   * @return the orders in the order they were placed
+   */
+  List<Order> findByOrderDateBetweenOrderByOrderDateAsc(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Finds the next page of orders placed up to {@code to}, continuing after the given order.
+   *
+   * <p>Orders are sorted by placement time and then by ID, and the page starts after the
+   * cursor {@code (afterDate, afterId)}. The {@code idx_orders_created_at_id} index covers
+   * both the condition and the sort, so every page is a range scan of its own rows and no
+   * order is returned twice.
+   * </p>
+   *
+   * @param afterDate the placement time of the last order of the previous page
+   * @param afterId   the ID of the last order of the previous page
+   * @param to        the end of the period, inclusive
+   * @param pageable  the page size
+   * @return the next orders in the order they were placed
+   */
+  @Query("select o from Order o where o.orderDate <= :to and (o.orderDate > :afterDate"
+      + " or (o.orderDate = :afterDate and o.id > :afterId)) order by o.orderDate, o.id")
+  List<Order> findPlacedAfter(@Param("afterDate") LocalDateTime afterDate,
+                              @Param("afterId") Long afterId,
+                              @Param("to") LocalDateTime to,
+                              Pageable pageable);
 }
@@ -2,9 +2,12 @@ package com.example.grocerypickbot.product.services;
 
 import com.example.grocerypickbot.exceptions.InvalidProductDataException;
 import com.example.grocerypickbot.product.mappers.ProductMapper;
+import com.example.grocerypickbot.product.models.Location;
 import com.example.grocerypickbot.product.models.Product;
 import com.example.grocerypickbot.product.models.ProductDto;
 import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.services.PathSegmentCache;
+import com.example.grocerypickbot.warehouse.services.WarehouseDistanceMatrix;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.List;
@@ -22,16 +25,24 @@ public class ProductServiceImpl implements ProductService {
 
   private final ProductRepository productRepository;
   private final ProductMapper productMapper;
+  private final PathSegmentCache segmentCache;
+  private final WarehouseDistanceMatrix distanceMatrix;
 
   /**
    * Constructs a ProductServiceImpl with the specified ProductRepository and ProductMapper.
    *
    * @param productRepository the repository for managing products
    * @param productMapper     the mapper for converting between Product and ProductDto
+   * @param segmentCache      the route segment cache invalidated when a product moves
+   * @param distanceMatrix    the route distance cache invalidated when a product moves
    */
-  public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper) {
+  public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper,
+                            PathSegmentCache segmentCache,
+                            WarehouseDistanceMatrix distanceMatrix) {
     this.productRepository = productRepository;
     this.productMapper = productMapper;
+    this.segmentCache = segmentCache;
+    this.distanceMatrix = distanceMatrix;
   }
 
   @Override
@@ -107,8 +118,14 @@ public class ProductServiceImpl implements ProductService {
       throw new InvalidProductDataException(errors);
     }
 
+    Location previousLocation = product.getLocation();
+    if (previousLocation != null) {
+      segmentCache.invalidateCell(previousLocation.getX(), previousLocation.getY());
+      distanceMatrix.invalidateCell(previousLocation.getX(), previousLocation.getY());
+    }
     productMapper.updateProductFromDto(productDto, product);
     Product updatedProduct = productRepository.save(product);
+    segmentCache.invalidateCell(productDto.location().getX(), productDto.location().getY());
     return productMapper.toDto(updatedProduct);
   }
 
@@ -0,0 +1,285 @@
+package com.example.grocerypickbot.route.configuration;
+
+import com.example.grocerypickbot.route.models.BotSelection;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for route planning.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "route")
+public class RouteProperties {
+  /**
+   * Orders with at most this many distinct pick locations are solved exactly.
+   */
+  private int exactSolverMaxLocations = 14;
+
+  /**
+   * Routing strategy used by requests that do not name one.
+   */
+  private String defaultStrategy = "single";
+
+  /**
+   * How a free bot is chosen for each pick batch of a parallel collection.
+   */
+  private BotSelection botSelection = BotSelection.NEAREST;
+
+  /**
+   * Budget of the 2-opt / Or-opt pass applied to greedy tours.
+   */
+  private LocalSearch localSearch = new LocalSearch();
+
+  /**
+   * Time budgets of the anytime route planner.
+   */
+  private Anytime anytime = new Anytime();
+
+  /**
+   * Parallel solver portfolio for orders too large to solve exactly.
+   */
+  private Portfolio portfolio = new Portfolio();
+
+  /**
+   * Splitting of orders across bots by the partitioned parallel planner.
+   */
+  private Partition partition = new Partition();
+
+  /**
+   * Batching of pending orders into waves that are collected together.
+   */
+  private Wave wave = new Wave();
+
+  /**
+   * Size of the shared shelf-to-shelf path segment cache.
+   */
+  private SegmentCache segmentCache = new SegmentCache();
+
+  /**
+   * Migration of routes stored as JSON to the binary route format.
+   */
+  private Storage storage = new Storage();
+
+  /**
+   * Asynchronous route planning jobs.
+   */
+  private Jobs jobs = new Jobs();
+
+  /**
+   * Shadow comparison of a candidate strategy on live traffic.
+   */
+  private Shadow shadow = new Shadow();
+
+  /**
+   * Joint planning of the routes of a parallel collection so that bots never collide.
+   */
+  private CollisionAvoidance collisionAvoidance = new CollisionAvoidance();
+
+  /**
+   * Limits for the local-search improvement pass.
+   */
+  @Setter
+  @Getter
+  public static class LocalSearch {
+    /**
+     * Maximum number of improving moves applied to a single tour.
+     */
+    private int maxIterations = 10_000;
+
+    /**
+     * Wall-clock budget for improving a single tour, in milliseconds.
+     */
+    private long timeBudgetMs = 50;
+  }
+
+  /**
+   * Settings for the anytime route planner.
+   */
+  @Setter
+  @Getter
+  public static class Anytime {
+    /**
+     * Planning budget used when a request does not name one, in milliseconds.
+     */
+    private long defaultBudgetMs = 200;
+
+    /**
+     * Upper limit for requested planning budgets, in milliseconds.
+     */
+    private long maxBudgetMs = 5_000;
+
+    /**
+     * Perturbations in a row without improvement after which planning stops early.
+     */
+    private int maxStall = 200;
+  }
+
+  /**
+   * Settings for the parallel solver portfolio.
+   */
+  @Setter
+  @Getter
+  public static class Portfolio {
+    /**
+     * Whether large orders are planned by the portfolio instead of greedy plus local search.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of solver threads; {@code 0} uses one per available processor.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Wall-clock budget for planning a single tour, in milliseconds.
+     */
+    private long timeBudgetMs = 100;
+
+    /**
+     * Number of simulated annealing runs, each with its own seed.
+     */
+    private int annealingRuns = 2;
+  }
+
+  /**
+   * Settings for the partitioned parallel planner.
+   */
+  @Setter
+  @Getter
+  public static class Partition {
+    /**
+     * Maximum number of distinct pick locations in one bot tour.
+     */
+    private int botCapacity = 8;
+
+    /**
+     * Maximum number of refinements of the pick clusters.
+     */
+    private int maxIterations = 10;
+  }
+
+  /**
+   * Settings for wave picking.
+   */
+  @Setter
+  @Getter
+  public static class Wave {
+    /**
+     * How long a wave collects orders after its first order arrived, in milliseconds.
+     */
+    private long windowMs = 2_000;
+
+    /**
+     * Number of orders that closes a wave before its window has passed.
+     */
+    private int maxOrders = 10;
+  }
+
+  /**
+   * Limits for the path segment cache.
+   */
+  @Setter
+  @Getter
+  public static class SegmentCache {
+    /**
+     * Maximum number of steps held across all cached segments.
+     */
+    private long maxSteps = 200_000;
+  }
+
+  /**
+   * Settings for the stored route format.
+   */
+  @Setter
+  @Getter
+  public static class Storage {
+    /**
+     * Whether JSON routes are converted to binary route data when the application starts.
+     */
+    private boolean migrateOnStartup = true;
+
+    /**
+     * Number of routes converted per transaction.
+     */
+    private int migrationBatchSize = 500;
+  }
+
+  /**
+   * Settings for asynchronous route planning jobs.
+   */
+  @Setter
+  @Getter
+  public static class Jobs {
+    /**
+     * Number of jobs planned at the same time.
+     */
+    private int planningThreads = 2;
+
+    /**
+     * Number of accepted jobs that may wait for a planning thread.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * How long finished jobs stay available for polling, in minutes.
+     */
+    private long retentionMinutes = 30;
+
+    /**
+     * How long a progress stream stays open before the server closes it, in milliseconds.
+     */
+    private long streamTimeoutMs = 300_000;
+  }
+
+  /**
+   * Settings for shadow mode, which plans sampled {@code GET /routes} requests a second time
+   * with a candidate strategy without storing its routes.
+   */
+  @Setter
+  @Getter
+  public static class Shadow {
+    /**
+     * Whether sampled requests are planned with the candidate strategy as well.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Name of the strategy compared against the served one.
+     */
+    private String candidateStrategy = "partitioned";
+
+    /**
+     * Percentage of requests that are sampled, from 0 to 100.
+     */
+    private double samplePercent = 10;
+
+    /**
+     * Number of shadow plans that may wait for the shadow thread; further samples are
+     * dropped so shadow mode never holds up live traffic.
+     */
+    private int queueCapacity = 10;
+  }
+
+  /**
+   * Settings for collision avoidance between the bots of a parallel collection.
+   */
+  @Setter
+  @Getter
+  public static class CollisionAvoidance {
+    /**
+     * Whether the routes of a parallel collection are planned jointly on a space-time
+     * reservation table instead of independently. The table is per order, or per wave, so
+     * collections running at the same time do not avoid each other's bots.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Search states expanded per route leg before the leg counts as blocked.
+     */
+    private int maxExpansions = 100_000;
+  }
+}
@@ -1,21 +1,42 @@
 package com.example.grocerypickbot.route.controllers;
 
+import com.example.grocerypickbot.route.models.AnytimeRouteResponse;
+import com.example.grocerypickbot.route.models.ParallelPlanner;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteJobResponse;
 import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.RoutingStrategyInfo;
+import com.example.grocerypickbot.route.models.StrategyReport;
+import com.example.grocerypickbot.route.services.RouteJobService;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import com.example.grocerypickbot.route.services.RouteProgressStreamService;
 import com.example.grocerypickbot.route.services.RouteService;
 import com.example.grocerypickbot.route.services.RouteServiceImpl;
+import com.example.grocerypickbot.route.services.ShadowModeService;
+import com.example.grocerypickbot.route.services.WavePlanningService;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for handling route-related endpoints.
  *
- * <p>Provides an endpoint to retrieve the optimal route for a given order ID.
+ * <p>Provides an endpoint to retrieve the optimal route for a given order ID, and
+ * job endpoints that plan the route in the background.
  * Delegates route calculation logic to the {@link RouteService}.
  * </p>
  */
@@ -24,33 +45,195 @@ import org.springframework.web.bind.annotation.RestController;
 public class RouteController {
   private static final Logger LOGGER = LoggerFactory.getLogger(RouteController.class);
   private final RouteServiceImpl routeService;
+  private final RouteJobService routeJobService;
+  private final RouteProgressStreamService progressStreamService;
+  private final WavePlanningService wavePlanningService;
+  private final RoutingStrategyRegistry strategyRegistry;
+  private final ShadowModeService shadowModeService;
 
   /**
    * Constructor for RouteController.
    */
-  public RouteController(RouteServiceImpl routeService) {
+  public RouteController(RouteServiceImpl routeService, RouteJobService routeJobService,
+                         RouteProgressStreamService progressStreamService,
+                         WavePlanningService wavePlanningService,
+                         RoutingStrategyRegistry strategyRegistry,
+                         ShadowModeService shadowModeService) {
     this.routeService = routeService;
+    this.routeJobService = routeJobService;
+    this.progressStreamService = progressStreamService;
+    this.wavePlanningService = wavePlanningService;
+    this.strategyRegistry = strategyRegistry;
+    this.shadowModeService = shadowModeService;
   }
 
   /**
    * Retrieve the route for a given order ID.
+   *
+   * <p>The order is planned on the first request only; later requests for the same order
+   * and mode return the stored routes.
+   * </p>
+   *
+   * <p>{@code format=WAYPOINTS} returns only the turn points of each route instead of every
+   * step.
+   * </p>
+   *
+   * <p>{@code strategy} selects the routing strategy by name, see {@code GET
+   * /routes/strategies}. Without it, {@code collectInParallel} picks the single-bot or a
+   * parallel strategy, where {@code planner=PARTITIONED} splits the order into
+   * capacity-bounded clusters instead of product pairs. Without either, the configured
+   * default strategy is used.
+   * </p>
+   *
+   * <p>The request waits until the order is collected; use {@code POST /routes/jobs} to plan
+   * without holding the connection.
+   * </p>
+   *
+   * <p>In shadow mode, sampled requests that plan the order are also planned with the
+   * candidate strategy in the background, see {@link ShadowModeService}.
+   * </p>
    */
   @GetMapping
-  public ResponseEntity<List<RouteResponse>> getRoute(@RequestParam Long orderId,
-                                                      @RequestParam boolean collectInParallel) {
+  public ResponseEntity<List<RouteResponse>> getRoute(
+      @RequestParam Long orderId,
+      @RequestParam(required = false) Boolean collectInParallel,
+      @RequestParam(defaultValue = "PAIRS") ParallelPlanner planner,
+      @RequestParam(required = false) String strategy,
+      @RequestParam(defaultValue = "STEPS") RouteFormat format) {
+    RoutingStrategy routing = resolveStrategy(strategy, collectInParallel, planner);
+    // Stored routes cost no planning, so only requests that plan are compared.
+    Optional<RoutingStrategy> shadow = shadowModeService.sample(routing)
+        .filter(candidate -> !routeService.hasRoutes(orderId, routing.name()));
     long start = System.currentTimeMillis();
-    if (collectInParallel) {
-      routeService.collectItemsParallel(orderId);
-    } else {
-      routeService.calculateAndSavePath(orderId);
-    }
-    long end = System.currentTimeMillis();
-    long durationMs = (end - start);
-    if (collectInParallel) {
-      LOGGER.info("Parallel collection for order {} took {} ms", orderId, durationMs);
-    } else {
-      LOGGER.info("Single-threaded collection for order {} took {} ms", orderId, durationMs);
+    routing.plan(orderId, RoutePlanningListener.NONE);
+    long durationMs = System.currentTimeMillis() - start;
+    LOGGER.info("Collection with strategy {} for order {} took {} ms", routing.name(), orderId,
+        durationMs);
+    List<RouteResponse> routes = routeService.getRoute(orderId, routing.name(), format);
+    shadow.ifPresent(candidate ->
+        shadowModeService.compare(orderId, routing, routes, candidate));
+    return ResponseEntity.ok(routes);
+  }
+
+  /**
+   * Plan the route for an order like {@code GET /routes} and report how the strategy did.
+   *
+   * <p>Besides the routes, the report holds their total distance, the steps until the last
+   * bot is done and the compute time, to compare strategies on the same orders.
+   * </p>
+   */
+  @GetMapping("/report")
+  public ResponseEntity<StrategyReport> getRouteReport(
+      @RequestParam Long orderId,
+      @RequestParam(required = false) Boolean collectInParallel,
+      @RequestParam(defaultValue = "PAIRS") ParallelPlanner planner,
+      @RequestParam(required = false) String strategy,
+      @RequestParam(defaultValue = "STEPS") RouteFormat format) {
+    RoutingStrategy routing = resolveStrategy(strategy, collectInParallel, planner);
+    return ResponseEntity.ok(
+        routeService.planWith(routing, orderId, format, RoutePlanningListener.NONE));
+  }
+
+  /**
+   * List the routing strategies that can be passed as {@code strategy}.
+   */
+  @GetMapping("/strategies")
+  public ResponseEntity<List<RoutingStrategyInfo>> getStrategies() {
+    RoutingStrategy defaultStrategy = strategyRegistry.getDefault();
+    return ResponseEntity.ok(strategyRegistry.getAll().stream()
+        .map(routing -> new RoutingStrategyInfo(routing.name(), routing.description(),
+            routing == defaultStrategy))
+        .toList());
+  }
+
+  /**
+   * Plan the single-bot route for an order within a time budget, without storing it.
+   *
+   * <p>Returns the best route found when {@code budgetMs} runs out, together with its cost
+   * and whether planning converged before the deadline. Without {@code budgetMs} the
+   * configured default budget applies.
+   * </p>
+   */
+  @GetMapping("/anytime")
+  public ResponseEntity<AnytimeRouteResponse> planWithinBudget(
+      @RequestParam Long orderId,
+      @RequestParam(required = false) Long budgetMs,
+      @RequestParam(defaultValue = "STEPS") RouteFormat format) {
+    return ResponseEntity.ok(routeService.planWithinBudget(orderId, budgetMs, format));
+  }
+
+  /**
+   * Start planning the route for an order in the background.
+   *
+   * <p>Returns 202 Accepted immediately; poll the URI in the {@code Location} header for
+   * progress and the final routes.
+   * </p>
+   */
+  @PostMapping("/jobs")
+  public ResponseEntity<RouteJobResponse> submitRouteJob(
+      @RequestParam Long orderId,
+      @RequestParam(required = false) Boolean collectInParallel,
+      @RequestParam(defaultValue = "PAIRS") ParallelPlanner planner,
+      @RequestParam(required = false) String strategy,
+      @RequestParam(defaultValue = "STEPS") RouteFormat format) {
+    RouteJobResponse job = routeJobService.submit(orderId,
+        resolveStrategy(strategy, collectInParallel, planner), format);
+    LOGGER.info("Accepted route job {} for order {}", job.jobId(), orderId);
+    return ResponseEntity.accepted()
+        .location(URI.create("/routes/jobs/" + job.jobId()))
+        .body(job);
+  }
+
+  /**
+   * Retrieve the progress of a route job, including its routes once it has completed.
+   */
+  @GetMapping("/jobs/{jobId}")
+  public ResponseEntity<RouteJobResponse> getRouteJob(@PathVariable String jobId) {
+    return routeJobService.getJob(jobId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Plan the route for an order and stream the progress as Server-Sent Events.
+   *
+   * <p>Sends an {@code assignment} event when a bot starts a route, a {@code route} event as
+   * each route is saved, and a final {@code completed} event with all routes of the order.
+   * </p>
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamRoute(
+      @RequestParam Long orderId,
+      @RequestParam(required = false) Boolean collectInParallel,
+      @RequestParam(defaultValue = "PAIRS") ParallelPlanner planner,
+      @RequestParam(required = false) String strategy,
+      @RequestParam(defaultValue = "STEPS") RouteFormat format) {
+    return progressStreamService.stream(orderId,
+        resolveStrategy(strategy, collectInParallel, planner), format);
+  }
+
+  /**
+   * Collect an order in the next wave and retrieve its part of the shared tours.
+   *
+   * <p>The order waits for other orders for up to {@code route.wave.window-ms}; the
+   * response is sent once the whole wave has been collected, without holding a request
+   * thread in the meantime.
+   * </p>
+   */
+  @GetMapping("/wave")
+  public CompletableFuture<List<RouteResponse>> getWaveRoute(
+      @RequestParam Long orderId,
+      @RequestParam(defaultValue = "STEPS") RouteFormat format) {
+    return wavePlanningService.enqueue(orderId)
+        .thenApply(collected ->
+            routeService.getRoute(orderId, RouteServiceImpl.WAVE_STRATEGY, format));
+  }
+
+  private RoutingStrategy resolveStrategy(String strategy, Boolean collectInParallel,
+                                          ParallelPlanner planner) {
+    if (strategy == null && collectInParallel != null) {
+      return strategyRegistry.get(RouteServiceImpl.strategyName(collectInParallel, planner));
     }
-    return ResponseEntity.ok(routeService.getRoute(orderId));
+    return strategyRegistry.get(strategy);
   }
-}
\ No newline at end of file
+}
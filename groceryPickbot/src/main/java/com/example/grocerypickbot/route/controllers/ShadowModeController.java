@@ -0,0 +1,56 @@
+package com.example.grocerypickbot.route.controllers;
+
+import com.example.grocerypickbot.route.models.ShadowComparison;
+import com.example.grocerypickbot.route.services.ShadowModeService;
+import com.example.grocerypickbot.security.annotation.RoleAccess;
+import com.example.grocerypickbot.user.models.Role;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoints for the shadow comparison of routing strategies.
+ *
+ * <p>Shows how the candidate strategy did against the served one on sampled
+ * {@code GET /routes} requests. Delegates to the {@link ShadowModeService}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/admin/shadow")
+@RoleAccess(allowedRoles = {Role.ADMIN})
+public class ShadowModeController {
+  private final ShadowModeService shadowModeService;
+
+  /**
+   * Constructor for ShadowModeController.
+   *
+   * @param shadowModeService the service that tallies the shadow comparisons
+   */
+  public ShadowModeController(ShadowModeService shadowModeService) {
+    this.shadowModeService = shadowModeService;
+  }
+
+  /**
+   * Retrieve the aggregated comparison per pair of served and candidate strategy.
+   *
+   * @return ResponseEntity containing the comparisons
+   */
+  @GetMapping
+  public ResponseEntity<List<ShadowComparison>> getComparisons() {
+    return ResponseEntity.ok(shadowModeService.getComparisons());
+  }
+
+  /**
+   * Discard the tallied comparisons, e.g. after changing the candidate strategy.
+   *
+   * @return ResponseEntity with no content
+   */
+  @DeleteMapping
+  public ResponseEntity<Void> reset() {
+    shadowModeService.reset();
+    return ResponseEntity.noContent().build();
+  }
+}
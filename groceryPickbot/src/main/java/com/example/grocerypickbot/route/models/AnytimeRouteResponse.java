@@ -0,0 +1,27 @@
+package com.example.grocerypickbot.route.models;
+
+import java.util.List;
+
+/**
+ * Response model for a route planned within a time budget.
+ *
+ * @param orderId          the ID of the order
+ * @param routeName        the products on the route
+ * @param visitedLocations the route as arrays of x and y coordinates
+ * @param cost             the length of the route in steps
+ * @param converged        whether planning finished before the budget ran out
+ * @param exact            whether the visit order is known to be optimal
+ * @param budgetMs         the planning budget that was applied, in milliseconds
+ * @param elapsedMs        the time spent planning, in milliseconds
+ */
+public record AnytimeRouteResponse(
+    Long orderId,
+    String routeName,
+    List<int[]> visitedLocations,
+    int cost,
+    boolean converged,
+    boolean exact,
+    long budgetMs,
+    long elapsedMs
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * Event model sent when a bot starts collecting a route.
+ *
+ * @param orderId     the ID of the order
+ * @param botId       the ID of the bot
+ * @param routeName   the name of the route the bot collects
+ * @param queueWaitMs how long the route waited for a free bot, in milliseconds
+ */
+public record BotAssignment(
+    Long orderId,
+    String botId,
+    String routeName,
+    long queueWaitMs
+) {
+}
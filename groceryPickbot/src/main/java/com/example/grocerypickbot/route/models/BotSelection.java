@@ -0,0 +1,16 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * Enum representing how a free bot is chosen for the next pick batch of a parallel
+ * collection.
+ */
+public enum BotSelection {
+  /**
+   * The bot that became free first, starting with the bots ordered by X coordinate.
+   */
+  QUEUE,
+  /**
+   * The free bot with the shortest travel distance to the first location of the batch.
+   */
+  NEAREST
+}
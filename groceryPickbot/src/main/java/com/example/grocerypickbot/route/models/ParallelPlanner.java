@@ -0,0 +1,16 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * Enum representing how an order collected by several bots is split into routes.
+ */
+public enum ParallelPlanner {
+  /**
+   * Products sorted by X and cut into pairs, one route per pair.
+   */
+  PAIRS,
+  /**
+   * Picks clustered across the free bots, each cluster collected in an optimised tour, to
+   * minimise the time until the last bot finishes.
+   */
+  PARTITIONED
+}
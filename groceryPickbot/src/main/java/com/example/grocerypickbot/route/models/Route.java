@@ -3,11 +3,14 @@ package com.example.grocerypickbot.route.models;
 import com.example.grocerypickbot.order.models.Order;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
@@ -28,9 +31,29 @@ public class Route {
   @Column(name = "route_coordinates", columnDefinition = "TEXT")
   private String coordinatesJson;
 
+  @Column(name = "route_strategy")
+  private String strategy;
+
+  @Lob
+  @Column(name = "route_data")
+  private byte[] routeData;
+
   @Column(name = "route_name")
   private String routeName;
 
+  @Enumerated(EnumType.STRING)
+  @Column(name = "route_format")
+  private RouteFormat format;
+
+  @Column(name = "wave_id")
+  private String waveId;
+
+  @Column(name = "bot_id")
+  private String botId;
+
+  @Column(name = "route_complete", nullable = false)
+  private boolean complete;
+
   public Long getId() {
     return id;
   }
@@ -55,6 +78,28 @@ public class Route {
     this.coordinatesJson = coordinatesJson;
   }
 
+  /**
+   * Returns the binary encoded route, see {@code RouteBinaryCodec}; {@code null} for rows
+   * that still hold JSON coordinates.
+   *
+   * @return the encoded route
+   */
+  public byte[] getRouteData() {
+    return routeData;
+  }
+
+  public void setRouteData(byte[] routeData) {
+    this.routeData = routeData;
+  }
+
+  public String getStrategy() {
+    return strategy;
+  }
+
+  public void setStrategy(String strategy) {
+    this.strategy = strategy;
+  }
+
   public String getRouteName() {
     return routeName;
   }
@@ -62,4 +107,53 @@ public class Route {
   public void setRouteName(String routeName) {
     this.routeName = routeName;
   }
+
+  /**
+   * Returns how the stored coordinates are encoded; rows written before the column existed
+   * hold every step.
+   *
+   * @return the stored route format
+   */
+  public RouteFormat getFormat() {
+    return format == null ? RouteFormat.STEPS : format;
+  }
+
+  public void setFormat(RouteFormat format) {
+    this.format = format;
+  }
+
+  /**
+   * Returns the wave this route was collected in, or {@code null} outside wave picking.
+   */
+  public String getWaveId() {
+    return waveId;
+  }
+
+  public void setWaveId(String waveId) {
+    this.waveId = waveId;
+  }
+
+  /**
+   * Returns the ID of the bot that drove this route, or {@code null} for rows written
+   * before it was recorded.
+   */
+  public String getBotId() {
+    return botId;
+  }
+
+  public void setBotId(String botId) {
+    this.botId = botId;
+  }
+
+  /**
+   * Returns whether every route of this route's plan has been stored; routes of a plan
+   * still being collected are not returned to readers.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public void setComplete(boolean complete) {
+    this.complete = complete;
+  }
 }
@@ -0,0 +1,15 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * Enum representing how the coordinates of a route are represented.
+ */
+public enum RouteFormat {
+  /**
+   * Every grid cell the bot passes through.
+   */
+  STEPS,
+  /**
+   * Only the start, the end and the cells where the bot changes direction.
+   */
+  WAYPOINTS
+}
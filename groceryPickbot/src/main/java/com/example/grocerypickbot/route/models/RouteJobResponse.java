@@ -0,0 +1,25 @@
+package com.example.grocerypickbot.route.models;
+
+import java.util.List;
+
+/**
+ * Response model for an asynchronous route planning job.
+ *
+ * @param jobId           the ID used to poll the job
+ * @param orderId         the ID of the order being planned
+ * @param status          the current status of the job
+ * @param completedRoutes the number of routes saved so far
+ * @param totalRoutes     the number of routes the order was split into, 0 until known
+ * @param routes          the planned routes once the job has completed, otherwise empty
+ * @param error           the failure message if the job failed, otherwise null
+ */
+public record RouteJobResponse(
+    String jobId,
+    Long orderId,
+    RouteJobStatus status,
+    int completedRoutes,
+    int totalRoutes,
+    List<RouteResponse> routes,
+    String error
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * Lifecycle of an asynchronous route planning job.
+ */
+public enum RouteJobStatus {
+  /**
+   * Accepted and waiting for a planning thread.
+   */
+  QUEUED,
+  /**
+   * Routes are being planned and collected.
+   */
+  RUNNING,
+  /**
+   * All routes are saved and included in the job response.
+   */
+  COMPLETED,
+  /**
+   * Planning failed; the job response carries the error message.
+   */
+  FAILED
+}
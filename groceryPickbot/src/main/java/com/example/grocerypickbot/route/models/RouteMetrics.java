@@ -0,0 +1,55 @@
+package com.example.grocerypickbot.route.models;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Figures of the routes one strategy planned for an order.
+ *
+ * @param routeCount    the number of routes, one per bot tour
+ * @param totalDistance the grid cells travelled by all bots together
+ * @param makespan      the steps until the last bot is done, i.e. the most steps any one bot
+ *                      takes over all of its routes, waits included
+ */
+public record RouteMetrics(int routeCount, long totalDistance, long makespan) {
+
+  /**
+   * Measures the given routes.
+   *
+   * <p>Waypoints lie on straight runs, so the distance between consecutive points counts
+   * every step in both {@link RouteFormat}s, and a repeated point is a step the bot waits.
+   * A bot drives its routes one after another, so the steps of all routes with the same
+   * {@link RouteResponse#botId()} add up; a route without a bot ID counts as a bot of its
+   * own.
+   * </p>
+   *
+   * @param routes the routes to measure
+   * @return their count, total distance and makespan
+   */
+  public static RouteMetrics of(List<RouteResponse> routes) {
+    long totalDistance = 0;
+    long makespan = 0;
+    Map<String, Long> stepsPerBot = new HashMap<>();
+    for (RouteResponse route : routes) {
+      long distance = 0;
+      long waits = 0;
+      List<int[]> points = route.visitedLocations();
+      for (int i = 1; i < points.size(); i++) {
+        long moves = Math.abs(points.get(i)[0] - points.get(i - 1)[0])
+            + Math.abs(points.get(i)[1] - points.get(i - 1)[1]);
+        if (moves == 0) {
+          waits++;
+        }
+        distance += moves;
+      }
+      totalDistance += distance;
+      long steps = distance + waits;
+      if (route.botId() != null) {
+        steps = stepsPerBot.merge(route.botId(), steps, Long::sum);
+      }
+      makespan = Math.max(makespan, steps);
+    }
+    return new RouteMetrics(routes.size(), totalDistance, makespan);
+  }
+}
@@ -9,11 +9,28 @@ import java.util.List;
  * @param orderId          the ID of the order
  * @param status           the current status of the order
  * @param visitedLocations a list of visited locations represented as arrays of integers
+ * @param routeName        the names of the products collected on the route
+ * @param botId            the ID of the bot that drives the route, or {@code null} if it
+ *                         was not recorded
  */
 public record RouteResponse(
     Long orderId,
     OrderStatus status,
     List<int[]> visitedLocations,
-    String routeName
+    String routeName,
+    String botId
 ) {
+
+  /**
+   * Creates a response for a route whose bot is not known.
+   *
+   * @param orderId          the ID of the order
+   * @param status           the current status of the order
+   * @param visitedLocations a list of visited locations represented as arrays of integers
+   * @param routeName        the names of the products collected on the route
+   */
+  public RouteResponse(Long orderId, OrderStatus status, List<int[]> visitedLocations,
+                       String routeName) {
+    this(orderId, status, visitedLocations, routeName, null);
+  }
 }
@@ -0,0 +1,11 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * Response model describing an available routing strategy.
+ *
+ * @param name            the name to select the strategy by
+ * @param description     what the strategy does
+ * @param defaultStrategy whether requests without a strategy use this one
+ */
+public record RoutingStrategyInfo(String name, String description, boolean defaultStrategy) {
+}
@@ -0,0 +1,41 @@
+package com.example.grocerypickbot.route.models;
+
+/**
+ * How a candidate strategy compared with the served strategy on sampled requests.
+ *
+ * <p>Averages are taken over the samples whose shadow plan succeeded. Compute times are
+ * those of previewing the order with either strategy, so they leave out waiting for bots and
+ * storing routes.
+ * </p>
+ *
+ * @param servedStrategy                the strategy that planned the served routes
+ * @param candidateStrategy             the strategy planned in the shadow
+ * @param samples                       the number of successful comparisons
+ * @param failures                      the number of shadow previews that threw
+ * @param dropped                       the number of samples skipped because the shadow
+ *                                      executor was busy
+ * @param servedAvgDistance             the average total distance of the served routes
+ * @param candidateAvgDistance          the average total distance of the candidate routes
+ * @param servedAvgMakespan             the average steps until the last served bot is done
+ * @param candidateAvgMakespan          the average steps until the last candidate bot is done
+ * @param servedAvgComputeMs            the average served planning time, in milliseconds
+ * @param candidateAvgComputeMs         the average candidate planning time, in milliseconds
+ * @param candidateShorterMakespanCount samples in which the candidate finished in fewer steps
+ * @param candidateFasterComputeCount   samples in which the candidate planned faster
+ */
+public record ShadowComparison(
+    String servedStrategy,
+    String candidateStrategy,
+    long samples,
+    long failures,
+    long dropped,
+    double servedAvgDistance,
+    double candidateAvgDistance,
+    double servedAvgMakespan,
+    double candidateAvgMakespan,
+    double servedAvgComputeMs,
+    double candidateAvgComputeMs,
+    long candidateShorterMakespanCount,
+    long candidateFasterComputeCount
+) {
+}
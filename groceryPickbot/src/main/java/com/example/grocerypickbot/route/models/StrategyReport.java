@@ -0,0 +1,27 @@
+package com.example.grocerypickbot.route.models;
+
+import java.util.List;
+
+/**
+ * The routes one strategy planned for an order, with figures to compare strategies by.
+ *
+ * @param strategy      the name of the strategy
+ * @param orderId       the ID of the order
+ * @param routeCount    the number of routes, one per bot tour
+ * @param totalDistance the grid cells travelled by all bots together
+ * @param steps         the steps until the last bot is done, see
+ *                      {@link RouteMetrics#makespan()}
+ * @param computeMs     the time spent planning and collecting, in milliseconds; close to zero
+ *                      when the routes had been planned by an earlier request
+ * @param routes        the routes themselves
+ */
+public record StrategyReport(
+    String strategy,
+    Long orderId,
+    int routeCount,
+    long totalDistance,
+    long steps,
+    long computeMs,
+    List<RouteResponse> routes
+) {
+}
@@ -2,7 +2,12 @@ package com.example.grocerypickbot.route.repositories;
 
 import com.example.grocerypickbot.route.models.Route;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for managing Route entities.
@@ -10,10 +15,86 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface RouteRepository extends JpaRepository<Route, Long> {
 
   /**
-   * Finds a Route by the associated order ID.
+   * Finds the routes of every completely stored plan for an order.
    *
    * @param orderId the ID of the order
-   * @return an Optional containing the Route if found, or empty if not found
+   * @return the routes of the order's complete plans
    */
-  List<Route> findByOrderId(Long orderId);
+  List<Route> findByOrderIdAndCompleteTrue(Long orderId);
+
+  /**
+   * Finds the routes planned for an order by one strategy, once all of them are stored.
+   *
+   * @param orderId  the ID of the order
+   * @param strategy the planning strategy name
+   * @return the routes of that strategy, or none while the plan is still being collected
+   */
+  List<Route> findByOrderIdAndStrategyAndCompleteTrue(Long orderId, String strategy);
+
+  /**
+   * Checks whether an order has a completely stored plan of one strategy.
+   *
+   * @param orderId  the ID of the order
+   * @param strategy the planning strategy name
+   * @return true if the routes of that strategy are stored and marked complete
+   */
+  boolean existsByOrderIdAndStrategyAndCompleteTrue(Long orderId, String strategy);
+
+  /**
+   * Marks the stored routes of an order and strategy as one complete plan.
+   *
+   * @param orderId  the ID of the order
+   * @param strategy the planning strategy name
+   * @return the number of routes marked
+   */
+  @Transactional
+  @Modifying
+  @Query("update Route r set r.complete = true"
+      + " where r.order.id = :orderId and r.strategy = :strategy and r.complete = false")
+  int markComplete(@Param("orderId") Long orderId, @Param("strategy") String strategy);
+
+  /**
+   * Deletes the routes of an order and strategy that were stored by a collection that
+   * never completed.
+   *
+   * @param orderId  the ID of the order
+   * @param strategy the planning strategy name
+   * @return the number of routes deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from Route r"
+      + " where r.order.id = :orderId and r.strategy = :strategy and r.complete = false")
+  int deleteIncomplete(@Param("orderId") Long orderId, @Param("strategy") String strategy);
+
+  /**
+   * Marks the stored routes of a wave as complete.
+   *
+   * @param waveId the ID of the wave
+   * @return the number of routes marked
+   */
+  @Transactional
+  @Modifying
+  @Query("update Route r set r.complete = true where r.waveId = :waveId and r.complete = false")
+  int markWaveComplete(@Param("waveId") String waveId);
+
+  /**
+   * Deletes the routes of a wave that never completed.
+   *
+   * @param waveId the ID of the wave
+   * @return the number of routes deleted
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from Route r where r.waveId = :waveId and r.complete = false")
+  int deleteIncompleteWave(@Param("waveId") String waveId);
+
+  /**
+   * Finds the next batch of routes still stored as JSON coordinates.
+   *
+   * @param id       only routes with a greater ID are returned
+   * @param pageable the batch size
+   * @return routes without binary route data, ordered by ID
+   */
+  List<Route> findByRouteDataIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -0,0 +1,146 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.route.models.BotSelection;
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import com.example.grocerypickbot.warehouse.services.GridPathfinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The free bots of one parallel collection, together with where each of them stands.
+ *
+ * <p>{@link #take} blocks until a bot is free and then hands out one according to the
+ * {@link BotSelection}. With {@link BotSelection#NEAREST} the free bot with the shortest
+ * grid distance to the requested location wins; ties go to the bot that has been free the
+ * longest. On a grid without obstacles the distance is the Manhattan distance, otherwise
+ * one BFS from the requested location measures it for every free bot at once.
+ * </p>
+ */
+final class BotPool {
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private final List<BotPosition> free = new ArrayList<>();
+  private final BotSelection selection;
+  private final GridPathfinder pathfinder;
+  private int[] xs;
+  private int[] ys;
+  private int[] distance;
+
+  /**
+   * Creates a pool in which every given bot is free.
+   *
+   * @param bots       the bots and where they stand, in the order {@link BotSelection#QUEUE}
+   *                   hands them out
+   * @param selection  how the next bot is chosen
+   * @param pathfinder computes travel distances for {@link BotSelection#NEAREST}
+   */
+  BotPool(List<BotPosition> bots, BotSelection selection, GridPathfinder pathfinder) {
+    this.selection = selection;
+    this.pathfinder = pathfinder;
+    this.free.addAll(bots);
+    this.xs = new int[bots.size()];
+    this.ys = new int[bots.size()];
+    this.distance = new int[bots.size()];
+  }
+
+  boolean isEmpty() {
+    lock.lock();
+    try {
+      return free.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits for a free bot and removes it from the pool.
+   *
+   * @param target the first location the bot will drive to
+   * @return the bot and the location it currently stands at
+   * @throws InterruptedException if interrupted while waiting
+   */
+  BotPosition take(Location target) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (free.isEmpty()) {
+        released.await();
+      }
+      if (selection == BotSelection.QUEUE || free.size() == 1) {
+        return free.remove(0);
+      }
+      return free.remove(nearestIndex(target));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns a bot to the pool.
+   *
+   * @param bot      the bot handed out by {@link #take}
+   * @param location where the bot stands now
+   */
+  void release(BotAvailability bot, Location location) {
+    lock.lock();
+    try {
+      free.add(new BotPosition(bot, location));
+      released.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int nearestIndex(Location target) {
+    int count = free.size();
+    if (!pathfinder.getGrid().hasObstacles()) {
+      int nearest = 0;
+      int nearestDistance = Integer.MAX_VALUE;
+      for (int i = 0; i < count; i++) {
+        int d = manhattan(free.get(i).location(), target);
+        if (d < nearestDistance) {
+          nearest = i;
+          nearestDistance = d;
+        }
+      }
+      return nearest;
+    }
+    if (xs.length < count) {
+      xs = Arrays.copyOf(xs, count);
+      ys = Arrays.copyOf(ys, count);
+      distance = Arrays.copyOf(distance, count);
+    }
+    for (int i = 0; i < count; i++) {
+      xs[i] = free.get(i).location().x();
+      ys[i] = free.get(i).location().y();
+    }
+    pathfinder.distances(target.x(), target.y(), xs, ys, count, distance);
+    int nearest = 0;
+    int nearestDistance = Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      // off the grid or walled in: fall back to the straight-line walk
+      int d = distance[i] < 0 ? manhattan(free.get(i).location(), target) : distance[i];
+      if (d < nearestDistance) {
+        nearest = i;
+        nearestDistance = d;
+      }
+    }
+    return nearest;
+  }
+
+  private static int manhattan(Location from, Location to) {
+    return Math.abs(from.x() - to.x()) + Math.abs(from.y() - to.y());
+  }
+
+  /**
+   * A bot together with the location it stands at.
+   *
+   * @param bot      the bot
+   * @param location its current location
+   */
+  record BotPosition(BotAvailability bot, Location location) {
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.exceptions.OrderNotFoundException;
+import com.example.grocerypickbot.route.models.ParallelPlanner;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import java.util.List;
+
+/**
+ * Plans an order as routes collected by several bots in parallel.
+ *
+ * <p>This is the part of the route service a parallel routing strategy needs: collecting an
+ * order with a {@link ParallelPlanner} and previewing its routes, for the live fleet or
+ * another one.
+ * </p>
+ */
+public interface ParallelPlanning {
+  /**
+   * Strategy name of routes planned by the {@link ParallelPlanner#PAIRS} planner.
+   */
+  String PAIRS_STRATEGY = "pairs";
+
+  /**
+   * Strategy name of routes planned by the {@link ParallelPlanner#PARTITIONED} planner.
+   */
+  String PARTITIONED_STRATEGY = "partitioned";
+
+  /**
+   * Collects an order in parallel unless its routes of that planner are already stored.
+   *
+   * @param orderId  the ID of the order
+   * @param planner  how the order is split into routes
+   * @param listener notified when the routes are planned and as each route is saved
+   */
+  void collectItemsParallel(Long orderId, ParallelPlanner planner,
+                            RoutePlanningListener listener);
+
+  /**
+   * Plans a parallel collection without storing the routes, occupying bots or moving them.
+   *
+   * @param orderId the ID of the order
+   * @param planner how the order is split into routes
+   * @return the routes with every step
+   * @throws OrderNotFoundException if the order does not exist
+   */
+  List<RouteResponse> previewItemsParallel(Long orderId, ParallelPlanner planner);
+
+  /**
+   * Plans a parallel collection like {@link #previewItemsParallel(Long, ParallelPlanner)}
+   * for another fleet than the live one, every bot of which is free.
+   *
+   * @param orderId   the ID of the order
+   * @param planner   how the order is split into routes
+   * @param botStarts the {@code [x, y]} cell each bot of the fleet starts from
+   * @return the routes with every step
+   * @throws OrderNotFoundException   if the order does not exist
+   * @throws IllegalArgumentException if the fleet has no bots
+   */
+  List<RouteResponse> previewItemsParallel(Long orderId, ParallelPlanner planner,
+                                           List<int[]> botStarts);
+}
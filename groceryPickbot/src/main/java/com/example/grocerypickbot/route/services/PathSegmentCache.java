@@ -0,0 +1,141 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bounded LRU cache of path segments between two cells, shared by all route planners.
+ *
+ * <p>The cache is bounded by the total number of steps it holds rather than by entry
+ * count, so a few long aisle-to-aisle segments cannot crowd out memory. Cells are packed
+ * into a {@code long} key, which covers coordinates in {@code 0..65535}; segments outside
+ * that range are computed but not cached.
+ * </p>
+ */
+@Service
+public class PathSegmentCache {
+  private static final int MAX_COORDINATE = 0xFFFF;
+
+  private final long maxSteps;
+  private final LinkedHashMap<Long, List<Location>> segments =
+      new LinkedHashMap<>(256, 0.75f, true);
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private long cachedSteps;
+
+  /**
+   * Constructs a PathSegmentCache sized from the route configuration.
+   *
+   * @param routeProperties the route planning configuration
+   */
+  public PathSegmentCache(RouteProperties routeProperties) {
+    this.maxSteps = routeProperties.getSegmentCache().getMaxSteps();
+  }
+
+  /**
+   * Returns the cached segment between two cells, computing and caching it on a miss.
+   *
+   * @param start    the start cell
+   * @param end      the end cell
+   * @param computer computes the segment on a miss
+   * @return the unmodifiable list of steps after {@code start}, ending at {@code end}
+   */
+  public List<Location> getOrCompute(Location start, Location end,
+                                     Supplier<List<Location>> computer) {
+    if (!cacheable(start) || !cacheable(end)) {
+      misses.increment();
+      return List.copyOf(computer.get());
+    }
+    long key = key(start, end);
+    synchronized (this) {
+      List<Location> cached = segments.get(key);
+      if (cached != null) {
+        hits.increment();
+        return cached;
+      }
+    }
+    misses.increment();
+    List<Location> computed = List.copyOf(computer.get());
+    if (computed.size() <= maxSteps) {
+      synchronized (this) {
+        List<Location> previous = segments.put(key, computed);
+        cachedSteps += computed.size() - (previous == null ? 0 : previous.size());
+        evictOverflow();
+      }
+    }
+    return computed;
+  }
+
+  /**
+   * Drops every cached segment that starts or ends at the given cell.
+   *
+   * @param x the x coordinate of the cell
+   * @param y the y coordinate of the cell
+   */
+  public synchronized void invalidateCell(int x, int y) {
+    if (x < 0 || y < 0 || x > MAX_COORDINATE || y > MAX_COORDINATE) {
+      return;
+    }
+    long cell = cellKey(x, y);
+    Iterator<Map.Entry<Long, List<Location>>> iterator = segments.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Long, List<Location>> entry = iterator.next();
+      long key = entry.getKey();
+      if ((key >>> 32) == cell || (key & 0xFFFFFFFFL) == cell) {
+        cachedSteps -= entry.getValue().size();
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns a snapshot of the cache counters.
+   *
+   * @return the cache statistics
+   */
+  public synchronized Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), segments.size(), cachedSteps);
+  }
+
+  private void evictOverflow() {
+    Iterator<List<Location>> eldest = segments.values().iterator();
+    while (cachedSteps > maxSteps && eldest.hasNext()) {
+      cachedSteps -= eldest.next().size();
+      eldest.remove();
+      evictions.increment();
+    }
+  }
+
+  private static boolean cacheable(Location location) {
+    return location.x() >= 0 && location.y() >= 0
+        && location.x() <= MAX_COORDINATE && location.y() <= MAX_COORDINATE;
+  }
+
+  private static long key(Location start, Location end) {
+    return (cellKey(start.x(), start.y()) << 32) | cellKey(end.x(), end.y());
+  }
+
+  private static long cellKey(int x, int y) {
+    return ((long) x << 16) | y;
+  }
+
+  /**
+   * Cache counters.
+   *
+   * @param hits      lookups answered from the cache
+   * @param misses    lookups that had to compute the segment
+   * @param evictions segments dropped to stay within the step budget
+   * @param entries   segments currently cached
+   * @param steps     steps currently cached
+   */
+  public record Stats(long hits, long misses, long evictions, int entries, long steps) {
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packs route waypoints into the binary {@code route_data} column.
+ *
+ * <p>Layout: one format version byte, the waypoint count as an unsigned varint, the first
+ * waypoint as two zigzag varints and then the x/y delta to each following waypoint as two
+ * zigzag varints. Neighbouring waypoints are usually a few cells apart, so most deltas
+ * take a single byte.
+ * </p>
+ */
+public final class RouteBinaryCodec {
+  /**
+   * Current format version, written as the first byte of every encoded route.
+   */
+  public static final byte VERSION = 1;
+
+  private RouteBinaryCodec() {
+  }
+
+  /**
+   * Encodes the waypoints of a route.
+   *
+   * @param waypoints the waypoints, see {@link WaypointCodec#compress(List)}
+   * @return the encoded route
+   */
+  public static byte[] encode(List<Location> waypoints) {
+    byte[] buffer = new byte[1 + 5 + waypoints.size() * 10];
+    int position = 0;
+    buffer[position++] = VERSION;
+    position = writeVarint(buffer, position, waypoints.size());
+    int previousX = 0;
+    int previousY = 0;
+    for (Location waypoint : waypoints) {
+      position = writeVarint(buffer, position, zigzag(waypoint.x() - previousX));
+      position = writeVarint(buffer, position, zigzag(waypoint.y() - previousY));
+      previousX = waypoint.x();
+      previousY = waypoint.y();
+    }
+    return Arrays.copyOf(buffer, position);
+  }
+
+  /**
+   * Decodes a route straight into response coordinates.
+   *
+   * @param data   the encoded route
+   * @param format whether to return the waypoints or every step between them
+   * @return the route as {@code [x, y]} pairs
+   * @throws IllegalArgumentException if the data has an unknown version or is truncated or
+   *                                  corrupt
+   */
+  public static List<int[]> decode(byte[] data, RouteFormat format) {
+    if (data.length == 0 || data[0] != VERSION) {
+      throw new IllegalArgumentException("Unsupported route data version "
+          + (data.length == 0 ? "<empty>" : data[0]));
+    }
+    int[] cursor = {1};
+    int count = readVarint(data, cursor);
+    // Every waypoint takes at least one byte per coordinate.
+    if (count < 0 || count > (data.length - cursor[0]) / 2) {
+      throw new IllegalArgumentException("Route data is truncated: " + count
+          + " waypoints in " + data.length + " bytes");
+    }
+    List<int[]> coordinates = new ArrayList<>(count);
+    int x = 0;
+    int y = 0;
+    for (int i = 0; i < count; i++) {
+      int nextX = x + unzigzag(readVarint(data, cursor));
+      int nextY = y + unzigzag(readVarint(data, cursor));
+      if (format == RouteFormat.STEPS && i > 0) {
+        if (x == nextX && y == nextY) {
+          coordinates.add(new int[] {x, y}); // a wait, see WaypointCodec
+        }
+        while (x != nextX || y != nextY) {
+          if (x != nextX) {
+            x += Integer.signum(nextX - x);
+          } else {
+            y += Integer.signum(nextY - y);
+          }
+          coordinates.add(new int[] {x, y});
+        }
+      } else {
+        coordinates.add(new int[] {nextX, nextY});
+      }
+      x = nextX;
+      y = nextY;
+    }
+    return coordinates;
+  }
+
+  private static int writeVarint(byte[] buffer, int position, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+  private static int readVarint(byte[] data, int[] cursor) {
+    int value = 0;
+    int shift = 0;
+    while (true) {
+      if (cursor[0] >= data.length) {
+        throw new IllegalArgumentException("Route data is truncated at byte " + cursor[0]);
+      }
+      if (shift > 28) {
+        throw new IllegalArgumentException("Varint too long at byte " + cursor[0]);
+      }
+      byte next = data[cursor[0]++];
+      value |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        return value;
+      }
+      shift += 7;
+    }
+  }
+
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,145 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteJobResponse;
+import com.example.grocerypickbot.route.models.RouteJobStatus;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs route planning as background jobs that clients poll for progress and results.
+ *
+ * <p>Jobs run on the "routePlanningExecutor" pool, so no request thread waits while bots
+ * collect the order. Finished jobs are kept for the configured retention time; expired
+ * jobs are dropped whenever a job is submitted or polled.
+ * </p>
+ */
+@Service
+public class RouteJobService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RouteJobService.class);
+  private final RouteServiceImpl routeService;
+  private final TaskExecutor planningExecutor;
+  private final RouteProperties routeProperties;
+  private final Map<String, RouteJob> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a RouteJobService.
+   *
+   * @param routeService     the service that plans and stores routes
+   * @param planningExecutor the executor that runs the jobs
+   * @param routeProperties  the route planning configuration
+   */
+  public RouteJobService(RouteServiceImpl routeService,
+                         @Qualifier("routePlanningExecutor") TaskExecutor planningExecutor,
+                         RouteProperties routeProperties) {
+    this.routeService = routeService;
+    this.planningExecutor = planningExecutor;
+    this.routeProperties = routeProperties;
+  }
+
+  /**
+   * Accepts a planning job for an order and returns without waiting for it.
+   *
+   * @param orderId  the ID of the order to plan
+   * @param strategy the routing strategy that plans the order
+   * @param format   the format of the routes in the finished job
+   * @return the queued job
+   */
+  public RouteJobResponse submit(Long orderId, RoutingStrategy strategy, RouteFormat format) {
+    removeExpiredJobs();
+    RouteJob job = new RouteJob(UUID.randomUUID().toString(), orderId);
+    jobs.put(job.id, job);
+    try {
+      planningExecutor.execute(() -> run(job, strategy, format));
+    } catch (RuntimeException e) {
+      jobs.remove(job.id);
+      throw e;
+    }
+    return job.toResponse();
+  }
+
+  /**
+   * Returns the current state of a job.
+   *
+   * @param jobId the ID returned by {@link #submit}
+   * @return the job, or empty if it is unknown or has expired
+   */
+  public Optional<RouteJobResponse> getJob(String jobId) {
+    removeExpiredJobs();
+    return Optional.ofNullable(jobs.get(jobId)).map(RouteJob::toResponse);
+  }
+
+  private void run(RouteJob job, RoutingStrategy strategy, RouteFormat format) {
+    job.status = RouteJobStatus.RUNNING;
+    try {
+      job.routes = routeService.planWith(strategy, job.orderId, format, job).routes();
+      job.status = RouteJobStatus.COMPLETED;
+    } catch (RuntimeException e) {
+      LOGGER.error("Route job {} for order {} failed", job.id, job.orderId, e);
+      job.error = e.getMessage();
+      job.status = RouteJobStatus.FAILED;
+    } finally {
+      job.finishedAt = System.currentTimeMillis();
+    }
+  }
+
+  private void removeExpiredJobs() {
+    long cutoff = System.currentTimeMillis()
+        - TimeUnit.MINUTES.toMillis(routeProperties.getJobs().getRetentionMinutes());
+    jobs.values().removeIf(job -> job.finishedAt != 0 && job.finishedAt <= cutoff);
+  }
+
+  /**
+   * Mutable state of one job; it doubles as the planning listener of its own run.
+   */
+  private static final class RouteJob implements RoutePlanningListener {
+    private final String id;
+    private final Long orderId;
+    private final AtomicInteger completedRoutes = new AtomicInteger();
+    private volatile int totalRoutes;
+    private volatile RouteJobStatus status = RouteJobStatus.QUEUED;
+    private volatile List<RouteResponse> routes = List.of();
+    private volatile String error;
+    private volatile long finishedAt;
+
+    private RouteJob(String id, Long orderId) {
+      this.id = id;
+      this.orderId = orderId;
+    }
+
+    @Override
+    public void onRoutesPlanned(int routeCount) {
+      totalRoutes = routeCount;
+    }
+
+    @Override
+    public void onRouteSaved(RouteResponse route) {
+      completedRoutes.incrementAndGet();
+    }
+
+    private RouteJobResponse toResponse() {
+      RouteJobStatus current = status;
+      List<RouteResponse> result = routes;
+      if (current == RouteJobStatus.COMPLETED) {
+        // Routes planned by an earlier request report no progress of their own.
+        return new RouteJobResponse(id, orderId, current, result.size(), result.size(), result,
+            null);
+      }
+      return new RouteJobResponse(id, orderId, current, completedRoutes.get(), totalRoutes,
+          List.of(), error);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.models.RouteResponse;
+
+/**
+ * Receives progress notifications while the routes of an order are planned.
+ *
+ * <p>Callbacks may arrive on bot executor threads, so implementations must be thread-safe.
+ * </p>
+ */
+public interface RoutePlanningListener {
+
+  /**
+   * Listener that ignores all notifications.
+   */
+  RoutePlanningListener NONE = new RoutePlanningListener() {
+  };
+
+  /**
+   * Called once the order has been split into routes, before any of them is saved.
+   *
+   * @param routeCount the number of routes that will be saved
+   */
+  default void onRoutesPlanned(int routeCount) {
+  }
+
+  /**
+   * Called when a bot starts collecting the products of a route.
+   *
+   * @param botId       the ID of the bot
+   * @param routeName   the name of the route the bot collects
+   * @param queueWaitMs how long the route waited for a free bot, in milliseconds
+   */
+  default void onBotAssigned(String botId, String routeName, long queueWaitMs) {
+  }
+
+  /**
+   * Called after each route has been saved.
+   *
+   * @param route the saved route, with every step
+   */
+  default void onRouteSaved(RouteResponse route) {
+  }
+}
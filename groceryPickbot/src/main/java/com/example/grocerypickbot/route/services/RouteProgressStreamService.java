@@ -0,0 +1,124 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.BotAssignment;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the progress of route planning to clients as Server-Sent Events.
+ *
+ * <p>Each stream plans its order on the "routePlanningExecutor" pool and sends:
+ * </p>
+ * <ul>
+ *   <li>{@value #ASSIGNMENT_EVENT} - a {@link BotAssignment} when a bot starts a route,</li>
+ *   <li>{@value #ROUTE_EVENT} - a {@link RouteResponse} as soon as the route is saved,</li>
+ *   <li>{@value #COMPLETED_EVENT} - all routes of the order once collection finished,</li>
+ *   <li>{@value #FAILED_EVENT} - the error message if planning failed.</li>
+ * </ul>
+ *
+ * <p>The stream is closed after the completed or failed event. A client that disconnects
+ * early does not stop the planning.
+ * </p>
+ */
+@Service
+public class RouteProgressStreamService {
+  static final String ASSIGNMENT_EVENT = "assignment";
+  static final String ROUTE_EVENT = "route";
+  static final String COMPLETED_EVENT = "completed";
+  static final String FAILED_EVENT = "failed";
+  private static final Logger LOGGER = LoggerFactory.getLogger(RouteProgressStreamService.class);
+  private final RouteServiceImpl routeService;
+  private final TaskExecutor planningExecutor;
+  private final RouteProperties routeProperties;
+
+  /**
+   * Constructs a RouteProgressStreamService.
+   *
+   * @param routeService     the service that plans and stores routes
+   * @param planningExecutor the executor that runs the planning
+   * @param routeProperties  the route planning configuration
+   */
+  public RouteProgressStreamService(RouteServiceImpl routeService,
+                                    @Qualifier("routePlanningExecutor")
+                                    TaskExecutor planningExecutor,
+                                    RouteProperties routeProperties) {
+    this.routeService = routeService;
+    this.planningExecutor = planningExecutor;
+    this.routeProperties = routeProperties;
+  }
+
+  /**
+   * Starts planning an order and returns the stream its progress is sent to.
+   *
+   * @param orderId  the ID of the order to plan
+   * @param strategy the routing strategy that plans the order
+   * @param format   the format of the routes in the completed event
+   * @return the open event stream
+   */
+  public SseEmitter stream(Long orderId, RoutingStrategy strategy, RouteFormat format) {
+    SseEmitter emitter = new SseEmitter(routeProperties.getJobs().getStreamTimeoutMs());
+    planningExecutor.execute(() -> plan(emitter, orderId, strategy, format));
+    return emitter;
+  }
+
+  private void plan(SseEmitter emitter, Long orderId, RoutingStrategy strategy,
+                    RouteFormat format) {
+    EventSender sender = new EventSender(emitter, orderId);
+    try {
+      List<RouteResponse> routes =
+          routeService.planWith(strategy, orderId, format, sender).routes();
+      sender.send(COMPLETED_EVENT, routes);
+    } catch (RuntimeException e) {
+      LOGGER.error("Route planning for order {} failed", orderId, e);
+      sender.send(FAILED_EVENT, String.valueOf(e.getMessage()));
+    }
+    emitter.complete();
+  }
+
+  /**
+   * Forwards planning notifications of one order to its emitter.
+   */
+  private static final class EventSender implements RoutePlanningListener {
+    private final SseEmitter emitter;
+    private final Long orderId;
+    private volatile boolean disconnected;
+
+    private EventSender(SseEmitter emitter, Long orderId) {
+      this.emitter = emitter;
+      this.orderId = orderId;
+    }
+
+    @Override
+    public void onBotAssigned(String botId, String routeName, long queueWaitMs) {
+      send(ASSIGNMENT_EVENT, new BotAssignment(orderId, botId, routeName, queueWaitMs));
+    }
+
+    @Override
+    public void onRouteSaved(RouteResponse route) {
+      send(ROUTE_EVENT, route);
+    }
+
+    private void send(String name, Object data) {
+      if (disconnected) {
+        return;
+      }
+      try {
+        emitter.send(SseEmitter.event().name(name).data(data));
+      } catch (IOException | IllegalStateException e) {
+        // The client went away; keep collecting so the routes are still saved.
+        disconnected = true;
+        LOGGER.debug("Progress stream for order {} closed by client", orderId);
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.example.grocerypickbot.route.services;
 
+import com.example.grocerypickbot.route.models.RouteFormat;
 import com.example.grocerypickbot.route.models.RouteResponse;
 import java.util.List;
 
@@ -15,4 +16,13 @@ public interface RouteService {
    */
   List<RouteResponse> getRoute(Long id);
 
+  /**
+   * Retrieves the route information for a given order ID in the requested format.
+   *
+   * @param id     the ID of the order
+   * @param format whether to return every step or only the waypoints of each route
+   * @return the route response containing order details and visited locations
+   */
+  List<RouteResponse> getRoute(Long id, RouteFormat format);
+
 }
@@ -1,28 +1,53 @@
 package com.example.grocerypickbot.route.services;
 
 import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.Bot;
 import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.bot.models.BotState;
+import com.example.grocerypickbot.bot.services.FleetCapacity;
+import com.example.grocerypickbot.bot.services.FleetStateService;
 import com.example.grocerypickbot.exceptions.OrderNotFoundException;
 import com.example.grocerypickbot.order.models.Order;
 import com.example.grocerypickbot.order.models.OrderItem;
 import com.example.grocerypickbot.order.repositories.OrderRepository;
 import com.example.grocerypickbot.product.mappers.ProductMapper;
 import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.AnytimeRouteResponse;
+import com.example.grocerypickbot.route.models.ParallelPlanner;
 import com.example.grocerypickbot.route.models.Route;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteMetrics;
 import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.StrategyReport;
 import com.example.grocerypickbot.route.repositories.RouteRepository;
+import com.example.grocerypickbot.route.solvers.AnytimeSolver;
+import com.example.grocerypickbot.route.solvers.HeldKarpSolver;
+import com.example.grocerypickbot.route.solvers.LocalSearch;
+import com.example.grocerypickbot.route.solvers.NearestNeighbourSolver;
+import com.example.grocerypickbot.route.solvers.PickPartitioner;
+import com.example.grocerypickbot.route.solvers.PortfolioSolver;
+import com.example.grocerypickbot.route.solvers.TourInstance;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import com.example.grocerypickbot.warehouse.services.CooperativePathPlanner;
+import com.example.grocerypickbot.warehouse.services.GridPathfinder;
+import com.example.grocerypickbot.warehouse.services.WarehouseDistanceMatrix;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +59,23 @@ import org.springframework.stereotype.Service;
  * Service implementation for managing routes.
  */
 @Service
-public class RouteServiceImpl implements RouteService {
+public class RouteServiceImpl implements RouteService, SingleBotPlanning, ParallelPlanning {
+  /**
+   * Strategy name of routes planned for a single bot by {@link #calculateAndSavePath}.
+   */
+  public static final String SINGLE_BOT_STRATEGY = SingleBotPlanning.STRATEGY;
+  /**
+   * Strategy name of routes collected in pairs by {@link #collectItemsParallel}.
+   */
+  public static final String PARALLEL_STRATEGY = ParallelPlanning.PAIRS_STRATEGY;
+  /**
+   * Strategy name of routes planned by the {@link ParallelPlanner#PARTITIONED} planner.
+   */
+  public static final String PARTITIONED_STRATEGY = ParallelPlanning.PARTITIONED_STRATEGY;
+  /**
+   * Strategy name of routes planned for a wave of orders by {@link #collectWave}.
+   */
+  public static final String WAVE_STRATEGY = "wave";
   private static final Location FINAL_LOCATION = new Location(0, 0);
   private static final Logger LOGGER = LoggerFactory.getLogger(RouteServiceImpl.class);
   private static final ProductInfo EMPTY_PRODUCT =
@@ -45,27 +86,127 @@ public class RouteServiceImpl implements RouteService {
   private final ObjectMapper mapper;
   private final TaskExecutor taskExecutor;
   private final ProductMapper productMapper;
+  private final RouteProperties routeProperties;
+  private final WarehouseDistanceMatrix distanceMatrix;
+  private final GridPathfinder pathfinder;
+  private final CooperativePathPlanner cooperativePlanner;
+  private final PathSegmentCache segmentCache;
+  private final FleetCapacity fleetCapacity;
+  private final FleetStateService fleetState;
+  private final ForkJoinPool solverPool;
+  private final Map<PlanKey, CompletableFuture<Void>> inFlightPlans = new ConcurrentHashMap<>();
 
   /**
    * Constructs a RouteServiceImpl with the specified RouteRepository.
    *
    * @param routeRepository the repository for managing routes
+   * @param routeProperties the route planning configuration
+   * @param distanceMatrix  builds the distance matrix of each planned tour
+   * @param pathfinder      the obstacle-aware grid pathfinder
+   * @param cooperativePlanner plans collision-free routes for several bots together
+   * @param segmentCache    the shared cache of computed path segments
+   * @param fleetCapacity   the limit on bot tasks running at once across all orders
+   * @param fleetState      the live positions of the bots
+   * @param solverPool      the pool the solver portfolio runs on
    */
   public RouteServiceImpl(RouteRepository routeRepository, BotProperties botProperties,
                           OrderRepository orderRepository, ObjectMapper mapper,
                           @Qualifier("botTaskExecutor") TaskExecutor taskExecutor,
-                          ProductMapper productMapper) {
+                          ProductMapper productMapper, RouteProperties routeProperties,
+                          WarehouseDistanceMatrix distanceMatrix,
+                          GridPathfinder pathfinder,
+                          CooperativePathPlanner cooperativePlanner,
+                          PathSegmentCache segmentCache,
+                          FleetCapacity fleetCapacity, FleetStateService fleetState,
+                          @Qualifier("routeSolverPool") ForkJoinPool solverPool) {
     this.routeRepository = routeRepository;
     this.botProperties = botProperties;
     this.orderRepository = orderRepository;
     this.mapper = mapper;
     this.taskExecutor = taskExecutor;
     this.productMapper = productMapper;
+    this.routeProperties = routeProperties;
+    this.distanceMatrix = distanceMatrix;
+    this.pathfinder = pathfinder;
+    this.cooperativePlanner = cooperativePlanner;
+    this.segmentCache = segmentCache;
+    this.fleetCapacity = fleetCapacity;
+    this.fleetState = fleetState;
+    this.solverPool = solverPool;
   }
 
   @Override
   public List<RouteResponse> getRoute(Long id) {
-    List<Route> routes = routeRepository.findByOrderId(id);
+    return getRoute(id, RouteFormat.STEPS);
+  }
+
+  @Override
+  public List<RouteResponse> getRoute(Long id, RouteFormat format) {
+    return toRouteResponses(id, routeRepository.findByOrderIdAndCompleteTrue(id), format);
+  }
+
+  /**
+   * Retrieves the routes planned for an order by one strategy.
+   *
+   * @param id       the ID of the order
+   * @param strategy the planning strategy, e.g. {@link #SINGLE_BOT_STRATEGY}
+   * @param format   whether to return every step or only the waypoints of each route
+   * @return the route responses of that strategy
+   */
+  public List<RouteResponse> getRoute(Long id, String strategy, RouteFormat format) {
+    return toRouteResponses(id,
+        routeRepository.findByOrderIdAndStrategyAndCompleteTrue(id, strategy), format);
+  }
+
+  /**
+   * Returns whether all routes of one strategy have been stored for an order.
+   *
+   * @param orderId  the ID of the order
+   * @param strategy the planning strategy
+   * @return true if the order has a complete plan of that strategy
+   */
+  public boolean hasRoutes(Long orderId, String strategy) {
+    return routeRepository.existsByOrderIdAndStrategyAndCompleteTrue(orderId, strategy);
+  }
+
+  /**
+   * Plans the order with a routing strategy and reports its routes and figures.
+   *
+   * @param strategy the routing strategy
+   * @param orderId  the ID of the order
+   * @param format   whether to return every step or only the waypoints of each route
+   * @param listener notified of assignments and saved routes while planning
+   * @return the routes of that strategy with their distance, steps and compute time
+   */
+  public StrategyReport planWith(RoutingStrategy strategy, Long orderId, RouteFormat format,
+                                 RoutePlanningListener listener) {
+    long started = System.nanoTime();
+    strategy.plan(orderId, listener);
+    long computeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    List<RouteResponse> routes = getRoute(orderId, strategy.name(), format);
+    RouteMetrics metrics = RouteMetrics.of(routes);
+    LOGGER.info("Strategy {} for order {}: {} routes, distance {}, steps {}, {} ms",
+        strategy.name(), orderId, metrics.routeCount(), metrics.totalDistance(),
+        metrics.makespan(), computeMs);
+    return new StrategyReport(strategy.name(), orderId, metrics.routeCount(),
+        metrics.totalDistance(), metrics.makespan(), computeMs, routes);
+  }
+
+  /**
+   * Returns the strategy name under which the routes of a collection mode are stored.
+   *
+   * @param collectInParallel whether the order is collected by several bots
+   * @param planner           how a parallel collection is split into routes
+   * @return the strategy name
+   */
+  public static String strategyName(boolean collectInParallel, ParallelPlanner planner) {
+    if (!collectInParallel) {
+      return SINGLE_BOT_STRATEGY;
+    }
+    return planner == ParallelPlanner.PARTITIONED ? PARTITIONED_STRATEGY : PARALLEL_STRATEGY;
+  }
+
+  private List<RouteResponse> toRouteResponses(Long id, List<Route> routes, RouteFormat format) {
     if (routes.isEmpty()) {
       throw new OrderNotFoundException(id);
     }
@@ -73,16 +214,24 @@ public class RouteServiceImpl implements RouteService {
     List<RouteResponse> routeResponses = new ArrayList<>();
 
     for (Route route : routes) {
+      if (route.getRouteData() != null) {
+        routeResponses.add(new RouteResponse(
+            id,
+            route.getOrder().getStatus(),
+            RouteBinaryCodec.decode(route.getRouteData(), format),
+            route.getRouteName(),
+            route.getBotId()
+        ));
+        continue;
+      }
       try {
         Location[] locations = mapper.readValue(route.getCoordinatesJson(), Location[].class);
-        List<int[]> coordinates = Arrays.stream(locations)
-            .map(loc -> new int[]{loc.x(), loc.y()})
-            .collect(Collectors.toList());
         routeResponses.add(new RouteResponse(
             id,
             route.getOrder().getStatus(),
-            coordinates,
-            route.getRouteName()
+            toCoordinates(locations, route.getFormat(), format),
+            route.getRouteName(),
+            route.getBotId()
         ));
       } catch (JsonProcessingException e) {
         throw new RuntimeException(e);
@@ -91,12 +240,45 @@ public class RouteServiceImpl implements RouteService {
     return routeResponses;
   }
 
+  private static List<int[]> toCoordinates(Location[] locations, RouteFormat stored,
+                                           RouteFormat requested) {
+    if (stored == RouteFormat.WAYPOINTS && requested == RouteFormat.STEPS) {
+      return WaypointCodec.expand(locations); // expand lazily, only when steps are asked for
+    }
+    List<Location> points = Arrays.asList(locations);
+    if (stored == RouteFormat.STEPS && requested == RouteFormat.WAYPOINTS) {
+      points = WaypointCodec.compress(points);
+    }
+    return points.stream()
+        .map(loc -> new int[]{loc.x(), loc.y()})
+        .collect(Collectors.toList());
+  }
+
   /**
    * Calculates and saves the optimal path for the given order.
    *
+   * <p>Planning happens once per order: if the single-bot route is already stored, or is
+   * being computed by another request, this call reuses that result.
+   * </p>
+   *
    * @param orderId find the order for which to calculate the path
    */
   public void calculateAndSavePath(Long orderId) {
+    calculateAndSavePath(orderId, RoutePlanningListener.NONE);
+  }
+
+  /**
+   * Calculates and saves the optimal path for the given order, reporting progress.
+   *
+   * @param orderId  find the order for which to calculate the path
+   * @param listener notified when the route is planned and saved
+   */
+  @Override
+  public void calculateAndSavePath(Long orderId, RoutePlanningListener listener) {
+    planOnce(orderId, SINGLE_BOT_STRATEGY, () -> planSingleBotRoute(orderId, listener));
+  }
+
+  private void planSingleBotRoute(Long orderId, RoutePlanningListener listener) {
     Order order = orderRepository.findById(orderId)
         .orElseThrow(() -> new OrderNotFoundException(orderId));
 
@@ -104,45 +286,232 @@ public class RouteServiceImpl implements RouteService {
         .map(OrderItem::getProduct)
         .collect(Collectors.toList());
 
-    List<Location> fullPath = calculateOptimalRoute(products);
-
     String productNames = products.stream()
         .map(Product::getName)
         .collect(Collectors.joining(", "));
-    saveRoute(fullPath, order, productNames);
+    listener.onRoutesPlanned(1);
+    BotAvailability bot = botProperties.getBots().get(0);
+    listener.onBotAssigned(bot.getBot().id(), productNames, 0);
+
+    BotState state = fleetState.stateOf(bot);
+    List<Location> fullPath = calculateOptimalRoute(new Location(state.x(), state.y()), products);
+
+    fleetState.startRoute(bot, productNames, fullPath.size() - 1);
+    try {
+      saveRoute(fullPath, order, productNames, SINGLE_BOT_STRATEGY, bot, listener);
+    } finally {
+      Location end = fullPath.get(fullPath.size() - 1);
+      fleetState.finishRoute(bot, end.x(), end.y());
+    }
     LOGGER.info("All items collected for order {}", orderId);
   }
 
-  private List<Location> calculateOptimalRoute(List<Product> products) {
-    List<Location> route = new ArrayList<>();
-
+  /**
+   * Plans the single-bot route of an order like {@link #calculateAndSavePath(Long)} without
+   * storing it or moving the bot.
+   *
+   * @param orderId the ID of the order
+   * @return the route with every step
+   * @throws OrderNotFoundException if the order does not exist
+   */
+  @Override
+  public List<RouteResponse> previewPath(Long orderId) {
+    Order order = orderRepository.findById(orderId)
+        .orElseThrow(() -> new OrderNotFoundException(orderId));
     BotAvailability bot = botProperties.getBots().get(0);
-    Location
-        current =
-        new Location(bot.getBot().defaultLocation().getX(), bot.getBot().defaultLocation().getY());
-    route.add(current); // add current bot location
+    BotState state = fleetState.stateOf(bot);
+    return previewPath(order, new BotPool.BotPosition(bot, new Location(state.x(), state.y())));
+  }
+
+  /**
+   * Plans the single-bot route of an order like {@link #previewPath(Long)}, driven by the
+   * first bot of another fleet than the live one.
+   *
+   * @param orderId   the ID of the order
+   * @param botStarts the {@code [x, y]} cell each bot of the fleet starts from
+   * @return the route with every step
+   * @throws OrderNotFoundException   if the order does not exist
+   * @throws IllegalArgumentException if the fleet has no bots
+   */
+  @Override
+  public List<RouteResponse> previewPath(Long orderId, List<int[]> botStarts) {
+    Order order = orderRepository.findById(orderId)
+        .orElseThrow(() -> new OrderNotFoundException(orderId));
+    return previewPath(order, fleetOf(botStarts).get(0));
+  }
+
+  private List<RouteResponse> previewPath(Order order, BotPool.BotPosition bot) {
+    List<Product> products = order.getOrderItems().stream()
+        .map(OrderItem::getProduct)
+        .toList();
+    List<Location> route = calculateOptimalRoute(bot.location(), products);
+    return List.of(toRouteResponse(order, route, productNames(products), bot.bot()));
+  }
+
+  /**
+   * Plans the single-bot route of an order within a time budget without storing it.
+   *
+   * <p>The planner keeps improving the tour until the budget runs out and returns the best
+   * tour found by then, so latency stays bounded for large orders while small ones are
+   * still solved exactly. The route starts where the first bot currently is.
+   * </p>
+   *
+   * @param orderId  the ID of the order
+   * @param budgetMs the planning budget in milliseconds, or {@code null} for
+   *                 {@code route.anytime.default-budget-ms}; capped at
+   *                 {@code route.anytime.max-budget-ms}
+   * @param format   whether to return every step or only the waypoints of the route
+   * @return the planned route with its cost and whether planning converged
+   * @throws OrderNotFoundException if the order does not exist
+   */
+  public AnytimeRouteResponse planWithinBudget(Long orderId, Long budgetMs, RouteFormat format) {
+    Order order = orderRepository.findById(orderId)
+        .orElseThrow(() -> new OrderNotFoundException(orderId));
+    RouteProperties.Anytime settings = routeProperties.getAnytime();
+    long requested = budgetMs == null ? settings.getDefaultBudgetMs() : budgetMs;
+    long budget = Math.min(Math.max(0, requested), settings.getMaxBudgetMs());
+    long started = System.nanoTime();
+
+    BotState state = fleetState.stateOf(botProperties.getBots().get(0));
+    Location start = new Location(state.x(), state.y());
+    List<Product> stops = distinctStops(order.getOrderItems().stream()
+        .map(OrderItem::getProduct)
+        .toList());
+    TourInstance tour = toTourInstance(start, stops);
+    AnytimeSolver.Result result = AnytimeSolver.solve(tour,
+        routeProperties.getExactSolverMaxLocations(),
+        routeProperties.getLocalSearch().getMaxIterations(), settings.getMaxStall(),
+        started + TimeUnit.MILLISECONDS.toNanos(budget), orderId);
+    List<Product> ordered = new ArrayList<>(stops.size());
+    for (int index : result.order()) {
+      ordered.add(stops.get(index));
+    }
+    List<Location> route = buildRoute(start, ordered);
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    LOGGER.info("Planned order {} within {} ms: cost {}, converged {}", orderId, elapsedMs,
+        result.cost(), result.converged());
+
+    List<Location> points = format == RouteFormat.WAYPOINTS
+        ? WaypointCodec.compress(route) : route;
+    return new AnytimeRouteResponse(orderId, productNames(ordered),
+        points.stream().map(loc -> new int[]{loc.x(), loc.y()}).collect(Collectors.toList()),
+        result.cost(), result.converged(), result.exact(), budget, elapsedMs);
+  }
 
-    List<Location> productLocations = products.stream()
-        .map(p -> new Location(p.getLocation().getX(), p.getLocation().getY()))
-        .collect(Collectors.toList()); // get product locations
+  private List<Location> calculateOptimalRoute(Location start, List<Product> products) {
+    PlannedTour tour = planTour(start, distinctStops(products));
+    return buildRoute(start, tour.stops());
+  }
 
-    while (!productLocations.isEmpty()) {
-      Location
-          nearest =
-          findNearest(current, productLocations); // Find the nearest next product location
+  /**
+   * Returns the steps of a route from {@code start} through {@code stops} in order and back
+   * to {@link #FINAL_LOCATION}, starting with {@code start} itself.
+   */
+  private List<Location> buildRoute(Location start, List<Product> stops) {
+    List<Location> route = new ArrayList<>();
+    Location current = start;
+    route.add(current); // add current bot location
+    for (Product stop : stops) {
+      Location next = locationOf(stop);
       route.addAll(generateRouteBetween(current,
-          nearest)); // Add the path from the current location to the next nearest
-      productLocations.remove(nearest); // Remove the nearest location from the list
-      current = nearest; // Set the nearest location as the current one
+          next)); // Add the path from the current location to the next stop
+      current = next; // Set the reached location as the current one
     }
     route.addAll(generateRouteToFinalLocation(current));
     // After reaching the last location, return to [0, 0]
 
     return route;
+  }
+
+  private static List<Product> distinctStops(List<Product> products) {
+    Map<Location, Product> stopsByLocation = new LinkedHashMap<>();
+    for (Product product : products) {
+      stopsByLocation.putIfAbsent(locationOf(product), product);
+    } // get distinct product locations
+    return new ArrayList<>(stopsByLocation.values());
+  }
+
+  private static Location locationOf(Product product) {
+    return new Location(product.getLocation().getX(), product.getLocation().getY());
+  }
+
+  private PlannedTour planTour(Location start, List<Product> stops) {
+    TourInstance tour = toTourInstance(start, stops);
+    int[] order = planVisitOrder(tour);
+    List<Product> ordered = new ArrayList<>(order.length);
+    for (int index : order) {
+      ordered.add(stops.get(index));
+    }
+    return new PlannedTour(start, ordered, tour.cost(order));
+  }
+
+  /**
+   * Orders the pick locations of a single-bot tour that ends at {@link #FINAL_LOCATION}.
+   *
+   * <p>Small orders are solved exactly with {@link HeldKarpSolver}; larger ones fall back
+   * to the greedy nearest-neighbour construction improved by {@link LocalSearch} within
+   * the configured budget, or to the {@link PortfolioSolver} when
+   * {@code route.portfolio.enabled} is set.
+   * </p>
+   */
+  private int[] planVisitOrder(TourInstance tour) {
+    int exactLimit = Math.min(routeProperties.getExactSolverMaxLocations(),
+        HeldKarpSolver.MAX_PICKS);
+    if (tour.pickCount() <= exactLimit) {
+      return HeldKarpSolver.solve(tour);
+    }
+    RouteProperties.LocalSearch budget = routeProperties.getLocalSearch();
+    RouteProperties.Portfolio portfolio = routeProperties.getPortfolio();
+    if (portfolio.isEnabled()) {
+      long deadline =
+          System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(portfolio.getTimeBudgetMs());
+      return PortfolioSolver.solve(tour, solverPool, portfolio.getAnnealingRuns(),
+          budget.getMaxIterations(), deadline, tour.pickCount()).order();
+    }
+    int[] order = NearestNeighbourSolver.solve(tour);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget.getTimeBudgetMs());
+    LocalSearch.improve(tour, order, budget.getMaxIterations(), deadline);
+    return order;
+  }
+
+  private TourInstance toTourInstance(Location start, List<Product> stops) {
+    int[] xs = new int[stops.size()];
+    int[] ys = new int[stops.size()];
+    for (int i = 0; i < stops.size(); i++) {
+      xs[i] = stops.get(i).getLocation().getX();
+      ys[i] = stops.get(i).getLocation().getY();
+    }
+    return distanceMatrix.tourInstance(start.x(), start.y(), xs, ys,
+        FINAL_LOCATION.x(), FINAL_LOCATION.y());
+  }
+
+  /**
+   * Returns the steps from {@code start} to {@code end}, excluding the start itself.
+   *
+   * <p>Steps follow a shortest obstacle-free path on the warehouse grid. Endpoints outside
+   * the grid, or ones that cannot be reached, fall back to walking X first and then Y.
+   * Segments are shared through the {@link PathSegmentCache}.
+   * </p>
+   */
+  private List<Location> generateRouteBetween(Location start, Location end) {
+    return segmentCache.getOrCompute(start, end, () -> findGridRoute(start, end));
+  }
 
+  private List<Location> findGridRoute(Location start, Location end) {
+    int[] path = pathfinder.findPath(start.x(), start.y(), end.x(), end.y());
+    if (path == null) {
+      LOGGER.warn("No grid path from {} to {}, walking straight", start, end);
+      return generateStraightRouteBetween(start, end);
+    }
+    WarehouseGrid grid = pathfinder.getGrid();
+    List<Location> segments = new ArrayList<>(path.length);
+    for (int cell : path) {
+      segments.add(new Location(grid.x(cell), grid.y(cell))); // add a step
+    }
+    return segments;
   }
 
-  private static List<Location> generateRouteBetween(Location start, Location end) {
+  private static List<Location> generateStraightRouteBetween(Location start, Location end) {
     List<Location> segments = new ArrayList<>();
     int[] current = {start.x(), start.y()}; // Save the location where we are currently
     int[] target = {end.x(), end.y()}; // Save the location where we want to go
@@ -163,108 +532,748 @@ public class RouteServiceImpl implements RouteService {
     return generateRouteBetween(start, FINAL_LOCATION);
   }
 
-  private static Location findNearest(Location current, List<Location> locations) {
-    double minDistance = Double.MAX_VALUE;
-    Location nearest = null;
+  /**
+   * Collects items for the specified order in parallel using available bots.
+   *
+   * <p>Like {@link #calculateAndSavePath(Long)}, the collection runs at most once per order.
+   * </p>
+   *
+   * @param orderId the ID of the order to collect items for
+   */
+  public void collectItemsParallel(Long orderId) {
+    collectItemsParallel(orderId, ParallelPlanner.PAIRS);
+  }
+
+  /**
+   * Collects items for the specified order in parallel with the chosen planner.
+   *
+   * @param orderId the ID of the order to collect items for
+   * @param planner how the order is split into routes
+   */
+  public void collectItemsParallel(Long orderId, ParallelPlanner planner) {
+    collectItemsParallel(orderId, planner, RoutePlanningListener.NONE);
+  }
+
+  /**
+   * Collects items for the specified order in parallel, reporting progress.
+   *
+   * @param orderId  the ID of the order to collect items for
+   * @param planner  how the order is split into routes
+   * @param listener notified when the routes are planned and as each route is saved
+   */
+  @Override
+  public void collectItemsParallel(Long orderId, ParallelPlanner planner,
+                                   RoutePlanningListener listener) {
+    if (planner == ParallelPlanner.PARTITIONED) {
+      planOnce(orderId, PARTITIONED_STRATEGY, () -> collectPartitioned(orderId, listener));
+    } else {
+      planOnce(orderId, PARALLEL_STRATEGY, () -> collectPairsInParallel(orderId, listener));
+    }
+  }
+
+  /**
+   * Plans a parallel collection like {@link #collectItemsParallel(Long, ParallelPlanner)}
+   * without storing the routes, occupying bots or moving them.
+   *
+   * <p>Bots are handed out one pair or tour after another as if each finished its route
+   * before the next one is assigned, so the routes match a collection on an idle fleet.
+   * With {@code route.collision-avoidance.enabled} the routes are planned jointly, as the
+   * collection would plan them.
+   * </p>
+   *
+   * @param orderId the ID of the order
+   * @param planner how the order is split into routes
+   * @return the routes with every step
+   * @throws OrderNotFoundException if the order does not exist
+   */
+  @Override
+  public List<RouteResponse> previewItemsParallel(Long orderId, ParallelPlanner planner) {
+    Order order = orderRepository.findById(orderId)
+        .orElseThrow(() -> new OrderNotFoundException(orderId));
+    return previewItemsParallel(order, planner, freeBotPositions());
+  }
+
+  /**
+   * Plans a parallel collection like {@link #previewItemsParallel(Long, ParallelPlanner)}
+   * for another fleet than the live one, every bot of which is free.
+   *
+   * @param orderId   the ID of the order
+   * @param planner   how the order is split into routes
+   * @param botStarts the {@code [x, y]} cell each bot of the fleet starts from
+   * @return the routes with every step
+   * @throws OrderNotFoundException   if the order does not exist
+   * @throws IllegalArgumentException if the fleet has no bots
+   */
+  @Override
+  public List<RouteResponse> previewItemsParallel(Long orderId, ParallelPlanner planner,
+                                                  List<int[]> botStarts) {
+    Order order = orderRepository.findById(orderId)
+        .orElseThrow(() -> new OrderNotFoundException(orderId));
+    return previewItemsParallel(order, planner, fleetOf(botStarts));
+  }
+
+  private List<RouteResponse> previewItemsParallel(Order order, ParallelPlanner planner,
+                                                   List<BotPool.BotPosition> bots) {
+    return planner == ParallelPlanner.PARTITIONED
+        ? previewPartitioned(order, bots) : previewPairs(order, bots);
+  }
 
-    for (Location loc : locations) {
-      double
-          distance =
-          Math.abs(loc.x() - current.x()) + Math.abs(loc.y() - current.y()); // Manhattan distance
-      if (distance < minDistance) {
-        minDistance = distance;
-        nearest = loc; // set nearest location
+  private List<RouteResponse> previewPartitioned(Order order, List<BotPool.BotPosition> bots) {
+    List<Product> stops = distinctStops(order.getOrderItems().stream()
+        .map(OrderItem::getProduct)
+        .toList());
+    if (bots.isEmpty()) {
+      throw new RuntimeException("No available bots");
+    }
+    Map<BotAvailability, List<PlannedTour>> schedule =
+        scheduleTours(clusterStops(stops, bots.size()), stops, bots);
+    Map<BotAvailability, List<List<Location>>> coordinated = coordinateTours(schedule);
+    List<RouteResponse> routes = new ArrayList<>();
+    for (Map.Entry<BotAvailability, List<PlannedTour>> tours : schedule.entrySet()) {
+      List<List<Location>> botRoutes = coordinated.get(tours.getKey());
+      for (int i = 0; i < tours.getValue().size(); i++) {
+        PlannedTour tour = tours.getValue().get(i);
+        List<Location> route =
+            botRoutes == null ? buildRoute(tour.start(), tour.stops()) : botRoutes.get(i);
+        routes.add(toRouteResponse(order, route, productNames(tour.stops()), tours.getKey()));
       }
     }
+    return routes;
+  }
 
-    return nearest;
+  private List<RouteResponse> previewPairs(Order order, List<BotPool.BotPosition> bots) {
+    List<PairOfProducts> productPairs =
+        createProductPairs(sortProductsByLocation(getProductInfos(order)), bots.size());
+    BotPool availableBots =
+        new BotPool(bots, routeProperties.getBotSelection(), pathfinder);
+    if (availableBots.isEmpty()) {
+      throw new RuntimeException("No available bots");
+    }
+    List<RouteResponse> routes = new ArrayList<>(productPairs.size());
+    if (routeProperties.getCollisionAvoidance().isEnabled()) {
+      JointPairPlan plan = planPairsJointly(productPairs, bots);
+      for (int b = 0; b < plan.bots().size(); b++) {
+        BotPool.BotPosition bot = plan.bots().get(b);
+        Location position = bot.location();
+        for (int i = 0; i < plan.pairs().get(b).size(); i++) {
+          PairOfProducts pairOfProducts = plan.pairs().get(b).get(i);
+          List<Location> route = plan.routes() == null
+              ? pairRoute(pairOfProducts, position) : plan.routes().get(b).get(i);
+          position = route.get(route.size() - 1);
+          routes.add(toRouteResponse(order, route, routeName(pairOfProducts), bot.bot()));
+        }
+      }
+      return routes;
+    }
+    try {
+      for (PairOfProducts pairOfProducts : productPairs) {
+        BotPool.BotPosition bot = availableBots.take(pairOfProducts.product1.location);
+        List<Location> route = pairRoute(pairOfProducts, bot.location());
+        availableBots.release(bot.bot(), route.get(route.size() - 1));
+        routes.add(toRouteResponse(order, route, routeName(pairOfProducts), bot.bot()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a bot", e);
+    }
+    return routes;
   }
 
   /**
-   * Collects items for the specified order in parallel using available bots.
+   * Runs {@code planner} unless routes for the order and strategy already exist.
    *
-   * @param orderId the ID of the order to collect items for
+   * <p>Concurrent calls for the same order and strategy are coalesced: the first caller
+   * plans while the others wait for its result instead of planning again. The in-flight
+   * plan is checked before the stored routes, because bot tasks store routes one at a
+   * time. The routes only count, and are only returned by {@link #getRoute}, once the
+   * planner has finished and they are marked complete. Routes left by a collection that
+   * failed are deleted, so the next call plans the order again from scratch.
+   * </p>
    */
-  public void collectItemsParallel(Long orderId) {
+  private void planOnce(Long orderId, String strategy, Runnable planner) {
+    PlanKey key = new PlanKey(orderId, strategy);
+    CompletableFuture<Void> running = inFlightPlans.get(key);
+    if (running != null) {
+      awaitCompletion(running);
+      return;
+    }
+    if (routeRepository.existsByOrderIdAndStrategyAndCompleteTrue(orderId, strategy)) {
+      return;
+    }
+    CompletableFuture<Void> planning = new CompletableFuture<>();
+    running = inFlightPlans.putIfAbsent(key, planning);
+    if (running != null) {
+      awaitCompletion(running);
+      return;
+    }
+    try {
+      // Another caller may have finished between the first check and claiming the key.
+      if (!routeRepository.existsByOrderIdAndStrategyAndCompleteTrue(orderId, strategy)) {
+        routeRepository.deleteIncomplete(orderId, strategy);
+        planner.run();
+        routeRepository.markComplete(orderId, strategy);
+      }
+      planning.complete(null);
+    } catch (RuntimeException e) {
+      discardIncomplete(() -> routeRepository.deleteIncomplete(orderId, strategy), e);
+      planning.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightPlans.remove(key, planning);
+    }
+  }
+
+  /**
+   * Deletes the routes a failed collection stored; a failure to do so is added to the
+   * collection's failure, and the leftovers are deleted before the next attempt.
+   */
+  private static void discardIncomplete(Runnable delete, RuntimeException failure) {
+    try {
+      delete.run();
+    } catch (RuntimeException e) {
+      failure.addSuppressed(e);
+    }
+  }
+
+  private static void awaitCompletion(CompletableFuture<Void> future) {
+    try {
+      future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Splits the order's picks across the free bots and collects them in optimised tours.
+   */
+  private void collectPartitioned(Long orderId, RoutePlanningListener listener) {
+    Order order = orderRepository.findById(orderId)
+        .orElseThrow(() -> new OrderNotFoundException(orderId));
+    List<Product> stops = distinctStops(order.getOrderItems().stream()
+        .map(OrderItem::getProduct)
+        .toList());
+    collectInTours(stops, listener, (bot, tour, route) -> saveRoute(route, order,
+        productNames(tour.stops()), PARTITIONED_STRATEGY, bot, listener));
+
+    LOGGER.info("All items collected for order {}", orderId);
+  }
+
+  /**
+   * Collects a wave of orders together, visiting each shelf once for all of them.
+   *
+   * <p>The pick lists of the orders are merged by location and split into bot tours like
+   * the {@link ParallelPlanner#PARTITIONED} planner. Every tour is stored once per order it
+   * picks for, as a route named after that order's products and tagged with the wave ID,
+   * so each order can be handed over at the drop-off separately. The routes count only once
+   * the whole wave is stored; a wave that fails leaves none behind.
+   * </p>
+   *
+   * @param waveId   the ID stored on every route of the wave
+   * @param orderIds the orders of the wave
+   * @throws OrderNotFoundException if one of the orders does not exist
+   */
+  public void collectWave(String waveId, List<Long> orderIds) {
+    Map<Long, Order> orders = new LinkedHashMap<>();
+    for (Long orderId : orderIds) {
+      orders.put(orderId, orderRepository.findById(orderId)
+          .orElseThrow(() -> new OrderNotFoundException(orderId)));
+    }
+    Map<Location, Map<Long, List<Product>>> picksByLocation = new LinkedHashMap<>();
+    List<Product> stops = new ArrayList<>();
+    for (Order order : orders.values()) {
+      for (OrderItem item : order.getOrderItems()) {
+        Product product = item.getProduct();
+        picksByLocation.computeIfAbsent(locationOf(product), location -> {
+          stops.add(product); // the first product at a shelf stands for all of them
+          return new LinkedHashMap<>();
+        }).computeIfAbsent(order.getId(), id -> new ArrayList<>()).add(product);
+      }
+    }
+
+    try {
+      collectInTours(stops, RoutePlanningListener.NONE, (bot, tour, route) -> {
+        Map<Long, List<Product>> picksByOrder = new LinkedHashMap<>();
+        for (Product stop : tour.stops()) {
+          picksByLocation.get(locationOf(stop)).forEach((orderId, products) ->
+              picksByOrder.computeIfAbsent(orderId, id -> new ArrayList<>()).addAll(products));
+        }
+        picksByOrder.forEach((orderId, products) -> saveRoute(route, orders.get(orderId),
+            productNames(products), WAVE_STRATEGY, waveId, bot, RoutePlanningListener.NONE));
+      });
+      routeRepository.markWaveComplete(waveId);
+    } catch (RuntimeException e) {
+      discardIncomplete(() -> routeRepository.deleteIncompleteWave(waveId), e);
+      throw e;
+    }
+
+    LOGGER.info("Wave {} collected {} orders from {} shelves", waveId, orders.size(),
+        stops.size());
+  }
+
+  private static String productNames(List<Product> products) {
+    return products.stream()
+        .map(Product::getName)
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Clusters {@code stops} into capacity-bounded tours and has the free bots collect them.
+   *
+   * <p>The stops are clustered with {@link PickPartitioner} into at least one group per
+   * free bot, each holding at most {@code route.partition.bot-capacity} locations. Groups
+   * are then handed out longest first, each to the bot that would finish it earliest given
+   * the tours it already has, which keeps the makespan low. Every bot collects its tours
+   * one after another in a single task, and {@code saver} stores each tour once the bot has
+   * its path.
+   * </p>
+   */
+  private void collectInTours(List<Product> stops, RoutePlanningListener listener,
+                              TourSaver saver) {
+    List<BotPool.BotPosition> bots = freeBotPositions();
+
+    if (bots.isEmpty()) {
+      throw new RuntimeException("No available bots");
+    }
+
+    List<int[]> clusters = clusterStops(stops, bots.size());
+    Map<BotAvailability, List<PlannedTour>> schedule = scheduleTours(clusters, stops, bots);
+    Map<BotAvailability, List<List<Location>>> coordinated = coordinateTours(schedule);
+    listener.onRoutesPlanned(clusters.size());
+
+    List<CompletableFuture<Void>> collections = new ArrayList<>(schedule.size());
+    try {
+      for (Map.Entry<BotAvailability, List<PlannedTour>> tours : schedule.entrySet()) {
+        fleetCapacity.acquire();
+        collections.add(CompletableFuture.runAsync(
+            () -> collectTours(tours.getKey(), tours.getValue(),
+                coordinated.get(tours.getKey()), listener, saver),
+            taskExecutor));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a bot", e);
+    }
+    awaitCompletion(CompletableFuture.allOf(collections.toArray(new CompletableFuture[0])));
+  }
+
+  private List<int[]> clusterStops(List<Product> stops, int botCount) {
+    RouteProperties.Partition settings = routeProperties.getPartition();
+    int capacity = Math.max(1, settings.getBotCapacity());
+    int groups = Math.max(Math.min(botCount, stops.size()),
+        (stops.size() + capacity - 1) / capacity);
+    return PickPartitioner.partition(toTourInstance(FINAL_LOCATION, stops),
+        groups, capacity, settings.getMaxIterations());
+  }
+
+  /**
+   * Assigns each cluster to a bot, longest cluster first, minimising the finish time.
+   *
+   * <p>The tour of every cluster is planned once from the final location. A bot's cost for
+   * a cluster is estimated as that tour's length plus the straight-line distance from the
+   * bot to the cluster's nearest stop, so the solver is not run for every cluster and bot.
+   * Only a tour that a bot starts away from the final location is planned again from there.
+   * </p>
+   */
+  private Map<BotAvailability, List<PlannedTour>> scheduleTours(List<int[]> clusters,
+                                                                List<Product> stops,
+                                                                List<BotPool.BotPosition> bots) {
+    List<PlannedTour> depotTours = new ArrayList<>(clusters.size());
+    for (int[] cluster : clusters) {
+      List<Product> group = new ArrayList<>(cluster.length);
+      for (int index : cluster) {
+        group.add(stops.get(index));
+      }
+      depotTours.add(planTour(FINAL_LOCATION, group));
+    }
+    depotTours.sort(Comparator.comparingInt(PlannedTour::cost).reversed());
+
+    long[] finish = new long[bots.size()];
+    Location[] position = new Location[bots.size()];
+    for (int b = 0; b < bots.size(); b++) {
+      position[b] = bots.get(b).location();
+    }
+    Map<BotAvailability, List<PlannedTour>> schedule = new LinkedHashMap<>();
+    for (PlannedTour depotTour : depotTours) {
+      int chosen = -1;
+      long chosenFinish = 0;
+      for (int b = 0; b < bots.size(); b++) {
+        long done = finish[b] + depotTour.cost()
+            + distanceToNearest(position[b], depotTour.stops());
+        if (chosen < 0 || done < chosenFinish) {
+          chosen = b;
+          chosenFinish = done;
+        }
+      }
+      PlannedTour tour = position[chosen].equals(FINAL_LOCATION)
+          ? depotTour : planTour(position[chosen], depotTour.stops());
+      finish[chosen] += tour.cost();
+      position[chosen] = FINAL_LOCATION; // every tour ends at the final location
+      schedule.computeIfAbsent(bots.get(chosen).bot(), bot -> new ArrayList<>()).add(tour);
+    }
+    return schedule;
+  }
+
+  private static int distanceToNearest(Location from, List<Product> stops) {
+    int nearest = Integer.MAX_VALUE;
+    for (Product stop : stops) {
+      nearest = Math.min(nearest, Math.abs(stop.getLocation().getX() - from.x())
+          + Math.abs(stop.getLocation().getY() - from.y()));
+    }
+    return nearest;
+  }
+
+  /**
+   * Has one bot collect its tours in order, along the jointly planned {@code routes} if
+   * there are any.
+   */
+  private void collectTours(BotAvailability bot, List<PlannedTour> tours,
+                            List<List<Location>> routes, RoutePlanningListener listener,
+                            TourSaver saver) {
+    bot.getAvailable().set(false);
+    try {
+      for (int i = 0; i < tours.size(); i++) {
+        PlannedTour tour = tours.get(i);
+        String routeName = productNames(tour.stops());
+        LOGGER.info("Bot {} is collecting products: {}", bot.getBot().id(), routeName);
+        listener.onBotAssigned(bot.getBot().id(), routeName, 0);
+        List<Location> route =
+            routes == null ? buildRoute(tour.start(), tour.stops()) : routes.get(i);
+        fleetState.startRoute(bot, routeName, route.size() - 1);
+        Location end = tour.start();
+        try {
+          saver.save(bot, tour, route);
+          end = route.get(route.size() - 1);
+        } finally {
+          fleetState.finishRoute(bot, end.x(), end.y());
+        }
+      }
+    } finally {
+      bot.getAvailable().set(true);
+      fleetCapacity.release();
+    }
+  }
+
+  private void collectPairsInParallel(Long orderId, RoutePlanningListener listener) {
     Order order = orderRepository.findById(orderId)
         .orElseThrow(() -> new RuntimeException("Order not found"));
     List<ProductInfo> products = getProductInfos(order);
     List<ProductInfo> productsSortedByLocation = sortProductsByLocation(products);
-    Deque<PairOfProducts> productPairs = createProductPairs(productsSortedByLocation);
-    BlockingQueue<BotAvailability> availableBots = getAvailableBots();
+    List<PairOfProducts> productPairs =
+        createProductPairs(productsSortedByLocation, countAvailableBots());
+    BotPool availableBots = getAvailableBots();
 
     if (availableBots.isEmpty()) {
       throw new RuntimeException("No available bots");
     }
 
-    CountDownLatch latch = new CountDownLatch(productPairs.size());
+    listener.onRoutesPlanned(productPairs.size());
+    if (routeProperties.getCollisionAvoidance().isEnabled()) {
+      collectPairsJointly(productPairs, order, listener);
+    } else {
+      dispatchProductPairs(productPairs, availableBots, order, listener);
+    }
 
-    assignProductPairsToBots(productPairs, availableBots, order, latch);
+    LOGGER.info("All items collected for order {}", orderId);
+  }
 
+  /**
+   * Hands every product pair to exactly one bot task and waits for all of them.
+   *
+   * <p>Pairs are dispatched in order. Each one blocks until a bot of this order is returned
+   * to {@code availableBots} and the fleet has a free permit, then runs on the bot executor.
+   * Which free bot a pair gets depends on {@link RouteProperties#getBotSelection()}.
+   * The time a pair waited for its bot is logged and reported with the assignment.
+   * </p>
+   */
+  private void dispatchProductPairs(List<PairOfProducts> productPairs,
+                                    BotPool availableBots,
+                                    Order order,
+                                    RoutePlanningListener listener) {
+    List<CompletableFuture<Void>> collections = new ArrayList<>(productPairs.size());
+    long queuedAt = System.nanoTime();
     try {
-      latch.await();
+      for (PairOfProducts pairOfProducts : productPairs) {
+        BotPool.BotPosition bot = availableBots.take(pairOfProducts.product1.location);
+        try {
+          fleetCapacity.acquire();
+        } catch (InterruptedException e) {
+          availableBots.release(bot.bot(), bot.location());
+          throw e;
+        }
+        long queueWaitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt);
+        collections.add(CompletableFuture.runAsync(
+            () -> collectPair(pairOfProducts, bot, availableBots, order, queueWaitMs, listener),
+            taskExecutor));
+      }
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a bot", e);
     }
+    awaitCompletion(CompletableFuture.allOf(collections.toArray(new CompletableFuture[0])));
+  }
 
-    LOGGER.info("All items collected for order {}", orderId);
+  private void collectPair(PairOfProducts pairOfProducts,
+                           BotPool.BotPosition assigned,
+                           BotPool availableBots,
+                           Order order,
+                           long queueWaitMs,
+                           RoutePlanningListener listener) {
+    BotAvailability bot = assigned.bot();
+    Location botLocation = assigned.location();
+    Location end = botLocation;
+    try {
+      LOGGER.info("Bot {} is collecting products: {} after waiting {} ms",
+          bot.getBot().id(), routeName(pairOfProducts), queueWaitMs);
+      listener.onBotAssigned(bot.getBot().id(), routeName(pairOfProducts), queueWaitMs);
+      bot.getAvailable().set(false);
+
+      List<Location> route = pairRoute(pairOfProducts, botLocation);
+      fleetState.startRoute(bot, routeName(pairOfProducts), route.size() - 1);
+      saveRoute(route, order, routeName(pairOfProducts), PARALLEL_STRATEGY, bot, listener);
+      end = route.get(route.size() - 1);
+    } finally {
+      bot.getAvailable().set(true);
+      fleetState.finishRoute(bot, end.x(), end.y());
+      availableBots.release(bot, end);
+      fleetCapacity.release();
+    }
+  }
+
+  /**
+   * Collects the product pairs along routes planned jointly, so that no two bots meet.
+   *
+   * <p>Joint planning needs to know up front which bot drives which pair, so pairs are not
+   * handed out as bots come back. Instead each pair goes to the bot that would finish it
+   * earliest given the pairs it already has, and every bot collects its pairs one after
+   * another in a single task.
+   * </p>
+   */
+  private void collectPairsJointly(List<PairOfProducts> productPairs, Order order,
+                                   RoutePlanningListener listener) {
+    JointPairPlan plan = planPairsJointly(productPairs, freeBotPositions());
+    List<CompletableFuture<Void>> collections = new ArrayList<>(plan.bots().size());
+    try {
+      for (int b = 0; b < plan.bots().size(); b++) {
+        if (plan.pairs().get(b).isEmpty()) {
+          continue;
+        }
+        BotPool.BotPosition bot = plan.bots().get(b);
+        List<PairOfProducts> pairs = plan.pairs().get(b);
+        List<List<Location>> botRoutes = plan.routes() == null ? null : plan.routes().get(b);
+        fleetCapacity.acquire();
+        collections.add(CompletableFuture.runAsync(
+            () -> collectPairs(bot, pairs, botRoutes, order, listener), taskExecutor));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a bot", e);
+    }
+    awaitCompletion(CompletableFuture.allOf(collections.toArray(new CompletableFuture[0])));
+  }
+
+  /**
+   * Assigns every product pair to one of {@code bots} up front and plans their routes
+   * jointly.
+   */
+  private JointPairPlan planPairsJointly(List<PairOfProducts> productPairs,
+                                         List<BotPool.BotPosition> bots) {
+    long[] finish = new long[bots.size()];
+    Location[] position = new Location[bots.size()];
+    List<List<PairOfProducts>> assigned = new ArrayList<>(bots.size());
+    for (int b = 0; b < bots.size(); b++) {
+      position[b] = bots.get(b).location();
+      assigned.add(new ArrayList<>());
+    }
+    for (PairOfProducts pairOfProducts : productPairs) {
+      int chosen = -1;
+      long chosenFinish = 0;
+      for (int b = 0; b < bots.size(); b++) {
+        long done = finish[b] + pairRoute(pairOfProducts, position[b]).size() - 1;
+        if (chosen < 0 || done < chosenFinish) {
+          chosen = b;
+          chosenFinish = done;
+        }
+      }
+      finish[chosen] = chosenFinish;
+      position[chosen] = FINAL_LOCATION; // every pair ends at the final location
+      assigned.get(chosen).add(pairOfProducts);
+    }
+
+    List<Location> starts = new ArrayList<>();
+    List<List<List<Location>>> stops = new ArrayList<>();
+    for (int b = 0; b < bots.size(); b++) {
+      starts.add(bots.get(b).location());
+      List<List<Location>> botStops = new ArrayList<>();
+      for (PairOfProducts pairOfProducts : assigned.get(b)) {
+        List<Location> pairStops = new ArrayList<>();
+        pairStops.add(pairOfProducts.product1.location);
+        if (!pairOfProducts.product2.name.isEmpty()) {
+          pairStops.add(pairOfProducts.product2.location);
+        }
+        pairStops.add(FINAL_LOCATION);
+        botStops.add(pairStops);
+      }
+      stops.add(botStops);
+    }
+    return new JointPairPlan(bots, assigned, planCollisionFree(starts, stops));
   }
 
-  private void assignProductPairsToBots(Deque<PairOfProducts> productPairs,
-                                        BlockingQueue<BotAvailability> availableBots,
-                                        Order order,
-                                        CountDownLatch latch) {
-    while (!productPairs.isEmpty()) {
-      taskExecutor.execute(() -> {
+  private void collectPairs(BotPool.BotPosition assigned, List<PairOfProducts> pairs,
+                            List<List<Location>> routes, Order order,
+                            RoutePlanningListener listener) {
+    BotAvailability bot = assigned.bot();
+    Location position = assigned.location();
+    bot.getAvailable().set(false);
+    try {
+      for (int i = 0; i < pairs.size(); i++) {
+        PairOfProducts pairOfProducts = pairs.get(i);
+        LOGGER.info("Bot {} is collecting products: {}", bot.getBot().id(),
+            routeName(pairOfProducts));
+        listener.onBotAssigned(bot.getBot().id(), routeName(pairOfProducts), 0);
+        List<Location> route =
+            routes == null ? pairRoute(pairOfProducts, position) : routes.get(i);
+        fleetState.startRoute(bot, routeName(pairOfProducts), route.size() - 1);
+        Location end = position;
         try {
-          PairOfProducts pairOfProducts = productPairs.poll();
-          if (pairOfProducts != null) {
-            BotAvailability bot = availableBots.poll(5, TimeUnit.SECONDS);
-            if (bot != null) {
-              StringBuilder sb = new StringBuilder();
-              sb.append("Bot ")
-                  .append(bot.getBot().id())
-                  .append(" is collecting products: ")
-                  .append(pairOfProducts.product1.name);
-              if (!pairOfProducts.product2.name.isEmpty()) {
-                sb.append(", ").append(pairOfProducts.product2.name);
-              }
-              LOGGER.info(sb.toString());
-              bot.getAvailable().set(false);
-
-              Location botLocation = new Location(
-                  bot.getBot().defaultLocation().getX(),
-                  bot.getBot().defaultLocation().getY()
-              );
-              Location firstProductLocation = new Location(
-                  pairOfProducts.product1.location.x,
-                  pairOfProducts.product1.location.y
-              );
-              List<Location> route = new ArrayList<>();
-              route.add(botLocation);
-              route.addAll(generateRouteBetween(botLocation, firstProductLocation));
-              checkIfSecondProductIsEmptyAndSaveRoute(order,
-                  pairOfProducts,
-                  route,
-                  firstProductLocation);
-              bot.getAvailable().set(true);
-              availableBots.put(bot);
-              latch.countDown();
-            } else {
-              productPairs.addFirst(pairOfProducts);
-            }
-          }
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
+          saveRoute(route, order, routeName(pairOfProducts), PARALLEL_STRATEGY, bot,
+              listener);
+          end = route.get(route.size() - 1);
+        } finally {
+          fleetState.finishRoute(bot, end.x(), end.y());
         }
-      });
+        position = end;
+      }
+    } finally {
+      bot.getAvailable().set(true);
+      fleetCapacity.release();
+    }
+  }
+
+  /**
+   * Plans the tours of every bot jointly when {@code route.collision-avoidance.enabled} is
+   * set.
+   *
+   * @return the routes of each bot's tours, or an empty map to plan them independently
+   */
+  private Map<BotAvailability, List<List<Location>>> coordinateTours(
+      Map<BotAvailability, List<PlannedTour>> schedule) {
+    if (!routeProperties.getCollisionAvoidance().isEnabled()) {
+      return Map.of();
     }
+    List<BotAvailability> bots = new ArrayList<>(schedule.keySet());
+    List<Location> starts = new ArrayList<>(bots.size());
+    List<List<List<Location>>> stops = new ArrayList<>(bots.size());
+    for (BotAvailability bot : bots) {
+      List<PlannedTour> tours = schedule.get(bot);
+      starts.add(tours.get(0).start());
+      List<List<Location>> botStops = new ArrayList<>(tours.size());
+      for (PlannedTour tour : tours) {
+        List<Location> tourStops = new ArrayList<>(tour.stops().size() + 1);
+        tour.stops().forEach(stop -> tourStops.add(locationOf(stop)));
+        tourStops.add(FINAL_LOCATION);
+        botStops.add(tourStops);
+      }
+      stops.add(botStops);
+    }
+    List<List<List<Location>>> routes = planCollisionFree(starts, stops);
+    if (routes == null) {
+      return Map.of();
+    }
+    Map<BotAvailability, List<List<Location>>> coordinated = new HashMap<>();
+    for (int b = 0; b < bots.size(); b++) {
+      coordinated.put(bots.get(b), routes.get(b));
+    }
+    return coordinated;
   }
 
-  private void checkIfSecondProductIsEmptyAndSaveRoute(Order order,
-                                                       PairOfProducts pairOfProducts,
-                                                       List<Location> route,
-                                                       Location firstProductLocation) {
+  /**
+   * Plans the routes of several bots so that no two of them are in the same cell at the
+   * same step or swap cells, see {@link CooperativePathPlanner}.
+   *
+   * <p>A repeated cell in a returned route is a step the bot waits. The final location is
+   * the depot, which holds any number of bots.
+   * </p>
+   *
+   * <p>Reservations are made per call, so only the bots of one order (or one wave) avoid
+   * each other. Bots collecting other orders at the same time are not reserved around.
+   * </p>
+   *
+   * @param starts where each bot stands
+   * @param stops  per bot, the stops of each of its routes in order; a route ends with its
+   *               last stop
+   * @return per bot, the steps of each of its routes, or {@code null} if a stop lies outside
+   *         the grid or no collision-free plan was found
+   */
+  private List<List<List<Location>>> planCollisionFree(List<Location> starts,
+                                                       List<List<List<Location>>> stops) {
+    WarehouseGrid grid = pathfinder.getGrid();
+    int[][] waypoints = new int[starts.size()][];
+    for (int b = 0; b < starts.size(); b++) {
+      List<Location> cells = new ArrayList<>();
+      cells.add(starts.get(b));
+      stops.get(b).forEach(cells::addAll);
+      waypoints[b] = new int[cells.size()];
+      for (int i = 0; i < cells.size(); i++) {
+        Location cell = cells.get(i);
+        if (!grid.contains(cell.x(), cell.y())) {
+          LOGGER.warn("Stop {} lies outside the grid, planning routes independently", cell);
+          return null;
+        }
+        waypoints[b][i] = grid.index(cell.x(), cell.y());
+      }
+    }
+    CooperativePathPlanner.Plan plan;
+    try {
+      plan = cooperativePlanner.plan(waypoints,
+          grid.index(FINAL_LOCATION.x(), FINAL_LOCATION.y()),
+          routeProperties.getCollisionAvoidance().getMaxExpansions());
+    } catch (IllegalStateException e) {
+      LOGGER.warn("{}, planning routes independently", e.getMessage());
+      return null;
+    }
+    if (plan.replans() > 0) {
+      LOGGER.info("Collision-free plan for {} bots needed {} replans", starts.size(),
+          plan.replans());
+    }
+
+    List<List<List<Location>>> routes = new ArrayList<>(starts.size());
+    for (int b = 0; b < starts.size(); b++) {
+      int[] path = plan.paths()[b];
+      int[] arrivals = plan.arrivals()[b];
+      List<List<Location>> botRoutes = new ArrayList<>();
+      int waypoint = 0;
+      for (List<Location> routeStops : stops.get(b)) {
+        int from = arrivals[waypoint];
+        waypoint += routeStops.size();
+        List<Location> route = new ArrayList<>(arrivals[waypoint] - from + 1);
+        for (int tick = from; tick <= arrivals[waypoint]; tick++) {
+          route.add(new Location(grid.x(path[tick]), grid.y(path[tick])));
+        }
+        botRoutes.add(route);
+      }
+      routes.add(botRoutes);
+    }
+    return routes;
+  }
+
+  private List<Location> pairRoute(PairOfProducts pairOfProducts, Location botLocation) {
+    Location firstProductLocation = new Location(
+        pairOfProducts.product1.location.x,
+        pairOfProducts.product1.location.y
+    );
+    List<Location> route = new ArrayList<>();
+    route.add(botLocation);
+    route.addAll(generateRouteBetween(botLocation, firstProductLocation));
+    appendRemainingRoute(pairOfProducts, route, firstProductLocation);
+    return route;
+  }
+
+  private void appendRemainingRoute(PairOfProducts pairOfProducts,
+                                    List<Location> route,
+                                    Location firstProductLocation) {
     if (!pairOfProducts.product2.name.isEmpty()) {
       Location secondProductLocation = new Location(
           pairOfProducts.product2.location.x,
@@ -272,15 +1281,18 @@ public class RouteServiceImpl implements RouteService {
       );
       route.addAll(generateRouteBetween(firstProductLocation, secondProductLocation));
       route.addAll(generateRouteToFinalLocation(secondProductLocation));
-      saveRoute(route,
-          order,
-          pairOfProducts.product1.name + " " + pairOfProducts.product2.name);
     } else {
       route.addAll(generateRouteToFinalLocation(firstProductLocation));
-      saveRoute(route, order, pairOfProducts.product1.name);
     }
   }
 
+  private static String routeName(PairOfProducts pairOfProducts) {
+    if (pairOfProducts.product2.name.isEmpty()) {
+      return pairOfProducts.product1.name;
+    }
+    return pairOfProducts.product1.name + " " + pairOfProducts.product2.name;
+  }
+
   /**
    * Record representing product information including name and location.
    *
@@ -302,13 +1314,76 @@ public class RouteServiceImpl implements RouteService {
   private record PairOfProducts(ProductInfo product1, ProductInfo product2) {
   }
 
-  private BlockingQueue<BotAvailability> getAvailableBots() {
-    return new LinkedBlockingQueue<>(botProperties.getBots().stream()
+  private record PlanKey(Long orderId, String strategy) {
+  }
+
+  /**
+   * A bot tour through {@code stops} in visit order, from {@code start} back to the final
+   * location, and its length in steps.
+   */
+  private record PlannedTour(Location start, List<Product> stops, int cost) {
+  }
+
+  /**
+   * The product pairs assigned to each free bot, and their jointly planned routes, or
+   * {@code null} routes to plan them independently.
+   */
+  private record JointPairPlan(List<BotPool.BotPosition> bots,
+                               List<List<PairOfProducts>> pairs,
+                               List<List<List<Location>>> routes) {
+  }
+
+  /**
+   * Stores the route a bot drove for one of its tours.
+   */
+  @FunctionalInterface
+  private interface TourSaver {
+    void save(BotAvailability bot, PlannedTour tour, List<Location> route);
+  }
+
+  private BotPool getAvailableBots() {
+    return new BotPool(freeBotPositions(), routeProperties.getBotSelection(), pathfinder);
+  }
+
+  private List<BotPool.BotPosition> freeBotPositions() {
+    return botProperties.getBots().stream()
         .filter(bot -> bot.getAvailable().get())
         .sorted(
             Comparator.comparingInt((BotAvailability b) -> b.getBot().defaultLocation().getX())
         )
-        .collect(Collectors.toCollection(LinkedBlockingQueue::new)));
+        .map(bot -> {
+          BotState state = fleetState.stateOf(bot);
+          return new BotPool.BotPosition(bot, new Location(state.x(), state.y()));
+        })
+        .toList();
+  }
+
+  /**
+   * Returns free stand-ins for the bots of another fleet than the live one, standing at the
+   * given cells.
+   */
+  private static List<BotPool.BotPosition> fleetOf(List<int[]> botStarts) {
+    if (botStarts.isEmpty()) {
+      throw new IllegalArgumentException("No bots to plan with");
+    }
+    List<BotPool.BotPosition> bots = new ArrayList<>(botStarts.size());
+    for (int i = 0; i < botStarts.size(); i++) {
+      int[] start = botStarts.get(i);
+      com.example.grocerypickbot.product.models.Location location =
+          new com.example.grocerypickbot.product.models.Location();
+      location.setX(start[0]);
+      location.setY(start[1]);
+      BotAvailability bot = new BotAvailability(new Bot("fleet-" + (i + 1), location),
+          new AtomicBoolean(true));
+      bots.add(new BotPool.BotPosition(bot, new Location(start[0], start[1])));
+    }
+    return bots;
+  }
+
+  private long countAvailableBots() {
+    return botProperties.getBots().stream()
+        .filter(bot -> bot.getAvailable().get())
+        .count();
   }
 
   private List<ProductInfo> getProductInfos(Order order) {
@@ -323,24 +1398,41 @@ public class RouteServiceImpl implements RouteService {
         .toList();
   }
 
-  private void saveRoute(List<Location> route, Order order, String productName) {
-    String json;
-    try {
-      json = mapper.writeValueAsString(route);
-    } catch (JsonProcessingException e) {
-      throw new RuntimeException(e);
-    }
+  private void saveRoute(List<Location> route, Order order, String productName,
+                         String strategy, BotAvailability bot,
+                         RoutePlanningListener listener) {
+    saveRoute(route, order, productName, strategy, null, bot, listener);
+  }
 
+  private void saveRoute(List<Location> route, Order order, String productName,
+                         String strategy, String waveId, BotAvailability bot,
+                         RoutePlanningListener listener) {
     Route routeToSave = new Route();
     routeToSave.setOrder(order);
-    routeToSave.setCoordinatesJson(json);
+    routeToSave.setRouteData(RouteBinaryCodec.encode(WaypointCodec.compress(route)));
+    routeToSave.setFormat(RouteFormat.WAYPOINTS);
     routeToSave.setRouteName(productName);
+    routeToSave.setStrategy(strategy);
+    routeToSave.setWaveId(waveId);
+    routeToSave.setBotId(bot.getBot().id());
     routeRepository.save(routeToSave);
+    listener.onRouteSaved(toRouteResponse(order, route, productName, bot));
+  }
+
+  private static RouteResponse toRouteResponse(Order order, List<Location> route,
+                                               String productName, BotAvailability bot) {
+    return new RouteResponse(
+        order.getId(),
+        order.getStatus(),
+        route.stream().map(loc -> new int[]{loc.x(), loc.y()}).collect(Collectors.toList()),
+        productName,
+        bot.getBot().id()
+    );
   }
 
-  private Deque<PairOfProducts> createProductPairs(List<ProductInfo> products) {
-    Deque<PairOfProducts> pairs = new ConcurrentLinkedDeque<>();
-    if (products.size() > getAvailableBots().size()) {
+  private List<PairOfProducts> createProductPairs(List<ProductInfo> products, long botCount) {
+    List<PairOfProducts> pairs = new ArrayList<>();
+    if (products.size() > botCount) {
       for (int i = 0; i < products.size(); i += 2) {
         ProductInfo product1 = products.get(i);
         ProductInfo product2 = (i + 1 < products.size())
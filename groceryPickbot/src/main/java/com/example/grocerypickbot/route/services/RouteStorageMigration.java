@@ -0,0 +1,112 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.Route;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.repositories.RouteRepository;
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Converts routes stored as JSON coordinates into the binary {@code route_data} format.
+ *
+ * <p>Runs once the application is ready and walks the legacy rows in ID order, one batch
+ * per transaction. Rows that cannot be parsed are logged and left untouched; they are
+ * still readable through the JSON fallback in {@link RouteServiceImpl#getRoute}.
+ * </p>
+ */
+@Component
+public class RouteStorageMigration {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RouteStorageMigration.class);
+
+  private final RouteRepository routeRepository;
+  private final ObjectMapper mapper;
+  private final TransactionTemplate transactionTemplate;
+  private final RouteProperties.Storage storage;
+
+  /**
+   * Constructs a RouteStorageMigration.
+   *
+   * @param routeRepository     the repository for managing routes
+   * @param mapper              the mapper used to read legacy JSON coordinates
+   * @param transactionTemplate the template wrapping each batch in a transaction
+   * @param routeProperties     the route planning configuration
+   */
+  public RouteStorageMigration(RouteRepository routeRepository, ObjectMapper mapper,
+                               TransactionTemplate transactionTemplate,
+                               RouteProperties routeProperties) {
+    this.routeRepository = routeRepository;
+    this.mapper = mapper;
+    this.transactionTemplate = transactionTemplate;
+    this.storage = routeProperties.getStorage();
+  }
+
+  /**
+   * Migrates all legacy rows if enabled.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateOnStartup() {
+    if (storage.isMigrateOnStartup()) {
+      migrate();
+    }
+  }
+
+  /**
+   * Migrates every route that has no binary route data yet.
+   *
+   * @return the number of converted routes
+   */
+  public int migrate() {
+    int converted = 0;
+    long lastId = 0;
+    while (true) {
+      long cursor = lastId;
+      Batch batch = transactionTemplate.execute(status -> convertBatch(cursor));
+      if (batch == null || batch.size() == 0) {
+        break;
+      }
+      converted += batch.converted();
+      lastId = batch.lastId();
+    }
+    if (converted > 0) {
+      LOGGER.info("Migrated {} routes to binary route data", converted);
+    }
+    return converted;
+  }
+
+  private Batch convertBatch(long afterId) {
+    List<Route> routes = routeRepository.findByRouteDataIsNullAndIdGreaterThanOrderByIdAsc(
+        afterId, PageRequest.of(0, storage.getMigrationBatchSize()));
+    int converted = 0;
+    for (Route route : routes) {
+      try {
+        Location[] locations = mapper.readValue(route.getCoordinatesJson(), Location[].class);
+        List<Location> waypoints = route.getFormat() == RouteFormat.WAYPOINTS
+            ? Arrays.asList(locations)
+            : WaypointCodec.compress(Arrays.asList(locations));
+        route.setRouteData(RouteBinaryCodec.encode(waypoints));
+        route.setFormat(RouteFormat.WAYPOINTS);
+        route.setCoordinatesJson(null);
+        converted++;
+      } catch (JsonProcessingException | IllegalArgumentException e) {
+        LOGGER.warn("Route {} could not be migrated: {}", route.getId(), e.getMessage());
+      }
+    }
+    routeRepository.saveAll(routes);
+    long lastId = routes.isEmpty() ? afterId : routes.get(routes.size() - 1).getId();
+    return new Batch(routes.size(), converted, lastId);
+  }
+
+  private record Batch(int size, int converted, long lastId) {
+  }
+}
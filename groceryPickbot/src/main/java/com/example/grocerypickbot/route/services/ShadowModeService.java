@@ -0,0 +1,204 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.RouteMetrics;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.ShadowComparison;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Compares a candidate routing strategy with the served one on live traffic.
+ *
+ * <p>With {@code route.shadow.enabled} a share of {@code GET /routes} requests, set by
+ * {@code route.shadow.sample-percent}, is planned a second time with
+ * {@code route.shadow.candidate-strategy} on the "shadowExecutor" pool. The candidate only
+ * previews its routes, so nothing is stored and no bot moves. Its figures are tallied next
+ * to those of the served routes per pair of strategies.
+ * </p>
+ *
+ * <p>Compute times compare like with like: the served strategy previews the order as well,
+ * on the same thread right before the candidate, and that preview is what its compute time
+ * measures. The served request itself also waits for bots and stores its routes, which the
+ * candidate never does.
+ * </p>
+ */
+@Service
+public class ShadowModeService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ShadowModeService.class);
+  private final RoutingStrategyRegistry strategyRegistry;
+  private final TaskExecutor shadowExecutor;
+  private final RouteProperties routeProperties;
+  private final Map<ComparisonKey, Tally> tallies = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a ShadowModeService.
+   *
+   * @param strategyRegistry the registry the candidate strategy is looked up in
+   * @param shadowExecutor   the executor that plans the candidate routes
+   * @param routeProperties  the route planning configuration
+   * @throws IllegalStateException if shadow mode is enabled with an unknown candidate
+   */
+  public ShadowModeService(RoutingStrategyRegistry strategyRegistry,
+                           @Qualifier("shadowExecutor") TaskExecutor shadowExecutor,
+                           RouteProperties routeProperties) {
+    this.strategyRegistry = strategyRegistry;
+    this.shadowExecutor = shadowExecutor;
+    this.routeProperties = routeProperties;
+    RouteProperties.Shadow settings = routeProperties.getShadow();
+    if (settings.isEnabled()) {
+      try {
+        strategyRegistry.get(settings.getCandidateStrategy());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalStateException("Unknown shadow candidate strategy", e);
+      }
+    }
+  }
+
+  /**
+   * Decides whether a request served by {@code served} is compared with the candidate.
+   *
+   * @param served the strategy serving the request
+   * @return the candidate strategy if the request is sampled, otherwise empty
+   */
+  public Optional<RoutingStrategy> sample(RoutingStrategy served) {
+    RouteProperties.Shadow settings = routeProperties.getShadow();
+    if (!settings.isEnabled() || served.name().equals(settings.getCandidateStrategy())
+        || ThreadLocalRandom.current().nextDouble(100) >= settings.getSamplePercent()) {
+      return Optional.empty();
+    }
+    return Optional.of(strategyRegistry.get(settings.getCandidateStrategy()));
+  }
+
+  /**
+   * Plans the order with the candidate in the background and tallies both results.
+   *
+   * <p>Returns at once. The sample is dropped if the shadow executor has no room for it.
+   * </p>
+   *
+   * @param orderId      the ID of the order
+   * @param served       the strategy that planned the served routes
+   * @param servedRoutes the served routes
+   * @param candidate    the strategy to compare with, as returned by {@link #sample}
+   */
+  public void compare(Long orderId, RoutingStrategy served, List<RouteResponse> servedRoutes,
+                      RoutingStrategy candidate) {
+    RouteMetrics servedMetrics = RouteMetrics.of(servedRoutes);
+    Tally tally = tallies.computeIfAbsent(new ComparisonKey(served.name(), candidate.name()),
+        key -> new Tally());
+    try {
+      shadowExecutor.execute(
+          () -> planCandidate(orderId, served, servedMetrics, candidate, tally));
+    } catch (RejectedExecutionException e) {
+      tally.drop();
+      LOGGER.debug("Shadow executor busy; skipped order {}", orderId);
+    }
+  }
+
+  /**
+   * Returns the comparisons tallied since startup or the last {@link #reset()}.
+   *
+   * @return one comparison per pair of served and candidate strategy
+   */
+  public List<ShadowComparison> getComparisons() {
+    return tallies.entrySet().stream()
+        .map(entry -> entry.getValue().toComparison(entry.getKey()))
+        .toList();
+  }
+
+  /**
+   * Discards every tallied comparison.
+   */
+  public void reset() {
+    tallies.clear();
+  }
+
+  private void planCandidate(Long orderId, RoutingStrategy servedStrategy, RouteMetrics served,
+                             RoutingStrategy candidate, Tally tally) {
+    try {
+      long started = System.nanoTime();
+      servedStrategy.preview(orderId);
+      long servedComputeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+      started = System.nanoTime();
+      RouteMetrics metrics = RouteMetrics.of(candidate.preview(orderId));
+      long computeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+      tally.record(served, servedComputeMs, metrics, computeMs);
+      LOGGER.info("Shadow {} for order {}: makespan {} vs {}, distance {} vs {}, {} vs {} ms",
+          candidate.name(), orderId, metrics.makespan(), served.makespan(),
+          metrics.totalDistance(), served.totalDistance(), computeMs, servedComputeMs);
+    } catch (RuntimeException e) {
+      tally.fail();
+      LOGGER.warn("Shadow comparison of {} with {} failed for order {}", candidate.name(),
+          servedStrategy.name(), orderId, e);
+    }
+  }
+
+  private record ComparisonKey(String served, String candidate) {
+  }
+
+  /**
+   * Running sums of one pair of strategies.
+   */
+  private static final class Tally {
+    private long samples;
+    private long failures;
+    private long dropped;
+    private long servedDistance;
+    private long candidateDistance;
+    private long servedMakespan;
+    private long candidateMakespan;
+    private long servedComputeMs;
+    private long candidateComputeMs;
+    private long candidateShorterMakespan;
+    private long candidateFasterCompute;
+
+    private synchronized void record(RouteMetrics served, long servedMs,
+                                     RouteMetrics candidate, long candidateMs) {
+      samples++;
+      servedDistance += served.totalDistance();
+      candidateDistance += candidate.totalDistance();
+      servedMakespan += served.makespan();
+      candidateMakespan += candidate.makespan();
+      servedComputeMs += servedMs;
+      candidateComputeMs += candidateMs;
+      if (candidate.makespan() < served.makespan()) {
+        candidateShorterMakespan++;
+      }
+      if (candidateMs < servedMs) {
+        candidateFasterCompute++;
+      }
+    }
+
+    private synchronized void fail() {
+      failures++;
+    }
+
+    private synchronized void drop() {
+      dropped++;
+    }
+
+    private synchronized ShadowComparison toComparison(ComparisonKey key) {
+      return new ShadowComparison(key.served(), key.candidate(), samples, failures, dropped,
+          average(servedDistance), average(candidateDistance),
+          average(servedMakespan), average(candidateMakespan),
+          average(servedComputeMs), average(candidateComputeMs),
+          candidateShorterMakespan, candidateFasterCompute);
+    }
+
+    private double average(long sum) {
+      return samples == 0 ? 0 : (double) sum / samples;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.exceptions.OrderNotFoundException;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import java.util.List;
+
+/**
+ * Plans an order as one tour of a single bot.
+ *
+ * <p>This is the part of the route service a single-bot routing strategy needs: collecting
+ * an order and previewing its route, for the live fleet or another one.
+ * </p>
+ */
+public interface SingleBotPlanning {
+  /**
+   * Strategy name the single-bot routes are stored under.
+   */
+  String STRATEGY = "single";
+
+  /**
+   * Calculates and saves the single-bot route of an order unless it is already stored.
+   *
+   * @param orderId  the ID of the order
+   * @param listener notified when the route is planned and saved
+   */
+  void calculateAndSavePath(Long orderId, RoutePlanningListener listener);
+
+  /**
+   * Plans the single-bot route of an order without storing it or moving the bot.
+   *
+   * @param orderId the ID of the order
+   * @return the route with every step
+   * @throws OrderNotFoundException if the order does not exist
+   */
+  List<RouteResponse> previewPath(Long orderId);
+
+  /**
+   * Plans the single-bot route of an order like {@link #previewPath(Long)}, driven by the
+   * first bot of another fleet than the live one.
+   *
+   * @param orderId   the ID of the order
+   * @param botStarts the {@code [x, y]} cell each bot of the fleet starts from
+   * @return the route with every step
+   * @throws OrderNotFoundException   if the order does not exist
+   * @throws IllegalArgumentException if the fleet has no bots
+   */
+  List<RouteResponse> previewPath(Long orderId, List<int[]> botStarts);
+}
@@ -0,0 +1,163 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.exceptions.OrderNotFoundException;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+/**
+ * Batches pending orders into waves whose picks are collected in shared bot tours.
+ *
+ * <p>The first order opens a wave; the wave closes when {@code route.wave.window-ms} has
+ * passed or {@code route.wave.max-orders} orders have joined, whichever comes first. Closed
+ * waves are planned on the "routePlanningExecutor" pool by
+ * {@link RouteServiceImpl#collectWave}.
+ * </p>
+ */
+@Service
+public class WavePlanningService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(WavePlanningService.class);
+  private final RouteServiceImpl routeService;
+  private final OrderRepository orderRepository;
+  private final TaskExecutor planningExecutor;
+  private final TaskScheduler waveScheduler;
+  private final RouteProperties routeProperties;
+  private final Map<Long, CompletableFuture<Void>> pendingOrders = new ConcurrentHashMap<>();
+  private final Object lock = new Object();
+  private Wave openWave;
+
+  /**
+   * Constructs a WavePlanningService.
+   *
+   * @param routeService     the service that plans and stores routes
+   * @param orderRepository  the repository used to check that orders exist
+   * @param planningExecutor the executor that plans closed waves
+   * @param waveScheduler    the scheduler that closes waves after their window
+   * @param routeProperties  the route planning configuration
+   */
+  public WavePlanningService(RouteServiceImpl routeService, OrderRepository orderRepository,
+                             @Qualifier("routePlanningExecutor") TaskExecutor planningExecutor,
+                             @Qualifier("waveScheduler") TaskScheduler waveScheduler,
+                             RouteProperties routeProperties) {
+    this.routeService = routeService;
+    this.orderRepository = orderRepository;
+    this.planningExecutor = planningExecutor;
+    this.waveScheduler = waveScheduler;
+    this.routeProperties = routeProperties;
+  }
+
+  /**
+   * Adds an order to the open wave.
+   *
+   * <p>An order that is already waiting joins no second wave, and an order collected in an
+   * earlier wave completes at once.
+   * </p>
+   *
+   * @param orderId the ID of the order
+   * @return completes once the wave of the order has been collected
+   * @throws OrderNotFoundException if the order does not exist
+   */
+  public CompletableFuture<Void> enqueue(Long orderId) {
+    if (!orderRepository.existsById(orderId)) {
+      throw new OrderNotFoundException(orderId);
+    }
+    Wave full = null;
+    CompletableFuture<Void> collected;
+    synchronized (lock) {
+      CompletableFuture<Void> pending = pendingOrders.get(orderId);
+      if (pending != null) {
+        return pending;
+      }
+      if (routeService.hasRoutes(orderId, RouteServiceImpl.WAVE_STRATEGY)) {
+        return CompletableFuture.completedFuture(null);
+      }
+      if (openWave == null) {
+        openWave = openWave();
+      }
+      openWave.orderIds.add(orderId);
+      pendingOrders.put(orderId, openWave.collected);
+      collected = openWave.collected;
+      if (openWave.orderIds.size() >= routeProperties.getWave().getMaxOrders()) {
+        full = openWave;
+        openWave = null;
+      }
+    }
+    if (full != null) {
+      full.closing.cancel(false);
+      dispatch(full);
+    }
+    return collected;
+  }
+
+  private Wave openWave() {
+    Wave wave = new Wave(UUID.randomUUID().toString());
+    wave.closing = waveScheduler.schedule(() -> closeAfterWindow(wave),
+        Instant.now().plusMillis(routeProperties.getWave().getWindowMs()));
+    return wave;
+  }
+
+  private void closeAfterWindow(Wave wave) {
+    synchronized (lock) {
+      if (openWave != wave) {
+        return; // already closed because it was full
+      }
+      openWave = null;
+    }
+    dispatch(wave);
+  }
+
+  private void dispatch(Wave wave) {
+    LOGGER.info("Closing wave {} with orders {}", wave.id, wave.orderIds);
+    try {
+      planningExecutor.execute(() -> plan(wave));
+    } catch (RuntimeException e) {
+      finish(wave, e);
+    }
+  }
+
+  private void plan(Wave wave) {
+    try {
+      routeService.collectWave(wave.id, wave.orderIds);
+      finish(wave, null);
+    } catch (RuntimeException e) {
+      LOGGER.error("Wave {} failed", wave.id, e);
+      finish(wave, e);
+    }
+  }
+
+  private void finish(Wave wave, RuntimeException failure) {
+    wave.orderIds.forEach(orderId -> pendingOrders.remove(orderId, wave.collected));
+    if (failure == null) {
+      wave.collected.complete(null);
+    } else {
+      wave.collected.completeExceptionally(failure);
+    }
+  }
+
+  /**
+   * Orders collected together; only changed while it is the open wave.
+   */
+  private static final class Wave {
+    private final String id;
+    private final List<Long> orderIds = new ArrayList<>();
+    private final CompletableFuture<Void> collected = new CompletableFuture<>();
+    private ScheduledFuture<?> closing;
+
+    private Wave(String id) {
+      this.id = id;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts routes between per-step coordinates and run-length waypoints.
+ *
+ * <p>A waypoint list keeps the first and last cell of a route plus every cell where the
+ * direction of travel changes, so consecutive waypoints are always joined by a straight
+ * horizontal or vertical run. A step on which the bot waits repeats its cell, and every
+ * repetition is kept as a waypoint of its own so that the waits survive the round trip.
+ * </p>
+ */
+public final class WaypointCodec {
+
+  private WaypointCodec() {
+  }
+
+  /**
+   * Reduces a step-by-step route to its turn points.
+   *
+   * @param steps the route, one entry per cell
+   * @return the waypoints of the route
+   */
+  public static List<Location> compress(List<Location> steps) {
+    int size = steps.size();
+    if (size <= 2) {
+      return new ArrayList<>(steps);
+    }
+    List<Location> waypoints = new ArrayList<>();
+    waypoints.add(steps.get(0));
+    for (int i = 1; i < size - 1; i++) {
+      Location previous = steps.get(i - 1);
+      Location current = steps.get(i);
+      Location next = steps.get(i + 1);
+      int inX = Integer.signum(current.x() - previous.x());
+      int inY = Integer.signum(current.y() - previous.y());
+      int outX = Integer.signum(next.x() - current.x());
+      int outY = Integer.signum(next.y() - current.y());
+      if (inX != outX || inY != outY || (inX == 0 && inY == 0)) {
+        waypoints.add(current);
+      }
+    }
+    waypoints.add(steps.get(size - 1));
+    return waypoints;
+  }
+
+  /**
+   * Expands waypoints back into one coordinate pair per cell.
+   *
+   * @param waypoints the waypoints of a route
+   * @return the route as {@code [x, y]} pairs
+   */
+  public static List<int[]> expand(Location[] waypoints) {
+    List<int[]> steps = new ArrayList<>();
+    if (waypoints.length == 0) {
+      return steps;
+    }
+    int x = waypoints[0].x();
+    int y = waypoints[0].y();
+    steps.add(new int[] {x, y});
+    for (int i = 1; i < waypoints.length; i++) {
+      Location target = waypoints[i];
+      if (x == target.x() && y == target.y()) {
+        steps.add(new int[] {x, y}); // a wait
+      }
+      while (x != target.x() || y != target.y()) {
+        if (x != target.x()) {
+          x += Integer.signum(target.x() - x);
+        } else {
+          y += Integer.signum(target.y() - y);
+        }
+        steps.add(new int[] {x, y});
+      }
+    }
+    return steps;
+  }
+}
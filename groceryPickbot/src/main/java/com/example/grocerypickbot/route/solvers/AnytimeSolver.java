@@ -0,0 +1,103 @@
+package com.example.grocerypickbot.route.solvers;
+
+import java.util.Random;
+
+/**
+ * Tour planner that keeps improving until a deadline and then returns the best tour found.
+ *
+ * <p>Small instances are solved exactly with {@link HeldKarpSolver}. Larger ones start from
+ * the nearest-neighbour tour improved by {@link LocalSearch}, then run iterated local
+ * search: the best tour is perturbed with a random double-bridge move, improved again and
+ * kept if it got shorter. The search stops at the deadline, or earlier once a number of
+ * perturbations in a row found nothing better.
+ * </p>
+ */
+public final class AnytimeSolver {
+
+  /**
+   * Double-bridge moves need four non-empty segments.
+   */
+  private static final int MIN_PICKS_TO_PERTURB = 8;
+
+  private AnytimeSolver() {
+  }
+
+  /**
+   * Plans a tour within the deadline.
+   *
+   * @param tour          the tour instance
+   * @param exactLimit    instances with at most this many picks are solved exactly
+   * @param maxMoves      the move budget of every local-search descent
+   * @param maxStall      perturbations in a row without improvement after which the search
+   *                      counts as converged
+   * @param deadlineNanos {@link System#nanoTime()} value after which the best tour so far is
+   *                      returned
+   * @param seed          seed of the perturbations, for repeatable results
+   * @return the best tour found
+   */
+  public static Result solve(TourInstance tour, int exactLimit, int maxMoves, int maxStall,
+                             long deadlineNanos, long seed) {
+    int n = tour.pickCount();
+    if (n <= Math.min(exactLimit, HeldKarpSolver.MAX_PICKS)) {
+      int[] order = HeldKarpSolver.solve(tour);
+      return new Result(order, tour.cost(order), true, true);
+    }
+
+    int[] best = NearestNeighbourSolver.solve(tour);
+    boolean localOptimum = LocalSearch.improve(tour, best, maxMoves, deadlineNanos);
+    int bestCost = tour.cost(best);
+    if (!localOptimum || n < MIN_PICKS_TO_PERTURB) {
+      return new Result(best, bestCost, localOptimum, false);
+    }
+
+    Random random = new Random(seed);
+    int stall = 0;
+    while (stall < maxStall && System.nanoTime() - deadlineNanos < 0) {
+      int[] candidate = doubleBridge(best, random);
+      boolean finished = LocalSearch.improve(tour, candidate, maxMoves, deadlineNanos);
+      int cost = tour.cost(candidate);
+      if (cost < bestCost) {
+        best = candidate;
+        bestCost = cost;
+        stall = 0;
+      } else {
+        stall++;
+      }
+      if (!finished) {
+        break; // the deadline cut the descent short
+      }
+    }
+    return new Result(best, bestCost, stall >= maxStall, false);
+  }
+
+  /**
+   * Reconnects the segments {@code A B C D} of the order as {@code A C B D}.
+   */
+  static int[] doubleBridge(int[] order, Random random) {
+    int n = order.length;
+    int first = 1 + random.nextInt(n - 3);
+    int second = first + 1 + random.nextInt(n - first - 2);
+    int third = second + 1 + random.nextInt(n - second - 1);
+    int[] result = new int[n];
+    int position = 0;
+    System.arraycopy(order, 0, result, position, first);
+    position += first;
+    System.arraycopy(order, second, result, position, third - second);
+    position += third - second;
+    System.arraycopy(order, first, result, position, second - first);
+    position += second - first;
+    System.arraycopy(order, third, result, position, n - third);
+    return result;
+  }
+
+  /**
+   * The outcome of an anytime search.
+   *
+   * @param order     zero-based pick indices in visit order
+   * @param cost      the length of the tour
+   * @param converged whether the search finished on its own instead of at the deadline
+   * @param exact     whether the tour is known to be optimal
+   */
+  public record Result(int[] order, int cost, boolean converged, boolean exact) {
+  }
+}
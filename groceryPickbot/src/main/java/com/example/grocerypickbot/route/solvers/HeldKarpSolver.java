@@ -0,0 +1,89 @@
+package com.example.grocerypickbot.route.solvers;
+
+import java.util.Arrays;
+
+/**
+ * Exact tour solver based on the Held-Karp bitmask dynamic programme.
+ *
+ * <p>Runs in {@code O(2^n * n^2)} time and {@code O(2^n * n)} memory, so it is only meant
+ * for small orders. The DP table is a flat primitive array indexed by
+ * {@code mask * n + last}.
+ * </p>
+ */
+public final class HeldKarpSolver {
+  /**
+   * Upper bound on the pick count accepted by the solver (about 4 MB of DP table).
+   */
+  public static final int MAX_PICKS = 16;
+  private static final int UNREACHED = Integer.MAX_VALUE;
+
+  private HeldKarpSolver() {
+  }
+
+  /**
+   * Finds the shortest tour from the start node through every pick to the end node.
+   *
+   * @param tour the tour instance
+   * @return zero-based pick indices in visit order
+   */
+  public static int[] solve(TourInstance tour) {
+    int n = tour.pickCount();
+    if (n > MAX_PICKS) {
+      throw new IllegalArgumentException("Held-Karp supports at most " + MAX_PICKS + " picks");
+    }
+    if (n == 0) {
+      return new int[0];
+    }
+
+    int full = (1 << n) - 1;
+    int[] cost = new int[(full + 1) * n];
+    byte[] previous = new byte[(full + 1) * n];
+    Arrays.fill(cost, UNREACHED);
+    for (int pick = 0; pick < n; pick++) {
+      cost[(1 << pick) * n + pick] = tour.distance(0, pick + 1);
+      previous[(1 << pick) * n + pick] = -1;
+    }
+
+    for (int mask = 1; mask <= full; mask++) {
+      int base = mask * n;
+      for (int last = 0; last < n; last++) {
+        int current = cost[base + last];
+        if (current == UNREACHED) {
+          continue;
+        }
+        int remaining = full & ~mask;
+        while (remaining != 0) {
+          int next = Integer.numberOfTrailingZeros(remaining);
+          remaining &= remaining - 1;
+          int slot = (mask | (1 << next)) * n + next;
+          int candidate = current + tour.distance(last + 1, next + 1);
+          if (candidate < cost[slot]) {
+            cost[slot] = candidate;
+            previous[slot] = (byte) last;
+          }
+        }
+      }
+    }
+
+    int best = UNREACHED;
+    int bestLast = 0;
+    for (int last = 0; last < n; last++) {
+      int candidate = cost[full * n + last] + tour.distance(last + 1, tour.endNode());
+      if (candidate < best) {
+        best = candidate;
+        bestLast = last;
+      }
+    }
+
+    int[] order = new int[n];
+    int mask = full;
+    int last = bestLast;
+    for (int position = n - 1; position >= 0; position--) {
+      order[position] = last;
+      int before = previous[mask * n + last];
+      mask &= ~(1 << last);
+      last = before;
+    }
+    return order;
+  }
+}
@@ -0,0 +1,165 @@
+package com.example.grocerypickbot.route.solvers;
+
+/**
+ * Local-search improvement of an existing tour using 2-opt and Or-opt moves.
+ *
+ * <p>The start and end nodes of the tour stay fixed; only the visit order of the picks
+ * changes. Moves are applied first-improvement until no improving move is left, the move
+ * budget is used up or the deadline passes. Distances are assumed to be symmetric.
+ * </p>
+ */
+public final class LocalSearch {
+  private static final int MAX_SEGMENT_LENGTH = 3;
+
+  // Outcomes of one pass over the tour.
+  private static final int IMPROVED = 0;
+  private static final int EXHAUSTED = 1;
+  private static final int TIMED_OUT = 2;
+
+  private LocalSearch() {
+  }
+
+  /**
+   * Improves the given visit order in place.
+   *
+   * @param tour           the tour instance
+   * @param order          zero-based pick indices, rewritten with the improved order
+   * @param maxMoves       the maximum number of improving moves to apply
+   * @param deadlineNanos  {@link System#nanoTime()} value after which the search stops
+   * @return {@code true} if the search reached a local optimum, {@code false} if it was
+   *         cut short by the move budget or the deadline
+   */
+  public static boolean improve(TourInstance tour, int[] order, int maxMoves,
+                                long deadlineNanos) {
+    int n = order.length;
+    if (n < 2) {
+      return true;
+    }
+    int[] sequence = new int[n + 2];
+    sequence[0] = 0;
+    for (int i = 0; i < n; i++) {
+      sequence[i + 1] = order[i] + 1;
+    }
+    sequence[n + 1] = tour.endNode();
+    int[] scratch = new int[n + 2];
+
+    int moves = 0;
+    int outcome = IMPROVED;
+    while (outcome == IMPROVED) {
+      if (moves >= maxMoves || System.nanoTime() - deadlineNanos >= 0) {
+        outcome = TIMED_OUT;
+        break;
+      }
+      outcome = twoOpt(tour, sequence, deadlineNanos);
+      if (outcome == EXHAUSTED) {
+        outcome = orOpt(tour, sequence, scratch, deadlineNanos);
+      }
+      if (outcome == IMPROVED) {
+        moves++;
+      }
+    }
+    copyBack(sequence, order);
+    return outcome == EXHAUSTED;
+  }
+
+  private static int twoOpt(TourInstance tour, int[] sequence, long deadlineNanos) {
+    int last = sequence.length - 2;
+    for (int i = 1; i < last; i++) {
+      if (System.nanoTime() - deadlineNanos >= 0) {
+        return TIMED_OUT;
+      }
+      int before = sequence[i - 1];
+      int first = sequence[i];
+      int removedHead = tour.distance(before, first);
+      for (int j = i + 1; j <= last; j++) {
+        int end = sequence[j];
+        int after = sequence[j + 1];
+        int delta = tour.distance(before, end) + tour.distance(first, after)
+            - removedHead - tour.distance(end, after);
+        if (delta < 0) {
+          reverse(sequence, i, j);
+          return IMPROVED;
+        }
+      }
+    }
+    return EXHAUSTED;
+  }
+
+  private static int orOpt(TourInstance tour, int[] sequence, int[] scratch,
+                               long deadlineNanos) {
+    int last = sequence.length - 2;
+    for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++) {
+      for (int i = 1; i + length - 1 <= last; i++) {
+        if (System.nanoTime() - deadlineNanos >= 0) {
+          return TIMED_OUT;
+        }
+        int j = i + length - 1;
+        int prev = sequence[i - 1];
+        int next = sequence[j + 1];
+        int head = sequence[i];
+        int tail = sequence[j];
+        int removeGain = tour.distance(prev, head) + tour.distance(tail, next)
+            - tour.distance(prev, next);
+        for (int k = 0; k <= last; k++) {
+          if (k >= i - 1 && k <= j) {
+            continue;
+          }
+          int a = sequence[k];
+          int b = sequence[k + 1];
+          int edge = tour.distance(a, b);
+          int forward = tour.distance(a, head) + tour.distance(tail, b) - edge;
+          int backward = tour.distance(a, tail) + tour.distance(head, b) - edge;
+          if (forward - removeGain < 0) {
+            moveSegment(sequence, scratch, i, j, k, false);
+            return IMPROVED;
+          }
+          if (backward - removeGain < 0) {
+            moveSegment(sequence, scratch, i, j, k, true);
+            return IMPROVED;
+          }
+        }
+      }
+    }
+    return EXHAUSTED;
+  }
+
+  /**
+   * Moves {@code sequence[i..j]} so that it follows position {@code k}.
+   */
+  private static void moveSegment(int[] sequence, int[] scratch, int i, int j, int k,
+                                  boolean reversed) {
+    int size = 0;
+    for (int p = 0; p < sequence.length; p++) {
+      if (p >= i && p <= j) {
+        continue;
+      }
+      scratch[size++] = sequence[p];
+      if (p == k) {
+        if (reversed) {
+          for (int s = j; s >= i; s--) {
+            scratch[size++] = sequence[s];
+          }
+        } else {
+          for (int s = i; s <= j; s++) {
+            scratch[size++] = sequence[s];
+          }
+        }
+      }
+    }
+    System.arraycopy(scratch, 0, sequence, 0, sequence.length);
+  }
+
+  private static void reverse(int[] sequence, int from, int to) {
+    while (from < to) {
+      int tmp = sequence[from];
+      sequence[from++] = sequence[to];
+      sequence[to--] = tmp;
+    }
+  }
+
+  private static void copyBack(int[] sequence, int[] order) {
+    for (int i = 0; i < order.length; i++) {
+      order[i] = sequence[i + 1] - 1;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.grocerypickbot.route.solvers;
+
+/**
+ * Greedy tour construction that always moves to the closest unvisited pick.
+ */
+public final class NearestNeighbourSolver {
+
+  private NearestNeighbourSolver() {
+  }
+
+  /**
+   * Builds a tour by repeatedly visiting the nearest remaining pick.
+   *
+   * @param tour the tour instance
+   * @return zero-based pick indices in visit order
+   */
+  public static int[] solve(TourInstance tour) {
+    int n = tour.pickCount();
+    int[] order = new int[n];
+    boolean[] visited = new boolean[n];
+    int current = 0;
+    for (int position = 0; position < n; position++) {
+      int nearest = -1;
+      int minDistance = Integer.MAX_VALUE;
+      for (int pick = 0; pick < n; pick++) {
+        if (visited[pick]) {
+          continue;
+        }
+        int distance = tour.distance(current, pick + 1);
+        if (distance < minDistance) {
+          minDistance = distance;
+          nearest = pick;
+        }
+      }
+      visited[nearest] = true;
+      order[position] = nearest;
+      current = nearest + 1;
+    }
+    return order;
+  }
+}
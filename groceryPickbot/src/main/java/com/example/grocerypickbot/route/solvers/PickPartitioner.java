@@ -0,0 +1,175 @@
+package com.example.grocerypickbot.route.solvers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits the picks of an order into geographically compact groups of bounded size, one
+ * group per bot tour.
+ *
+ * <p>Groups are seeded by farthest-first traversal and refined like k-medoids: picks are
+ * assigned to the nearest medoid that still has room, the picks that would lose the most by
+ * missing their first choice going first, and each medoid then moves to the member closest
+ * to the rest of its group. Distances are read from a {@link TourInstance} whose start node
+ * is the depot and whose picks are the picks to split.
+ * </p>
+ */
+public final class PickPartitioner {
+
+  private PickPartitioner() {
+  }
+
+  /**
+   * Partitions the picks of {@code tour}.
+   *
+   * @param tour          the distances; node 0 is the depot, nodes 1..n the picks
+   * @param groups        the number of groups to form
+   * @param capacity      the maximum number of picks per group
+   * @param maxIterations the maximum number of medoid refinements
+   * @return the non-empty groups, each holding zero-based pick indices
+   * @throws IllegalArgumentException if the groups cannot hold every pick
+   */
+  public static List<int[]> partition(TourInstance tour, int groups, int capacity,
+                                      int maxIterations) {
+    int n = tour.pickCount();
+    if (n == 0) {
+      return List.of();
+    }
+    if (groups < 1 || capacity < 1 || (long) groups * capacity < n) {
+      throw new IllegalArgumentException(
+          groups + " groups of " + capacity + " picks cannot hold " + n + " picks");
+    }
+    int k = Math.min(groups, n);
+    int[] medoids = farthestFirst(tour, k);
+    int[] assignment = assign(tour, medoids, capacity);
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      int[] moved = medoidsOf(tour, assignment, k);
+      if (Arrays.equals(moved, medoids)) {
+        break;
+      }
+      medoids = moved;
+      assignment = assign(tour, medoids, capacity);
+    }
+    return toGroups(assignment, k);
+  }
+
+  private static int[] farthestFirst(TourInstance tour, int k) {
+    int n = tour.pickCount();
+    int[] seeds = new int[k];
+    int[] nearestSeed = new int[n];
+    int first = 0;
+    for (int pick = 1; pick < n; pick++) {
+      if (tour.distance(0, pick + 1) > tour.distance(0, first + 1)) {
+        first = pick;
+      }
+    }
+    seeds[0] = first;
+    for (int pick = 0; pick < n; pick++) {
+      nearestSeed[pick] = pickDistance(tour, pick, first);
+    }
+    for (int s = 1; s < k; s++) {
+      int farthest = 0;
+      for (int pick = 1; pick < n; pick++) {
+        if (nearestSeed[pick] > nearestSeed[farthest]) {
+          farthest = pick;
+        }
+      }
+      seeds[s] = farthest;
+      for (int pick = 0; pick < n; pick++) {
+        nearestSeed[pick] = Math.min(nearestSeed[pick], pickDistance(tour, pick, farthest));
+      }
+    }
+    return seeds;
+  }
+
+  /**
+   * Assigns every pick to a group, visiting picks in order of decreasing regret.
+   */
+  private static int[] assign(TourInstance tour, int[] medoids, int capacity) {
+    int n = tour.pickCount();
+    int k = medoids.length;
+    int[][] distance = new int[n][k];
+    Integer[] byRegret = new Integer[n];
+    long[] regret = new long[n];
+    for (int pick = 0; pick < n; pick++) {
+      int best = Integer.MAX_VALUE;
+      int second = Integer.MAX_VALUE;
+      for (int g = 0; g < k; g++) {
+        int d = pickDistance(tour, pick, medoids[g]);
+        distance[pick][g] = d;
+        if (d < best) {
+          second = best;
+          best = d;
+        } else if (d < second) {
+          second = d;
+        }
+      }
+      regret[pick] = k == 1 ? 0 : (long) second - best;
+      byRegret[pick] = pick;
+    }
+    Arrays.sort(byRegret, (a, b) -> Long.compare(regret[b], regret[a]));
+
+    int[] assignment = new int[n];
+    int[] size = new int[k];
+    for (int pick : byRegret) {
+      int chosen = -1;
+      for (int g = 0; g < k; g++) {
+        if (size[g] < capacity && (chosen < 0 || distance[pick][g] < distance[pick][chosen])) {
+          chosen = g;
+        }
+      }
+      assignment[pick] = chosen;
+      size[chosen]++;
+    }
+    return assignment;
+  }
+
+  private static int[] medoidsOf(TourInstance tour, int[] assignment, int k) {
+    int n = assignment.length;
+    int[] medoids = new int[k];
+    long[] bestSum = new long[k];
+    Arrays.fill(bestSum, Long.MAX_VALUE);
+    for (int candidate = 0; candidate < n; candidate++) {
+      int group = assignment[candidate];
+      long sum = 0;
+      for (int other = 0; other < n; other++) {
+        if (assignment[other] == group) {
+          sum += pickDistance(tour, candidate, other);
+        }
+      }
+      if (sum < bestSum[group]) {
+        bestSum[group] = sum;
+        medoids[group] = candidate;
+      }
+    }
+    return medoids;
+  }
+
+  private static List<int[]> toGroups(int[] assignment, int k) {
+    int[] size = new int[k];
+    for (int group : assignment) {
+      size[group]++;
+    }
+    int[][] members = new int[k][];
+    for (int g = 0; g < k; g++) {
+      members[g] = new int[size[g]];
+    }
+    int[] filled = new int[k];
+    for (int pick = 0; pick < assignment.length; pick++) {
+      int group = assignment[pick];
+      members[group][filled[group]++] = pick;
+    }
+    List<int[]> result = new ArrayList<>(k);
+    for (int[] group : members) {
+      if (group.length > 0) {
+        result.add(group);
+      }
+    }
+    return result;
+  }
+
+  private static int pickDistance(TourInstance tour, int a, int b) {
+    return tour.distance(a + 1, b + 1);
+  }
+}
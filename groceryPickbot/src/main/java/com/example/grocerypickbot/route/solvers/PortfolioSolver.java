@@ -0,0 +1,164 @@
+package com.example.grocerypickbot.route.solvers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs several tour heuristics for the same instance in parallel and keeps the cheapest.
+ *
+ * <p>The portfolio consists of the nearest-neighbour tour and the savings tour, each
+ * improved by {@link LocalSearch}, and a number of {@link SimulatedAnnealingSolver} runs
+ * with different seeds, polished by {@link LocalSearch} as well. The members run on the
+ * given {@link ForkJoinPool}. They are stopped as soon as one of them reaches the
+ * spanning-tree lower bound, since no tour can be shorter, or when the deadline passes.
+ * </p>
+ */
+public final class PortfolioSolver {
+
+  /**
+   * Annealing moves per pick; enough for the temperature to settle on warehouse orders.
+   */
+  private static final int ANNEALING_MOVES_PER_PICK = 2_000;
+
+  private PortfolioSolver() {
+  }
+
+  /**
+   * Plans a tour with the whole portfolio.
+   *
+   * @param tour          the tour instance
+   * @param pool          the pool the portfolio members run on
+   * @param annealingRuns the number of simulated annealing members
+   * @param maxMoves      the move budget of every local-search pass
+   * @param deadlineNanos {@link System#nanoTime()} value after which the best tour so far is
+   *                      returned
+   * @param seed          seed of the first annealing run; the others use the next seeds
+   * @return the cheapest tour; it is exact if its cost matches the lower bound
+   */
+  public static AnytimeSolver.Result solve(TourInstance tour, ForkJoinPool pool,
+                                           int annealingRuns, int maxMoves,
+                                           long deadlineNanos, long seed) {
+    int lowerBound = lowerBound(tour);
+    Incumbent incumbent = new Incumbent(lowerBound);
+    int[] greedy = NearestNeighbourSolver.solve(tour);
+    incumbent.offer(tour, greedy.clone());
+
+    List<ForkJoinTask<?>> members = new ArrayList<>();
+    members.add(pool.submit(() -> incumbent.offer(tour,
+        improved(tour, greedy.clone(), maxMoves, deadlineNanos))));
+    members.add(pool.submit(() -> incumbent.offer(tour,
+        improved(tour, SavingsSolver.solve(tour), maxMoves, deadlineNanos))));
+    int moves = ANNEALING_MOVES_PER_PICK * Math.max(1, tour.pickCount());
+    for (int run = 0; run < annealingRuns; run++) {
+      long runSeed = seed + run;
+      members.add(pool.submit(() -> {
+        int[] annealed = SimulatedAnnealingSolver.solve(tour, greedy, moves, runSeed,
+            deadlineNanos, incumbent.stopped::get);
+        incumbent.offer(tour, improved(tour, annealed, maxMoves, deadlineNanos));
+      }));
+    }
+
+    boolean converged = awaitMembers(members, deadlineNanos);
+    incumbent.stopped.set(true);
+    return incumbent.result(converged);
+  }
+
+  /**
+   * Returns the weight of a minimum spanning tree over all nodes of the tour.
+   *
+   * <p>A tour from the start through every pick to the end is itself a spanning tree, so no
+   * tour is shorter than this bound.
+   * </p>
+   */
+  static int lowerBound(TourInstance tour) {
+    int nodes = tour.nodeCount();
+    int[] distance = new int[nodes];
+    boolean[] inTree = new boolean[nodes];
+    Arrays.fill(distance, Integer.MAX_VALUE);
+    distance[0] = 0;
+    int weight = 0;
+    for (int added = 0; added < nodes; added++) {
+      int closest = -1;
+      for (int node = 0; node < nodes; node++) {
+        if (!inTree[node] && (closest < 0 || distance[node] < distance[closest])) {
+          closest = node;
+        }
+      }
+      inTree[closest] = true;
+      weight += distance[closest];
+      for (int node = 0; node < nodes; node++) {
+        if (!inTree[node]) {
+          distance[node] = Math.min(distance[node],
+              Math.min(tour.distance(closest, node), tour.distance(node, closest)));
+        }
+      }
+    }
+    return weight;
+  }
+
+  private static int[] improved(TourInstance tour, int[] order, int maxMoves,
+                                long deadlineNanos) {
+    LocalSearch.improve(tour, order, maxMoves, deadlineNanos);
+    return order;
+  }
+
+  /**
+   * Waits for the members until they are done, the bound is reached or the deadline passes.
+   *
+   * @return {@code true} unless the deadline cut the portfolio short
+   */
+  private static boolean awaitMembers(List<ForkJoinTask<?>> members, long deadlineNanos) {
+    for (ForkJoinTask<?> member : members) {
+      try {
+        member.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        members.forEach(running -> running.cancel(false));
+        return false;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        members.forEach(running -> running.cancel(false));
+        return false;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Portfolio member failed", e.getCause());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The best tour found so far by any member.
+   */
+  private static final class Incumbent {
+    private final int lowerBound;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private int[] order;
+    private int cost = Integer.MAX_VALUE;
+
+    private Incumbent(int lowerBound) {
+      this.lowerBound = lowerBound;
+    }
+
+    private synchronized void offer(TourInstance tour, int[] candidate) {
+      int candidateCost = tour.cost(candidate);
+      if (candidateCost < cost) {
+        order = candidate;
+        cost = candidateCost;
+        if (cost <= lowerBound) {
+          stopped.set(true); // provably optimal; the other members can stop
+        }
+      }
+    }
+
+    private synchronized AnytimeSolver.Result result(boolean converged) {
+      boolean exact = cost <= lowerBound;
+      return new AnytimeSolver.Result(order.clone(), cost, converged || exact, exact);
+    }
+  }
+}
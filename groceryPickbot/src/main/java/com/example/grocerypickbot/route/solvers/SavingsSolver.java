@@ -0,0 +1,95 @@
+package com.example.grocerypickbot.route.solvers;
+
+import java.util.Arrays;
+
+/**
+ * Clarke-Wright savings construction for a tour with a fixed start and end.
+ *
+ * <p>Every pick starts as its own trip from the start to the end. Trips are then joined
+ * tail to head in order of decreasing saving
+ * {@code d(i, end) + d(start, j) - d(i, j)} until a single tour is left.
+ * </p>
+ */
+public final class SavingsSolver {
+
+  private SavingsSolver() {
+  }
+
+  /**
+   * Builds a tour by merging single-pick trips with the largest savings first.
+   *
+   * @param tour the tour instance
+   * @return zero-based pick indices in visit order
+   */
+  public static int[] solve(TourInstance tour) {
+    int n = tour.pickCount();
+    if (n < 2) {
+      return n == 0 ? new int[0] : new int[] {0};
+    }
+    int end = tour.endNode();
+    int pairs = n * (n - 1);
+    int[] tails = new int[pairs];
+    int[] heads = new int[pairs];
+    long[] savings = new long[pairs];
+    Integer[] bySaving = new Integer[pairs];
+    int count = 0;
+    for (int tail = 0; tail < n; tail++) {
+      for (int head = 0; head < n; head++) {
+        if (tail != head) {
+          tails[count] = tail;
+          heads[count] = head;
+          savings[count] = (long) tour.distance(tail + 1, end) + tour.distance(0, head + 1)
+              - tour.distance(tail + 1, head + 1);
+          bySaving[count] = count;
+          count++;
+        }
+      }
+    }
+    Arrays.sort(bySaving, (a, b) -> Long.compare(savings[b], savings[a]));
+
+    int[] next = new int[n];
+    int[] previous = new int[n];
+    int[] trip = new int[n];
+    Arrays.fill(next, -1);
+    Arrays.fill(previous, -1);
+    for (int pick = 0; pick < n; pick++) {
+      trip[pick] = pick;
+    }
+    int merges = 0;
+    for (int k = 0; k < pairs && merges < n - 1; k++) {
+      int tail = tails[bySaving[k]];
+      int head = heads[bySaving[k]];
+      if (next[tail] >= 0 || previous[head] >= 0) {
+        continue; // not the end of a trip any more
+      }
+      int tailTrip = find(trip, tail);
+      int headTrip = find(trip, head);
+      if (tailTrip == headTrip) {
+        continue;
+      }
+      next[tail] = head;
+      previous[head] = tail;
+      trip[headTrip] = tailTrip;
+      merges++;
+    }
+
+    int[] order = new int[n];
+    int current = 0;
+    while (previous[current] >= 0) {
+      current = previous[current];
+    }
+    for (int position = 0; position < n; position++) {
+      order[position] = current;
+      current = next[current];
+    }
+    return order;
+  }
+
+  private static int find(int[] trip, int pick) {
+    while (trip[pick] != pick) {
+      trip[pick] = trip[trip[pick]];
+      pick = trip[pick];
+    }
+    return pick;
+  }
+}
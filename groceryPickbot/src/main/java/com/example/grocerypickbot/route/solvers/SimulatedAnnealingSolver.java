@@ -0,0 +1,100 @@
+package com.example.grocerypickbot.route.solvers;
+
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Simulated annealing over 2-opt reversals of a tour with a fixed start and end.
+ *
+ * <p>A random segment reversal is always accepted when it shortens the tour and otherwise
+ * with probability {@code exp(-delta / temperature)}. The temperature falls geometrically
+ * from about half an average leg to a small fraction of a step over the given number of
+ * moves. Distances are assumed to be symmetric.
+ * </p>
+ */
+public final class SimulatedAnnealingSolver {
+
+  /**
+   * How many moves run between checks of the deadline and the cancellation flag.
+   */
+  private static final int CHECK_INTERVAL = 256;
+
+  private static final double FINAL_TEMPERATURE = 0.05;
+
+  private SimulatedAnnealingSolver() {
+  }
+
+  /**
+   * Anneals the given visit order.
+   *
+   * @param tour          the tour instance
+   * @param initial       zero-based pick indices to start from; not modified
+   * @param moves         the number of moves over which the temperature falls
+   * @param seed          seed of the random moves
+   * @param deadlineNanos {@link System#nanoTime()} value after which annealing stops
+   * @param cancelled     checked regularly; annealing stops once it returns {@code true}
+   * @return the best visit order seen
+   */
+  public static int[] solve(TourInstance tour, int[] initial, int moves, long seed,
+                            long deadlineNanos, BooleanSupplier cancelled) {
+    int n = initial.length;
+    if (n < 2 || moves < 1) {
+      return initial.clone();
+    }
+    int[] sequence = new int[n + 2];
+    for (int i = 0; i < n; i++) {
+      sequence[i + 1] = initial[i] + 1;
+    }
+    sequence[n + 1] = tour.endNode();
+    int cost = tour.cost(initial);
+    int[] best = sequence.clone();
+    int bestCost = cost;
+
+    Random random = new Random(seed);
+    double temperature = Math.max(FINAL_TEMPERATURE, cost / (2.0 * (n + 1)));
+    double cooling = Math.pow(FINAL_TEMPERATURE / temperature, 1.0 / moves);
+    for (int move = 0; move < moves; move++) {
+      if (move % CHECK_INTERVAL == 0
+          && (System.nanoTime() - deadlineNanos >= 0 || cancelled.getAsBoolean())) {
+        break;
+      }
+      int i = 1 + random.nextInt(n);
+      int j = 1 + random.nextInt(n);
+      if (i == j) {
+        continue;
+      }
+      if (i > j) {
+        int swap = i;
+        i = j;
+        j = swap;
+      }
+      int delta = tour.distance(sequence[i - 1], sequence[j])
+          + tour.distance(sequence[i], sequence[j + 1])
+          - tour.distance(sequence[i - 1], sequence[i])
+          - tour.distance(sequence[j], sequence[j + 1]);
+      if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+        reverse(sequence, i, j);
+        cost += delta;
+        if (cost < bestCost) {
+          bestCost = cost;
+          System.arraycopy(sequence, 0, best, 0, sequence.length);
+        }
+      }
+      temperature *= cooling;
+    }
+
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = best[i + 1] - 1;
+    }
+    return order;
+  }
+
+  private static void reverse(int[] sequence, int from, int to) {
+    while (from < to) {
+      int swap = sequence[from];
+      sequence[from++] = sequence[to];
+      sequence[to--] = swap;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.grocerypickbot.route.solvers;
+
+/**
+ * Distance matrix of a single-bot tour: start, pick locations and end.
+ *
+ * <p>Node {@code 0} is the start, nodes {@code 1..pickCount} are the pick locations and
+ * node {@code pickCount + 1} is the end. Solvers return visit orders as zero-based pick
+ * indices, so pick {@code i} is node {@code i + 1}.
+ * </p>
+ */
+public final class TourInstance {
+  private final int pickCount;
+  private final int nodeCount;
+  private final int[] distances;
+
+  /**
+   * Creates a tour instance from a row-major distance matrix.
+   *
+   * @param pickCount the number of pick locations
+   * @param distances row-major {@code (pickCount + 2)^2} distance matrix
+   */
+  public TourInstance(int pickCount, int[] distances) {
+    this.pickCount = pickCount;
+    this.nodeCount = pickCount + 2;
+    if (distances.length != nodeCount * nodeCount) {
+      throw new IllegalArgumentException("Distance matrix must be " + nodeCount + "x" + nodeCount);
+    }
+    this.distances = distances;
+  }
+
+  /**
+   * Builds a tour instance using Manhattan distances between grid cells.
+   *
+   * @param startX the x coordinate of the start
+   * @param startY the y coordinate of the start
+   * @param pickX  the x coordinates of the pick locations
+   * @param pickY  the y coordinates of the pick locations
+   * @param endX   the x coordinate of the end
+   * @param endY   the y coordinate of the end
+   * @return the tour instance
+   */
+  public static TourInstance manhattan(int startX, int startY, int[] pickX, int[] pickY,
+                                       int endX, int endY) {
+    int picks = pickX.length;
+    int nodes = picks + 2;
+    int[] xs = new int[nodes];
+    int[] ys = new int[nodes];
+    xs[0] = startX;
+    ys[0] = startY;
+    System.arraycopy(pickX, 0, xs, 1, picks);
+    System.arraycopy(pickY, 0, ys, 1, picks);
+    xs[nodes - 1] = endX;
+    ys[nodes - 1] = endY;
+
+    int[] distances = new int[nodes * nodes];
+    for (int from = 0; from < nodes; from++) {
+      for (int to = 0; to < nodes; to++) {
+        distances[from * nodes + to] = Math.abs(xs[from] - xs[to]) + Math.abs(ys[from] - ys[to]);
+      }
+    }
+    return new TourInstance(picks, distances);
+  }
+
+  public int pickCount() {
+    return pickCount;
+  }
+
+  public int nodeCount() {
+    return nodeCount;
+  }
+
+  public int endNode() {
+    return nodeCount - 1;
+  }
+
+  /**
+   * Returns the distance between two nodes.
+   *
+   * @param from the origin node
+   * @param to   the destination node
+   * @return the distance
+   */
+  public int distance(int from, int to) {
+    return distances[from * nodeCount + to];
+  }
+
+  /**
+   * Returns the total length of the tour start, picks in the given order, end.
+   *
+   * @param order zero-based pick indices
+   * @return the tour length
+   */
+  public int cost(int[] order) {
+    int total = 0;
+    int previous = 0;
+    for (int pick : order) {
+      total += distance(previous, pick + 1);
+      previous = pick + 1;
+    }
+    return total + distance(previous, endNode());
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.grocerypickbot.route.strategies;
+
+import com.example.grocerypickbot.route.models.ParallelPlanner;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.services.ParallelPlanning;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the order in parallel, one product pair per bot.
+ */
+@Component
+public class PairsRoutingStrategy implements RoutingStrategy {
+  private final ParallelPlanning planning;
+
+  /**
+   * Constructs a PairsRoutingStrategy.
+   *
+   * @param planning the planner that plans and stores the routes
+   */
+  public PairsRoutingStrategy(ParallelPlanning planning) {
+    this.planning = planning;
+  }
+
+  @Override
+  public String name() {
+    return ParallelPlanning.PAIRS_STRATEGY;
+  }
+
+  @Override
+  public String description() {
+    return "Free bots collect the products in pairs in parallel";
+  }
+
+  @Override
+  public void plan(Long orderId, RoutePlanningListener listener) {
+    planning.collectItemsParallel(orderId, ParallelPlanner.PAIRS, listener);
+  }
+
+  @Override
+  public List<RouteResponse> preview(Long orderId) {
+    return planning.previewItemsParallel(orderId, ParallelPlanner.PAIRS);
+  }
+
+  @Override
+  public List<RouteResponse> preview(Long orderId, List<int[]> botStarts) {
+    return planning.previewItemsParallel(orderId, ParallelPlanner.PAIRS, botStarts);
+  }
+}
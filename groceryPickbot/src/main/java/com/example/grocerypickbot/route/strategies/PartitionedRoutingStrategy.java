@@ -0,0 +1,50 @@
+package com.example.grocerypickbot.route.strategies;
+
+import com.example.grocerypickbot.route.models.ParallelPlanner;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.services.ParallelPlanning;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the order in parallel, one capacity-bounded cluster of picks per tour.
+ */
+@Component
+public class PartitionedRoutingStrategy implements RoutingStrategy {
+  private final ParallelPlanning planning;
+
+  /**
+   * Constructs a PartitionedRoutingStrategy.
+   *
+   * @param planning the planner that plans and stores the routes
+   */
+  public PartitionedRoutingStrategy(ParallelPlanning planning) {
+    this.planning = planning;
+  }
+
+  @Override
+  public String name() {
+    return ParallelPlanning.PARTITIONED_STRATEGY;
+  }
+
+  @Override
+  public String description() {
+    return "Free bots collect clusters of nearby products on optimised tours in parallel";
+  }
+
+  @Override
+  public void plan(Long orderId, RoutePlanningListener listener) {
+    planning.collectItemsParallel(orderId, ParallelPlanner.PARTITIONED, listener);
+  }
+
+  @Override
+  public List<RouteResponse> preview(Long orderId) {
+    return planning.previewItemsParallel(orderId, ParallelPlanner.PARTITIONED);
+  }
+
+  @Override
+  public List<RouteResponse> preview(Long orderId, List<int[]> botStarts) {
+    return planning.previewItemsParallel(orderId, ParallelPlanner.PARTITIONED, botStarts);
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.grocerypickbot.route.strategies;
+
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import java.util.List;
+
+/**
+ * A way of planning and collecting the routes of an order.
+ *
+ * <p>Implementations are Spring beans picked up by {@link RoutingStrategyRegistry}; adding a
+ * planner means adding a bean. Each strategy stores its routes under its own
+ * {@link #name()}, so the results of different strategies for the same order can be
+ * compared side by side.
+ * </p>
+ */
+public interface RoutingStrategy {
+
+  /**
+   * Returns the name the strategy is selected by and its routes are stored under.
+   *
+   * @return the unique strategy name
+   */
+  String name();
+
+  /**
+   * Returns a short human-readable description of the strategy.
+   *
+   * @return the description
+   */
+  String description();
+
+  /**
+   * Plans and collects the order unless routes of this strategy already exist for it.
+   *
+   * @param orderId  the ID of the order
+   * @param listener notified of assignments and saved routes while planning
+   */
+  void plan(Long orderId, RoutePlanningListener listener);
+
+  /**
+   * Plans the order the way {@link #plan} would, without storing routes or occupying bots.
+   *
+   * @param orderId the ID of the order
+   * @return the routes with every step
+   */
+  List<RouteResponse> preview(Long orderId);
+
+  /**
+   * Plans the order like {@link #preview(Long)} for a fleet other than the live one, such
+   * as the bots of a simulation, all of which are free.
+   *
+   * @param orderId   the ID of the order
+   * @param botStarts the {@code [x, y]} cell each bot of the fleet starts from
+   * @return the routes with every step
+   */
+  List<RouteResponse> preview(Long orderId, List<int[]> botStarts);
+}
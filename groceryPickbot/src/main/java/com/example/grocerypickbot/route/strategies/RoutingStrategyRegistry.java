@@ -0,0 +1,73 @@
+package com.example.grocerypickbot.route.strategies;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up the {@link RoutingStrategy} beans by name.
+ *
+ * <p>Requests that name no strategy get {@code route.default-strategy}, so a new planner can
+ * be rolled out by configuration while individual requests still pick any other one.
+ * </p>
+ */
+@Component
+public class RoutingStrategyRegistry {
+  private final Map<String, RoutingStrategy> strategies = new LinkedHashMap<>();
+  private final RoutingStrategy defaultStrategy;
+
+  /**
+   * Constructs a RoutingStrategyRegistry.
+   *
+   * @param strategies      every routing strategy bean
+   * @param routeProperties the route planning configuration
+   * @throws IllegalStateException if two strategies share a name or the configured default
+   *                               strategy does not exist
+   */
+  public RoutingStrategyRegistry(List<RoutingStrategy> strategies,
+                                 RouteProperties routeProperties) {
+    for (RoutingStrategy strategy : strategies) {
+      RoutingStrategy previous = this.strategies.putIfAbsent(strategy.name(), strategy);
+      if (previous != null) {
+        throw new IllegalStateException("Routing strategies " + previous.getClass().getName()
+            + " and " + strategy.getClass().getName() + " are both named " + strategy.name());
+      }
+    }
+    this.defaultStrategy = this.strategies.get(routeProperties.getDefaultStrategy());
+    if (defaultStrategy == null) {
+      throw new IllegalStateException("Unknown default routing strategy "
+          + routeProperties.getDefaultStrategy() + "; available: " + this.strategies.keySet());
+    }
+  }
+
+  /**
+   * Returns the strategy with the given name.
+   *
+   * @param name the strategy name, or {@code null} for the configured default
+   * @return the strategy
+   * @throws IllegalArgumentException if no strategy has that name
+   */
+  public RoutingStrategy get(String name) {
+    if (name == null || name.isBlank()) {
+      return defaultStrategy;
+    }
+    RoutingStrategy strategy = strategies.get(name);
+    if (strategy == null) {
+      throw new IllegalArgumentException(
+          "Unknown routing strategy " + name + "; available: " + strategies.keySet());
+    }
+    return strategy;
+  }
+
+  public RoutingStrategy getDefault() {
+    return defaultStrategy;
+  }
+
+  public Collection<RoutingStrategy> getAll() {
+    return Collections.unmodifiableCollection(strategies.values());
+  }
+}
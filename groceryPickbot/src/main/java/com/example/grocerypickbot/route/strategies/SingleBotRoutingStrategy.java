@@ -0,0 +1,49 @@
+package com.example.grocerypickbot.route.strategies;
+
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import com.example.grocerypickbot.route.services.SingleBotPlanning;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the whole order with one bot on an optimised tour.
+ */
+@Component
+public class SingleBotRoutingStrategy implements RoutingStrategy {
+  private final SingleBotPlanning planning;
+
+  /**
+   * Constructs a SingleBotRoutingStrategy.
+   *
+   * @param planning the planner that plans and stores the routes
+   */
+  public SingleBotRoutingStrategy(SingleBotPlanning planning) {
+    this.planning = planning;
+  }
+
+  @Override
+  public String name() {
+    return SingleBotPlanning.STRATEGY;
+  }
+
+  @Override
+  public String description() {
+    return "One bot collects every product on a single optimised tour";
+  }
+
+  @Override
+  public void plan(Long orderId, RoutePlanningListener listener) {
+    planning.calculateAndSavePath(orderId, listener);
+  }
+
+  @Override
+  public List<RouteResponse> preview(Long orderId) {
+    return planning.previewPath(orderId);
+  }
+
+  @Override
+  public List<RouteResponse> preview(Long orderId, List<int[]> botStarts) {
+    return planning.previewPath(orderId, botStarts);
+  }
+}
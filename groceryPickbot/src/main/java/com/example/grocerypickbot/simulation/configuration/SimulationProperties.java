@@ -0,0 +1,68 @@
+package com.example.grocerypickbot.simulation.configuration;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the discrete-event simulation of bot traffic.
+ *
+ * <p>Durations are simulated time, not wall-clock time; a simulation runs as fast as the
+ * events can be processed.
+ * </p>
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "simulation")
+public class SimulationProperties {
+  /**
+   * Time a simulated bot needs to move one grid cell, in milliseconds. Defaults to
+   * {@code bot.step-duration-ms}, so the simulation moves at the speed of the real bots; set
+   * it only to simulate a different fleet.
+   */
+  private long stepDurationMs = BotProperties.DEFAULT_STEP_DURATION_MS;
+
+  /**
+   * Time a simulated bot needs to pick one unit of a product, in milliseconds.
+   */
+  private long pickDurationMs = 5_000;
+
+  /**
+   * Time a simulated bot needs to drop off its load at the end of a route, in milliseconds.
+   */
+  private long dropOffDurationMs = 20_000;
+
+  /**
+   * Number of simulated bots; {@code 0} simulates the configured fleet. Extra bots start at
+   * the default locations of the configured bots in turn.
+   */
+  private int botCount = 0;
+
+  /**
+   * Settings for replaying stored orders page by page.
+   */
+  private Replay replay = new Replay();
+
+  /**
+   * Settings for the historical order replay.
+   */
+  @Setter
+  @Getter
+  public static class Replay {
+    /**
+     * Number of orders loaded and planned per transaction.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Fleet to replay with, bound like {@code bot.bots}; empty replays with the configured
+     * fleet. {@code simulation.bot-count} still sets how many bots start at these locations.
+     */
+    private List<BotAvailability> bots;
+  }
+}
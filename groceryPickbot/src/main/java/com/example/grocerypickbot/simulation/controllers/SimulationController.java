@@ -0,0 +1,81 @@
+package com.example.grocerypickbot.simulation.controllers;
+
+import com.example.grocerypickbot.security.annotation.RoleAccess;
+import com.example.grocerypickbot.simulation.models.ReplayReport;
+import com.example.grocerypickbot.simulation.models.SimulationReport;
+import com.example.grocerypickbot.simulation.services.ReplayService;
+import com.example.grocerypickbot.simulation.services.SimulationService;
+import com.example.grocerypickbot.user.models.Role;
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoint for simulating bot traffic on stored orders.
+ *
+ * <p>Delegates to the {@link SimulationService} and the {@link ReplayService}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/admin/simulation")
+@RoleAccess(allowedRoles = {Role.ADMIN})
+public class SimulationController {
+  private final SimulationService simulationService;
+  private final ReplayService replayService;
+
+  /**
+   * Constructor for SimulationController.
+   *
+   * @param simulationService the service that runs the simulations
+   * @param replayService     the service that replays stored orders page by page
+   */
+  public SimulationController(SimulationService simulationService,
+                              ReplayService replayService) {
+    this.simulationService = simulationService;
+    this.replayService = replayService;
+  }
+
+  /**
+   * Simulate collecting the orders placed between {@code from} and {@code to}.
+   *
+   * <p>Without {@code to} one day of traffic from {@code from} is simulated. Without
+   * {@code strategy} the default routing strategy plans the tours.
+   * </p>
+   *
+   * @return ResponseEntity containing the makespan, bot utilisation and throughput
+   */
+  @GetMapping
+  public ResponseEntity<SimulationReport> simulate(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(required = false) String strategy) {
+    return ResponseEntity.ok(simulationService.simulate(from,
+        to == null ? from.plusDays(1) : to, strategy));
+  }
+
+  /**
+   * Replay the orders placed between {@code from} and {@code to} with a simulated fleet.
+   *
+   * <p>Without {@code to} one day of orders from {@code from} is replayed. Without
+   * {@code strategy} the default routing strategy plans the tours, and without {@code bots}
+   * {@code simulation.bot-count} bots are simulated.
+   * </p>
+   *
+   * @return ResponseEntity containing the throughput, distance and latency of the replay
+   */
+  @GetMapping("/replay")
+  public ResponseEntity<ReplayReport> replay(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(required = false) String strategy,
+      @RequestParam(required = false) Integer bots) {
+    return ResponseEntity.ok(replayService.replay(from,
+        to == null ? from.plusDays(1) : to, strategy, bots));
+  }
+}
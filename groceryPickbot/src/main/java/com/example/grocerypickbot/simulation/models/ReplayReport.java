@@ -0,0 +1,48 @@
+package com.example.grocerypickbot.simulation.models;
+
+/**
+ * Outcome of replaying a period of stored orders with one routing strategy and fleet.
+ *
+ * @param strategy          the routing strategy that planned the tours
+ * @param bots              the number of simulated bots
+ * @param orders            the number of orders replayed
+ * @param skippedOrders     the number of orders the strategy could not plan
+ * @param pages             the number of order pages loaded
+ * @param routes            the number of bot tours driven
+ * @param picks             the number of units picked
+ * @param distance          the number of grid cells all bots together moved
+ * @param makespanMs        simulated time from the first arrival until the last order was
+ *                          complete, in milliseconds
+ * @param ordersPerHour     completed orders per simulated hour
+ * @param picksPerHour      units picked per simulated hour
+ * @param botUtilisation    the share of the makespan the bots spent on tours, from 0 to 1
+ * @param averageCycleMs    the average time from an order's arrival until it was complete,
+ *                          in simulated milliseconds
+ * @param maxCycleMs        the longest time from an order's arrival until it was complete,
+ *                          in simulated milliseconds
+ * @param averagePlanningMs the average wall-clock time spent planning one order, in
+ *                          milliseconds
+ * @param maxPlanningMs     the longest wall-clock time spent planning one order, in
+ *                          milliseconds
+ * @param replayMs          the wall-clock time of the whole replay, in milliseconds
+ */
+public record ReplayReport(
+    String strategy,
+    int bots,
+    int orders,
+    int skippedOrders,
+    int pages,
+    int routes,
+    long picks,
+    long distance,
+    long makespanMs,
+    double ordersPerHour,
+    double picksPerHour,
+    double botUtilisation,
+    long averageCycleMs,
+    long maxCycleMs,
+    double averagePlanningMs,
+    double maxPlanningMs,
+    long replayMs
+) {
+}
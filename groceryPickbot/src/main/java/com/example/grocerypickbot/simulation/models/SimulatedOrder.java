@@ -0,0 +1,17 @@
+package com.example.grocerypickbot.simulation.models;
+
+import java.util.List;
+
+/**
+ * An order fed to the simulator.
+ *
+ * @param orderId   the ID of the order
+ * @param arrivalMs when the order arrives, in simulated milliseconds
+ * @param tours     the tours that collect the order; it is complete when all are dropped off
+ */
+public record SimulatedOrder(
+    Long orderId,
+    long arrivalMs,
+    List<SimulatedTour> tours
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.grocerypickbot.simulation.models;
+
+import java.util.List;
+
+/**
+ * One bot tour fed to the simulator.
+ *
+ * @param cells the cells the bot visits in order, as {@code [x, y]}; consecutive cells need
+ *              not be adjacent, the bot moves between them cell by cell
+ * @param picks the units picked on reaching each cell, parallel to {@code cells}
+ */
+public record SimulatedTour(
+    List<int[]> cells,
+    int[] picks
+) {
+}
@@ -0,0 +1,35 @@
+package com.example.grocerypickbot.simulation.models;
+
+/**
+ * Outcome of simulating a period of order traffic.
+ *
+ * @param strategy       the routing strategy that planned the tours
+ * @param orders         the number of orders simulated
+ * @param skippedOrders  the number of orders the strategy could not plan
+ * @param routes         the number of bot tours simulated
+ * @param bots           the number of simulated bots
+ * @param makespanMs     simulated time from the first arrival until the last order was
+ *                       complete, in milliseconds
+ * @param botUtilisation the share of the makespan the bots spent on tours, from 0 to 1
+ * @param ordersPerHour  completed orders per simulated hour
+ * @param averageCycleMs the average time from an order's arrival until it was complete,
+ *                       in simulated milliseconds
+ * @param events         the number of events processed
+ * @param planningMs     the wall-clock time spent planning the tours, in milliseconds
+ * @param simulationMs   the wall-clock time spent simulating, in milliseconds
+ */
+public record SimulationReport(
+    String strategy,
+    int orders,
+    int skippedOrders,
+    int routes,
+    int bots,
+    long makespanMs,
+    double botUtilisation,
+    double ordersPerHour,
+    long averageCycleMs,
+    long events,
+    long planningMs,
+    long simulationMs
+) {
+}
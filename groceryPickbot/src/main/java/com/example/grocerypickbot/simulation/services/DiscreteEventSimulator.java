@@ -0,0 +1,341 @@
+package com.example.grocerypickbot.simulation.services;
+
+import com.example.grocerypickbot.simulation.configuration.SimulationProperties;
+import com.example.grocerypickbot.simulation.models.SimulatedOrder;
+import com.example.grocerypickbot.simulation.models.SimulatedTour;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event simulation of bots collecting orders on the warehouse grid.
+ *
+ * <p>A virtual clock jumps from event to event instead of waiting, so a day of traffic is
+ * simulated in a fraction of a second. Orders arrive at their arrival time and queue their
+ * tours. Each tour goes to the idle bot nearest to its first cell, which moves there and
+ * along the tour one cell per {@code simulation.step-duration-ms}, picks on the cells that
+ * hold its items for {@code simulation.pick-duration-ms} per unit and finally drops off
+ * for {@code simulation.drop-off-duration-ms}. An order is complete once all its tours
+ * are dropped off. Bots do not block each other.
+ * </p>
+ *
+ * <p>Orders can be streamed: only the next arrival and the orders still being collected
+ * are held, so a replay of any length runs in memory bounded by the traffic at one time.
+ * A simulator holds no state between runs and may be shared between threads.
+ * </p>
+ */
+public class DiscreteEventSimulator {
+  private static final int ARRIVAL = 0;
+  private static final int STEP = 1;
+  private static final int DROPPED_OFF = 2;
+  private static final double MS_PER_HOUR = 3_600_000.0;
+
+  private final long stepDurationMs;
+  private final long pickDurationMs;
+  private final long dropOffDurationMs;
+
+  /**
+   * Constructs a DiscreteEventSimulator.
+   *
+   * @param settings the simulated durations
+   */
+  public DiscreteEventSimulator(SimulationProperties settings) {
+    this.stepDurationMs = settings.getStepDurationMs();
+    this.pickDurationMs = settings.getPickDurationMs();
+    this.dropOffDurationMs = settings.getDropOffDurationMs();
+  }
+
+  /**
+   * Simulates the given orders until all of them are complete.
+   *
+   * @param orders    the orders to collect, in any order
+   * @param botStarts the start cell of each bot as {@code [x, y]}
+   * @return the timing figures of the run
+   * @throws IllegalArgumentException if there are no bots
+   */
+  public Result run(List<SimulatedOrder> orders, List<int[]> botStarts) {
+    List<SimulatedOrder> byArrival = new ArrayList<>(orders);
+    byArrival.sort(Comparator.comparingLong(SimulatedOrder::arrivalMs));
+    return run(byArrival.iterator(), botStarts);
+  }
+
+  /**
+   * Simulates orders pulled from the iterator until all of them are complete.
+   *
+   * <p>The next order is pulled only when the previous one arrives, so the iterator may
+   * load orders lazily.
+   * </p>
+   *
+   * @param orders    the orders to collect, by arrival time
+   * @param botStarts the start cell of each bot as {@code [x, y]}
+   * @return the timing figures of the run
+   * @throws IllegalArgumentException if there are no bots or an order arrives before the
+   *                                  order pulled before it
+   */
+  public Result run(Iterator<SimulatedOrder> orders, List<int[]> botStarts) {
+    if (botStarts.isEmpty()) {
+      throw new IllegalArgumentException("The simulation needs at least one bot");
+    }
+    return new Run(orders, botStarts).execute();
+  }
+
+  private static int distance(Bot bot, int[] cell) {
+    return Math.abs(bot.x - cell[0]) + Math.abs(bot.y - cell[1]);
+  }
+
+  /**
+   * The timing figures of a simulation run.
+   *
+   * @param orders         the number of orders completed
+   * @param routes         the number of tours driven
+   * @param bots           the number of bots
+   * @param makespanMs     time from the first arrival until the last order was complete
+   * @param busyMs         time all bots together spent on tours
+   * @param averageCycleMs the average time from arrival until completion of an order
+   * @param maxCycleMs     the longest time from arrival until completion of an order
+   * @param steps          the number of cells all bots together moved
+   * @param picks          the number of units picked
+   * @param events         the number of events processed
+   */
+  public record Result(int orders, int routes, int bots, long makespanMs, long busyMs,
+                       long averageCycleMs, long maxCycleMs, long steps, long picks,
+                       long events) {
+
+    /**
+     * Returns the share of the makespan the bots spent on tours.
+     *
+     * @return the utilisation from 0 to 1, or 0 for an empty run
+     */
+    public double botUtilisation() {
+      return makespanMs == 0 ? 0 : (double) busyMs / ((double) bots * makespanMs);
+    }
+
+    /**
+     * Returns the completed orders per simulated hour.
+     *
+     * @return the throughput, or 0 for an empty run
+     */
+    public double ordersPerHour() {
+      return makespanMs == 0 ? 0 : orders * MS_PER_HOUR / makespanMs;
+    }
+
+    /**
+     * Returns the units picked per simulated hour.
+     *
+     * @return the pick rate, or 0 for an empty run
+     */
+    public double picksPerHour() {
+      return makespanMs == 0 ? 0 : picks * MS_PER_HOUR / makespanMs;
+    }
+  }
+
+  /**
+   * An event on the virtual clock; at the same time arrivals come first and other ties are
+   * broken by scheduling order so runs repeat.
+   */
+  private record Event(long time, long sequence, int kind, int subject)
+      implements Comparable<Event> {
+
+    @Override
+    public int compareTo(Event other) {
+      int byTime = Long.compare(time, other.time);
+      if (byTime != 0) {
+        return byTime;
+      }
+      int byKind = Boolean.compare(other.kind == ARRIVAL, kind == ARRIVAL);
+      return byKind != 0 ? byKind : Long.compare(sequence, other.sequence);
+    }
+  }
+
+  /**
+   * An arrived order and the number of its tours not yet dropped off.
+   */
+  private static final class OpenOrder {
+    private final SimulatedOrder order;
+    private int openTours;
+
+    private OpenOrder(SimulatedOrder order) {
+      this.order = order;
+      this.openTours = order.tours().size();
+    }
+  }
+
+  /**
+   * A tour waiting for a bot.
+   */
+  private record Task(OpenOrder order, SimulatedTour tour) {
+  }
+
+  /**
+   * The state of one bot.
+   */
+  private static final class Bot {
+    private int x;
+    private int y;
+    private Task task;
+    private int next;
+    private long busySince;
+  }
+
+  /**
+   * The state of one simulation run.
+   */
+  private final class Run {
+    private final Iterator<SimulatedOrder> orders;
+    private final Bot[] bots;
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final Deque<Task> pending = new ArrayDeque<>();
+    private final List<Integer> idle = new ArrayList<>();
+    private long sequence;
+    private long processed;
+    private int routes;
+    private int completed;
+    private long busyMs;
+    private long cycleMs;
+    private long maxCycleMs;
+    private long steps;
+    private long picks;
+    private long lastCompletion;
+    private SimulatedOrder nextArrival;
+
+    private Run(Iterator<SimulatedOrder> orders, List<int[]> botStarts) {
+      this.orders = orders;
+      this.bots = new Bot[botStarts.size()];
+      for (int i = 0; i < bots.length; i++) {
+        bots[i] = new Bot();
+        bots[i].x = botStarts.get(i)[0];
+        bots[i].y = botStarts.get(i)[1];
+        idle.add(i);
+      }
+    }
+
+    private Result execute() {
+      pullNextArrival();
+      long firstArrival = nextArrival == null ? 0 : nextArrival.arrivalMs();
+      while (!events.isEmpty()) {
+        Event event = events.poll();
+        processed++;
+        switch (event.kind()) {
+          case ARRIVAL -> arrive(event.time());
+          case STEP -> advance(event.subject(), event.time());
+          default -> dropOff(event.subject(), event.time());
+        }
+      }
+      long makespan = completed == 0 ? 0 : lastCompletion - firstArrival;
+      return new Result(completed, routes, bots.length, makespan, busyMs,
+          completed == 0 ? 0 : cycleMs / completed, maxCycleMs, steps, picks, processed);
+    }
+
+    /**
+     * Pulls the next order and schedules its arrival, keeping one arrival on the clock.
+     */
+    private void pullNextArrival() {
+      if (!orders.hasNext()) {
+        nextArrival = null;
+        return;
+      }
+      SimulatedOrder order = orders.next();
+      if (nextArrival != null && order.arrivalMs() < nextArrival.arrivalMs()) {
+        throw new IllegalArgumentException("Order " + order.orderId()
+            + " arrives before the order pulled before it");
+      }
+      nextArrival = order;
+      schedule(order.arrivalMs(), ARRIVAL, 0);
+    }
+
+    private void arrive(long now) {
+      OpenOrder order = new OpenOrder(nextArrival);
+      pullNextArrival();
+      if (order.openTours == 0) {
+        complete(order, now);
+        return;
+      }
+      order.order.tours().forEach(tour -> pending.add(new Task(order, tour)));
+      dispatch(now);
+    }
+
+    /**
+     * Hands waiting tours to the idle bots nearest to where the tours start.
+     */
+    private void dispatch(long now) {
+      while (!pending.isEmpty() && !idle.isEmpty()) {
+        Task task = pending.poll();
+        int[] start = task.tour().cells().isEmpty() ? null : task.tour().cells().get(0);
+        int chosen = 0;
+        if (start != null) {
+          for (int i = 1; i < idle.size(); i++) {
+            if (distance(bots[idle.get(i)], start) < distance(bots[idle.get(chosen)], start)) {
+              chosen = i;
+            }
+          }
+        }
+        int botIndex = idle.remove(chosen);
+        Bot bot = bots[botIndex];
+        bot.task = task;
+        bot.next = 0;
+        bot.busySince = now;
+        routes++;
+        advance(botIndex, now);
+      }
+    }
+
+    /**
+     * Moves the bot one cell towards the next cell of its tour, or picks there once it has
+     * arrived; drops off when the tour is done.
+     */
+    private void advance(int botIndex, long now) {
+      Bot bot = bots[botIndex];
+      SimulatedTour tour = bot.task.tour();
+      while (bot.next < tour.cells().size()) {
+        int[] target = tour.cells().get(bot.next);
+        if (bot.x != target[0]) {
+          bot.x += Integer.signum(target[0] - bot.x);
+          steps++;
+          schedule(now + stepDurationMs, STEP, botIndex);
+          return;
+        }
+        if (bot.y != target[1]) {
+          bot.y += Integer.signum(target[1] - bot.y);
+          steps++;
+          schedule(now + stepDurationMs, STEP, botIndex);
+          return;
+        }
+        int units = tour.picks()[bot.next++];
+        if (units > 0) {
+          picks += units;
+          schedule(now + units * pickDurationMs, STEP, botIndex);
+          return;
+        }
+      }
+      schedule(now + dropOffDurationMs, DROPPED_OFF, botIndex);
+    }
+
+    private void dropOff(int botIndex, long now) {
+      Bot bot = bots[botIndex];
+      busyMs += now - bot.busySince;
+      OpenOrder order = bot.task.order();
+      bot.task = null;
+      idle.add(botIndex);
+      if (--order.openTours == 0) {
+        complete(order, now);
+      }
+      dispatch(now);
+    }
+
+    private void complete(OpenOrder order, long now) {
+      long cycle = now - order.order.arrivalMs();
+      completed++;
+      cycleMs += cycle;
+      maxCycleMs = Math.max(maxCycleMs, cycle);
+      lastCompletion = Math.max(lastCompletion, now);
+    }
+
+    private void schedule(long time, int kind, int subject) {
+      events.add(new Event(time, sequence++, kind, subject));
+    }
+  }
+}
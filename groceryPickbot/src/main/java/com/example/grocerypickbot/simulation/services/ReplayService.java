@@ -0,0 +1,187 @@
+package com.example.grocerypickbot.simulation.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.order.models.Order;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import com.example.grocerypickbot.simulation.configuration.SimulationProperties;
+import com.example.grocerypickbot.simulation.models.ReplayReport;
+import com.example.grocerypickbot.simulation.models.SimulatedOrder;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replays the stored orders of a period through a routing strategy and a simulated fleet.
+ *
+ * <p>Unlike {@link SimulationService}, which loads the whole period at once, the replay
+ * walks the orders by placement time in pages of {@code simulation.replay.page-size}, one
+ * page per transaction. Each page is planned with the strategy's preview for the simulated
+ * bots, not the live fleet, and handed to the {@link DiscreteEventSimulator} only when the
+ * simulated clock reaches it, so neither the order entities nor their tours of more than
+ * one page are held at a time.
+ * </p>
+ */
+@Service
+public class ReplayService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplayService.class);
+  private static final double NANOS_PER_MS = 1_000_000.0;
+
+  private final OrderRepository orderRepository;
+  private final RoutingStrategyRegistry strategyRegistry;
+  private final BotProperties botProperties;
+  private final SimulationProperties simulationProperties;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Constructs a ReplayService.
+   *
+   * @param orderRepository      the repository of the orders to replay
+   * @param strategyRegistry     the routing strategies that plan the tours
+   * @param botProperties        the configured fleet
+   * @param simulationProperties the simulated durations, fleet and page size
+   * @param transactionTemplate  the template wrapping each page in a transaction
+   */
+  public ReplayService(OrderRepository orderRepository,
+                       RoutingStrategyRegistry strategyRegistry,
+                       BotProperties botProperties,
+                       SimulationProperties simulationProperties,
+                       TransactionTemplate transactionTemplate) {
+    this.orderRepository = orderRepository;
+    this.strategyRegistry = strategyRegistry;
+    this.botProperties = botProperties;
+    this.simulationProperties = simulationProperties;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * Replays the orders placed in the given period.
+   *
+   * <p>Orders the strategy cannot plan are left out and counted as skipped.
+   * </p>
+   *
+   * @param from     the start of the period, inclusive
+   * @param to       the end of the period, inclusive
+   * @param strategy the name of the routing strategy, or {@code null} for the default
+   * @param bots     the number of simulated bots, or {@code null} for
+   *                 {@code simulation.bot-count}
+   * @return the throughput, distance and latency figures of the replay
+   * @throws IllegalArgumentException if the period ends before it starts, the strategy is
+   *                                  unknown, the bot count is negative or no bots are
+   *                                  configured
+   */
+  public ReplayReport replay(LocalDateTime from, LocalDateTime to, String strategy,
+                             Integer bots) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("The replayed period ends before it starts");
+    }
+    if (bots != null && bots < 0) {
+      throw new IllegalArgumentException("The number of bots must not be negative");
+    }
+    RoutingStrategy routing = strategyRegistry.get(strategy);
+    List<int[]> botStarts = SimulationService.botStarts(fleet(),
+        bots == null ? simulationProperties.getBotCount() : bots);
+
+    long start = System.nanoTime();
+    PagedOrders orders = new PagedOrders(routing, botStarts, from, to);
+    DiscreteEventSimulator.Result result =
+        new DiscreteEventSimulator(simulationProperties).run(orders, botStarts);
+    long replayMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+    int planned = result.orders() + orders.skipped;
+    LOGGER.info("Replayed {} orders in {} pages with strategy {} and {} bots in {} ms",
+        result.orders(), orders.pages, routing.name(), result.bots(), replayMs);
+    return new ReplayReport(routing.name(), result.bots(), result.orders(), orders.skipped,
+        orders.pages, result.routes(), result.picks(), result.steps(), result.makespanMs(),
+        result.ordersPerHour(), result.picksPerHour(), result.botUtilisation(),
+        result.averageCycleMs(), result.maxCycleMs(),
+        planned == 0 ? 0 : orders.planningNanos / NANOS_PER_MS / planned,
+        orders.maxPlanningNanos / NANOS_PER_MS, replayMs);
+  }
+
+  private List<BotAvailability> fleet() {
+    List<BotAvailability> replayBots = simulationProperties.getReplay().getBots();
+    return replayBots == null || replayBots.isEmpty() ? botProperties.getBots() : replayBots;
+  }
+
+  /**
+   * The planned orders of the period, loaded a page at a time as the simulation pulls them.
+   */
+  private final class PagedOrders implements Iterator<SimulatedOrder> {
+    private final RoutingStrategy routing;
+    private final List<int[]> botStarts;
+    private final LocalDateTime origin;
+    private final LocalDateTime to;
+    private final Deque<SimulatedOrder> buffer = new ArrayDeque<>();
+    private LocalDateTime afterDate;
+    private long afterId = Long.MIN_VALUE;
+    private boolean exhausted;
+    private int pages;
+    private int skipped;
+    private long planningNanos;
+    private long maxPlanningNanos;
+
+    private PagedOrders(RoutingStrategy routing, List<int[]> botStarts, LocalDateTime from,
+                        LocalDateTime to) {
+      this.routing = routing;
+      this.botStarts = botStarts;
+      this.origin = from;
+      this.to = to;
+      this.afterDate = from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (buffer.isEmpty() && !exhausted) {
+        transactionTemplate.executeWithoutResult(status -> loadPage());
+      }
+      return !buffer.isEmpty();
+    }
+
+    @Override
+    public SimulatedOrder next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return buffer.poll();
+    }
+
+    private void loadPage() {
+      int pageSize = simulationProperties.getReplay().getPageSize();
+      List<Order> page = orderRepository.findPlacedAfter(afterDate, afterId, to,
+          PageRequest.of(0, pageSize));
+      if (page.isEmpty()) {
+        exhausted = true;
+        return;
+      }
+      pages++;
+      exhausted = page.size() < pageSize;
+      for (Order order : page) {
+        long planningStart = System.nanoTime();
+        try {
+          buffer.add(SimulationService.toSimulatedOrder(order,
+              routing.preview(order.getId(), botStarts), origin));
+        } catch (RuntimeException e) {
+          LOGGER.debug("Skipping order {} in the replay: {}", order.getId(), e.getMessage());
+          skipped++;
+        }
+        long planning = System.nanoTime() - planningStart;
+        planningNanos += planning;
+        maxPlanningNanos = Math.max(maxPlanningNanos, planning);
+      }
+      Order last = page.get(page.size() - 1);
+      afterDate = last.getOrderDate();
+      afterId = last.getId();
+    }
+  }
+}
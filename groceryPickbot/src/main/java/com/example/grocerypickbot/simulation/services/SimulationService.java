@@ -0,0 +1,153 @@
+package com.example.grocerypickbot.simulation.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.order.models.Order;
+import com.example.grocerypickbot.order.models.OrderItem;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import com.example.grocerypickbot.simulation.configuration.SimulationProperties;
+import com.example.grocerypickbot.simulation.models.SimulatedOrder;
+import com.example.grocerypickbot.simulation.models.SimulatedTour;
+import com.example.grocerypickbot.simulation.models.SimulationReport;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Replays stored orders through the {@link DiscreteEventSimulator}.
+ *
+ * <p>Every order of the period is planned with a routing strategy's preview for the
+ * simulated fleet, so no routes are stored and no live bots are occupied or consulted, and
+ * arrives at the simulated time it was placed.
+ * Each item is picked by the first tour of its order that reaches the item's shelf.
+ * </p>
+ */
+@Service
+public class SimulationService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SimulationService.class);
+  private final OrderRepository orderRepository;
+  private final RoutingStrategyRegistry strategyRegistry;
+  private final BotProperties botProperties;
+  private final SimulationProperties simulationProperties;
+
+  /**
+   * Constructs a SimulationService.
+   *
+   * @param orderRepository      the repository of the orders to replay
+   * @param strategyRegistry     the routing strategies that plan the tours
+   * @param botProperties        the configured fleet
+   * @param simulationProperties the simulated durations and fleet size
+   */
+  public SimulationService(OrderRepository orderRepository,
+                           RoutingStrategyRegistry strategyRegistry,
+                           BotProperties botProperties,
+                           SimulationProperties simulationProperties) {
+    this.orderRepository = orderRepository;
+    this.strategyRegistry = strategyRegistry;
+    this.botProperties = botProperties;
+    this.simulationProperties = simulationProperties;
+  }
+
+  /**
+   * Simulates collecting the orders placed in the given period.
+   *
+   * <p>Orders the strategy cannot plan, e.g. because they need more bots than the pairs
+   * strategy has, are left out and counted as skipped.
+   * </p>
+   *
+   * @param from     the start of the period, inclusive
+   * @param to       the end of the period, inclusive
+   * @param strategy the name of the routing strategy, or {@code null} for the default
+   * @return the timing figures of the simulation
+   * @throws IllegalArgumentException if the period ends before it starts, the strategy is
+   *                                  unknown or no bots are configured
+   */
+  @Transactional(readOnly = true)
+  public SimulationReport simulate(LocalDateTime from, LocalDateTime to, String strategy) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("The simulated period ends before it starts");
+    }
+    RoutingStrategy routing = strategyRegistry.get(strategy);
+    List<int[]> botStarts =
+        botStarts(botProperties.getBots(), simulationProperties.getBotCount());
+    long planningStart = System.nanoTime();
+    List<SimulatedOrder> orders = new ArrayList<>();
+    int skipped = 0;
+    for (Order order : orderRepository.findByOrderDateBetweenOrderByOrderDateAsc(from, to)) {
+      try {
+        orders.add(toSimulatedOrder(order, routing.preview(order.getId(), botStarts), from));
+      } catch (RuntimeException e) {
+        LOGGER.debug("Skipping order {} in the simulation: {}", order.getId(), e.getMessage());
+        skipped++;
+      }
+    }
+    long planningMs = Duration.ofNanos(System.nanoTime() - planningStart).toMillis();
+
+    long simulationStart = System.nanoTime();
+    DiscreteEventSimulator.Result result =
+        new DiscreteEventSimulator(simulationProperties).run(orders, botStarts);
+    long simulationMs = Duration.ofNanos(System.nanoTime() - simulationStart).toMillis();
+    LOGGER.info("Simulated {} orders with strategy {}: {} ms of traffic in {} ms",
+        result.orders(), routing.name(), result.makespanMs(), simulationMs);
+    return new SimulationReport(routing.name(), result.orders(), skipped, result.routes(),
+        result.bots(), result.makespanMs(), result.botUtilisation(), result.ordersPerHour(),
+        result.averageCycleMs(), result.events(), planningMs, simulationMs);
+  }
+
+  /**
+   * Turns the planned routes of an order into simulated tours with their picks.
+   */
+  static SimulatedOrder toSimulatedOrder(Order order, List<RouteResponse> routes,
+                                         LocalDateTime origin) {
+    Map<Long, Integer> unitsByCell = new HashMap<>();
+    for (OrderItem item : order.getOrderItems()) {
+      Location location = item.getProduct().getLocation();
+      unitsByCell.merge(cellKey(location.getX(), location.getY()), item.getQuantity(),
+          Integer::sum);
+    }
+    List<SimulatedTour> tours = new ArrayList<>(routes.size());
+    for (RouteResponse route : routes) {
+      List<int[]> cells = route.visitedLocations();
+      int[] picks = new int[cells.size()];
+      for (int i = 0; i < cells.size(); i++) {
+        Integer units = unitsByCell.remove(cellKey(cells.get(i)[0], cells.get(i)[1]));
+        picks[i] = units == null ? 0 : units;
+      }
+      tours.add(new SimulatedTour(cells, picks));
+    }
+    long arrivalMs = Duration.between(origin, order.getOrderDate()).toMillis();
+    return new SimulatedOrder(order.getId(), arrivalMs, tours);
+  }
+
+  private static long cellKey(int x, int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the start cells of the simulated bots at the default locations of the fleet,
+   * taking the fleet's bots in turn when more bots are simulated than configured.
+   */
+  static List<int[]> botStarts(List<BotAvailability> fleet, int botCount) {
+    if (fleet == null || fleet.isEmpty()) {
+      throw new IllegalArgumentException("No bots are configured");
+    }
+    int count = botCount > 0 ? botCount : fleet.size();
+    List<int[]> starts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Location location = fleet.get(i % fleet.size()).getBot().defaultLocation();
+      starts.add(new int[]{location.getX(), location.getY()});
+    }
+    return starts;
+  }
+}
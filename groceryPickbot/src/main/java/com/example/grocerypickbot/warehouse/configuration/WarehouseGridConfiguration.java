@@ -0,0 +1,27 @@
+package com.example.grocerypickbot.warehouse.configuration;
+
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for building the warehouse grid from its properties.
+ */
+@Configuration
+public class WarehouseGridConfiguration {
+
+  /**
+   * Defines the WarehouseGrid bean with the configured blocked areas applied.
+   *
+   * @param properties the warehouse properties
+   * @return the warehouse grid
+   */
+  @Bean
+  public WarehouseGrid warehouseGrid(WarehouseProperties properties) {
+    WarehouseGrid grid = new WarehouseGrid(properties.getWidth(), properties.getHeight());
+    for (WarehouseProperties.Area area : properties.getBlocked()) {
+      grid.block(area.getFromX(), area.getFromY(), area.getToX(), area.getToY());
+    }
+    return grid;
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.grocerypickbot.warehouse.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties describing the warehouse floor.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "warehouse")
+public class WarehouseProperties {
+  /**
+   * Number of grid columns; valid x coordinates are {@code 0..width-1}.
+   */
+  private int width = 50;
+
+  /**
+   * Number of grid rows; valid y coordinates are {@code 0..height-1}.
+   */
+  private int height = 50;
+
+  /**
+   * Rectangles of cells bots cannot drive through, such as shelf bodies and walls.
+   */
+  private List<Area> blocked = new ArrayList<>();
+
+  /**
+   * Cache of grid distances from product cells.
+   */
+  private DistanceCache distanceCache = new DistanceCache();
+
+  /**
+   * Inclusive rectangle of grid cells.
+   */
+  @Setter
+  @Getter
+  public static class Area {
+    private int fromX;
+    private int fromY;
+    private int toX;
+    private int toY;
+  }
+
+  /**
+   * Bounds of the distance cache.
+   */
+  @Setter
+  @Getter
+  public static class DistanceCache {
+    /**
+     * Total number of cell distances the cache may hold; each cached origin costs one
+     * distance per grid cell.
+     */
+    private long maxCells = 4_000_000;
+
+    /**
+     * Whether to fill the cache from the stored product cells once the application is
+     * ready.
+     */
+    private boolean warmOnStartup = true;
+  }
+}
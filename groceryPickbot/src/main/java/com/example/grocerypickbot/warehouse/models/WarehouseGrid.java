@@ -0,0 +1,89 @@
+package com.example.grocerypickbot.warehouse.models;
+
+/**
+ * Rectangular warehouse floor stored as a flat array of cells.
+ *
+ * <p>Cell {@code (x, y)} has index {@code y * width + x}. Blocked cells (shelf bodies,
+ * walls) cannot be driven through, although a path may start or end on one so that bots
+ * can reach the pick face of a shelf.
+ * </p>
+ */
+public class WarehouseGrid {
+  private final int width;
+  private final int height;
+  private final boolean[] blocked;
+  private int blockedCount;
+
+  /**
+   * Constructs an empty grid.
+   *
+   * @param width  the number of columns
+   * @param height the number of rows
+   */
+  public WarehouseGrid(int width, int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Warehouse grid must have a positive size");
+    }
+    this.width = width;
+    this.height = height;
+    this.blocked = new boolean[width * height];
+  }
+
+  /**
+   * Marks an inclusive rectangle of cells as blocked. Cells outside the grid are ignored.
+   *
+   * @param fromX the first column
+   * @param fromY the first row
+   * @param toX   the last column
+   * @param toY   the last row
+   */
+  public void block(int fromX, int fromY, int toX, int toY) {
+    for (int y = Math.max(0, Math.min(fromY, toY)); y <= Math.min(height - 1,
+        Math.max(fromY, toY)); y++) {
+      for (int x = Math.max(0, Math.min(fromX, toX)); x <= Math.min(width - 1,
+          Math.max(fromX, toX)); x++) {
+        int cell = index(x, y);
+        if (!blocked[cell]) {
+          blocked[cell] = true;
+          blockedCount++;
+        }
+      }
+    }
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int cellCount() {
+    return blocked.length;
+  }
+
+  public boolean hasObstacles() {
+    return blockedCount > 0;
+  }
+
+  public boolean contains(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  public boolean isBlocked(int cell) {
+    return blocked[cell];
+  }
+
+  public int index(int x, int y) {
+    return y * width + x;
+  }
+
+  public int x(int cell) {
+    return cell % width;
+  }
+
+  public int y(int cell) {
+    return cell / width;
+  }
+}
@@ -0,0 +1,401 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import org.springframework.stereotype.Service;
+
+/**
+ * Collision-free paths for several bots on the {@link WarehouseGrid}, planned together.
+ *
+ * <p>Bots are planned one after another, those with the longest routes first since they
+ * are the hardest to reroute. Each bot searches space-time with A*: every tick it moves to
+ * a neighbouring cell or waits, and it may not enter a cell another bot holds at that tick
+ * or swap cells with one. The ticks a planned bot holds are written to a reservation table
+ * that the following bots plan around, so a conflict is resolved by waiting or by a
+ * detour, whichever arrives first. Bots that have not been planned yet hold only their
+ * start cell at tick 0. A bot whose final waypoint is the depot leaves the floor on arriving there;
+ * any other bot stays parked on its final cell. The depot holds any number of bots.
+ * </p>
+ *
+ * <p>When a bot finds no path within the expansion limit, for example because a bot
+ * planned before it blocks its goal, planning restarts with that bot first, once per bot
+ * at most. Prioritised planning is not complete: two bots meeting head-on in a corridor
+ * without a passing bay cannot be planned in any order.
+ * </p>
+ *
+ * <p>Reservations and search states are kept in primitive (tick, cell) hash maps, so a
+ * plan for tens of bots over hundreds of waypoints stays small. A planner holds no state
+ * between calls and may be shared between threads.
+ * </p>
+ */
+@Service
+public class CooperativePathPlanner {
+  private static final int[] STEP_X = {1, -1, 0, 0, 0};
+  private static final int[] STEP_Y = {0, 0, 1, -1, 0};
+  private static final int NONE = -1;
+
+  private final WarehouseGrid grid;
+
+  /**
+   * Constructs a CooperativePathPlanner over the given grid.
+   *
+   * @param grid the warehouse grid
+   */
+  public CooperativePathPlanner(WarehouseGrid grid) {
+    this.grid = grid;
+  }
+
+  /**
+   * Plans collision-free paths for all bots.
+   *
+   * @param waypoints     per bot, the cell indices it visits in order, starting with the cell
+   *                      it stands on at tick 0
+   * @param depot         the cell index of the depot, or {@code -1} if there is none
+   * @param maxExpansions search states expanded per leg before the leg counts as
+   *                      unreachable
+   * @return the paths, one cell per tick, and when each waypoint was reached
+   * @throws IllegalArgumentException if a waypoint lies outside the grid
+   * @throws IllegalStateException    if no priority order yields a plan for every bot
+   */
+  public Plan plan(int[][] waypoints, int depot, int maxExpansions) {
+    for (int[] route : waypoints) {
+      for (int cell : route) {
+        if (cell < 0 || cell >= grid.cellCount()) {
+          throw new IllegalArgumentException("Waypoint " + cell + " lies outside the grid");
+        }
+      }
+    }
+    int[] priority = IntStream.range(0, waypoints.length)
+        .boxed()
+        .sorted(Comparator.comparingInt((Integer agent) -> length(waypoints[agent])).reversed())
+        .mapToInt(Integer::intValue)
+        .toArray();
+    for (int attempt = 0; attempt <= waypoints.length; attempt++) {
+      Attempt planning = new Attempt(waypoints, depot, maxExpansions);
+      int failed = planning.run(priority);
+      if (failed == NONE) {
+        return new Plan(planning.paths, planning.arrivals, attempt);
+      }
+      if (priority[0] == failed) {
+        break; // no bot was in its way
+      }
+      moveToFront(priority, failed);
+    }
+    throw new IllegalStateException(
+        "No collision-free plan found for " + waypoints.length + " bots");
+  }
+
+  /**
+   * Returns the length of the route ignoring obstacles and other bots.
+   */
+  private int length(int[] route) {
+    int length = 0;
+    for (int i = 1; i < route.length; i++) {
+      length += Math.abs(grid.x(route[i]) - grid.x(route[i - 1]))
+          + Math.abs(grid.y(route[i]) - grid.y(route[i - 1]));
+    }
+    return length;
+  }
+
+  private static void moveToFront(int[] priority, int agent) {
+    int position = 0;
+    while (priority[position] != agent) {
+      position++;
+    }
+    System.arraycopy(priority, 0, priority, 1, position);
+    priority[0] = agent;
+  }
+
+  /**
+   * The collision-free paths of all bots.
+   *
+   * @param paths    per bot, the cell index it occupies at every tick from 0 until it
+   *                 reaches its final waypoint; a repeated cell is a wait
+   * @param arrivals per bot, the tick at which each of its waypoints was reached
+   * @param replans  how often planning restarted with a different priority order
+   */
+  public record Plan(int[][] paths, int[][] arrivals, int replans) {
+  }
+
+  /**
+   * One pass of prioritised planning over a fixed priority order.
+   */
+  private final class Attempt {
+    private final int[][] waypoints;
+    private final int depot;
+    private final int maxExpansions;
+    private final int[][] paths;
+    private final int[][] arrivals;
+    private final SpaceTimeIndex reservations;
+    private final int[] parkedSince;
+    private final int[] lastReserved;
+    private final Search search;
+
+    private Attempt(int[][] waypoints, int depot, int maxExpansions) {
+      this.waypoints = waypoints;
+      this.depot = depot;
+      this.maxExpansions = maxExpansions;
+      this.paths = new int[waypoints.length][];
+      this.arrivals = new int[waypoints.length][];
+      this.reservations = new SpaceTimeIndex(grid.cellCount());
+      this.parkedSince = new int[grid.cellCount()];
+      this.lastReserved = new int[grid.cellCount()];
+      this.search = new Search(grid.cellCount());
+      Arrays.fill(parkedSince, Integer.MAX_VALUE);
+      Arrays.fill(lastReserved, -1);
+    }
+
+    /**
+     * Plans the bots in the given order.
+     *
+     * @return the bot that could not be planned, or {@link #NONE}
+     */
+    private int run(int[] priority) {
+      for (int agent = 0; agent < waypoints.length; agent++) {
+        if (waypoints[agent].length > 0 && waypoints[agent][0] != depot) {
+          reservations.put(0, waypoints[agent][0], agent);
+        }
+      }
+      for (int agent : priority) {
+        int[] route = waypoints[agent];
+        if (route.length == 0) {
+          paths[agent] = new int[0];
+          arrivals[agent] = new int[0];
+          continue;
+        }
+        if (!planAgent(agent, route)) {
+          return agent;
+        }
+      }
+      return NONE;
+    }
+
+    private boolean planAgent(int agent, int[] route) {
+      IntList path = new IntList();
+      int[] reached = new int[route.length];
+      path.add(route[0]);
+      for (int leg = 1; leg < route.length; leg++) {
+        boolean last = leg == route.length - 1;
+        int tick = path.size() - 1;
+        if (!search.find(this, agent, route[leg - 1], tick, route[leg], last, path)) {
+          return false;
+        }
+        reached[leg] = path.size() - 1;
+      }
+      int[] cells = path.toArray();
+      for (int tick = 0; tick < cells.length; tick++) {
+        if (cells[tick] != depot) {
+          reservations.put(tick, cells[tick], agent);
+          lastReserved[cells[tick]] = Math.max(lastReserved[cells[tick]], tick);
+        }
+      }
+      int end = cells[cells.length - 1];
+      if (end != depot) {
+        parkedSince[end] = cells.length - 1;
+      }
+      paths[agent] = cells;
+      arrivals[agent] = reached;
+      return true;
+    }
+
+    /**
+     * Whether the bot may occupy the cell at the tick.
+     */
+    private boolean isFree(int agent, int cell, int tick) {
+      if (cell == depot) {
+        return true;
+      }
+      if (parkedSince[cell] <= tick) {
+        return false;
+      }
+      int owner = reservations.get(tick, cell);
+      return owner == SpaceTimeIndex.ABSENT || owner == agent;
+    }
+
+    /**
+     * Whether moving between the cells from the tick on swaps places with another bot.
+     */
+    private boolean swapsWithAnother(int agent, int from, int to, int tick) {
+      if (from == depot || to == depot) {
+        return false;
+      }
+      int oncoming = reservations.get(tick, to);
+      return oncoming != SpaceTimeIndex.ABSENT && oncoming != agent
+          && reservations.get(tick + 1, from) == oncoming;
+    }
+
+    /**
+     * Whether the bot may stay on its final cell from the tick on.
+     */
+    private boolean canPark(int cell, int tick) {
+      return cell == depot || lastReserved[cell] < tick;
+    }
+  }
+
+  /**
+   * Space-time A* for one leg, with buffers reused across the legs of an attempt.
+   */
+  private final class Search {
+    private final SpaceTimeIndex seen;
+    private int[] nodeCell = new int[256];
+    private int[] nodeTick = new int[256];
+    private int[] nodeParent = new int[256];
+    private int[] nodePriority = new int[256];
+    private int nodeCount;
+    private int[] heap = new int[256];
+    private int heapSize;
+
+    private Search(int cellCount) {
+      this.seen = new SpaceTimeIndex(cellCount);
+    }
+
+    /**
+     * Searches from the start cell at the tick to the goal and appends the steps after the
+     * start to the path.
+     */
+    private boolean find(Attempt attempt, int agent, int start, int startTick, int goal,
+                         boolean last, IntList path) {
+      seen.clear();
+      nodeCount = 0;
+      heapSize = 0;
+      int width = grid.getWidth();
+      int goalX = grid.x(goal);
+      int goalY = grid.y(goal);
+      push(start, startTick, NONE, startTick + manhattan(start, goalX, goalY));
+      seen.put(startTick, start, 0);
+      int expansions = 0;
+      while (heapSize > 0 && expansions++ < attempt.maxExpansions) {
+        int node = pop();
+        int cell = nodeCell[node];
+        int tick = nodeTick[node];
+        if (cell == goal && (!last || attempt.canPark(cell, tick))) {
+          append(node, startTick, path);
+          return true;
+        }
+        int x = cell % width;
+        int y = cell / width;
+        for (int direction = 0; direction < STEP_X.length; direction++) {
+          int nx = x + STEP_X[direction];
+          int ny = y + STEP_Y[direction];
+          if (!grid.contains(nx, ny)) {
+            continue;
+          }
+          int next = grid.index(nx, ny);
+          if (next != cell && next != goal && grid.isBlocked(next)) {
+            continue;
+          }
+          int nextTick = tick + 1;
+          if (seen.get(nextTick, next) != SpaceTimeIndex.ABSENT
+              || !attempt.isFree(agent, next, nextTick)
+              || (next != cell && attempt.swapsWithAnother(agent, cell, next, tick))) {
+            continue;
+          }
+          seen.put(nextTick, next, nodeCount);
+          push(next, nextTick, node, nextTick + manhattan(next, goalX, goalY));
+        }
+      }
+      return false;
+    }
+
+    private void append(int node, int startTick, IntList path) {
+      int steps = nodeTick[node] - startTick;
+      int[] cells = new int[steps];
+      for (int i = steps - 1; i >= 0; i--) {
+        cells[i] = nodeCell[node];
+        node = nodeParent[node];
+      }
+      for (int cell : cells) {
+        path.add(cell);
+      }
+    }
+
+    private int manhattan(int cell, int goalX, int goalY) {
+      return Math.abs(grid.x(cell) - goalX) + Math.abs(grid.y(cell) - goalY);
+    }
+
+    private void push(int cell, int tick, int parent, int priority) {
+      if (nodeCount == nodeCell.length) {
+        int capacity = nodeCount * 2;
+        nodeCell = Arrays.copyOf(nodeCell, capacity);
+        nodeTick = Arrays.copyOf(nodeTick, capacity);
+        nodeParent = Arrays.copyOf(nodeParent, capacity);
+        nodePriority = Arrays.copyOf(nodePriority, capacity);
+      }
+      int node = nodeCount++;
+      nodeCell[node] = cell;
+      nodeTick[node] = tick;
+      nodeParent[node] = parent;
+      nodePriority[node] = priority;
+      if (heapSize == heap.length) {
+        heap = Arrays.copyOf(heap, heapSize * 2);
+      }
+      int position = heapSize++;
+      while (position > 0) {
+        int parentPosition = (position - 1) >>> 1;
+        if (!precedes(node, heap[parentPosition])) {
+          break;
+        }
+        heap[position] = heap[parentPosition];
+        position = parentPosition;
+      }
+      heap[position] = node;
+    }
+
+    private int pop() {
+      int top = heap[0];
+      int node = heap[--heapSize];
+      int position = 0;
+      while (true) {
+        int child = 2 * position + 1;
+        if (child >= heapSize) {
+          break;
+        }
+        if (child + 1 < heapSize && precedes(heap[child + 1], heap[child])) {
+          child++;
+        }
+        if (!precedes(heap[child], node)) {
+          break;
+        }
+        heap[position] = heap[child];
+        position = child;
+      }
+      if (heapSize > 0) {
+        heap[position] = node;
+      }
+      return top;
+    }
+
+    /**
+     * Lower priority first; ties prefer the later tick, which is closer to the goal.
+     */
+    private boolean precedes(int node, int other) {
+      return nodePriority[node] < nodePriority[other]
+          || (nodePriority[node] == nodePriority[other] && nodeTick[node] > nodeTick[other]);
+    }
+  }
+
+  /**
+   * A growable list of primitive ints.
+   */
+  private static final class IntList {
+    private int[] values = new int[64];
+    private int size;
+
+    private void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,336 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.springframework.stereotype.Service;
+
+/**
+ * Shortest-path search on the {@link WarehouseGrid}.
+ *
+ * <p>Paths use 4-connected unit moves and avoid blocked cells, except that the start and
+ * goal cells themselves may be blocked. Each search borrows a set of buffers (score arrays,
+ * a binary heap for the open set and a BFS queue) from a pool bounded by the number of
+ * processors and returns it afterwards; a generation stamp replaces clearing them between
+ * searches. The pool is not tied to threads, so bot tasks running on short-lived virtual
+ * threads reuse the same few buffers instead of allocating a grid-sized set each.
+ * </p>
+ */
+@Service
+public class GridPathfinder {
+  private static final int[] STEP_X = {1, -1, 0, 0};
+  private static final int[] STEP_Y = {0, 0, 1, -1};
+
+  private final WarehouseGrid grid;
+  private final BlockingQueue<SearchBuffers> buffers;
+
+  /**
+   * Constructs a GridPathfinder over the given grid.
+   *
+   * @param grid the warehouse grid
+   */
+  public GridPathfinder(WarehouseGrid grid) {
+    this.grid = grid;
+    this.buffers = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+  }
+
+  public WarehouseGrid getGrid() {
+    return grid;
+  }
+
+  /**
+   * Finds a shortest path between two cells with A*.
+   *
+   * @param fromX the x coordinate of the start
+   * @param fromY the y coordinate of the start
+   * @param toX   the x coordinate of the goal
+   * @param toY   the y coordinate of the goal
+   * @return the cell indices of every step after the start, ending with the goal, or
+   *         {@code null} if an endpoint lies outside the grid or the goal is unreachable
+   */
+  public int[] findPath(int fromX, int fromY, int toX, int toY) {
+    if (!grid.contains(fromX, fromY) || !grid.contains(toX, toY)) {
+      return null;
+    }
+    int start = grid.index(fromX, fromY);
+    int goal = grid.index(toX, toY);
+    if (start == goal) {
+      return new int[0];
+    }
+
+    SearchBuffers search = borrow();
+    try {
+      return search(search, start, goal, toX, toY);
+    } finally {
+      buffers.offer(search);
+    }
+  }
+
+  private int[] search(SearchBuffers search, int start, int goal, int toX, int toY) {
+    int stamp = search.nextStamp();
+    int width = grid.getWidth();
+    search.cost[start] = 0;
+    search.parent[start] = -1;
+    search.seen[start] = stamp;
+    search.push(start, manhattan(grid.x(start), grid.y(start), toX, toY), 0);
+
+    while (search.heapSize > 0) {
+      int cell = search.pop();
+      if (search.closed[cell] == stamp) {
+        continue;
+      }
+      if (cell == goal) {
+        return tracePath(search, goal);
+      }
+      search.closed[cell] = stamp;
+      int x = cell % width;
+      int y = cell / width;
+      int nextCost = search.cost[cell] + 1;
+      for (int direction = 0; direction < 4; direction++) {
+        int nx = x + STEP_X[direction];
+        int ny = y + STEP_Y[direction];
+        if (!grid.contains(nx, ny)) {
+          continue;
+        }
+        int next = grid.index(nx, ny);
+        if ((grid.isBlocked(next) && next != goal) || search.closed[next] == stamp) {
+          continue;
+        }
+        if (search.seen[next] != stamp || nextCost < search.cost[next]) {
+          search.seen[next] = stamp;
+          search.cost[next] = nextCost;
+          search.parent[next] = cell;
+          search.push(next, nextCost + manhattan(nx, ny, toX, toY), nextCost);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Computes shortest-path distances from one cell to many targets with a single BFS.
+   *
+   * @param fromX   the x coordinate of the origin
+   * @param fromY   the y coordinate of the origin
+   * @param targetX the x coordinates of the targets
+   * @param targetY the y coordinates of the targets
+   * @param count   the number of targets to read
+   * @param out     receives the distance of each target, or {@code -1} if it lies outside
+   *                the grid or cannot be reached
+   */
+  public void distances(int fromX, int fromY, int[] targetX, int[] targetY, int count,
+                        int[] out) {
+    if (!grid.contains(fromX, fromY)) {
+      Arrays.fill(out, 0, count, -1);
+      return;
+    }
+    SearchBuffers search = borrow();
+    try {
+      breadthFirst(search, grid.index(fromX, fromY), targetX, targetY, count, out);
+    } finally {
+      buffers.offer(search);
+    }
+  }
+
+  /**
+   * Computes shortest-path distances from one cell to every cell of the grid with a single
+   * BFS.
+   *
+   * @param fromX the x coordinate of the origin
+   * @param fromY the y coordinate of the origin
+   * @return the distance of every cell by cell index, {@code -1} for cells that cannot be
+   *         reached, or {@code null} if the origin lies outside the grid
+   */
+  public int[] distanceField(int fromX, int fromY) {
+    if (!grid.contains(fromX, fromY)) {
+      return null;
+    }
+    int[] field = new int[grid.cellCount()];
+    SearchBuffers search = borrow();
+    try {
+      int stamp = flood(search, grid.index(fromX, fromY));
+      for (int cell = 0; cell < field.length; cell++) {
+        field[cell] = search.seen[cell] == stamp ? search.cost[cell] : -1;
+      }
+    } finally {
+      buffers.offer(search);
+    }
+    return field;
+  }
+
+  private void breadthFirst(SearchBuffers search, int start, int[] targetX, int[] targetY,
+                            int count, int[] out) {
+    int stamp = flood(search, start);
+    for (int i = 0; i < count; i++) {
+      if (!grid.contains(targetX[i], targetY[i])) {
+        out[i] = -1;
+        continue;
+      }
+      int cell = grid.index(targetX[i], targetY[i]);
+      out[i] = search.seen[cell] == stamp ? search.cost[cell] : -1;
+    }
+  }
+
+  /**
+   * Runs a BFS from the start cell, leaving the distance of every reached cell in the
+   * search costs.
+   *
+   * @return the stamp marking the cells reached by this search
+   */
+  private int flood(SearchBuffers search, int start) {
+    int stamp = search.nextStamp();
+    int width = grid.getWidth();
+    int head = 0;
+    int tail = 0;
+    search.queue[tail++] = start;
+    search.seen[start] = stamp;
+    search.cost[start] = 0;
+    while (head < tail) {
+      int cell = search.queue[head++];
+      if (cell != start && grid.isBlocked(cell)) {
+        continue; // reachable as a destination, but not driven through
+      }
+      int x = cell % width;
+      int y = cell / width;
+      for (int direction = 0; direction < 4; direction++) {
+        int nx = x + STEP_X[direction];
+        int ny = y + STEP_Y[direction];
+        if (!grid.contains(nx, ny)) {
+          continue;
+        }
+        int next = grid.index(nx, ny);
+        if (search.seen[next] != stamp) {
+          search.seen[next] = stamp;
+          search.cost[next] = search.cost[cell] + 1;
+          search.queue[tail++] = next;
+        }
+      }
+    }
+    return stamp;
+  }
+
+  /**
+   * Takes pooled buffers, or allocates a new set when every pooled one is in use; the
+   * extra set is dropped on return if the pool is full.
+   */
+  private SearchBuffers borrow() {
+    SearchBuffers search = buffers.poll();
+    return search != null ? search : new SearchBuffers(grid.cellCount());
+  }
+
+  private static int[] tracePath(SearchBuffers search, int goal) {
+    int length = search.cost[goal];
+    int[] path = new int[length];
+    int cell = goal;
+    for (int i = length - 1; i >= 0; i--) {
+      path[i] = cell;
+      cell = search.parent[cell];
+    }
+    return path;
+  }
+
+  private static int manhattan(int fromX, int fromY, int toX, int toY) {
+    return Math.abs(fromX - toX) + Math.abs(fromY - toY);
+  }
+
+  /**
+   * Scratch space for one search at a time.
+   */
+  private static final class SearchBuffers {
+    private final int[] cost;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final int[] queue;
+    private int[] heapCell = new int[256];
+    private int[] heapPriority = new int[256];
+    private int[] heapCost = new int[256];
+    private int heapSize;
+    private int stamp;
+
+    private SearchBuffers(int cells) {
+      cost = new int[cells];
+      parent = new int[cells];
+      seen = new int[cells];
+      closed = new int[cells];
+      queue = new int[cells];
+    }
+
+    private int nextStamp() {
+      heapSize = 0;
+      if (++stamp == Integer.MAX_VALUE) {
+        Arrays.fill(seen, 0);
+        Arrays.fill(closed, 0);
+        stamp = 1;
+      }
+      return stamp;
+    }
+
+    private void push(int cell, int priority, int pathCost) {
+      if (heapSize == heapCell.length) {
+        heapCell = Arrays.copyOf(heapCell, heapSize * 2);
+        heapPriority = Arrays.copyOf(heapPriority, heapSize * 2);
+        heapCost = Arrays.copyOf(heapCost, heapSize * 2);
+      }
+      int position = heapSize++;
+      while (position > 0) {
+        int parentPosition = (position - 1) >>> 1;
+        if (!precedes(priority, pathCost, heapPriority[parentPosition],
+            heapCost[parentPosition])) {
+          break;
+        }
+        move(parentPosition, position);
+        position = parentPosition;
+      }
+      heapCell[position] = cell;
+      heapPriority[position] = priority;
+      heapCost[position] = pathCost;
+    }
+
+    private int pop() {
+      int top = heapCell[0];
+      int size = --heapSize;
+      if (size == 0) {
+        return top;
+      }
+      int cell = heapCell[size];
+      int priority = heapPriority[size];
+      int pathCost = heapCost[size];
+      int position = 0;
+      while (true) {
+        int child = 2 * position + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && precedes(heapPriority[child + 1], heapCost[child + 1],
+            heapPriority[child], heapCost[child])) {
+          child++;
+        }
+        if (!precedes(heapPriority[child], heapCost[child], priority, pathCost)) {
+          break;
+        }
+        move(child, position);
+        position = child;
+      }
+      heapCell[position] = cell;
+      heapPriority[position] = priority;
+      heapCost[position] = pathCost;
+      return top;
+    }
+
+    /**
+     * Lower priority first; ties prefer the deeper node to reduce expansions.
+     */
+    private static boolean precedes(int priority, int pathCost, int otherPriority,
+                                    int otherCost) {
+      return priority < otherPriority || (priority == otherPriority && pathCost > otherCost);
+    }
+
+    private void move(int from, int to) {
+      heapCell[to] = heapCell[from];
+      heapPriority[to] = heapPriority[from];
+      heapCost[to] = heapCost[from];
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a (tick, cell) pair to an int, without boxing.
+ *
+ * <p>The pair is packed into one {@code long} key, {@code tick * cellCount + cell}, and
+ * probed linearly in parallel key and value arrays that double when half full.
+ * </p>
+ */
+final class SpaceTimeIndex {
+  static final int ABSENT = -1;
+  private static final long EMPTY = -1L;
+
+  private final int cellCount;
+  private long[] keys;
+  private int[] values;
+  private int size;
+
+  SpaceTimeIndex(int cellCount) {
+    this.cellCount = cellCount;
+    this.keys = new long[64];
+    this.values = new int[64];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  /**
+   * Returns the value stored for the cell at the tick, or {@link #ABSENT}.
+   */
+  int get(int tick, int cell) {
+    long key = key(tick, cell);
+    int mask = keys.length - 1;
+    for (int slot = slot(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    return ABSENT;
+  }
+
+  /**
+   * Stores a value for the cell at the tick, replacing any previous one.
+   */
+  void put(int tick, int cell, int value) {
+    if (2 * (size + 1) > keys.length) {
+      grow();
+    }
+    long key = key(tick, cell);
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      size++;
+    }
+    values[slot] = value;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+  }
+
+  private long key(int tick, int cell) {
+    return (long) tick * cellCount + cell;
+  }
+
+  private static int slot(long key, int mask) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32)) & mask;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new int[oldKeys.length * 2];
+    Arrays.fill(keys, EMPTY);
+    int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = slot(oldKeys[i], mask);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.solvers.TourInstance;
+import com.example.grocerypickbot.warehouse.configuration.WarehouseProperties;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Warehouse-wide store of grid distances from product cells, used to build the distance
+ * matrix of each planned tour.
+ *
+ * <p>Distances are shortest-path lengths on the {@link WarehouseGrid}, falling back to
+ * Manhattan distance for cells outside it or cut off from each other. On a grid with
+ * obstacles the store keeps one distance row per origin cell, measured by a single BFS to
+ * every cell of the grid, so a tour instance is built from array lookups once its stops
+ * have been seen. Rows are built lazily, optionally warmed from the stored products at
+ * startup, and held in an LRU bounded by the total number of cached distances. On a grid
+ * without obstacles the Manhattan distance is exact and nothing is cached.
+ * </p>
+ *
+ * <p>A tour holds at most {@link #MAX_NODES} stops including its start and end, which keeps
+ * the {@code int[]} matrix of an instance well within array bounds.
+ * </p>
+ */
+@Service
+public class WarehouseDistanceMatrix {
+  private static final Logger LOGGER = LoggerFactory.getLogger(WarehouseDistanceMatrix.class);
+
+  /**
+   * The most stops a tour instance may have, start and end included.
+   */
+  public static final int MAX_NODES = 4_096;
+
+  private final GridPathfinder pathfinder;
+  private final ProductRepository productRepository;
+  private final WarehouseProperties.DistanceCache cacheProperties;
+  private final LinkedHashMap<Integer, int[]> rows = new LinkedHashMap<>(256, 0.75f, true);
+  private long cachedCells;
+
+  /**
+   * Constructs a WarehouseDistanceMatrix.
+   *
+   * @param pathfinder          the grid search used to measure obstacle-aware distances
+   * @param productRepository   the repository the cache is warmed from at startup
+   * @param warehouseProperties the warehouse configuration
+   */
+  public WarehouseDistanceMatrix(GridPathfinder pathfinder, ProductRepository productRepository,
+                                 WarehouseProperties warehouseProperties) {
+    this.pathfinder = pathfinder;
+    this.productRepository = productRepository;
+    this.cacheProperties = warehouseProperties.getDistanceCache();
+  }
+
+  /**
+   * Measures the rows of the stored product cells, in product ID order, until the cache is
+   * full.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmOnStartup() {
+    WarehouseGrid grid = pathfinder.getGrid();
+    long capacity = cacheProperties.getMaxCells() / grid.cellCount();
+    if (!cacheProperties.isWarmOnStartup() || !grid.hasObstacles() || capacity == 0) {
+      return;
+    }
+    List<Product> products = productRepository.findAll(
+        PageRequest.of(0, (int) Math.min(capacity, Integer.MAX_VALUE), Sort.by("id")))
+        .getContent();
+    for (Product product : products) {
+      Location location = product.getLocation();
+      if (location != null) {
+        row(location.getX(), location.getY());
+      }
+    }
+    LOGGER.info("Distance cache warmed with {} product cells", cachedRows());
+  }
+
+  /**
+   * Builds the tour instance of a single-bot route.
+   *
+   * @param startX the x coordinate of the start cell
+   * @param startY the y coordinate of the start cell
+   * @param pickX  the x coordinates of the picks
+   * @param pickY  the y coordinates of the picks
+   * @param endX   the x coordinate of the end cell
+   * @param endY   the y coordinate of the end cell
+   * @return the tour instance
+   * @throws IllegalArgumentException if the tour has more than {@link #MAX_NODES} stops
+   */
+  public TourInstance tourInstance(int startX, int startY, int[] pickX, int[] pickY,
+                                   int endX, int endY) {
+    int picks = pickX.length;
+    long nodeCount = picks + 2L;
+    if (nodeCount > MAX_NODES) {
+      throw new IllegalArgumentException("A tour of " + picks + " picks exceeds the limit of "
+          + (MAX_NODES - 2) + " picks");
+    }
+    int nodes = (int) nodeCount;
+    int[] xs = new int[nodes];
+    int[] ys = new int[nodes];
+    xs[0] = startX;
+    ys[0] = startY;
+    System.arraycopy(pickX, 0, xs, 1, picks);
+    System.arraycopy(pickY, 0, ys, 1, picks);
+    xs[nodes - 1] = endX;
+    ys[nodes - 1] = endY;
+
+    WarehouseGrid grid = pathfinder.getGrid();
+    boolean gridAware = grid.hasObstacles();
+    int[] matrix = new int[nodes * nodes];
+    for (int from = 0; from < nodes; from++) {
+      int[] row = gridAware ? row(xs[from], ys[from]) : null;
+      for (int to = from + 1; to < nodes; to++) {
+        int distance = row != null && grid.contains(xs[to], ys[to])
+            ? row[grid.index(xs[to], ys[to])] : -1;
+        if (distance < 0) {
+          distance = Math.abs(xs[from] - xs[to]) + Math.abs(ys[from] - ys[to]);
+        }
+        matrix[from * nodes + to] = distance;
+        matrix[to * nodes + from] = distance;
+      }
+    }
+    return new TourInstance(picks, matrix);
+  }
+
+  /**
+   * Drops the cached row of a cell, so that a cell a product has moved away from no longer
+   * takes up room in the cache. Rows depend only on the grid, so nothing else goes stale.
+   *
+   * @param x the x coordinate of the cell
+   * @param y the y coordinate of the cell
+   */
+  public synchronized void invalidateCell(int x, int y) {
+    WarehouseGrid grid = pathfinder.getGrid();
+    if (!grid.contains(x, y)) {
+      return;
+    }
+    int[] removed = rows.remove(grid.index(x, y));
+    if (removed != null) {
+      cachedCells -= removed.length;
+    }
+  }
+
+  /**
+   * Returns the number of origin cells whose rows are cached.
+   *
+   * @return the number of cached rows
+   */
+  public synchronized int cachedRows() {
+    return rows.size();
+  }
+
+  /**
+   * Returns the cached distance row of a cell, measuring and caching it on a miss.
+   *
+   * @return the row, or {@code null} if the cell lies outside the grid
+   */
+  private int[] row(int x, int y) {
+    WarehouseGrid grid = pathfinder.getGrid();
+    if (!grid.contains(x, y)) {
+      return null;
+    }
+    int cell = grid.index(x, y);
+    synchronized (this) {
+      int[] cached = rows.get(cell);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    int[] computed = pathfinder.distanceField(x, y);
+    if (computed.length <= cacheProperties.getMaxCells()) {
+      synchronized (this) {
+        int[] previous = rows.put(cell, computed);
+        cachedCells += computed.length - (previous == null ? 0 : previous.length);
+        evictOverflow();
+      }
+    }
+    return computed;
+  }
+
+  private void evictOverflow() {
+    Iterator<int[]> eldest = rows.values().iterator();
+    while (cachedCells > cacheProperties.getMaxCells() && eldest.hasNext()) {
+      cachedCells -= eldest.next().length;
+      eldest.remove();
+    }
+  }
+}
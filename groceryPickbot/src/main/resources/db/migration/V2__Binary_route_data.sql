@@ -0,0 +1,4 @@
+ALTER TABLE `routes`
+  ADD COLUMN `route_format` varchar(16) NULL,
+  ADD COLUMN `route_data` blob NULL,
+  MODIFY `route_coordinates` text NULL;
@@ -0,0 +1,3 @@
+ALTER TABLE `routes`
+  ADD COLUMN `route_strategy` varchar(32) NULL,
+  ADD KEY `idx_rt_order_strategy` (`order_id`, `route_strategy`);
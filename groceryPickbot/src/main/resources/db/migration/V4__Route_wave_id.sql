@@ -0,0 +1,2 @@
+ALTER TABLE `routes`
+  ADD COLUMN `wave_id` varchar(36) NULL;
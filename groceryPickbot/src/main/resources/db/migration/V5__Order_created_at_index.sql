@@ -0,0 +1,2 @@
+ALTER TABLE `orders`
+  ADD KEY `idx_orders_created_at_id` (`created_at`, `id`);
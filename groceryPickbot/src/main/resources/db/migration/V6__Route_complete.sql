@@ -0,0 +1,2 @@
+ALTER TABLE `routes`
+  ADD COLUMN `route_complete` boolean NOT NULL DEFAULT TRUE;
@@ -0,0 +1,2 @@
+ALTER TABLE `routes`
+  ADD COLUMN `bot_id` varchar(255) NULL;
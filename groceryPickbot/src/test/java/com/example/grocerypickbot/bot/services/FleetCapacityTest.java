@@ -0,0 +1,47 @@
+package com.example.grocerypickbot.bot.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FleetCapacityTest {
+
+    @Test
+    void constructor_shouldCreateOnePermitPerConfiguredBot() {
+        BotProperties botProperties = new BotProperties();
+        botProperties.setBots(List.of(new BotAvailability(), new BotAvailability(), new BotAvailability()));
+
+        assertEquals(3, new FleetCapacity(botProperties).available());
+    }
+
+    @Test
+    void acquire_whenFleetIsBusy_shouldWaitForRelease() throws Exception {
+        BotProperties botProperties = new BotProperties();
+        botProperties.setBots(List.of(new BotAvailability()));
+        FleetCapacity fleetCapacity = new FleetCapacity(botProperties);
+        fleetCapacity.acquire();
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                fleetCapacity.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        fleetCapacity.release();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiter.join();
+    }
+}
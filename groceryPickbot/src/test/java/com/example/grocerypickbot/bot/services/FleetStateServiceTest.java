@@ -0,0 +1,67 @@
+package com.example.grocerypickbot.bot.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.Bot;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.bot.models.BotState;
+import com.example.grocerypickbot.product.models.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FleetStateServiceTest {
+
+    private FleetStateService fleetState;
+    private BotAvailability bot;
+
+    @BeforeEach
+    void setUp() {
+        BotProperties botProperties = new BotProperties();
+        botProperties.setStepDurationMs(100);
+        fleetState = new FleetStateService(botProperties);
+
+        Location location = new Location();
+        location.setX(4);
+        location.setY(6);
+        bot = new BotAvailability(new Bot("BA-1", location), new AtomicBoolean(true));
+    }
+
+    @Test
+    void stateOf_whenBotNeverMoved_shouldBeIdleAtDefaultLocation() {
+        BotState state = fleetState.stateOf(bot);
+
+        assertEquals(4, state.x());
+        assertEquals(6, state.y());
+        assertFalse(state.isBusy());
+    }
+
+    @Test
+    void startRoute_shouldMarkBotBusyUntilEstimatedEnd() {
+        long before = System.currentTimeMillis();
+
+        BotState state = fleetState.startRoute(bot, "Milk", 20);
+
+        assertTrue(state.isBusy());
+        assertEquals("Milk", state.currentRoute());
+        assertEquals(4, state.x());
+        assertTrue(state.busyUntil() >= before + 2_000);
+    }
+
+    @Test
+    void finishRoute_shouldMoveBotAndMarkItIdle() {
+        fleetState.startRoute(bot, "Milk", 20);
+
+        fleetState.finishRoute(bot, 0, 0);
+
+        BotState state = fleetState.stateOf(bot);
+        assertEquals(0, state.x());
+        assertEquals(0, state.y());
+        assertNull(state.currentRoute());
+        assertTrue(state.busyUntil() <= System.currentTimeMillis());
+    }
+}
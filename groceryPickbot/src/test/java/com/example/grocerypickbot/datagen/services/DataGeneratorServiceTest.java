@@ -0,0 +1,99 @@
+package com.example.grocerypickbot.datagen.services;
+
+import com.example.grocerypickbot.datagen.models.GenerationReport;
+import com.example.grocerypickbot.order.models.Order;
+import com.example.grocerypickbot.order.repositories.OrderItemRepository;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.product.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DataGeneratorServiceTest {
+
+    @Autowired
+    private DataGeneratorService dataGeneratorService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generate_shouldStoreProductsAndOrdersInBatches() {
+        long products = productRepository.count();
+        long orders = orderRepository.count();
+        long items = orderItemRepository.count();
+
+        GenerationReport report = dataGeneratorService.generate(120, 250);
+
+        assertEquals(120, report.products());
+        assertEquals(250, report.orders());
+        assertEquals(products + 120, productRepository.count());
+        assertEquals(orders + 250, orderRepository.count());
+        assertEquals(items + report.orderItems(), orderItemRepository.count());
+        assertTrue(report.orderItems() >= 250);
+    }
+
+    @Test
+    void generate_whenNoProductsRequested_shouldOrderFromTheStoredCatalog() {
+        dataGeneratorService.generate(10, 0);
+        long orders = orderRepository.count();
+
+        GenerationReport report = dataGeneratorService.generate(0, 5);
+
+        assertEquals(0, report.products());
+        assertEquals(orders + 5, orderRepository.count());
+    }
+
+    @Test
+    void generate_withTheSameSeed_shouldRepeatOrdersOnTheStoredCatalog() {
+        dataGeneratorService.generate(10, 0);
+
+        dataGeneratorService.generate(0, 3);
+        List<String> first = lastOrders(3);
+        dataGeneratorService.generate(0, 3);
+        List<String> second = lastOrders(3);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void generate_shouldLeaveTheIdentitiesPastTheWrittenRows() {
+        dataGeneratorService.generate(5, 5);
+        Long lastOrderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+
+        Order saved = orderRepository.save(new Order());
+
+        assertNotNull(saved.getId());
+        assertTrue(saved.getId() > lastOrderId);
+    }
+
+    @Test
+    void generate_whenCountIsNegative_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> dataGeneratorService.generate(-1, 0));
+    }
+
+    private List<String> lastOrders(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT o.created_at || ':' || LISTAGG(i.product_id || 'x' || i.quantity, ',') "
+                        + "WITHIN GROUP (ORDER BY i.id) FROM orders o JOIN order_item i ON i.order_id = o.id "
+                        + "WHERE o.id > (SELECT MAX(id) FROM orders) - ? GROUP BY o.id, o.created_at ORDER BY o.id",
+                String.class, count);
+    }
+}
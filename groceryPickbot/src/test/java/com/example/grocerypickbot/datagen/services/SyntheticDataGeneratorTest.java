@@ -0,0 +1,104 @@
+package com.example.grocerypickbot.datagen.services;
+
+import com.example.grocerypickbot.datagen.configuration.DataGeneratorProperties;
+import com.example.grocerypickbot.datagen.models.GeneratedOrder;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataGeneratorTest {
+
+    private final DataGeneratorProperties settings = new DataGeneratorProperties();
+
+    @Test
+    void nextProduct_shouldPlaceUniqueProductsOnFreeCells() {
+        WarehouseGrid grid = new WarehouseGrid(10, 10);
+        grid.block(0, 0, 9, 4);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, grid);
+
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            Product product = generator.nextProduct();
+            assertTrue(names.add(product.getName()));
+            assertTrue(product.getLocation().getY() >= 5);
+            assertTrue(product.getQuantity() <= settings.getMaxStock());
+            assertTrue(product.getPrice().signum() > 0);
+        }
+    }
+
+    @Test
+    void nextOrder_shouldDrawDistinctProductsWithinTheBasketLimit() {
+        settings.setMaxBasketSize(12);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, new WarehouseGrid(10, 10));
+
+        for (int i = 0; i < 1_000; i++) {
+            GeneratedOrder order = generator.nextOrder(200);
+            int[] products = order.productIndices();
+            assertTrue(products.length >= 1 && products.length <= 12);
+            assertEquals(products.length, Arrays.stream(products).distinct().count());
+            assertEquals(products.length, order.quantities().length);
+            assertTrue(Arrays.stream(products).allMatch(product -> product >= 0 && product < 200));
+            assertTrue(Arrays.stream(order.quantities()).allMatch(quantity -> quantity >= 1));
+        }
+    }
+
+    @Test
+    void nextOrder_whenPopularityIsSkewed_shouldFavourFewProducts() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, new WarehouseGrid(10, 10));
+        int[] picks = new int[1_000];
+
+        int total = 0;
+        for (int i = 0; i < 5_000; i++) {
+            for (int product : generator.nextOrder(picks.length).productIndices()) {
+                picks[product]++;
+                total++;
+            }
+        }
+
+        int[] sorted = picks.clone();
+        Arrays.sort(sorted);
+        int topTen = 0;
+        for (int i = sorted.length - 10; i < sorted.length; i++) {
+            topTen += sorted[i];
+        }
+        // one percent of the catalog makes up well over its share of the picks
+        assertTrue(topTen > total / 10);
+    }
+
+    @Test
+    void nextOrder_withTheSameSeed_shouldRepeatTheSameOrders() {
+        SyntheticDataGenerator first = new SyntheticDataGenerator(settings, new WarehouseGrid(10, 10));
+        SyntheticDataGenerator second = new SyntheticDataGenerator(settings, new WarehouseGrid(10, 10));
+
+        for (int i = 0; i < 100; i++) {
+            GeneratedOrder expected = first.nextOrder(50);
+            GeneratedOrder actual = second.nextOrder(50);
+            assertArrayEquals(expected.productIndices(), actual.productIndices());
+            assertEquals(expected.createdAt(), actual.createdAt());
+        }
+    }
+
+    @Test
+    void nextOrder_whenCatalogIsEmpty_shouldThrow() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, new WarehouseGrid(10, 10));
+
+        assertThrows(IllegalArgumentException.class, () -> generator.nextOrder(0));
+    }
+
+    @Test
+    void nextProduct_whenGridIsFull_shouldThrow() {
+        WarehouseGrid grid = new WarehouseGrid(2, 2);
+        grid.block(0, 0, 1, 1);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, grid);
+
+        assertThrows(IllegalStateException.class, generator::nextProduct);
+    }
+}
@@ -10,6 +10,8 @@ import com.example.grocerypickbot.product.models.Location;
 import com.example.grocerypickbot.product.models.Product;
 import com.example.grocerypickbot.product.models.ProductDto;
 import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.services.PathSegmentCache;
+import com.example.grocerypickbot.warehouse.services.WarehouseDistanceMatrix;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +29,10 @@ class ProductServiceImplTest {
   private ProductRepository productRepository;
   @Mock
   private ProductMapper productMapper;
+  @Mock
+  private PathSegmentCache segmentCache;
+  @Mock
+  private WarehouseDistanceMatrix distanceMatrix;
   @InjectMocks
   private ProductServiceImpl productService;
 
@@ -1,25 +1,53 @@
 package com.example.grocerypickbot.route.controllers;
 
 import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.AnytimeRouteResponse;
+import com.example.grocerypickbot.route.models.ParallelPlanner;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteJobResponse;
+import com.example.grocerypickbot.route.models.RouteJobStatus;
 import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.StrategyReport;
+import com.example.grocerypickbot.route.services.RouteJobService;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import com.example.grocerypickbot.route.services.RouteProgressStreamService;
 import com.example.grocerypickbot.route.services.RouteServiceImpl;
+import com.example.grocerypickbot.route.services.ShadowModeService;
+import com.example.grocerypickbot.route.services.WavePlanningService;
+import com.example.grocerypickbot.route.strategies.PairsRoutingStrategy;
+import com.example.grocerypickbot.route.strategies.PartitionedRoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import com.example.grocerypickbot.route.strategies.SingleBotRoutingStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,13 +57,30 @@ public class RouteControllerTest {
     @Mock
     private RouteServiceImpl routeService;
 
-    @InjectMocks
-    private RouteController routeController;
+    @Mock
+    private RouteJobService routeJobService;
+
+    @Mock
+    private RouteProgressStreamService progressStreamService;
+
+    @Mock
+    private WavePlanningService wavePlanningService;
+
+    @Mock
+    private ShadowModeService shadowModeService;
+
+    private RoutingStrategyRegistry strategies;
 
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
+        strategies = new RoutingStrategyRegistry(List.of(
+                new SingleBotRoutingStrategy(routeService),
+                new PairsRoutingStrategy(routeService),
+                new PartitionedRoutingStrategy(routeService)), new RouteProperties());
+        RouteController routeController = new RouteController(routeService, routeJobService,
+                progressStreamService, wavePlanningService, strategies, shadowModeService);
         mockMvc = MockMvcBuilders.standaloneSetup(routeController).build();
     }
 
@@ -44,7 +89,7 @@ public class RouteControllerTest {
         Long orderId = 2L;
         List<RouteResponse> mockResponse = List.of(new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "RouteA"));
 
-        when(routeService.getRoute(orderId)).thenReturn(mockResponse);
+        when(routeService.getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS)).thenReturn(mockResponse);
 
         mockMvc.perform(get("/routes")
                         .param("orderId", orderId.toString())
@@ -52,9 +97,9 @@ public class RouteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
 
-        verify(routeService).getRoute(orderId);
-        verify(routeService).calculateAndSavePath(orderId);
-        verify(routeService, never()).collectItemsParallel(orderId);
+        verify(routeService).getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS);
+        verify(routeService).calculateAndSavePath(orderId, RoutePlanningListener.NONE);
+        verify(routeService, never()).collectItemsParallel(orderId, ParallelPlanner.PAIRS, RoutePlanningListener.NONE);
     }
 
     @Test
@@ -62,7 +107,7 @@ public class RouteControllerTest {
         Long orderId = 2L;
         List<RouteResponse> mockResponse = List.of(new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "RouteA"));
 
-        when(routeService.getRoute(orderId)).thenReturn(mockResponse);
+        when(routeService.getRoute(orderId, RouteServiceImpl.PARALLEL_STRATEGY, RouteFormat.STEPS)).thenReturn(mockResponse);
 
         mockMvc.perform(get("/routes")
                         .param("orderId", orderId.toString())
@@ -70,15 +115,15 @@ public class RouteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
 
-        verify(routeService).getRoute(orderId);
-        verify(routeService).collectItemsParallel(orderId);
-        verify(routeService, never()).calculateAndSavePath(orderId);
+        verify(routeService).getRoute(orderId, RouteServiceImpl.PARALLEL_STRATEGY, RouteFormat.STEPS);
+        verify(routeService).collectItemsParallel(orderId, ParallelPlanner.PAIRS, RoutePlanningListener.NONE);
+        verify(routeService, never()).calculateAndSavePath(orderId, RoutePlanningListener.NONE);
     }
 
     @Test
     void getRoute_whenNoRoutesFound_shouldReturnOkWithEmptyList() throws Exception {
         Long orderId = 3L;
-        when(routeService.getRoute(orderId)).thenReturn(Collections.emptyList());
+        when(routeService.getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/routes")
                         .param("orderId", orderId.toString())
@@ -88,7 +133,24 @@ public class RouteControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(routeService).getRoute(orderId);
+        verify(routeService).getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS);
+    }
+
+    @Test
+    void getRoute_whenWaypointsRequested_shouldPassFormatToService() throws Exception {
+        Long orderId = 5L;
+        List<RouteResponse> mockResponse = List.of(new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{1, 2}, new int[]{1, 9}), "RouteA"));
+
+        when(routeService.getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.WAYPOINTS)).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/routes")
+                        .param("orderId", orderId.toString())
+                        .param("collectInParallel", "false")
+                        .param("format", "WAYPOINTS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].visitedLocations", hasSize(2)));
+
+        verify(routeService).getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.WAYPOINTS);
     }
 
     @Test
@@ -99,10 +161,89 @@ public class RouteControllerTest {
     }
 
     @Test
-    void getRoute_whenCollectInParallelParamIsMissing_shouldReturnBadRequest() throws Exception {
+    void getRoute_whenNoStrategyRequested_shouldUseTheConfiguredDefault() throws Exception {
+        Long orderId = 1L;
+        when(routeService.getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS)).thenReturn(Collections.emptyList());
+
         mockMvc.perform(get("/routes")
-                        .param("orderId", "1"))
-                .andExpect(status().isBadRequest());
+                        .param("orderId", orderId.toString()))
+                .andExpect(status().isOk());
+
+        verify(routeService).calculateAndSavePath(orderId, RoutePlanningListener.NONE);
+    }
+
+    @Test
+    void getRoute_whenStrategyRequested_shouldPlanWithThatStrategy() throws Exception {
+        Long orderId = 6L;
+        when(routeService.getRoute(orderId, RouteServiceImpl.PARTITIONED_STRATEGY, RouteFormat.STEPS)).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/routes")
+                        .param("orderId", orderId.toString())
+                        .param("collectInParallel", "false")
+                        .param("strategy", RouteServiceImpl.PARTITIONED_STRATEGY))
+                .andExpect(status().isOk());
+
+        verify(routeService).collectItemsParallel(orderId, ParallelPlanner.PARTITIONED, RoutePlanningListener.NONE);
+        verify(routeService, never()).calculateAndSavePath(orderId, RoutePlanningListener.NONE);
+    }
+
+    @Test
+    void getRoute_whenSampledForShadowMode_shouldCompareWithTheCandidate() throws Exception {
+        Long orderId = 6L;
+        List<RouteResponse> routes = List.of(new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "RouteA"));
+        RoutingStrategy single = strategies.get(RouteServiceImpl.SINGLE_BOT_STRATEGY);
+        RoutingStrategy partitioned = strategies.get(RouteServiceImpl.PARTITIONED_STRATEGY);
+        when(shadowModeService.sample(single)).thenReturn(Optional.of(partitioned));
+        when(routeService.hasRoutes(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY)).thenReturn(false);
+        when(routeService.getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS)).thenReturn(routes);
+
+        mockMvc.perform(get("/routes")
+                        .param("orderId", orderId.toString())
+                        .param("strategy", "single"))
+                .andExpect(status().isOk());
+
+        verify(shadowModeService).compare(eq(orderId), eq(single), eq(routes), eq(partitioned));
+    }
+
+    @Test
+    void getRoute_whenRoutesAreAlreadyStored_shouldNotCompareInShadowMode() throws Exception {
+        Long orderId = 6L;
+        RoutingStrategy single = strategies.get(RouteServiceImpl.SINGLE_BOT_STRATEGY);
+        when(shadowModeService.sample(single))
+                .thenReturn(Optional.of(strategies.get(RouteServiceImpl.PARTITIONED_STRATEGY)));
+        when(routeService.hasRoutes(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY)).thenReturn(true);
+
+        mockMvc.perform(get("/routes")
+                        .param("orderId", orderId.toString())
+                        .param("strategy", "single"))
+                .andExpect(status().isOk());
+
+        verify(shadowModeService, never()).compare(any(), any(), any(), any());
+    }
+
+    @Test
+    void getRouteReport_shouldReturnTheFiguresOfTheStrategy() throws Exception {
+        Long orderId = 11L;
+        StrategyReport report = new StrategyReport(RouteServiceImpl.PARALLEL_STRATEGY, orderId, 2, 30, 18, 4, List.of());
+        when(routeService.planWith(strategies.get(RouteServiceImpl.PARALLEL_STRATEGY), orderId, RouteFormat.STEPS, RoutePlanningListener.NONE)).thenReturn(report);
+
+        mockMvc.perform(get("/routes/report")
+                        .param("orderId", orderId.toString())
+                        .param("strategy", RouteServiceImpl.PARALLEL_STRATEGY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalDistance").value(30))
+                .andExpect(jsonPath("$.steps").value(18))
+                .andExpect(jsonPath("$.computeMs").value(4));
+    }
+
+    @Test
+    void getStrategies_shouldListEveryStrategyAndMarkTheDefault() throws Exception {
+        mockMvc.perform(get("/routes/strategies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].name").value(RouteServiceImpl.SINGLE_BOT_STRATEGY))
+                .andExpect(jsonPath("$[0].defaultStrategy").value(true))
+                .andExpect(jsonPath("$[1].defaultStrategy").value(false));
     }
 
     @Test
@@ -122,7 +263,7 @@ public class RouteControllerTest {
                 new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{5, 6}), "RouteC")
         );
 
-        when(routeService.getRoute(orderId)).thenReturn(mockResponse);
+        when(routeService.getRoute(orderId, RouteServiceImpl.PARALLEL_STRATEGY, RouteFormat.STEPS)).thenReturn(mockResponse);
 
         mockMvc.perform(get("/routes")
                         .param("orderId", orderId.toString())
@@ -131,9 +272,9 @@ public class RouteControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$", hasSize(3)));
 
-        verify(routeService).getRoute(orderId);
-        verify(routeService).collectItemsParallel(orderId);
-        verify(routeService, never()).calculateAndSavePath(orderId);
+        verify(routeService).getRoute(orderId, RouteServiceImpl.PARALLEL_STRATEGY, RouteFormat.STEPS);
+        verify(routeService).collectItemsParallel(orderId, ParallelPlanner.PAIRS, RoutePlanningListener.NONE);
+        verify(routeService, never()).calculateAndSavePath(orderId, RoutePlanningListener.NONE);
     }
 
     @Test
@@ -143,7 +284,7 @@ public class RouteControllerTest {
             , List.of(new int[]{10, 20}), "RouteX"),new RouteResponse(orderId, OrderStatus.SUCCESS
             , List.of(new int[]{1, 2}), "RouteY"));
 
-        when(routeService.getRoute(orderId)).thenReturn(mockResponse);
+        when(routeService.getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS)).thenReturn(mockResponse);
 
         mockMvc.perform(get("/routes")
                         .param("orderId", orderId.toString())
@@ -151,8 +292,8 @@ public class RouteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
 
-        verify(routeService).getRoute(orderId);
-        verify(routeService).calculateAndSavePath(orderId);
+        verify(routeService).getRoute(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY, RouteFormat.STEPS);
+        verify(routeService).calculateAndSavePath(orderId, RoutePlanningListener.NONE);
     }
 
     @Test
@@ -160,7 +301,7 @@ public class RouteControllerTest {
         Long orderId = 200L;
         List<RouteResponse> mockResponse = List.of(new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{30, 40}), "RouteY"));
 
-        when(routeService.getRoute(orderId)).thenReturn(mockResponse);
+        when(routeService.getRoute(orderId, RouteServiceImpl.PARALLEL_STRATEGY, RouteFormat.STEPS)).thenReturn(mockResponse);
 
         mockMvc.perform(get("/routes")
                         .param("orderId", orderId.toString())
@@ -168,8 +309,103 @@ public class RouteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
 
-        verify(routeService).getRoute(orderId);
-        verify(routeService).collectItemsParallel(orderId);
+        verify(routeService).getRoute(orderId, RouteServiceImpl.PARALLEL_STRATEGY, RouteFormat.STEPS);
+        verify(routeService).collectItemsParallel(orderId, ParallelPlanner.PAIRS, RoutePlanningListener.NONE);
+    }
+
+    @Test
+    void submitRouteJob_shouldReturnAcceptedWithoutPlanningOnRequestThread() throws Exception {
+        Long orderId = 7L;
+        RouteJobResponse job = new RouteJobResponse("job-1", orderId, RouteJobStatus.QUEUED, 0, 0, List.of(), null);
+
+        when(routeJobService.submit(orderId, strategies.get(RouteServiceImpl.PARALLEL_STRATEGY), RouteFormat.STEPS)).thenReturn(job);
+
+        mockMvc.perform(post("/routes/jobs")
+                        .param("orderId", orderId.toString())
+                        .param("collectInParallel", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/routes/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(routeService, never()).collectItemsParallel(orderId, ParallelPlanner.PAIRS, RoutePlanningListener.NONE);
+    }
+
+    @Test
+    void getRouteJob_whenJobCompleted_shouldReturnRoutes() throws Exception {
+        List<RouteResponse> routes = List.of(new RouteResponse(7L, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "RouteA"));
+        RouteJobResponse job = new RouteJobResponse("job-1", 7L, RouteJobStatus.COMPLETED, 1, 1, routes, null);
+
+        when(routeJobService.getJob("job-1")).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/routes/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.routes", hasSize(1)));
     }
-}
 
+    @Test
+    void getRouteJob_whenJobUnknown_shouldReturnNotFound() throws Exception {
+        when(routeJobService.getJob("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/routes/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamRoute_shouldSendProgressEventsAsServerSentEvents() throws Exception {
+        Long orderId = 8L;
+        SseEmitter emitter = new SseEmitter();
+        when(progressStreamService.stream(orderId, strategies.get(RouteServiceImpl.PARALLEL_STRATEGY), RouteFormat.STEPS)).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/routes/stream")
+                        .param("orderId", orderId.toString())
+                        .param("collectInParallel", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("route").data("RouteA"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:route")));
+        verify(routeService, never()).collectItemsParallel(orderId, ParallelPlanner.PAIRS, RoutePlanningListener.NONE);
+    }
+
+    @Test
+    void getWaveRoute_whenWaveCollected_shouldReturnRoutesOfTheOrder() throws Exception {
+        Long orderId = 9L;
+        CompletableFuture<Void> wave = new CompletableFuture<>();
+        List<RouteResponse> mockResponse = List.of(new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "Milk"));
+        when(wavePlanningService.enqueue(orderId)).thenReturn(wave);
+        when(routeService.getRoute(orderId, RouteServiceImpl.WAVE_STRATEGY, RouteFormat.STEPS)).thenReturn(mockResponse);
+
+        MvcResult result = mockMvc.perform(get("/routes/wave")
+                        .param("orderId", orderId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        wave.complete(null);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].routeName").value("Milk"));
+    }
+
+    @Test
+    void planWithinBudget_shouldReturnRouteWithCostAndConvergence() throws Exception {
+        Long orderId = 10L;
+        AnytimeRouteResponse response = new AnytimeRouteResponse(orderId, "Milk",
+                List.of(new int[]{0, 0}, new int[]{1, 0}, new int[]{0, 0}), 2, true, true, 50, 1);
+        when(routeService.planWithinBudget(orderId, 50L, RouteFormat.STEPS)).thenReturn(response);
+
+        mockMvc.perform(get("/routes/anytime")
+                        .param("orderId", orderId.toString())
+                        .param("budgetMs", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cost").value(2))
+                .andExpect(jsonPath("$.converged").value(true))
+                .andExpect(jsonPath("$.visitedLocations", hasSize(3)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.bot.models.Bot;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.route.models.BotSelection;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import com.example.grocerypickbot.warehouse.services.GridPathfinder;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class BotPoolTest {
+
+    private final BotAvailability west = bot("W", 1, 5);
+    private final BotAvailability east = bot("E", 40, 5);
+
+    @Test
+    void take_whenNearest_shouldPickBotClosestToTarget() throws Exception {
+        BotPool pool = new BotPool(positions(west, east), BotSelection.NEAREST, new GridPathfinder(new WarehouseGrid(50, 50)));
+
+        BotPool.BotPosition taken = pool.take(new RouteServiceImpl.Location(38, 7));
+
+        assertSame(east, taken.bot());
+        assertEquals(new RouteServiceImpl.Location(40, 5), taken.location());
+    }
+
+    @Test
+    void take_whenNearest_shouldMeasureDistanceAroundObstacles() throws Exception {
+        WarehouseGrid grid = new WarehouseGrid(50, 50);
+        grid.block(10, 0, 10, 48); // a wall with a gap at the top
+        BotAvailability behindWall = bot("B", 11, 0);
+        BotAvailability open = bot("O", 0, 20);
+        BotPool pool = new BotPool(positions(behindWall, open), BotSelection.NEAREST, new GridPathfinder(grid));
+
+        // 9 cells in a straight line to the bot behind the wall, but over 100 steps around it
+        assertSame(open, pool.take(new RouteServiceImpl.Location(2, 0)).bot());
+    }
+
+    @Test
+    void take_whenGridHasNoObstacles_shouldRankByManhattanDistanceWithoutSearching() throws Exception {
+        GridPathfinder pathfinder = spy(new GridPathfinder(new WarehouseGrid(50, 50)));
+        BotAvailability alsoEast = bot("E2", 36, 5);
+        BotPool pool = new BotPool(positions(west, east, alsoEast), BotSelection.NEAREST, pathfinder);
+
+        // both eastern bots are 4 cells away, so the one free the longest wins
+        assertSame(east, pool.take(new RouteServiceImpl.Location(38, 3)).bot());
+        verify(pathfinder, never()).distances(anyInt(), anyInt(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void take_whenQueue_shouldPickBotsInOrder() throws Exception {
+        BotPool pool = new BotPool(positions(west, east), BotSelection.QUEUE, new GridPathfinder(new WarehouseGrid(50, 50)));
+
+        assertSame(west, pool.take(new RouteServiceImpl.Location(38, 7)).bot());
+        assertSame(east, pool.take(new RouteServiceImpl.Location(38, 7)).bot());
+    }
+
+    @Test
+    void take_shouldUseCurrentPositionOfReleasedBot() throws Exception {
+        BotPool pool = new BotPool(positions(west, east), BotSelection.NEAREST, new GridPathfinder(new WarehouseGrid(50, 50)));
+        BotPool.BotPosition first = pool.take(new RouteServiceImpl.Location(40, 6));
+        pool.release(first.bot(), new RouteServiceImpl.Location(0, 0));
+
+        BotPool.BotPosition next = pool.take(new RouteServiceImpl.Location(3, 0));
+
+        assertSame(east, next.bot());
+        assertEquals(new RouteServiceImpl.Location(0, 0), next.location());
+    }
+
+    @Test
+    void take_whenNoBotIsFree_shouldWaitForRelease() throws Exception {
+        BotPool pool = new BotPool(positions(west), BotSelection.NEAREST, new GridPathfinder(new WarehouseGrid(50, 50)));
+        BotPool.BotPosition taken = pool.take(new RouteServiceImpl.Location(1, 1));
+
+        CompletableFuture<BotPool.BotPosition> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.take(new RouteServiceImpl.Location(1, 1));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        pool.release(taken.bot(), new RouteServiceImpl.Location(0, 0));
+        assertSame(west, waiting.get(5, TimeUnit.SECONDS).bot());
+    }
+
+    private static List<BotPool.BotPosition> positions(BotAvailability... bots) {
+        return Arrays.stream(bots)
+                .map(bot -> new BotPool.BotPosition(bot, new RouteServiceImpl.Location(
+                        bot.getBot().defaultLocation().getX(), bot.getBot().defaultLocation().getY())))
+                .toList();
+    }
+
+    private static BotAvailability bot(String id, int x, int y) {
+        Location location = new Location();
+        location.setX(x);
+        location.setY(y);
+        return new BotAvailability(new Bot(id, location), new AtomicBoolean(true));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.grocerypickbot.route.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class PathSegmentCacheTest {
+
+  @Test
+  void getOrCompute_whenSegmentRepeats_shouldComputeOnce() {
+    PathSegmentCache cache = new PathSegmentCache(new RouteProperties());
+    AtomicInteger computations = new AtomicInteger();
+
+    List<Location> first = cache.getOrCompute(new Location(0, 0), new Location(0, 2),
+        () -> segment(computations, 2));
+    List<Location> second = cache.getOrCompute(new Location(0, 0), new Location(0, 2),
+        () -> segment(computations, 2));
+
+    assertSame(first, second);
+    assertEquals(1, computations.get());
+    assertEquals(1, cache.stats().hits());
+    assertEquals(1, cache.stats().misses());
+  }
+
+  @Test
+  void getOrCompute_whenStepBudgetExceeded_shouldEvictLeastRecentlyUsed() {
+    RouteProperties properties = new RouteProperties();
+    properties.getSegmentCache().setMaxSteps(5);
+    PathSegmentCache cache = new PathSegmentCache(properties);
+    AtomicInteger computations = new AtomicInteger();
+
+    cache.getOrCompute(new Location(0, 0), new Location(0, 3), () -> segment(computations, 3));
+    cache.getOrCompute(new Location(1, 0), new Location(1, 2), () -> segment(computations, 2));
+    cache.getOrCompute(new Location(0, 0), new Location(0, 3), () -> segment(computations, 3));
+    cache.getOrCompute(new Location(2, 0), new Location(2, 2), () -> segment(computations, 2));
+
+    assertEquals(1, cache.stats().evictions());
+    assertEquals(5, cache.stats().steps());
+    cache.getOrCompute(new Location(0, 0), new Location(0, 3), () -> segment(computations, 3));
+    assertEquals(3, computations.get());
+  }
+
+  @Test
+  void invalidateCell_shouldDropSegmentsTouchingTheCell() {
+    PathSegmentCache cache = new PathSegmentCache(new RouteProperties());
+    AtomicInteger computations = new AtomicInteger();
+    cache.getOrCompute(new Location(0, 0), new Location(0, 2), () -> segment(computations, 2));
+    cache.getOrCompute(new Location(0, 2), new Location(0, 4), () -> segment(computations, 2));
+    cache.getOrCompute(new Location(5, 5), new Location(5, 6), () -> segment(computations, 1));
+
+    cache.invalidateCell(0, 2);
+
+    assertEquals(1, cache.stats().entries());
+    assertEquals(1, cache.stats().steps());
+  }
+
+  private static List<Location> segment(AtomicInteger computations, int length) {
+    computations.incrementAndGet();
+    Location[] steps = new Location[length];
+    for (int i = 0; i < length; i++) {
+      steps[i] = new Location(0, i + 1);
+    }
+    return List.of(steps);
+  }
+}
@@ -0,0 +1,100 @@
+package com.example.grocerypickbot.route.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RouteBinaryCodecTest {
+
+  @Test
+  void decode_shouldRoundTripWaypoints() {
+    List<Location> waypoints = List.of(new Location(10, 8), new Location(10, 0),
+        new Location(300, 0), new Location(300, 70_000), new Location(0, 0));
+
+    List<int[]> decoded = RouteBinaryCodec.decode(RouteBinaryCodec.encode(waypoints),
+        RouteFormat.WAYPOINTS);
+
+    assertEquals(waypoints.size(), decoded.size());
+    for (int i = 0; i < waypoints.size(); i++) {
+      assertArrayEquals(new int[] {waypoints.get(i).x(), waypoints.get(i).y()}, decoded.get(i));
+    }
+  }
+
+  @Test
+  void decode_whenStepsRequested_shouldMatchWaypointExpansion() {
+    List<Location> steps = new ArrayList<>();
+    for (int x = 1; x <= 6; x++) {
+      steps.add(new Location(x, 7));
+    }
+    for (int y = 6; y >= 0; y--) {
+      steps.add(new Location(6, y));
+    }
+    List<Location> waypoints = WaypointCodec.compress(steps);
+
+    List<int[]> decoded = RouteBinaryCodec.decode(RouteBinaryCodec.encode(waypoints),
+        RouteFormat.STEPS);
+
+    assertEquals(steps.size(), decoded.size());
+    for (int i = 0; i < steps.size(); i++) {
+      assertArrayEquals(new int[] {steps.get(i).x(), steps.get(i).y()}, decoded.get(i));
+    }
+  }
+
+  @Test
+  void decode_whenRouteHasWaits_shouldKeepTheWaitingSteps() {
+    List<Location> steps = List.of(new Location(0, 0), new Location(0, 1), new Location(0, 1),
+        new Location(0, 2), new Location(1, 2));
+
+    List<int[]> decoded = RouteBinaryCodec.decode(
+        RouteBinaryCodec.encode(WaypointCodec.compress(steps)), RouteFormat.STEPS);
+
+    assertEquals(steps.size(), decoded.size());
+    for (int i = 0; i < steps.size(); i++) {
+      assertArrayEquals(new int[] {steps.get(i).x(), steps.get(i).y()}, decoded.get(i));
+    }
+  }
+
+  @Test
+  void encode_shouldUseOneBytePerSmallDelta() {
+    List<Location> waypoints = List.of(new Location(1, 7), new Location(5, 7),
+        new Location(5, 2), new Location(0, 2), new Location(0, 0));
+
+    byte[] data = RouteBinaryCodec.encode(waypoints);
+
+    assertEquals(RouteBinaryCodec.VERSION, data[0]);
+    assertTrue(data.length <= 2 + 2 * waypoints.size());
+  }
+
+  @Test
+  void decode_whenVersionIsUnknown_shouldThrowIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class,
+        () -> RouteBinaryCodec.decode(new byte[] {42, 0}, RouteFormat.STEPS));
+  }
+
+  @Test
+  void decode_whenDataIsTruncated_shouldThrowIllegalArgumentException() {
+    byte[] data = RouteBinaryCodec.encode(List.of(new Location(1, 7), new Location(300, 7)));
+
+    for (int length = 1; length < data.length; length++) {
+      byte[] truncated = Arrays.copyOf(data, length);
+      assertThrows(IllegalArgumentException.class,
+          () -> RouteBinaryCodec.decode(truncated, RouteFormat.STEPS));
+    }
+  }
+
+  @Test
+  void decode_whenVarintNeverEnds_shouldThrowIllegalArgumentException() {
+    byte[] data = {RouteBinaryCodec.VERSION, 1, -1, -1, -1, -1, -1, -1, 0, 0};
+
+    assertThrows(IllegalArgumentException.class,
+        () -> RouteBinaryCodec.decode(data, RouteFormat.WAYPOINTS));
+  }
+}
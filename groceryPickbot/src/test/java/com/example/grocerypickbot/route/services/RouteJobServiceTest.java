@@ -0,0 +1,116 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteJobResponse;
+import com.example.grocerypickbot.route.models.RouteJobStatus;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.StrategyReport;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RouteJobServiceTest {
+
+    @Mock
+    private RouteServiceImpl routeService;
+
+    @Mock
+    private RoutingStrategy strategy;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private RouteJobService routeJobService;
+
+    @BeforeEach
+    void setUp() {
+        routeJobService = new RouteJobService(routeService, queued::add, new RouteProperties());
+    }
+
+    @Test
+    void submit_shouldReturnQueuedJobWithoutPlanning() {
+        RouteJobResponse job = routeJobService.submit(1L, strategy, RouteFormat.STEPS);
+
+        assertEquals(RouteJobStatus.QUEUED, job.status());
+        assertEquals(1, queued.size());
+        verify(routeService, never()).planWith(any(), any(), any(), any());
+        assertEquals(RouteJobStatus.QUEUED, routeJobService.getJob(job.jobId()).orElseThrow().status());
+    }
+
+    @Test
+    void getJob_whenPlanningReportsProgress_shouldReturnCompletedRoutes() {
+        List<RouteResponse> routes = List.of(
+                new RouteResponse(1L, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "A"),
+                new RouteResponse(1L, OrderStatus.SUCCESS, List.of(new int[]{3, 4}), "B"));
+        List<RouteJobResponse> progress = new ArrayList<>();
+        String[] jobId = new String[1];
+        doAnswer(invocation -> {
+            RoutePlanningListener listener = invocation.getArgument(3);
+            listener.onRoutesPlanned(2);
+            listener.onRouteSaved(routes.get(0));
+            progress.add(routeJobService.getJob(jobId[0]).orElseThrow());
+            listener.onRouteSaved(routes.get(1));
+            return new StrategyReport("pairs", 1L, 2, 4, 2, 5, routes);
+        }).when(routeService).planWith(eq(strategy), eq(1L), eq(RouteFormat.WAYPOINTS), any(RoutePlanningListener.class));
+
+        jobId[0] = routeJobService.submit(1L, strategy, RouteFormat.WAYPOINTS).jobId();
+        queued.get(0).run();
+
+        RouteJobResponse running = progress.get(0);
+        assertEquals(RouteJobStatus.RUNNING, running.status());
+        assertEquals(1, running.completedRoutes());
+        assertEquals(2, running.totalRoutes());
+        RouteJobResponse done = routeJobService.getJob(jobId[0]).orElseThrow();
+        assertEquals(RouteJobStatus.COMPLETED, done.status());
+        assertEquals(2, done.completedRoutes());
+        assertEquals(routes, done.routes());
+    }
+
+    @Test
+    void getJob_whenPlanningFails_shouldReturnFailedWithMessage() {
+        doThrow(new IllegalStateException("No available bots"))
+                .when(routeService).planWith(eq(strategy), eq(2L), eq(RouteFormat.STEPS), any(RoutePlanningListener.class));
+
+        String jobId = routeJobService.submit(2L, strategy, RouteFormat.STEPS).jobId();
+        queued.get(0).run();
+
+        RouteJobResponse failed = routeJobService.getJob(jobId).orElseThrow();
+        assertEquals(RouteJobStatus.FAILED, failed.status());
+        assertEquals("No available bots", failed.error());
+        assertTrue(failed.routes().isEmpty());
+    }
+
+    @Test
+    void getJob_whenUnknown_shouldReturnEmpty() {
+        assertTrue(routeJobService.getJob("missing").isEmpty());
+    }
+
+    @Test
+    void getJob_whenRetentionHasPassed_shouldDropTheFinishedJob() {
+        RouteProperties routeProperties = new RouteProperties();
+        routeProperties.getJobs().setRetentionMinutes(0);
+        routeJobService = new RouteJobService(routeService, queued::add, routeProperties);
+        String finished = routeJobService.submit(1L, strategy, RouteFormat.STEPS).jobId();
+        String waiting = routeJobService.submit(2L, strategy, RouteFormat.STEPS).jobId();
+        queued.get(0).run();
+
+        assertTrue(routeJobService.getJob(finished).isEmpty());
+        assertEquals(RouteJobStatus.QUEUED, routeJobService.getJob(waiting).orElseThrow().status());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.controllers.RouteController;
+import com.example.grocerypickbot.route.models.RouteFormat;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.StrategyReport;
+import com.example.grocerypickbot.route.strategies.PairsRoutingStrategy;
+import com.example.grocerypickbot.route.strategies.PartitionedRoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import com.example.grocerypickbot.route.strategies.SingleBotRoutingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.stringContainsInOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class RouteProgressStreamServiceTest {
+
+    @Mock
+    private RouteServiceImpl routeService;
+
+    @Mock
+    private RouteJobService routeJobService;
+
+    @Mock
+    private WavePlanningService wavePlanningService;
+
+    @Mock
+    private ShadowModeService shadowModeService;
+
+    private RoutingStrategyRegistry strategies;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        strategies = new RoutingStrategyRegistry(List.of(
+                new SingleBotRoutingStrategy(routeService),
+                new PairsRoutingStrategy(routeService),
+                new PartitionedRoutingStrategy(routeService)), new RouteProperties());
+        RouteProgressStreamService streamService =
+                new RouteProgressStreamService(routeService, Runnable::run, new RouteProperties());
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new RouteController(routeService, routeJobService, streamService,
+                        wavePlanningService, strategies, shadowModeService))
+                .build();
+    }
+
+    @Test
+    void stream_shouldSendAssignmentRouteAndCompletedEventsInOrder() throws Exception {
+        RouteResponse route = new RouteResponse(1L, OrderStatus.SUCCESS, List.of(new int[]{1, 2}), "Milk");
+        doAnswer(invocation -> {
+            RoutePlanningListener listener = invocation.getArgument(3);
+            listener.onBotAssigned("BA-123", "Milk", 0);
+            listener.onRouteSaved(route);
+            return new StrategyReport("pairs", 1L, 1, 1, 1, 5, List.of(route));
+        }).when(routeService).planWith(eq(strategies.get("pairs")), eq(1L), eq(RouteFormat.STEPS), any(RoutePlanningListener.class));
+
+        mockMvc.perform(asyncDispatch(startStream(1L, true)))
+                .andExpect(content().string(stringContainsInOrder(
+                        "event:assignment", "\"botId\":\"BA-123\"",
+                        "event:route", "\"visitedLocations\":[[1,2]]",
+                        "event:completed", "\"routeName\":\"Milk\"")));
+    }
+
+    @Test
+    void stream_whenPlanningFails_shouldSendFailedEvent() throws Exception {
+        doThrow(new IllegalStateException("No available bots"))
+                .when(routeService).planWith(eq(strategies.get("single")), eq(2L), eq(RouteFormat.STEPS), any(RoutePlanningListener.class));
+
+        mockMvc.perform(asyncDispatch(startStream(2L, false)))
+                .andExpect(content().string(containsString("event:failed\ndata:No available bots")));
+    }
+
+    private MvcResult startStream(Long orderId, boolean collectInParallel) throws Exception {
+        return mockMvc.perform(get("/routes/stream")
+                        .param("orderId", orderId.toString())
+                        .param("collectInParallel", String.valueOf(collectInParallel)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -3,6 +3,8 @@ package com.example.grocerypickbot.route.services;
 import com.example.grocerypickbot.bot.configuration.BotProperties;
 import com.example.grocerypickbot.bot.models.Bot;
 import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.bot.services.FleetCapacity;
+import com.example.grocerypickbot.bot.services.FleetStateService;
 import com.example.grocerypickbot.exceptions.OrderNotFoundException;
 import com.example.grocerypickbot.order.models.Order;
 import com.example.grocerypickbot.order.models.OrderItem;
@@ -11,34 +13,57 @@ import com.example.grocerypickbot.order.repositories.OrderRepository;
 import com.example.grocerypickbot.product.mappers.ProductMapper;
 import com.example.grocerypickbot.product.models.Location;
 import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.AnytimeRouteResponse;
+import com.example.grocerypickbot.route.models.ParallelPlanner;
 import com.example.grocerypickbot.route.models.Route;
+import com.example.grocerypickbot.route.models.RouteFormat;
 import com.example.grocerypickbot.route.models.RouteResponse;
 import com.example.grocerypickbot.route.repositories.RouteRepository;
+import com.example.grocerypickbot.warehouse.configuration.WarehouseProperties;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import com.example.grocerypickbot.warehouse.services.CooperativePathPlanner;
+import com.example.grocerypickbot.warehouse.services.GridPathfinder;
+import com.example.grocerypickbot.warehouse.services.WarehouseDistanceMatrix;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.task.TaskExecutor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -63,6 +88,30 @@ public class RouteServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Spy
+    private RouteProperties routeProperties = new RouteProperties();
+
+    @Spy
+    private PathSegmentCache segmentCache = new PathSegmentCache(routeProperties);
+
+    @Spy
+    private GridPathfinder pathfinder = new GridPathfinder(new WarehouseGrid(50, 50));
+
+    @Spy
+    private CooperativePathPlanner cooperativePlanner =
+        new CooperativePathPlanner(pathfinder.getGrid());
+
+    @Spy
+    private WarehouseDistanceMatrix distanceMatrix =
+        new WarehouseDistanceMatrix(pathfinder, mock(ProductRepository.class),
+            new WarehouseProperties());
+
+    @Spy
+    private FleetCapacity fleetCapacity = new FleetCapacity(new BotProperties());
+
+    @Spy
+    private FleetStateService fleetState = new FleetStateService(new BotProperties());
+
     @InjectMocks
     private RouteServiceImpl routeService;
 
@@ -122,7 +171,7 @@ public class RouteServiceImplTest {
             new RouteServiceImpl.Location(2, 0)
         };
 
-        when(routeRepository.findByOrderId(orderId)).thenReturn(routes);
+        when(routeRepository.findByOrderIdAndCompleteTrue(orderId)).thenReturn(routes);
         when(mapper.readValue(anyString(), eq(RouteServiceImpl.Location[].class))).thenReturn(locations);
 
         List<RouteResponse> result = routeService.getRoute(orderId);
@@ -135,17 +184,37 @@ public class RouteServiceImplTest {
         assertEquals("Test Product", response.routeName());
         assertEquals(3, response.visitedLocations().size());
 
-        verify(routeRepository).findByOrderId(orderId);
+        verify(routeRepository).findByOrderIdAndCompleteTrue(orderId);
         verify(mapper).readValue(anyString(), eq(RouteServiceImpl.Location[].class));
     }
 
+    @Test
+    void getRoute_whenStoredAsWaypoints_shouldExpandToSteps() throws JsonProcessingException {
+        Long orderId = 1L;
+        testRoute.setFormat(RouteFormat.WAYPOINTS);
+        RouteServiceImpl.Location[] waypoints = {
+            new RouteServiceImpl.Location(1, 7),
+            new RouteServiceImpl.Location(4, 7),
+            new RouteServiceImpl.Location(4, 5)
+        };
+
+        when(routeRepository.findByOrderIdAndCompleteTrue(orderId)).thenReturn(List.of(testRoute));
+        when(mapper.readValue(anyString(), eq(RouteServiceImpl.Location[].class))).thenReturn(waypoints);
+
+        List<RouteResponse> steps = routeService.getRoute(orderId, RouteFormat.STEPS);
+        List<RouteResponse> turns = routeService.getRoute(orderId, RouteFormat.WAYPOINTS);
+
+        assertEquals(6, steps.get(0).visitedLocations().size());
+        assertEquals(3, turns.get(0).visitedLocations().size());
+    }
+
     @Test
     void getRoute_whenOrderNotFound_shouldThrowOrderNotFoundException() {
         Long orderId = 999L;
-        when(routeRepository.findByOrderId(orderId)).thenReturn(new ArrayList<>());
+        when(routeRepository.findByOrderIdAndCompleteTrue(orderId)).thenReturn(new ArrayList<>());
 
         assertThrows(OrderNotFoundException.class, () -> routeService.getRoute(orderId));
-        verify(routeRepository).findByOrderId(orderId);
+        verify(routeRepository).findByOrderIdAndCompleteTrue(orderId);
     }
 
     @Test
@@ -153,7 +222,7 @@ public class RouteServiceImplTest {
         Long orderId = 1L;
         List<Route> routes = List.of(testRoute);
 
-        when(routeRepository.findByOrderId(orderId)).thenReturn(routes);
+        when(routeRepository.findByOrderIdAndCompleteTrue(orderId)).thenReturn(routes);
         when(mapper.readValue(anyString(), eq(RouteServiceImpl.Location[].class)))
             .thenThrow(new JsonProcessingException("JSON error") {});
 
@@ -168,13 +237,150 @@ public class RouteServiceImplTest {
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
         when(botProperties.getBots()).thenReturn(bots);
-        when(mapper.writeValueAsString(any())).thenReturn("[]");
 
         routeService.calculateAndSavePath(orderId);
 
         verify(orderRepository).findById(orderId);
-        verify(routeRepository).save(any(Route.class));
-        verify(mapper).writeValueAsString(any());
+        ArgumentCaptor<Route> saved = ArgumentCaptor.forClass(Route.class);
+        verify(routeRepository).save(saved.capture());
+        verify(mapper, never()).writeValueAsString(any());
+        assertEquals(RouteFormat.WAYPOINTS, saved.getValue().getFormat());
+        List<int[]> steps = RouteBinaryCodec.decode(saved.getValue().getRouteData(), RouteFormat.STEPS);
+        // (0,0) -> (1,5) -> (5,2) -> (0,0) on an empty grid
+        assertEquals(1 + 6 + 7 + 7, steps.size());
+    }
+
+    @Test
+    void calculateAndSavePath_shouldStartFromTrackedBotPositionAndRecordRouteEnd() {
+        Long orderId = 1L;
+        Location defaultLocation = new Location();
+        BotAvailability botAvailability = new BotAvailability(new Bot("BA-1", defaultLocation), new AtomicBoolean(true));
+        fleetState.finishRoute(botAvailability, 7, 3); // where the previous order left the bot
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(botAvailability));
+
+        routeService.calculateAndSavePath(orderId);
+
+        ArgumentCaptor<Route> saved = ArgumentCaptor.forClass(Route.class);
+        verify(routeRepository).save(saved.capture());
+        List<int[]> steps = RouteBinaryCodec.decode(saved.getValue().getRouteData(), RouteFormat.STEPS);
+        assertArrayEquals(new int[]{7, 3}, steps.get(0));
+        assertEquals("BA-1", saved.getValue().getBotId());
+        verify(fleetState).startRoute(botAvailability, "Product1, Product2", steps.size() - 1);
+        assertEquals(0, fleetState.stateOf(botAvailability).x());
+        assertEquals(0, fleetState.stateOf(botAvailability).y());
+        assertFalse(fleetState.stateOf(botAvailability).isBusy());
+    }
+
+    @Test
+    void calculateAndSavePath_whenRouteAlreadyPlanned_shouldNotPlanAgain() {
+        Long orderId = 1L;
+        when(routeRepository.existsByOrderIdAndStrategyAndCompleteTrue(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY))
+            .thenReturn(true);
+
+        routeService.calculateAndSavePath(orderId);
+
+        verify(orderRepository, never()).findById(any());
+        verify(routeRepository, never()).save(any());
+    }
+
+    @Test
+    void calculateAndSavePath_whenCalledConcurrently_shouldPlanOnce() throws Exception {
+        Long orderId = 1L;
+        BotAvailability bot = createMockBotAvailability(0, 0);
+        CountDownLatch planningStarted = new CountDownLatch(1);
+        CountDownLatch releasePlanning = new CountDownLatch(1);
+        AtomicBoolean saved = new AtomicBoolean(false);
+
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+        when(routeRepository.existsByOrderIdAndStrategyAndCompleteTrue(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY))
+            .thenAnswer(invocation -> saved.get());
+        when(orderRepository.findById(orderId)).thenAnswer(invocation -> {
+            planningStarted.countDown();
+            releasePlanning.await(5, TimeUnit.SECONDS);
+            return Optional.of(testOrder);
+        });
+        when(routeRepository.save(any(Route.class))).thenAnswer(invocation -> {
+            saved.set(true);
+            return invocation.getArgument(0);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            calls.add(callers.submit(() -> routeService.calculateAndSavePath(orderId)));
+            planningStarted.await(5, TimeUnit.SECONDS);
+            calls.add(callers.submit(() -> routeService.calculateAndSavePath(orderId)));
+            calls.add(callers.submit(() -> routeService.calculateAndSavePath(orderId)));
+            Thread.sleep(100);
+            releasePlanning.countDown();
+            for (Future<?> call : calls) {
+                call.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(orderRepository, times(1)).findById(orderId);
+        verify(routeRepository, times(1)).save(any(Route.class));
+    }
+
+    @Test
+    void calculateAndSavePath_whenCalledDuringCollection_shouldWaitForCompletePlan() throws Exception {
+        Long orderId = 1L;
+        BotAvailability bot = createMockBotAvailability(0, 0);
+        CountDownLatch routeSaved = new CountDownLatch(1);
+        CountDownLatch releaseCollection = new CountDownLatch(1);
+        AtomicBoolean complete = new AtomicBoolean(false);
+
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(routeRepository.existsByOrderIdAndStrategyAndCompleteTrue(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY))
+            .thenAnswer(invocation -> complete.get());
+        when(routeRepository.save(any(Route.class))).thenAnswer(invocation -> {
+            routeSaved.countDown();
+            releaseCollection.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        when(routeRepository.markComplete(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY))
+            .thenAnswer(invocation -> {
+                complete.set(true);
+                return 1;
+            });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> planner = callers.submit(() -> routeService.calculateAndSavePath(orderId));
+            assertTrue(routeSaved.await(5, TimeUnit.SECONDS));
+            Future<?> reader = callers.submit(() -> routeService.calculateAndSavePath(orderId));
+            Thread.sleep(100);
+            assertFalse(reader.isDone());
+
+            releaseCollection.countDown();
+            planner.get(5, TimeUnit.SECONDS);
+            reader.get(5, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(complete.get());
+        verify(orderRepository, times(1)).findById(orderId);
+        verify(routeRepository, times(1)).save(any(Route.class));
+    }
+
+    @Test
+    void calculateAndSavePath_whenCollectionFails_shouldDiscardPartialPlan() {
+        Long orderId = 1L;
+        BotAvailability bot = createMockBotAvailability(0, 0);
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(routeRepository.save(any(Route.class))).thenThrow(new IllegalStateException("disk full"));
+
+        assertThrows(IllegalStateException.class, () -> routeService.calculateAndSavePath(orderId));
+
+        verify(routeRepository, times(2)).deleteIncomplete(orderId, RouteServiceImpl.SINGLE_BOT_STRATEGY);
+        verify(routeRepository, never()).markComplete(any(), any());
     }
 
     @Test
@@ -269,24 +475,30 @@ public class RouteServiceImplTest {
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         when(botProperties.getBots()).thenReturn(List.of(bot));
-        when(mapper.writeValueAsString(any())).thenReturn("[]");
 
         routeService.calculateAndSavePath(orderId);
 
         verify(routeRepository).save(any(Route.class));
-        verify(mapper).writeValueAsString(any());
     }
 
     @Test
-    void calculateAndSavePath_whenJsonProcessingFails_shouldThrowRuntimeException() throws JsonProcessingException {
+    void getRoute_whenStoredAsBinary_shouldDecodeWithoutJson() throws JsonProcessingException {
         Long orderId = 1L;
-        BotAvailability bot = createMockBotAvailability(0, 0);
+        testRoute.setCoordinatesJson(null);
+        testRoute.setFormat(RouteFormat.WAYPOINTS);
+        testRoute.setRouteData(RouteBinaryCodec.encode(List.of(
+            new RouteServiceImpl.Location(0, 0),
+            new RouteServiceImpl.Location(3, 0),
+            new RouteServiceImpl.Location(3, 2))));
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(botProperties.getBots()).thenReturn(List.of(bot));
-        when(mapper.writeValueAsString(any())).thenThrow(new JsonProcessingException("JSON error") {});
+        when(routeRepository.findByOrderIdAndCompleteTrue(orderId)).thenReturn(List.of(testRoute));
+
+        List<RouteResponse> steps = routeService.getRoute(orderId, RouteFormat.STEPS);
+        List<RouteResponse> waypoints = routeService.getRoute(orderId, RouteFormat.WAYPOINTS);
 
-        assertThrows(RuntimeException.class, () -> routeService.calculateAndSavePath(orderId));
+        assertEquals(6, steps.get(0).visitedLocations().size());
+        assertEquals(3, waypoints.get(0).visitedLocations().size());
+        verify(mapper, never()).readValue(anyString(), eq(RouteServiceImpl.Location[].class));
     }
 
     @Test
@@ -310,7 +522,7 @@ public class RouteServiceImplTest {
         RouteServiceImpl.Location[] locations1 = {new RouteServiceImpl.Location(0, 0)};
         RouteServiceImpl.Location[] locations2 = {new RouteServiceImpl.Location(1, 1)};
 
-        when(routeRepository.findByOrderId(orderId)).thenReturn(routes);
+        when(routeRepository.findByOrderIdAndCompleteTrue(orderId)).thenReturn(routes);
         when(mapper.readValue(route1.getCoordinatesJson(), RouteServiceImpl.Location[].class))
             .thenReturn(locations1);
         when(mapper.readValue(route2.getCoordinatesJson(), RouteServiceImpl.Location[].class))
@@ -351,6 +563,446 @@ public class RouteServiceImplTest {
         verify(taskExecutor, atLeastOnce()).execute(any(Runnable.class));
     }
 
+    @Test
+    void collectItemsParallel_shouldSubmitExactlyOneTaskPerProductPair() {
+        Product testProduct3 = new Product();
+        Location location3 = new Location();
+        location3.setX(9);
+        location3.setY(9);
+        testProduct3.setLocation(location3);
+        testProduct3.setName("Product3");
+        OrderItem testOrderItem3 = new OrderItem();
+        testOrderItem3.setProduct(testProduct3);
+        testOrder.setOrderItems(List.of(testOrderItem1, testOrderItem2, testOrderItem3));
+        BotAvailability bot = createMockBotAvailability(0, 0);
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+        when(productMapper.toProductInfo(testProduct1)).thenReturn(new RouteServiceImpl.ProductInfo("Product1",
+            new RouteServiceImpl.Location(5, 2)));
+        when(productMapper.toProductInfo(testProduct2)).thenReturn(new RouteServiceImpl.ProductInfo("Product2",
+            new RouteServiceImpl.Location(1, 5)));
+        when(productMapper.toProductInfo(testProduct3)).thenReturn(new RouteServiceImpl.ProductInfo("Product3",
+            new RouteServiceImpl.Location(9, 9)));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        routeService.collectItemsParallel(testOrder.getId());
+
+        // three products for one bot form two pairs
+        verify(taskExecutor, times(2)).execute(any(Runnable.class));
+        verify(routeRepository, times(2)).save(any(Route.class));
+        assertEquals(1, fleetCapacity.available());
+    }
+
+    @Test
+    void collectItemsParallel_whenBotTaskFails_shouldPropagateAndReturnBot() {
+        BotAvailability bot = createMockBotAvailability(3, 3);
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+        when(productMapper.toProductInfo(testProduct1)).thenReturn(new RouteServiceImpl.ProductInfo("Product1",
+            new RouteServiceImpl.Location(5, 2)));
+        when(productMapper.toProductInfo(testProduct2)).thenReturn(new RouteServiceImpl.ProductInfo("Product2",
+            new RouteServiceImpl.Location(1, 5)));
+        when(routeRepository.save(any(Route.class))).thenThrow(new IllegalStateException("database down"));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> routeService.collectItemsParallel(testOrder.getId()));
+
+        assertEquals("database down", thrown.getMessage());
+        assertEquals(1, fleetCapacity.available());
+        assertEquals(true, bot.getAvailable().get());
+        // the route was never stored, so the bot stays where it started
+        assertEquals(3, fleetState.stateOf(bot).x());
+        assertEquals(3, fleetState.stateOf(bot).y());
+    }
+
+    @Test
+    void collectItemsParallel_whenPartitioned_shouldSplitPicksIntoCapacityBoundedTours() {
+        Product testProduct3 = new Product();
+        Location location3 = new Location();
+        location3.setX(9);
+        location3.setY(9);
+        testProduct3.setLocation(location3);
+        testProduct3.setName("Product3");
+        OrderItem testOrderItem3 = new OrderItem();
+        testOrderItem3.setProduct(testProduct3);
+        testOrder.setOrderItems(List.of(testOrderItem1, testOrderItem2, testOrderItem3));
+        routeProperties.getPartition().setBotCapacity(2);
+        Location origin = new Location();
+        origin.setX(0);
+        origin.setY(0);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", origin), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", origin), new AtomicBoolean(true));
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        routeService.collectItemsParallel(testOrder.getId(), ParallelPlanner.PARTITIONED);
+
+        ArgumentCaptor<Route> saved = ArgumentCaptor.forClass(Route.class);
+        verify(routeRepository, times(2)).save(saved.capture());
+        List<String> collected = new ArrayList<>();
+        for (Route route : saved.getAllValues()) {
+            assertEquals(RouteServiceImpl.PARTITIONED_STRATEGY, route.getStrategy());
+            List<String> names = List.of(route.getRouteName().split(", "));
+            assertTrue(names.size() <= 2);
+            collected.addAll(names);
+        }
+        collected.sort(null);
+        assertEquals(List.of("Product1", "Product2", "Product3"), collected);
+        verify(productMapper, never()).toProductInfo(any());
+        assertEquals(1, fleetCapacity.available());
+        assertTrue(bot1.getAvailable().get());
+        assertTrue(bot2.getAvailable().get());
+    }
+
+    @Test
+    void collectItemsParallel_whenPartitioned_shouldRunTheSolverOncePerTourAndNotPerBot() {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Product product = new Product();
+            product.setId((long) i + 10);
+            product.setName("Product" + i);
+            product.setLocation(location(10 + 5 * i, 20 - 3 * i));
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            items.add(item);
+        }
+        testOrder.setOrderItems(items);
+        routeProperties.getPartition().setBotCapacity(2);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", location(3, 3)), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", location(40, 4)), new AtomicBoolean(true));
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        routeService.collectItemsParallel(testOrder.getId(), ParallelPlanner.PARTITIONED);
+
+        verify(routeRepository, times(3)).save(any(Route.class));
+        // the clustering, one tour per cluster from the depot and one per bot from its cell
+        verify(distanceMatrix, atMost(1 + 3 + 2)).tourInstance(anyInt(), anyInt(), any(), any(),
+                anyInt(), anyInt());
+    }
+
+    @Test
+    void collectItemsParallel_whenCollisionAvoidanceEnabled_shouldPlanPairsThatNeverMeet() {
+        Product testProduct3 = new Product();
+        Location location3 = new Location();
+        location3.setX(9);
+        location3.setY(9);
+        testProduct3.setLocation(location3);
+        testProduct3.setName("Product3");
+        OrderItem testOrderItem3 = new OrderItem();
+        testOrderItem3.setProduct(testProduct3);
+        testOrder.setOrderItems(List.of(testOrderItem1, testOrderItem2, testOrderItem3));
+        routeProperties.getCollisionAvoidance().setEnabled(true);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", location(1, 3)), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", location(3, 1)), new AtomicBoolean(true));
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+        when(productMapper.toProductInfo(testProduct1)).thenReturn(new RouteServiceImpl.ProductInfo("Product1",
+            new RouteServiceImpl.Location(5, 2)));
+        when(productMapper.toProductInfo(testProduct2)).thenReturn(new RouteServiceImpl.ProductInfo("Product2",
+            new RouteServiceImpl.Location(1, 5)));
+        when(productMapper.toProductInfo(testProduct3)).thenReturn(new RouteServiceImpl.ProductInfo("Product3",
+            new RouteServiceImpl.Location(9, 9)));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        routeService.collectItemsParallel(testOrder.getId());
+
+        ArgumentCaptor<Route> saved = ArgumentCaptor.forClass(Route.class);
+        verify(routeRepository, times(2)).save(saved.capture());
+        verify(cooperativePlanner).plan(any(), anyInt(), anyInt());
+        assertRoutesNeverMeet(saved.getAllValues());
+        assertEquals(1, fleetCapacity.available());
+        assertTrue(bot1.getAvailable().get());
+        assertTrue(bot2.getAvailable().get());
+    }
+
+    @Test
+    void collectItemsParallel_whenCollisionAvoidanceEnabledAndPartitioned_shouldPlanToursJointly() {
+        Product testProduct3 = new Product();
+        Location location3 = new Location();
+        location3.setX(9);
+        location3.setY(9);
+        testProduct3.setLocation(location3);
+        testProduct3.setName("Product3");
+        OrderItem testOrderItem3 = new OrderItem();
+        testOrderItem3.setProduct(testProduct3);
+        testOrder.setOrderItems(List.of(testOrderItem1, testOrderItem2, testOrderItem3));
+        routeProperties.getPartition().setBotCapacity(2);
+        routeProperties.getCollisionAvoidance().setEnabled(true);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", location(1, 3)), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", location(3, 1)), new AtomicBoolean(true));
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        routeService.collectItemsParallel(testOrder.getId(), ParallelPlanner.PARTITIONED);
+
+        ArgumentCaptor<Route> saved = ArgumentCaptor.forClass(Route.class);
+        verify(routeRepository, times(2)).save(saved.capture());
+        verify(cooperativePlanner).plan(any(), anyInt(), anyInt());
+        assertRoutesNeverMeet(saved.getAllValues());
+    }
+
+    @Test
+    void collectWave_whenOrdersShareAShelf_shouldVisitItOnceAndSaveARoutePerOrder() {
+        Location sharedShelf = new Location();
+        sharedShelf.setX(5);
+        sharedShelf.setY(2);
+        Product milk = new Product();
+        milk.setLocation(sharedShelf);
+        milk.setName("Milk");
+        OrderItem milkItem = new OrderItem();
+        milkItem.setProduct(milk);
+        Order secondOrder = new Order();
+        secondOrder.setId(2L);
+        secondOrder.setStatus(OrderStatus.SUCCESS);
+        secondOrder.setOrderItems(List.of(milkItem));
+        Location origin = new Location();
+        origin.setX(0);
+        origin.setY(0);
+        BotAvailability bot = new BotAvailability(new Bot("BA-1", origin), new AtomicBoolean(true));
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findById(2L)).thenReturn(Optional.of(secondOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        routeService.collectWave("wave-1", List.of(1L, 2L));
+
+        // one bot tour over two shelves, stored once for each order it picks for
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+        ArgumentCaptor<Route> saved = ArgumentCaptor.forClass(Route.class);
+        verify(routeRepository, times(2)).save(saved.capture());
+        Route first = saved.getAllValues().get(0);
+        Route second = saved.getAllValues().get(1);
+        assertEquals(1L, first.getOrder().getId());
+        assertEquals(List.of("Product1", "Product2"),
+            List.of(first.getRouteName().split(", ")).stream().sorted().toList());
+        assertEquals(2L, second.getOrder().getId());
+        assertEquals("Milk", second.getRouteName());
+        assertArrayEquals(first.getRouteData(), second.getRouteData());
+        for (Route route : saved.getAllValues()) {
+            assertEquals(RouteServiceImpl.WAVE_STRATEGY, route.getStrategy());
+            assertEquals("wave-1", route.getWaveId());
+        }
+    }
+
+    @Test
+    void planWithinBudget_whenSmallOrder_shouldReturnExactRouteWithoutSavingIt() {
+        Location origin = new Location();
+        origin.setX(0);
+        origin.setY(0);
+        BotAvailability bot = new BotAvailability(new Bot("BA-1", origin), new AtomicBoolean(true));
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+
+        AnytimeRouteResponse response =
+            routeService.planWithinBudget(testOrder.getId(), 10_000L, RouteFormat.STEPS);
+
+        assertTrue(response.exact());
+        assertTrue(response.converged());
+        assertEquals(routeProperties.getAnytime().getMaxBudgetMs(), response.budgetMs());
+        assertEquals(response.visitedLocations().size() - 1, response.cost());
+        assertArrayEquals(new int[]{0, 0}, response.visitedLocations().get(0));
+        assertArrayEquals(new int[]{0, 0},
+            response.visitedLocations().get(response.visitedLocations().size() - 1));
+        verify(routeRepository, never()).save(any());
+    }
+
+    @Test
+    void previewItemsParallel_whenPartitioned_shouldPlanRoutesWithoutSavingOrOccupyingBots() {
+        Location origin = new Location();
+        origin.setX(0);
+        origin.setY(0);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", origin), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", origin), new AtomicBoolean(true));
+        routeProperties.getPartition().setBotCapacity(1);
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+
+        List<RouteResponse> routes =
+            routeService.previewItemsParallel(testOrder.getId(), ParallelPlanner.PARTITIONED);
+
+        assertEquals(2, routes.size());
+        assertEquals(List.of("Product1", "Product2"),
+            routes.stream().map(RouteResponse::routeName).sorted().toList());
+        for (RouteResponse route : routes) {
+            assertArrayEquals(new int[]{0, 0}, route.visitedLocations().get(0));
+            assertArrayEquals(new int[]{0, 0},
+                route.visitedLocations().get(route.visitedLocations().size() - 1));
+        }
+        verify(routeRepository, never()).save(any());
+        verify(taskExecutor, never()).execute(any(Runnable.class));
+        verify(fleetState, never()).startRoute(any(), any(), anyInt());
+        assertTrue(bot1.getAvailable().get());
+    }
+
+    @Test
+    void previewItemsParallel_whenCollisionAvoidanceEnabled_shouldPlanPairsJointly() {
+        Product testProduct3 = new Product();
+        Location location3 = new Location();
+        location3.setX(9);
+        location3.setY(9);
+        testProduct3.setLocation(location3);
+        testProduct3.setName("Product3");
+        OrderItem testOrderItem3 = new OrderItem();
+        testOrderItem3.setProduct(testProduct3);
+        testOrder.setOrderItems(List.of(testOrderItem1, testOrderItem2, testOrderItem3));
+        routeProperties.getCollisionAvoidance().setEnabled(true);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", location(1, 3)), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", location(3, 1)), new AtomicBoolean(true));
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+        when(productMapper.toProductInfo(testProduct1)).thenReturn(new RouteServiceImpl.ProductInfo("Product1",
+            new RouteServiceImpl.Location(5, 2)));
+        when(productMapper.toProductInfo(testProduct2)).thenReturn(new RouteServiceImpl.ProductInfo("Product2",
+            new RouteServiceImpl.Location(1, 5)));
+        when(productMapper.toProductInfo(testProduct3)).thenReturn(new RouteServiceImpl.ProductInfo("Product3",
+            new RouteServiceImpl.Location(9, 9)));
+
+        List<RouteResponse> routes =
+            routeService.previewItemsParallel(testOrder.getId(), ParallelPlanner.PAIRS);
+
+        assertEquals(2, routes.size());
+        verify(cooperativePlanner).plan(any(), anyInt(), anyInt());
+        assertStepsNeverMeet(routes.stream().map(RouteResponse::visitedLocations).toList());
+        verify(routeRepository, never()).save(any());
+        verify(taskExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void previewItemsParallel_whenCollisionAvoidanceEnabledAndPartitioned_shouldPlanToursJointly() {
+        Product testProduct3 = new Product();
+        Location location3 = new Location();
+        location3.setX(9);
+        location3.setY(9);
+        testProduct3.setLocation(location3);
+        testProduct3.setName("Product3");
+        OrderItem testOrderItem3 = new OrderItem();
+        testOrderItem3.setProduct(testProduct3);
+        testOrder.setOrderItems(List.of(testOrderItem1, testOrderItem2, testOrderItem3));
+        routeProperties.getPartition().setBotCapacity(2);
+        routeProperties.getCollisionAvoidance().setEnabled(true);
+        BotAvailability bot1 = new BotAvailability(new Bot("BA-1", location(1, 3)), new AtomicBoolean(true));
+        BotAvailability bot2 = new BotAvailability(new Bot("BA-2", location(3, 1)), new AtomicBoolean(true));
+
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot1, bot2));
+
+        List<RouteResponse> routes =
+            routeService.previewItemsParallel(testOrder.getId(), ParallelPlanner.PARTITIONED);
+
+        assertEquals(2, routes.size());
+        verify(cooperativePlanner).plan(any(), anyInt(), anyInt());
+        assertStepsNeverMeet(routes.stream().map(RouteResponse::visitedLocations).toList());
+        verify(routeRepository, never()).save(any());
+    }
+
+    @Test
+    void previewItemsParallel_whenGivenAFleet_shouldPlanWithItInsteadOfTheLiveBots() {
+        routeProperties.getPartition().setBotCapacity(1);
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+
+        List<RouteResponse> routes = routeService.previewItemsParallel(testOrder.getId(),
+            ParallelPlanner.PARTITIONED, List.of(new int[]{7, 0}, new int[]{0, 7}));
+
+        assertEquals(2, routes.size());
+        List<String> starts = routes.stream()
+            .map(route -> route.visitedLocations().get(0)[0] + "," + route.visitedLocations().get(0)[1])
+            .sorted()
+            .toList();
+        assertEquals(List.of("0,7", "7,0"), starts);
+        verify(botProperties, never()).getBots();
+        verify(fleetState, never()).stateOf(any());
+    }
+
+    @Test
+    void previewPath_shouldPlanTheSingleBotRouteWithoutSavingIt() {
+        Location origin = new Location();
+        origin.setX(0);
+        origin.setY(0);
+        BotAvailability bot = new BotAvailability(new Bot("BA-1", origin), new AtomicBoolean(true));
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+        when(botProperties.getBots()).thenReturn(List.of(bot));
+
+        List<RouteResponse> routes = routeService.previewPath(testOrder.getId());
+
+        assertEquals(1, routes.size());
+        assertEquals("Product1, Product2", routes.get(0).routeName());
+        verify(routeRepository, never()).save(any());
+        verify(fleetState, never()).startRoute(any(), any(), anyInt());
+    }
+
+    /**
+     * Asserts that routes driven at the same time never share a cell outside the depot.
+     */
+    private static void assertRoutesNeverMeet(List<Route> routes) {
+        List<List<int[]>> steps = new ArrayList<>();
+        for (Route route : routes) {
+            steps.add(RouteBinaryCodec.decode(route.getRouteData(), RouteFormat.STEPS));
+        }
+        assertStepsNeverMeet(steps);
+    }
+
+    private static void assertStepsNeverMeet(List<List<int[]>> steps) {
+        for (int tick = 0; tick < 200; tick++) {
+            for (int a = 0; a < steps.size(); a++) {
+                for (int b = a + 1; b < steps.size(); b++) {
+                    if (tick < steps.get(a).size() && tick < steps.get(b).size()) {
+                        int[] cellA = steps.get(a).get(tick);
+                        int[] cellB = steps.get(b).get(tick);
+                        assertFalse(cellA[0] == cellB[0] && cellA[1] == cellB[1]
+                                && (cellA[0] != 0 || cellA[1] != 0));
+                    }
+                }
+            }
+        }
+    }
+
+    private static Location location(int x, int y) {
+        Location location = new Location();
+        location.setX(x);
+        location.setY(y);
+        return location;
+    }
+
     private BotAvailability createMockBotAvailability(int x, int y) {
         Location location = new Location();
         location.setX(x);
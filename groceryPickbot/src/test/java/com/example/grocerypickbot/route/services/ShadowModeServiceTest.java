@@ -0,0 +1,214 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.models.ShadowComparison;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShadowModeServiceTest {
+
+    @Mock
+    private RoutingStrategyRegistry strategyRegistry;
+
+    @Mock
+    private RoutingStrategy served;
+
+    @Mock
+    private RoutingStrategy candidate;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private final RouteProperties routeProperties = new RouteProperties();
+
+    private ShadowModeService shadowModeService;
+
+    @BeforeEach
+    void setUp() {
+        shadowModeService = new ShadowModeService(strategyRegistry, queued::add, routeProperties);
+    }
+
+    @Test
+    void sample_whenDisabled_shouldNotSample() {
+        assertEquals(Optional.empty(), shadowModeService.sample(served));
+    }
+
+    @Test
+    void sample_whenEnabledForEveryRequest_shouldReturnTheCandidate() {
+        enable(100);
+        when(served.name()).thenReturn("single");
+        when(strategyRegistry.get("partitioned")).thenReturn(candidate);
+
+        assertEquals(Optional.of(candidate), shadowModeService.sample(served));
+    }
+
+    @Test
+    void sample_whenServedStrategyIsTheCandidate_shouldNotSample() {
+        enable(100);
+        when(served.name()).thenReturn("partitioned");
+
+        assertEquals(Optional.empty(), shadowModeService.sample(served));
+    }
+
+    @Test
+    void sample_whenSamplePercentIsZero_shouldNotSample() {
+        enable(0);
+        when(served.name()).thenReturn("single");
+
+        assertEquals(Optional.empty(), shadowModeService.sample(served));
+        verify(strategyRegistry, never()).get("partitioned");
+    }
+
+    @Test
+    void compare_shouldTallyBothStrategiesInTheBackground() {
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+        when(candidate.preview(1L)).thenReturn(List.of(
+                route(new int[]{0, 0}, new int[]{4, 0}, new int[]{0, 0}),
+                route(new int[]{0, 0}, new int[]{0, 3}, new int[]{0, 0})));
+
+        shadowModeService.compare(1L, served, List.of(
+                route(new int[]{0, 0}, new int[]{4, 0}, new int[]{4, 3}, new int[]{0, 0})), candidate);
+
+        assertEquals(0, shadowModeService.getComparisons().get(0).samples());
+        queued.get(0).run();
+
+        ShadowComparison comparison = shadowModeService.getComparisons().get(0);
+        assertEquals("single", comparison.servedStrategy());
+        assertEquals("partitioned", comparison.candidateStrategy());
+        assertEquals(1, comparison.samples());
+        assertEquals(14, comparison.servedAvgDistance());
+        assertEquals(14, comparison.candidateAvgDistance());
+        assertEquals(14, comparison.servedAvgMakespan());
+        assertEquals(8, comparison.candidateAvgMakespan());
+        assertEquals(1, comparison.candidateShorterMakespanCount());
+    }
+
+    @Test
+    void compare_shouldTimeTheServedStrategyByPreviewingTheOrder() {
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+
+        shadowModeService.compare(1L, served, List.of(), candidate);
+        queued.get(0).run();
+
+        verify(served).preview(1L);
+        verify(served, never()).plan(eq(1L), any());
+        verify(candidate).preview(1L);
+        assertEquals(1, shadowModeService.getComparisons().get(0).samples());
+    }
+
+    @Test
+    void compare_whenServedPreviewFails_shouldCountTheFailure() {
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+        when(served.preview(2L)).thenThrow(new IllegalStateException("No available bots"));
+
+        shadowModeService.compare(2L, served, List.of(), candidate);
+        queued.get(0).run();
+
+        assertEquals(1, shadowModeService.getComparisons().get(0).failures());
+        verify(candidate, never()).preview(2L);
+    }
+
+    @Test
+    void compare_whenBotDrivesSeveralRoutes_shouldAddUpItsStepsAndWaits() {
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+        when(candidate.preview(1L)).thenReturn(List.of(
+                route("bot-1", new int[]{0, 0}, new int[]{4, 0}, new int[]{0, 0}),
+                route("bot-1", new int[]{0, 0}, new int[]{0, 0}, new int[]{0, 3}, new int[]{0, 0}),
+                route("bot-2", new int[]{0, 0}, new int[]{2, 0}, new int[]{0, 0})));
+
+        shadowModeService.compare(1L, served, List.of(
+                route(new int[]{0, 0}, new int[]{4, 0}, new int[]{4, 3}, new int[]{0, 0})), candidate);
+        queued.get(0).run();
+
+        ShadowComparison comparison = shadowModeService.getComparisons().get(0);
+        assertEquals(14, comparison.servedAvgMakespan());
+        assertEquals(18, comparison.candidateAvgDistance());
+        assertEquals(15, comparison.candidateAvgMakespan());
+        assertEquals(0, comparison.candidateShorterMakespanCount());
+    }
+
+    @Test
+    void compare_whenCandidateFails_shouldCountTheFailure() {
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+        when(candidate.preview(2L)).thenThrow(new IllegalStateException("No available bots"));
+
+        shadowModeService.compare(2L, served, List.of(), candidate);
+        queued.get(0).run();
+
+        ShadowComparison comparison = shadowModeService.getComparisons().get(0);
+        assertEquals(0, comparison.samples());
+        assertEquals(1, comparison.failures());
+    }
+
+    @Test
+    void compare_whenExecutorIsBusy_shouldDropTheSample() {
+        shadowModeService = new ShadowModeService(strategyRegistry, task -> {
+            throw new RejectedExecutionException("full");
+        }, routeProperties);
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+
+        shadowModeService.compare(3L, served, List.of(), candidate);
+
+        assertEquals(1, shadowModeService.getComparisons().get(0).dropped());
+        verify(candidate, never()).preview(3L);
+    }
+
+    @Test
+    void reset_shouldDiscardTheComparisons() {
+        when(served.name()).thenReturn("single");
+        when(candidate.name()).thenReturn("partitioned");
+        shadowModeService.compare(4L, served, List.of(), candidate);
+
+        shadowModeService.reset();
+
+        assertTrue(shadowModeService.getComparisons().isEmpty());
+    }
+
+    @Test
+    void constructor_whenEnabledWithUnknownCandidate_shouldThrow() {
+        enable(10);
+        when(strategyRegistry.get("partitioned")).thenThrow(new IllegalArgumentException("unknown"));
+
+        assertThrows(IllegalStateException.class,
+                () -> new ShadowModeService(strategyRegistry, queued::add, routeProperties));
+    }
+
+    private void enable(double samplePercent) {
+        routeProperties.getShadow().setEnabled(true);
+        routeProperties.getShadow().setSamplePercent(samplePercent);
+    }
+
+    private static RouteResponse route(int[]... points) {
+        return new RouteResponse(1L, OrderStatus.SUCCESS, List.of(points), "Route");
+    }
+
+    private static RouteResponse route(String botId, int[]... points) {
+        return new RouteResponse(1L, OrderStatus.SUCCESS, List.of(points), "Route", botId);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.grocerypickbot.route.services;
+
+import com.example.grocerypickbot.exceptions.OrderNotFoundException;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WavePlanningServiceTest {
+
+    @Mock
+    private RouteServiceImpl routeService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TaskScheduler waveScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> closing;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private final RouteProperties routeProperties = new RouteProperties();
+
+    private WavePlanningService wavePlanningService;
+
+    @BeforeEach
+    void setUp() {
+        routeProperties.getWave().setMaxOrders(2);
+        wavePlanningService = new WavePlanningService(routeService, orderRepository, queued::add,
+                waveScheduler, routeProperties);
+    }
+
+    @Test
+    void enqueue_whenWindowPasses_shouldCollectTheWaveOnce() {
+        stubOpenOrders(1L);
+        stubScheduler();
+
+        CompletableFuture<Void> collected = wavePlanningService.enqueue(1L);
+        assertSame(collected, wavePlanningService.enqueue(1L));
+        assertTrue(queued.isEmpty());
+
+        scheduled.get(0).run();
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+
+        assertTrue(collected.isDone());
+        verify(routeService).collectWave(anyString(), eq(List.of(1L)));
+    }
+
+    @Test
+    void enqueue_whenWaveIsFull_shouldCollectWithoutWaitingForTheWindow() {
+        stubOpenOrders(1L, 2L);
+        stubScheduler();
+
+        CompletableFuture<Void> first = wavePlanningService.enqueue(1L);
+        CompletableFuture<Void> second = wavePlanningService.enqueue(2L);
+
+        assertSame(first, second);
+        assertEquals(1, queued.size());
+        verify(closing).cancel(false);
+        queued.get(0).run();
+        scheduled.get(0).run(); // the cancelled window must not close the wave again
+
+        assertEquals(1, queued.size());
+        assertTrue(first.isDone());
+        verify(routeService).collectWave(anyString(), eq(List.of(1L, 2L)));
+    }
+
+    @Test
+    void enqueue_whenWaveFails_shouldFailItsOrdersAndAllowRetry() {
+        stubOpenOrders(1L, 2L);
+        stubScheduler();
+        doThrow(new IllegalStateException("No available bots"))
+                .when(routeService).collectWave(anyString(), eq(List.of(1L, 2L)));
+
+        CompletableFuture<Void> collected = wavePlanningService.enqueue(1L);
+        wavePlanningService.enqueue(2L);
+        queued.get(0).run();
+
+        assertTrue(collected.isCompletedExceptionally());
+        assertFalse(wavePlanningService.enqueue(1L).isDone());
+    }
+
+    @Test
+    void enqueue_whenOrderAlreadyCollectedInAWave_shouldCompleteImmediately() {
+        when(orderRepository.existsById(3L)).thenReturn(true);
+        when(routeService.hasRoutes(3L, RouteServiceImpl.WAVE_STRATEGY)).thenReturn(true);
+
+        assertTrue(wavePlanningService.enqueue(3L).isDone());
+        verify(waveScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void enqueue_whenOrderDoesNotExist_shouldThrow() {
+        when(orderRepository.existsById(4L)).thenReturn(false);
+
+        assertThrows(OrderNotFoundException.class, () -> wavePlanningService.enqueue(4L));
+        verify(routeService, never()).hasRoutes(anyLong(), anyString());
+    }
+
+    private void stubOpenOrders(Long... orderIds) {
+        for (Long orderId : orderIds) {
+            when(orderRepository.existsById(orderId)).thenReturn(true);
+            when(routeService.hasRoutes(orderId, RouteServiceImpl.WAVE_STRATEGY)).thenReturn(false);
+        }
+    }
+
+    private void stubScheduler() {
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return closing;
+        }).when(waveScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.grocerypickbot.route.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.grocerypickbot.route.services.RouteServiceImpl.Location;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WaypointCodecTest {
+
+  @Test
+  void compress_shouldKeepOnlyEndpointsAndTurns() {
+    List<Location> steps = List.of(new Location(0, 0), new Location(1, 0), new Location(2, 0),
+        new Location(2, 1), new Location(2, 2), new Location(1, 2));
+
+    List<Location> waypoints = WaypointCodec.compress(steps);
+
+    assertEquals(List.of(new Location(0, 0), new Location(2, 0), new Location(2, 2),
+        new Location(1, 2)), waypoints);
+  }
+
+  @Test
+  void compress_whenRouteDoublesBack_shouldKeepTheReversalPoint() {
+    List<Location> steps = List.of(new Location(0, 0), new Location(1, 0), new Location(2, 0),
+        new Location(1, 0), new Location(0, 0));
+
+    List<Location> waypoints = WaypointCodec.compress(steps);
+
+    assertEquals(List.of(new Location(0, 0), new Location(2, 0), new Location(0, 0)),
+        waypoints);
+  }
+
+  @Test
+  void expand_shouldRestoreEveryStep() {
+    List<Location> steps = List.of(new Location(5, 5), new Location(5, 4), new Location(5, 3),
+        new Location(4, 3), new Location(3, 3), new Location(3, 4), new Location(3, 4));
+
+    List<int[]> expanded = WaypointCodec.expand(
+        WaypointCodec.compress(steps).toArray(new Location[0]));
+
+    assertEquals(steps.size(), expanded.size());
+    for (int i = 0; i < expanded.size(); i++) {
+      assertArrayEquals(new int[] {steps.get(i).x(), steps.get(i).y()}, expanded.get(i));
+    }
+  }
+
+  @Test
+  void compress_whenBotWaits_shouldKeepEveryWaitingStep() {
+    List<Location> steps = List.of(new Location(0, 0), new Location(1, 0), new Location(1, 0),
+        new Location(1, 0), new Location(2, 0), new Location(3, 0));
+
+    List<Location> waypoints = WaypointCodec.compress(steps);
+    List<int[]> expanded = WaypointCodec.expand(waypoints.toArray(new Location[0]));
+
+    assertEquals(List.of(new Location(0, 0), new Location(1, 0), new Location(1, 0),
+        new Location(1, 0), new Location(3, 0)), waypoints);
+    assertEquals(steps.size(), expanded.size());
+    for (int i = 0; i < expanded.size(); i++) {
+      assertArrayEquals(new int[] {steps.get(i).x(), steps.get(i).y()}, expanded.get(i));
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.grocerypickbot.route.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AnytimeSolverTest {
+
+  @Test
+  void solve_whenSmallInstance_shouldReturnExactTour() {
+    int[] xs = {2, -3, 9};
+    int[] ys = {0, 0, 0};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 10, 0);
+
+    AnytimeSolver.Result result = AnytimeSolver.solve(tour, 12, 1_000, 10, deadlineIn(1_000), 1);
+
+    assertArrayEquals(HeldKarpSolver.solve(tour), result.order());
+    assertEquals(16, result.cost());
+    assertTrue(result.exact());
+    assertTrue(result.converged());
+  }
+
+  @Test
+  void solve_whenTimeAllows_shouldConvergeAndBeatTheGreedyTour() {
+    TourInstance tour = randomTour(new Random(11), 60);
+    int[] greedy = NearestNeighbourSolver.solve(tour);
+
+    AnytimeSolver.Result result = AnytimeSolver.solve(tour, 0, 10_000, 20, deadlineIn(10_000), 1);
+
+    assertTrue(result.converged());
+    assertFalse(result.exact());
+    assertTrue(result.cost() < tour.cost(greedy));
+    assertEquals(tour.cost(result.order()), result.cost());
+    assertPermutation(result.order(), 60);
+  }
+
+  @Test
+  void solve_whenDeadlineHasPassed_shouldReturnAValidTourWithoutConverging() {
+    TourInstance tour = randomTour(new Random(5), 60);
+
+    AnytimeSolver.Result result = AnytimeSolver.solve(tour, 0, 10_000, 20, System.nanoTime(), 1);
+
+    assertFalse(result.converged());
+    assertEquals(tour.cost(result.order()), result.cost());
+    assertPermutation(result.order(), 60);
+  }
+
+  @Test
+  void doubleBridge_shouldKeepEveryPick() {
+    Random random = new Random(3);
+    int[] order = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+    for (int run = 0; run < 100; run++) {
+      int[] moved = AnytimeSolver.doubleBridge(order, random);
+
+      assertEquals(0, moved[0]);
+      assertEquals(9, moved[9]);
+      assertPermutation(moved, order.length);
+    }
+  }
+
+  private static long deadlineIn(long millis) {
+    return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private static TourInstance randomTour(Random random, int n) {
+    int[] xs = new int[n];
+    int[] ys = new int[n];
+    for (int i = 0; i < n; i++) {
+      xs[i] = random.nextInt(50);
+      ys[i] = random.nextInt(50);
+    }
+    return TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+  }
+
+  private static void assertPermutation(int[] order, int n) {
+    int[] sorted = order.clone();
+    Arrays.sort(sorted);
+    for (int i = 0; i < n; i++) {
+      assertEquals(i, sorted[i]);
+    }
+  }
+}
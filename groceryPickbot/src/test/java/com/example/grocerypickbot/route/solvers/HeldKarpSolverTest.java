@@ -0,0 +1,87 @@
+package com.example.grocerypickbot.route.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HeldKarpSolverTest {
+
+  @Test
+  void solve_whenNoPicks_shouldReturnEmptyOrder() {
+    TourInstance tour = TourInstance.manhattan(1, 7, new int[0], new int[0], 0, 0);
+
+    assertArrayEquals(new int[0], HeldKarpSolver.solve(tour));
+  }
+
+  @Test
+  void solve_whenGreedyIsSuboptimal_shouldReturnShortestTour() {
+    // Greedy goes to (2,0) first, then has to come back past the start.
+    int[] xs = {2, -3, 9};
+    int[] ys = {0, 0, 0};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 10, 0);
+
+    int[] greedy = NearestNeighbourSolver.solve(tour);
+    int[] exact = HeldKarpSolver.solve(tour);
+
+    assertArrayEquals(new int[] {1, 0, 2}, exact);
+    assertEquals(16, tour.cost(exact));
+    assertTrue(tour.cost(greedy) > tour.cost(exact));
+  }
+
+  @Test
+  void solve_whenRandomInstances_shouldMatchBruteForce() {
+    Random random = new Random(42);
+    for (int run = 0; run < 20; run++) {
+      int n = 1 + random.nextInt(7);
+      int[] xs = new int[n];
+      int[] ys = new int[n];
+      for (int i = 0; i < n; i++) {
+        xs[i] = random.nextInt(20);
+        ys[i] = random.nextInt(20);
+      }
+      TourInstance tour = TourInstance.manhattan(random.nextInt(20), random.nextInt(20),
+          xs, ys, 0, 0);
+
+      assertEquals(bruteForce(tour), tour.cost(HeldKarpSolver.solve(tour)));
+    }
+  }
+
+  @Test
+  void solve_whenTooManyPicks_shouldThrowIllegalArgumentException() {
+    int n = HeldKarpSolver.MAX_PICKS + 1;
+    TourInstance tour = TourInstance.manhattan(0, 0, new int[n], new int[n], 0, 0);
+
+    assertThrows(IllegalArgumentException.class, () -> HeldKarpSolver.solve(tour));
+  }
+
+  private static int bruteForce(TourInstance tour) {
+    int[] order = new int[tour.pickCount()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    return permute(tour, order, 0);
+  }
+
+  private static int permute(TourInstance tour, int[] order, int from) {
+    if (from == order.length) {
+      return tour.cost(order);
+    }
+    int best = Integer.MAX_VALUE;
+    for (int i = from; i < order.length; i++) {
+      swap(order, from, i);
+      best = Math.min(best, permute(tour, order, from + 1));
+      swap(order, from, i);
+    }
+    return best;
+  }
+
+  private static void swap(int[] order, int i, int j) {
+    int tmp = order[i];
+    order[i] = order[j];
+    order[j] = tmp;
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.grocerypickbot.route.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LocalSearchTest {
+
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void improve_whenTourHasCrossing_shouldUncrossIt() {
+    int[] xs = {0, 5, 5, 0};
+    int[] ys = {5, 0, 5, 0};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+    int[] order = {0, 1, 2, 3};
+    int before = tour.cost(order);
+
+    boolean converged = LocalSearch.improve(tour, order, 1000, System.nanoTime() + ONE_SECOND);
+
+    assertTrue(converged);
+    assertTrue(tour.cost(order) < before);
+    assertEquals(20, tour.cost(order));
+  }
+
+  @Test
+  void improve_whenRandomGreedyTours_shouldNeverMakeThemLonger() {
+    Random random = new Random(7);
+    for (int run = 0; run < 20; run++) {
+      int n = 30 + random.nextInt(70);
+      int[] xs = new int[n];
+      int[] ys = new int[n];
+      for (int i = 0; i < n; i++) {
+        xs[i] = random.nextInt(100);
+        ys[i] = random.nextInt(100);
+      }
+      TourInstance tour = TourInstance.manhattan(50, 50, xs, ys, 0, 0);
+      int[] order = NearestNeighbourSolver.solve(tour);
+      int greedyCost = tour.cost(order);
+
+      LocalSearch.improve(tour, order, 100_000, System.nanoTime() + ONE_SECOND);
+
+      assertTrue(tour.cost(order) <= greedyCost);
+      int[] sorted = order.clone();
+      Arrays.sort(sorted);
+      for (int i = 0; i < n; i++) {
+        assertEquals(i, sorted[i]);
+      }
+    }
+  }
+
+  @Test
+  void improve_whenMoveBudgetIsZero_shouldLeaveOrderUntouched() {
+    int[] xs = {0, 5, 5, 0};
+    int[] ys = {5, 0, 5, 0};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+    int[] order = {0, 1, 2, 3};
+
+    boolean converged = LocalSearch.improve(tour, order, 0, System.nanoTime() + ONE_SECOND);
+
+    assertFalse(converged);
+    assertArrayEquals(new int[] {0, 1, 2, 3}, order);
+  }
+
+  @Test
+  void improve_whenNoMoveImproves_shouldReportConvergence() {
+    int[] xs = {0, 5, 5, 0};
+    int[] ys = {5, 5, 0, 0};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+    int[] order = {0, 1, 2, 3};
+
+    boolean converged = LocalSearch.improve(tour, order, 1000, System.nanoTime() + ONE_SECOND);
+
+    assertTrue(converged);
+    assertArrayEquals(new int[] {0, 1, 2, 3}, order);
+  }
+
+  @Test
+  void improve_whenDeadlineHasPassed_shouldReportBeingCutShort() {
+    int[] xs = {0, 5, 5, 0};
+    int[] ys = {5, 0, 5, 0};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+    int[] order = {0, 1, 2, 3};
+
+    boolean converged = LocalSearch.improve(tour, order, 1000, System.nanoTime() - 1);
+
+    assertFalse(converged);
+    assertArrayEquals(new int[] {0, 1, 2, 3}, order);
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.grocerypickbot.route.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PickPartitionerTest {
+
+  @Test
+  void partition_whenNoPicks_shouldReturnNoGroups() {
+    TourInstance tour = TourInstance.manhattan(0, 0, new int[0], new int[0], 0, 0);
+
+    assertTrue(PickPartitioner.partition(tour, 2, 4, 10).isEmpty());
+  }
+
+  @Test
+  void partition_whenTwoClusters_shouldKeepEachClusterTogether() {
+    int[] xs = {1, 2, 1, 20, 21, 20};
+    int[] ys = {1, 1, 2, 20, 20, 21};
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+
+    List<int[]> groups = PickPartitioner.partition(tour, 2, 3, 10);
+
+    assertEquals(2, groups.size());
+    int[] first = sorted(groups.get(0));
+    int[] second = sorted(groups.get(1));
+    int[] near = first[0] == 0 ? first : second;
+    int[] far = first[0] == 0 ? second : first;
+    assertArrayEquals(new int[] {0, 1, 2}, near);
+    assertArrayEquals(new int[] {3, 4, 5}, far);
+  }
+
+  @Test
+  void partition_whenRandomInstances_shouldCoverEveryPickWithinCapacity() {
+    Random random = new Random(7);
+    for (int run = 0; run < 20; run++) {
+      int n = 1 + random.nextInt(20);
+      int capacity = 1 + random.nextInt(5);
+      int groups = (n + capacity - 1) / capacity + random.nextInt(2);
+      int[] xs = new int[n];
+      int[] ys = new int[n];
+      for (int i = 0; i < n; i++) {
+        xs[i] = random.nextInt(30);
+        ys[i] = random.nextInt(30);
+      }
+      TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+
+      List<int[]> result = PickPartitioner.partition(tour, groups, capacity, 10);
+
+      int[] seen = new int[n];
+      for (int[] group : result) {
+        assertTrue(group.length > 0 && group.length <= capacity);
+        for (int pick : group) {
+          seen[pick]++;
+        }
+      }
+      int[] once = new int[n];
+      Arrays.fill(once, 1);
+      assertArrayEquals(once, seen);
+      assertTrue(result.size() <= groups);
+    }
+  }
+
+  @Test
+  void partition_whenCapacityTooSmall_shouldThrow() {
+    TourInstance tour = TourInstance.manhattan(0, 0, new int[] {1, 2, 3}, new int[] {0, 0, 0},
+        0, 0);
+
+    assertThrows(IllegalArgumentException.class, () -> PickPartitioner.partition(tour, 1, 2, 10));
+  }
+
+  private static int[] sorted(int[] group) {
+    int[] copy = group.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+}
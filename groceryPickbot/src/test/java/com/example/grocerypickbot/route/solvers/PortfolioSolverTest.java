@@ -0,0 +1,89 @@
+package com.example.grocerypickbot.route.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PortfolioSolverTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void solve_whenTimeAllows_shouldBeAtLeastAsGoodAsGreedyWithLocalSearch() {
+    Random random = new Random(21);
+    for (int run = 0; run < 5; run++) {
+      TourInstance tour = randomTour(random, 40);
+      int[] baseline = NearestNeighbourSolver.solve(tour);
+      LocalSearch.improve(tour, baseline, 10_000, deadlineIn(10_000));
+
+      AnytimeSolver.Result result =
+          PortfolioSolver.solve(tour, pool, 2, 10_000, deadlineIn(10_000), run);
+
+      assertTrue(result.converged());
+      assertTrue(result.cost() <= tour.cost(baseline));
+      assertEquals(tour.cost(result.order()), result.cost());
+      assertTrue(result.cost() >= PortfolioSolver.lowerBound(tour));
+      assertPermutation(result.order(), 40);
+    }
+  }
+
+  @Test
+  void solve_whenPicksLieOnALine_shouldReachTheBoundAndReportExact() {
+    int[] xs = {7, 3, 9, 1, 5, 8, 2, 6, 4};
+    int[] ys = new int[xs.length];
+    TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 10, 0);
+
+    AnytimeSolver.Result result = PortfolioSolver.solve(tour, pool, 2, 10_000,
+        deadlineIn(10_000), 1);
+
+    assertEquals(10, PortfolioSolver.lowerBound(tour));
+    assertEquals(10, result.cost());
+    assertTrue(result.exact());
+  }
+
+  @Test
+  void solve_whenDeadlineHasPassed_shouldStillReturnAValidTour() {
+    TourInstance tour = randomTour(new Random(4), 80);
+
+    AnytimeSolver.Result result = PortfolioSolver.solve(tour, pool, 2, 10_000,
+        System.nanoTime(), 1);
+
+    assertFalse(result.exact());
+    assertEquals(tour.cost(result.order()), result.cost());
+    assertPermutation(result.order(), 80);
+  }
+
+  private static long deadlineIn(long millis) {
+    return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private static TourInstance randomTour(Random random, int n) {
+    int[] xs = new int[n];
+    int[] ys = new int[n];
+    for (int i = 0; i < n; i++) {
+      xs[i] = random.nextInt(50);
+      ys[i] = random.nextInt(50);
+    }
+    return TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+  }
+
+  private static void assertPermutation(int[] order, int n) {
+    int[] sorted = order.clone();
+    Arrays.sort(sorted);
+    for (int i = 0; i < n; i++) {
+      assertEquals(i, sorted[i]);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.grocerypickbot.route.solvers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SavingsSolverTest {
+
+  @Test
+  void solve_whenNoPicks_shouldReturnEmptyOrder() {
+    TourInstance tour = TourInstance.manhattan(0, 0, new int[0], new int[0], 0, 0);
+
+    assertArrayEquals(new int[0], SavingsSolver.solve(tour));
+  }
+
+  @Test
+  void solve_whenTwoPicks_shouldVisitTheNearerToTheStartFirst() {
+    TourInstance tour = TourInstance.manhattan(0, 0, new int[] {8, 2}, new int[] {0, 0}, 10, 0);
+
+    assertArrayEquals(new int[] {1, 0}, SavingsSolver.solve(tour));
+  }
+
+  @Test
+  void solve_whenRandomInstances_shouldVisitEveryPickOnce() {
+    Random random = new Random(9);
+    for (int run = 0; run < 20; run++) {
+      int n = 1 + random.nextInt(30);
+      int[] xs = new int[n];
+      int[] ys = new int[n];
+      for (int i = 0; i < n; i++) {
+        xs[i] = random.nextInt(40);
+        ys[i] = random.nextInt(40);
+      }
+      TourInstance tour = TourInstance.manhattan(0, 0, xs, ys, 0, 0);
+
+      int[] order = SavingsSolver.solve(tour).clone();
+      Arrays.sort(order);
+
+      for (int i = 0; i < n; i++) {
+        assertEquals(i, order[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.grocerypickbot.route.strategies;
+
+import com.example.grocerypickbot.route.configuration.RouteProperties;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.services.RoutePlanningListener;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoutingStrategyRegistryTest {
+
+    private final RoutingStrategy single = new NamedStrategy("single");
+    private final RoutingStrategy pairs = new NamedStrategy("pairs");
+
+    @Test
+    void get_whenNameIsKnown_shouldReturnThatStrategy() {
+        RoutingStrategyRegistry registry = new RoutingStrategyRegistry(List.of(single, pairs), new RouteProperties());
+
+        assertSame(pairs, registry.get("pairs"));
+        assertEquals(List.of(single, pairs), List.copyOf(registry.getAll()));
+    }
+
+    @Test
+    void get_whenNoNameGiven_shouldReturnTheConfiguredDefault() {
+        RouteProperties routeProperties = new RouteProperties();
+        routeProperties.setDefaultStrategy("pairs");
+        RoutingStrategyRegistry registry = new RoutingStrategyRegistry(List.of(single, pairs), routeProperties);
+
+        assertSame(pairs, registry.get(null));
+        assertSame(pairs, registry.get(" "));
+        assertSame(pairs, registry.getDefault());
+    }
+
+    @Test
+    void get_whenNameIsUnknown_shouldThrowIllegalArgumentException() {
+        RoutingStrategyRegistry registry = new RoutingStrategyRegistry(List.of(single, pairs), new RouteProperties());
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> registry.get("teleport"));
+        assertEquals("Unknown routing strategy teleport; available: [single, pairs]", thrown.getMessage());
+    }
+
+    @Test
+    void constructor_whenNamesClash_shouldThrowIllegalStateException() {
+        List<RoutingStrategy> strategies = List.of(single, new NamedStrategy("single"));
+
+        assertThrows(IllegalStateException.class, () -> new RoutingStrategyRegistry(strategies, new RouteProperties()));
+    }
+
+    @Test
+    void constructor_whenDefaultIsUnknown_shouldThrowIllegalStateException() {
+        RouteProperties routeProperties = new RouteProperties();
+        routeProperties.setDefaultStrategy("teleport");
+        List<RoutingStrategy> strategies = List.of(single, pairs);
+
+        assertThrows(IllegalStateException.class, () -> new RoutingStrategyRegistry(strategies, routeProperties));
+    }
+
+    private record NamedStrategy(String name) implements RoutingStrategy {
+        @Override
+        public String description() {
+            return name;
+        }
+
+        @Override
+        public void plan(Long orderId, RoutePlanningListener listener) {
+        }
+
+        @Override
+        public List<RouteResponse> preview(Long orderId) {
+            return List.of();
+        }
+
+        @Override
+        public List<RouteResponse> preview(Long orderId, List<int[]> botStarts) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.grocerypickbot.simulation.configuration;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimulationPropertiesTest {
+
+    @Nested
+    @SpringBootTest(classes = SimulationPropertiesTest.Config.class,
+            properties = "bot.step-duration-ms=400")
+    class WithoutOwnStepDuration {
+
+        @Autowired
+        private SimulationProperties simulationProperties;
+
+        @Test
+        void stepDuration_shouldFollowTheBots() {
+            assertEquals(400, simulationProperties.getStepDurationMs());
+        }
+    }
+
+    @Nested
+    @SpringBootTest(classes = SimulationPropertiesTest.Config.class,
+            properties = {"bot.step-duration-ms=400", "simulation.step-duration-ms=100"})
+    class WithOwnStepDuration {
+
+        @Autowired
+        private SimulationProperties simulationProperties;
+
+        @Autowired
+        private BotProperties botProperties;
+
+        @Test
+        void stepDuration_shouldOverrideTheBots() {
+            assertEquals(100, simulationProperties.getStepDurationMs());
+            assertEquals(400, botProperties.getStepDurationMs());
+        }
+    }
+
+    @EnableConfigurationProperties({BotProperties.class, SimulationProperties.class})
+    static class Config {
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.grocerypickbot.simulation.services;
+
+import com.example.grocerypickbot.simulation.configuration.SimulationProperties;
+import com.example.grocerypickbot.simulation.models.SimulatedOrder;
+import com.example.grocerypickbot.simulation.models.SimulatedTour;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiscreteEventSimulatorTest {
+
+    private DiscreteEventSimulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        SimulationProperties settings = new SimulationProperties();
+        settings.setStepDurationMs(100);
+        settings.setPickDurationMs(1_000);
+        settings.setDropOffDurationMs(500);
+        simulator = new DiscreteEventSimulator(settings);
+    }
+
+    @Test
+    void run_shouldMoveCellByCellPickAndDropOff() {
+        DiscreteEventSimulator.Result result = simulator.run(
+                List.of(order(1L, 0, loop())), List.of(new int[]{0, 0}));
+
+        // 10 steps, 3 units and the drop-off
+        assertEquals(4_500, result.makespanMs());
+        assertEquals(4_500, result.averageCycleMs());
+        assertEquals(1.0, result.botUtilisation(), 1e-9);
+        assertEquals(1, result.orders());
+        assertEquals(1, result.routes());
+        assertEquals(10, result.steps());
+        assertEquals(3, result.picks());
+        assertEquals(3 * 3_600_000.0 / 4_500, result.picksPerHour(), 1e-9);
+        // the arrival, 10 steps, 2 picks and the drop-off
+        assertEquals(14, result.events());
+    }
+
+    @Test
+    void run_whenAllBotsAreBusy_shouldQueueTheTour() {
+        DiscreteEventSimulator.Result result = simulator.run(
+                List.of(order(1L, 0, loop()), order(2L, 1_000, loop())),
+                List.of(new int[]{0, 0}));
+
+        assertEquals(9_000, result.makespanMs());
+        assertEquals((4_500 + 8_000) / 2, result.averageCycleMs());
+        assertEquals(8_000, result.maxCycleMs());
+        assertEquals(1.0, result.botUtilisation(), 1e-9);
+    }
+
+    @Test
+    void run_whenBotsAreFree_shouldCollectInParallel() {
+        DiscreteEventSimulator.Result result = simulator.run(
+                List.of(order(1L, 0, loop()), order(2L, 1_000, loop())),
+                List.of(new int[]{0, 0}, new int[]{0, 0}));
+
+        assertEquals(5_500, result.makespanMs());
+        assertEquals(4_500, result.averageCycleMs());
+        assertEquals(9_000.0 / (2 * 5_500), result.botUtilisation(), 1e-9);
+        assertEquals(2 * 3_600_000.0 / 5_500, result.ordersPerHour(), 1e-9);
+    }
+
+    @Test
+    void run_shouldSendTheIdleBotNearestToTheTour() {
+        SimulatedTour tour = new SimulatedTour(List.<int[]>of(new int[]{10, 0}), new int[]{1});
+
+        DiscreteEventSimulator.Result result = simulator.run(List.of(order(1L, 0, tour)),
+                List.of(new int[]{0, 0}, new int[]{10, 0}));
+
+        assertEquals(1_500, result.makespanMs());
+    }
+
+    @Test
+    void run_whenOrderHasNoTours_shouldCompleteItOnArrival() {
+        DiscreteEventSimulator.Result result = simulator.run(
+                List.of(new SimulatedOrder(1L, 2_000, List.of())), List.of(new int[]{0, 0}));
+
+        assertEquals(1, result.orders());
+        assertEquals(0, result.makespanMs());
+        assertEquals(0, result.routes());
+    }
+
+    @Test
+    void run_whenSimulatingADay_shouldCompleteEveryOrder() {
+        List<SimulatedOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            orders.add(order((long) i, i * 17_280L, loop()));
+        }
+
+        DiscreteEventSimulator.Result result = simulator.run(orders,
+                List.of(new int[]{0, 0}, new int[]{5, 5}, new int[]{9, 9}));
+
+        assertEquals(5_000, result.orders());
+        assertEquals(5_000, result.routes());
+    }
+
+    @Test
+    void run_whenOrdersAreStreamed_shouldSimulateLikeAList() {
+        Iterator<SimulatedOrder> orders =
+                List.of(order(1L, 0, loop()), order(2L, 1_000, loop())).iterator();
+
+        DiscreteEventSimulator.Result result = simulator.run(orders, List.of(new int[]{0, 0}));
+
+        assertEquals(2, result.orders());
+        assertEquals(9_000, result.makespanMs());
+        assertEquals(8_000, result.maxCycleMs());
+    }
+
+    @Test
+    void run_whenStreamedOrdersAreNotByArrival_shouldThrow() {
+        Iterator<SimulatedOrder> orders =
+                List.of(order(1L, 1_000, loop()), order(2L, 0, loop())).iterator();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.run(orders, List.of(new int[]{0, 0})));
+    }
+
+    @Test
+    void run_whenThereAreNoBots_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.run(List.of(order(1L, 0, loop())), List.of()));
+    }
+
+    private static SimulatedOrder order(Long orderId, long arrivalMs, SimulatedTour tour) {
+        return new SimulatedOrder(orderId, arrivalMs, List.of(tour));
+    }
+
+    /**
+     * A tour from the origin over two shelves and back, given by its turn points.
+     */
+    private static SimulatedTour loop() {
+        return new SimulatedTour(
+                List.of(new int[]{0, 0}, new int[]{3, 0}, new int[]{3, 2}, new int[]{0, 0}),
+                new int[]{0, 2, 1, 0});
+    }
+}
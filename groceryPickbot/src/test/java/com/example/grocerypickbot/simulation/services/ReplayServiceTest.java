@@ -0,0 +1,197 @@
+package com.example.grocerypickbot.simulation.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.Bot;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.order.models.Order;
+import com.example.grocerypickbot.order.models.OrderItem;
+import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import com.example.grocerypickbot.simulation.configuration.SimulationProperties;
+import com.example.grocerypickbot.simulation.models.ReplayReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayServiceTest {
+
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2024, 5, 4, 0, 0);
+    private static final LocalDateTime END = MIDNIGHT.plusDays(1);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private RoutingStrategyRegistry strategyRegistry;
+
+    @Mock
+    private RoutingStrategy strategy;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimulationProperties simulationProperties = new SimulationProperties();
+
+    private ReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        BotProperties botProperties = new BotProperties();
+        botProperties.setBots(List.of(bot("BA-123", 0, 0)));
+        simulationProperties.getReplay().setPageSize(2);
+        replayService = new ReplayService(orderRepository, strategyRegistry, botProperties,
+                simulationProperties, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void replay_shouldWalkTheOrdersPageByPageAfterTheLastOrderOfEachPage() {
+        Order first = order(1L, MIDNIGHT);
+        Order second = order(7L, MIDNIGHT.plusHours(1));
+        Order third = order(3L, MIDNIGHT.plusHours(2));
+        when(strategyRegistry.get("single")).thenReturn(strategy);
+        when(strategy.name()).thenReturn("single");
+        when(orderRepository.findPlacedAfter(MIDNIGHT, Long.MIN_VALUE, END, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(orderRepository.findPlacedAfter(second.getOrderDate(), 7L, END, PageRequest.of(0, 2)))
+                .thenReturn(List.of(third));
+        when(strategy.preview(any(), any())).thenAnswer(invocation -> List.of(loop(invocation.getArgument(0))));
+
+        ReplayReport report = replayService.replay(MIDNIGHT, END, "single", null);
+
+        assertEquals("single", report.strategy());
+        assertEquals(3, report.orders());
+        assertEquals(2, report.pages());
+        assertEquals(3, report.routes());
+        assertEquals(3, report.picks());
+        // out to the shelf at (2, 0) and back for every order
+        assertEquals(12, report.distance());
+        // the last order arrives after two hours and needs 4 steps, 1 unit and the drop-off
+        long cycleMs = 4 * 250 + 5_000 + 20_000;
+        assertEquals(2 * 3_600_000 + cycleMs, report.makespanMs());
+        assertEquals(cycleMs, report.averageCycleMs());
+        assertEquals(cycleMs, report.maxCycleMs());
+        assertEquals(3 * 3_600_000.0 / report.makespanMs(), report.picksPerHour(), 1e-9);
+    }
+
+    @Test
+    void replay_whenStrategyCannotPlanAnOrder_shouldSkipIt() {
+        Order planned = order(1L, MIDNIGHT);
+        Order unplanned = order(2L, MIDNIGHT.plusMinutes(5));
+        when(strategyRegistry.get(null)).thenReturn(strategy);
+        when(strategy.name()).thenReturn("pairs");
+        when(orderRepository.findPlacedAfter(MIDNIGHT, Long.MIN_VALUE, END, PageRequest.of(0, 2)))
+                .thenReturn(List.of(planned, unplanned));
+        when(orderRepository.findPlacedAfter(unplanned.getOrderDate(), 2L, END,
+                PageRequest.of(0, 2))).thenReturn(List.of());
+        when(strategy.preview(eq(1L), any())).thenReturn(List.of(loop(1L)));
+        when(strategy.preview(eq(2L), any())).thenThrow(new RuntimeException("No available bots"));
+
+        ReplayReport report = replayService.replay(MIDNIGHT, END, null, null);
+
+        assertEquals(1, report.orders());
+        assertEquals(1, report.skippedOrders());
+        assertEquals(1, report.pages());
+    }
+
+    @Test
+    void replay_shouldSimulateTheRequestedNumberOfBotsOfTheReplayFleet() {
+        simulationProperties.getReplay().setBots(List.of(bot("SIM-1", 5, 5), bot("SIM-2", 9, 9)));
+        when(strategyRegistry.get(null)).thenReturn(strategy);
+        when(strategy.name()).thenReturn("single");
+        when(orderRepository.findPlacedAfter(MIDNIGHT, Long.MIN_VALUE, END, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+
+        ReplayReport report = replayService.replay(MIDNIGHT, END, null, 5);
+
+        assertEquals(5, report.bots());
+        assertEquals(0, report.orders());
+        assertEquals(0, report.pages());
+    }
+
+    @Test
+    void replay_shouldPlanWithTheSimulatedFleetInsteadOfTheLiveOne() {
+        simulationProperties.getReplay().setBots(List.of(bot("SIM-1", 5, 5), bot("SIM-2", 9, 9)));
+        Order order = order(1L, MIDNIGHT);
+        when(strategyRegistry.get(null)).thenReturn(strategy);
+        when(strategy.name()).thenReturn("partitioned");
+        when(orderRepository.findPlacedAfter(MIDNIGHT, Long.MIN_VALUE, END, PageRequest.of(0, 2)))
+                .thenReturn(List.of(order));
+        when(strategy.preview(eq(1L), any())).thenReturn(List.of(loop(1L)));
+
+        replayService.replay(MIDNIGHT, END, null, 3);
+
+        ArgumentCaptor<List<int[]>> botStarts = ArgumentCaptor.captor();
+        verify(strategy).preview(eq(1L), botStarts.capture());
+        assertEquals(3, botStarts.getValue().size());
+        assertArrayEquals(new int[]{5, 5}, botStarts.getValue().get(0));
+        assertArrayEquals(new int[]{9, 9}, botStarts.getValue().get(1));
+        assertArrayEquals(new int[]{5, 5}, botStarts.getValue().get(2));
+        verify(strategy, never()).preview(any());
+    }
+
+    @Test
+    void replay_whenBotCountIsNegative_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> replayService.replay(MIDNIGHT, END, null, -1));
+    }
+
+    @Test
+    void replay_whenPeriodEndsBeforeItStarts_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> replayService.replay(MIDNIGHT, MIDNIGHT.minusDays(1), null, null));
+        verify(orderRepository, never()).findPlacedAfter(any(), any(), any(), any());
+    }
+
+    private static BotAvailability bot(String id, int x, int y) {
+        return new BotAvailability(new Bot(id, location(x, y)), new AtomicBoolean(true));
+    }
+
+    private static Order order(Long id, LocalDateTime placedAt) {
+        Product product = new Product();
+        product.setLocation(location(2, 0));
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(1);
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderDate(placedAt);
+        order.setOrderItems(List.of(item));
+        return order;
+    }
+
+    private static Location location(int x, int y) {
+        Location location = new Location();
+        location.setX(x);
+        location.setY(y);
+        return location;
+    }
+
+    private static RouteResponse loop(Long orderId) {
+        return new RouteResponse(orderId, OrderStatus.SUCCESS,
+                List.of(new int[]{0, 0}, new int[]{2, 0}, new int[]{0, 0}), "route");
+    }
+}
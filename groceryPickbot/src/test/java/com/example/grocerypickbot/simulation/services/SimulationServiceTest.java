@@ -0,0 +1,136 @@
+package com.example.grocerypickbot.simulation.services;
+
+import com.example.grocerypickbot.bot.configuration.BotProperties;
+import com.example.grocerypickbot.bot.models.Bot;
+import com.example.grocerypickbot.bot.models.BotAvailability;
+import com.example.grocerypickbot.order.models.Order;
+import com.example.grocerypickbot.order.models.OrderItem;
+import com.example.grocerypickbot.order.models.OrderStatus;
+import com.example.grocerypickbot.order.repositories.OrderRepository;
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.route.models.RouteResponse;
+import com.example.grocerypickbot.route.strategies.RoutingStrategy;
+import com.example.grocerypickbot.route.strategies.RoutingStrategyRegistry;
+import com.example.grocerypickbot.simulation.configuration.SimulationProperties;
+import com.example.grocerypickbot.simulation.models.SimulatedOrder;
+import com.example.grocerypickbot.simulation.models.SimulationReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationServiceTest {
+
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private RoutingStrategyRegistry strategyRegistry;
+
+    @Mock
+    private RoutingStrategy strategy;
+
+    private final SimulationProperties simulationProperties = new SimulationProperties();
+
+    private SimulationService simulationService;
+
+    @BeforeEach
+    void setUp() {
+        BotProperties botProperties = new BotProperties();
+        botProperties.setBots(List.of(new BotAvailability(
+                new Bot("BA-123", location(0, 0)), new AtomicBoolean(true))));
+        simulationService = new SimulationService(orderRepository, strategyRegistry,
+                botProperties, simulationProperties);
+    }
+
+    @Test
+    void toSimulatedOrder_shouldPickEachItemOnTheFirstTourReachingItsShelf() {
+        Order order = order(1L, MIDNIGHT.plusMinutes(1), item(2, 0, 3), item(4, 0, 1));
+        List<RouteResponse> routes = List.of(
+                route(1L, new int[]{0, 0}, new int[]{2, 0}, new int[]{0, 0}),
+                route(1L, new int[]{0, 0}, new int[]{2, 0}, new int[]{4, 0}));
+
+        SimulatedOrder simulated = SimulationService.toSimulatedOrder(order, routes, MIDNIGHT);
+
+        assertEquals(60_000, simulated.arrivalMs());
+        assertArrayEquals(new int[]{0, 3, 0}, simulated.tours().get(0).picks());
+        assertArrayEquals(new int[]{0, 0, 1}, simulated.tours().get(1).picks());
+    }
+
+    @Test
+    void simulate_whenStrategyCannotPlanAnOrder_shouldSkipIt() {
+        Order planned = order(1L, MIDNIGHT, item(2, 0, 1));
+        Order unplanned = order(2L, MIDNIGHT.plusHours(1), item(3, 0, 1));
+        when(strategyRegistry.get(null)).thenReturn(strategy);
+        when(strategy.name()).thenReturn("single");
+        when(orderRepository.findByOrderDateBetweenOrderByOrderDateAsc(MIDNIGHT,
+                MIDNIGHT.plusDays(1))).thenReturn(List.of(planned, unplanned));
+        when(strategy.preview(eq(1L), any())).thenReturn(
+                List.of(route(1L, new int[]{0, 0}, new int[]{2, 0}, new int[]{0, 0})));
+        when(strategy.preview(eq(2L), any())).thenThrow(new RuntimeException("No available bots"));
+
+        SimulationReport report = simulationService.simulate(MIDNIGHT, MIDNIGHT.plusDays(1), null);
+
+        assertEquals("single", report.strategy());
+        assertEquals(1, report.orders());
+        assertEquals(1, report.skippedOrders());
+        assertEquals(1, report.bots());
+        // 4 steps, 1 unit and the drop-off with the default durations
+        assertEquals(4 * 250 + 5_000 + 20_000, report.makespanMs());
+        ArgumentCaptor<List<int[]>> botStarts = ArgumentCaptor.captor();
+        verify(strategy).preview(eq(1L), botStarts.capture());
+        assertEquals(1, botStarts.getValue().size());
+        assertArrayEquals(new int[]{0, 0}, botStarts.getValue().get(0));
+    }
+
+    @Test
+    void simulate_whenPeriodEndsBeforeItStarts_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(MIDNIGHT, MIDNIGHT.minusDays(1), null));
+    }
+
+    private static Order order(Long id, LocalDateTime placedAt, OrderItem... items) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderDate(placedAt);
+        order.setOrderItems(List.of(items));
+        return order;
+    }
+
+    private static OrderItem item(int x, int y, int quantity) {
+        Product product = new Product();
+        product.setLocation(location(x, y));
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static Location location(int x, int y) {
+        Location location = new Location();
+        location.setX(x);
+        location.setY(y);
+        return location;
+    }
+
+    private static RouteResponse route(Long orderId, int[]... cells) {
+        return new RouteResponse(orderId, OrderStatus.SUCCESS, List.of(cells), "route");
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CooperativePathPlannerTest {
+
+  private static final int NO_DEPOT = -1;
+
+  @Test
+  void plan_whenBotsMeetHeadOn_shouldLetOneStepAside() {
+    // a corridor along y = 0 with a single passing bay at (3, 1)
+    WarehouseGrid grid = new WarehouseGrid(7, 2);
+    grid.block(0, 1, 2, 1);
+    grid.block(4, 1, 6, 1);
+    CooperativePathPlanner planner = new CooperativePathPlanner(grid);
+    int[][] waypoints = {
+        {grid.index(0, 0), grid.index(6, 0)},
+        {grid.index(5, 0), grid.index(1, 0)}
+    };
+
+    CooperativePathPlanner.Plan plan = planner.plan(waypoints, NO_DEPOT, 10_000);
+
+    assertCollisionFree(grid, plan, waypoints, NO_DEPOT);
+    assertEquals(7, plan.paths()[0].length);
+    assertTrue(plan.paths()[1].length > 5);
+  }
+
+  @Test
+  void plan_whenPathsCross_shouldWaitInsteadOfCollide() {
+    WarehouseGrid grid = new WarehouseGrid(3, 3);
+    grid.block(0, 0, 0, 0);
+    grid.block(2, 0, 2, 0);
+    grid.block(0, 2, 0, 2);
+    grid.block(2, 2, 2, 2);
+    CooperativePathPlanner planner = new CooperativePathPlanner(grid);
+    // both bots must pass the centre cell at the same tick
+    int[][] waypoints = {
+        {grid.index(0, 1), grid.index(2, 1)},
+        {grid.index(1, 0), grid.index(1, 2)}
+    };
+
+    CooperativePathPlanner.Plan plan = planner.plan(waypoints, NO_DEPOT, 10_000);
+
+    assertCollisionFree(grid, plan, waypoints, NO_DEPOT);
+    assertEquals(7, plan.paths()[0].length + plan.paths()[1].length);
+  }
+
+  @Test
+  void plan_whenBotsReturnToTheDepot_shouldLetThemShareIt() {
+    WarehouseGrid grid = new WarehouseGrid(5, 5);
+    CooperativePathPlanner planner = new CooperativePathPlanner(grid);
+    int depot = grid.index(0, 0);
+    int[][] waypoints = {
+        {depot, grid.index(2, 2), depot},
+        {depot, grid.index(3, 1), depot},
+        {grid.index(1, 0), depot}
+    };
+
+    CooperativePathPlanner.Plan plan = planner.plan(waypoints, depot, 10_000);
+
+    assertCollisionFree(grid, plan, waypoints, depot);
+    assertEquals(2, plan.paths()[2].length);
+  }
+
+  @Test
+  void plan_whenCorridorCannotBeShared_shouldThrow() {
+    WarehouseGrid grid = new WarehouseGrid(5, 1);
+    CooperativePathPlanner planner = new CooperativePathPlanner(grid);
+    int[][] waypoints = {
+        {grid.index(0, 0), grid.index(4, 0)},
+        {grid.index(4, 0), grid.index(0, 0)}
+    };
+
+    assertThrows(IllegalStateException.class, () -> planner.plan(waypoints, NO_DEPOT, 1_000));
+  }
+
+  @Test
+  void plan_whenWaypointIsOutsideTheGrid_shouldThrow() {
+    CooperativePathPlanner planner = new CooperativePathPlanner(new WarehouseGrid(5, 5));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> planner.plan(new int[][] {{0, 25}}, NO_DEPOT, 1_000));
+  }
+
+  @Test
+  void plan_whenManyBotsPickManyShelves_shouldKeepThemApart() {
+    WarehouseGrid grid = new WarehouseGrid(50, 50);
+    for (int x = 3; x < 48; x += 4) {
+      grid.block(x, 3, x, 45); // shelf rows with aisles in between
+    }
+    CooperativePathPlanner planner = new CooperativePathPlanner(grid);
+    int depot = grid.index(0, 0);
+    Random random = new Random(7);
+    int[][] waypoints = new int[30][];
+    for (int bot = 0; bot < waypoints.length; bot++) {
+      waypoints[bot] = new int[12];
+      waypoints[bot][0] = grid.index(bot, 0);
+      for (int stop = 1; stop < 11; stop++) {
+        waypoints[bot][stop] = grid.index(random.nextInt(50), random.nextInt(50));
+      }
+      waypoints[bot][11] = depot;
+    }
+
+    CooperativePathPlanner.Plan plan = planner.plan(waypoints, depot, 100_000);
+
+    assertCollisionFree(grid, plan, waypoints, depot);
+  }
+
+  /**
+   * Checks that every bot visits its waypoints one step at a time and that no two bots
+   * share a cell at a tick or swap cells, the depot and parked bots included.
+   */
+  private static void assertCollisionFree(WarehouseGrid grid, CooperativePathPlanner.Plan plan,
+                                          int[][] waypoints, int depot) {
+    int[][] paths = plan.paths();
+    int horizon = 0;
+    for (int bot = 0; bot < paths.length; bot++) {
+      int[] path = paths[bot];
+      assertEquals(waypoints[bot].length, plan.arrivals()[bot].length);
+      for (int w = 0; w < waypoints[bot].length; w++) {
+        assertEquals(waypoints[bot][w], path[plan.arrivals()[bot][w]]);
+      }
+      for (int tick = 1; tick < path.length; tick++) {
+        int dx = Math.abs(grid.x(path[tick]) - grid.x(path[tick - 1]));
+        int dy = Math.abs(grid.y(path[tick]) - grid.y(path[tick - 1]));
+        assertTrue(dx + dy <= 1);
+      }
+      horizon = Math.max(horizon, path.length + 1);
+    }
+    for (int tick = 0; tick < horizon; tick++) {
+      for (int a = 0; a < paths.length; a++) {
+        for (int b = a + 1; b < paths.length; b++) {
+          int cellA = cellAt(paths[a], tick, depot);
+          int cellB = cellAt(paths[b], tick, depot);
+          if (cellA >= 0 && cellA != depot) {
+            assertNotEquals(cellA, cellB, "bots " + a + " and " + b + " meet at tick " + tick);
+          }
+          int nextA = cellAt(paths[a], tick + 1, depot);
+          int nextB = cellAt(paths[b], tick + 1, depot);
+          boolean swap = cellA >= 0 && cellA != nextA && cellA == nextB && cellB == nextA;
+          assertFalse(swap && cellA != depot && cellB != depot,
+              "bots " + a + " and " + b + " swap cells at tick " + tick);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns where a bot is at the tick; after its path it stays parked, unless at the depot.
+   */
+  private static int cellAt(int[] path, int tick, int depot) {
+    if (tick < path.length) {
+      return path[tick];
+    }
+    int end = path[path.length - 1];
+    return end == depot ? -1 : end;
+  }
+}
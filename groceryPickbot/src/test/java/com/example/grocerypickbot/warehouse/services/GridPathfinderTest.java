@@ -0,0 +1,115 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class GridPathfinderTest {
+
+  @Test
+  void findPath_whenGridIsEmpty_shouldReturnManhattanLengthPath() {
+    GridPathfinder pathfinder = new GridPathfinder(new WarehouseGrid(20, 20));
+
+    int[] path = pathfinder.findPath(1, 7, 10, 2);
+
+    assertEquals(14, path.length);
+    assertEquals(new WarehouseGrid(20, 20).index(10, 2), path[path.length - 1]);
+  }
+
+  @Test
+  void findPath_whenShelfInTheWay_shouldGoAroundIt() {
+    WarehouseGrid grid = new WarehouseGrid(20, 20);
+    grid.block(2, 0, 2, 8);
+    GridPathfinder pathfinder = new GridPathfinder(grid);
+
+    int[] path = pathfinder.findPath(0, 0, 4, 0);
+
+    assertEquals(22, path.length);
+    int previous = grid.index(0, 0);
+    for (int cell : path) {
+      assertFalse(grid.isBlocked(cell));
+      int dx = Math.abs(grid.x(cell) - grid.x(previous));
+      int dy = Math.abs(grid.y(cell) - grid.y(previous));
+      assertEquals(1, dx + dy);
+      previous = cell;
+    }
+  }
+
+  @Test
+  void findPath_whenGoalIsOnShelf_shouldEnterOnlyTheGoal() {
+    WarehouseGrid grid = new WarehouseGrid(10, 10);
+    grid.block(3, 0, 3, 5);
+    GridPathfinder pathfinder = new GridPathfinder(grid);
+
+    int[] path = pathfinder.findPath(0, 2, 3, 2);
+
+    assertEquals(3, path.length);
+    assertEquals(grid.index(3, 2), path[2]);
+  }
+
+  @Test
+  void findPath_whenGoalIsWalledOff_shouldReturnNull() {
+    WarehouseGrid grid = new WarehouseGrid(10, 10);
+    grid.block(5, 0, 5, 9);
+    GridPathfinder pathfinder = new GridPathfinder(grid);
+
+    assertNull(pathfinder.findPath(0, 0, 9, 9));
+    assertNull(pathfinder.findPath(0, 0, 42, 0));
+  }
+
+  @Test
+  void distances_shouldMatchFindPathLengths() {
+    WarehouseGrid grid = new WarehouseGrid(20, 20);
+    grid.block(2, 0, 2, 8);
+    grid.block(6, 3, 6, 19);
+    GridPathfinder pathfinder = new GridPathfinder(grid);
+    int[] xs = {4, 8, 19, 2, 30};
+    int[] ys = {0, 10, 19, 4, 0};
+    int[] out = new int[xs.length];
+
+    pathfinder.distances(0, 0, xs, ys, xs.length, out);
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(pathfinder.findPath(0, 0, xs[i], ys[i]).length, out[i]);
+    }
+    assertEquals(-1, out[4]);
+  }
+
+  @Test
+  void findPath_whenManyThreadsSearchAtOnce_shouldShareTheBuffersSafely() throws Exception {
+    WarehouseGrid grid = new WarehouseGrid(60, 60);
+    for (int x = 3; x < 57; x += 4) {
+      grid.block(x, 3, x, 56);
+    }
+    GridPathfinder pathfinder = new GridPathfinder(grid);
+    int[] expected = new int[40];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = pathfinder.findPath(0, 0, 59 - i, i).length;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<Integer>> lengths = new ArrayList<>();
+      for (int round = 0; round < 20; round++) {
+        for (int i = 0; i < expected.length; i++) {
+          int target = i;
+          lengths.add(executor.submit(() -> pathfinder.findPath(0, 0, 59 - target, target).length));
+        }
+      }
+      for (int i = 0; i < lengths.size(); i++) {
+        assertEquals(expected[i % expected.length], lengths.get(i).get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
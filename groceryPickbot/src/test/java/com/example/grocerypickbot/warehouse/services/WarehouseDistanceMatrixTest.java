@@ -0,0 +1,195 @@
+package com.example.grocerypickbot.warehouse.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.grocerypickbot.product.models.Location;
+import com.example.grocerypickbot.product.models.Product;
+import com.example.grocerypickbot.product.repositories.ProductRepository;
+import com.example.grocerypickbot.route.solvers.TourInstance;
+import com.example.grocerypickbot.warehouse.configuration.WarehouseProperties;
+import com.example.grocerypickbot.warehouse.models.WarehouseGrid;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WarehouseDistanceMatrixTest {
+
+  private final ProductRepository productRepository = mock(ProductRepository.class);
+  private final WarehouseProperties properties = new WarehouseProperties();
+  private WarehouseDistanceMatrix distanceMatrix;
+
+  @BeforeEach
+  void setUp() {
+    distanceMatrix = matrixOver(new GridPathfinder(new WarehouseGrid(50, 50)));
+  }
+
+  @Test
+  void tourInstance_shouldMatchManhattanDistances() {
+    TourInstance tour = distanceMatrix.tourInstance(10, 8, new int[] {5, 1}, new int[] {2, 5},
+        0, 0);
+    TourInstance expected = TourInstance.manhattan(10, 8, new int[] {5, 1},
+        new int[] {2, 5}, 0, 0);
+
+    for (int from = 0; from < tour.nodeCount(); from++) {
+      for (int to = 0; to < tour.nodeCount(); to++) {
+        assertEquals(expected.distance(from, to), tour.distance(from, to));
+      }
+    }
+  }
+
+  @Test
+  void tourInstance_whenShelfInTheWay_shouldUseGridDistance() {
+    WarehouseGrid grid = new WarehouseGrid(20, 20);
+    grid.block(2, 0, 2, 8);
+    distanceMatrix = matrixOver(new GridPathfinder(grid));
+
+    TourInstance tour = distanceMatrix.tourInstance(0, 0, new int[] {4}, new int[] {0}, 0, 0);
+
+    // Around the end of the shelf at y = 8: 9 up, 4 across, 9 down.
+    assertEquals(22, tour.distance(0, 1));
+    assertEquals(22, tour.distance(1, 2));
+  }
+
+  @Test
+  void tourInstance_whenCellIsOutsideTheGrid_shouldFallBackToManhattanDistance() {
+    WarehouseGrid grid = new WarehouseGrid(20, 20);
+    grid.block(2, 0, 2, 8);
+    distanceMatrix = matrixOver(new GridPathfinder(grid));
+
+    TourInstance tour = distanceMatrix.tourInstance(0, 0, new int[] {30}, new int[] {0}, 0, 0);
+
+    assertEquals(30, tour.distance(0, 1));
+  }
+
+  @Test
+  void tourInstance_atTheLimit_shouldBuildTheFullMatrix() {
+    int picks = WarehouseDistanceMatrix.MAX_NODES - 2;
+    int[] xs = new int[picks];
+    int[] ys = new int[picks];
+    for (int i = 0; i < picks; i++) {
+      xs[i] = i % 50;
+      ys[i] = i / 50 % 50;
+    }
+
+    TourInstance tour = distanceMatrix.tourInstance(0, 0, xs, ys, 0, 0);
+
+    assertEquals(WarehouseDistanceMatrix.MAX_NODES, tour.nodeCount());
+    assertEquals(49 + 49, tour.distance(0, 1 + 49 + 49 * 50));
+  }
+
+  @Test
+  void tourInstance_pastTheLimit_shouldThrow() {
+    int picks = WarehouseDistanceMatrix.MAX_NODES - 1;
+
+    assertThrows(IllegalArgumentException.class,
+        () -> distanceMatrix.tourInstance(0, 0, new int[picks], new int[picks], 0, 0));
+  }
+
+  @Test
+  void tourInstance_whenMatrixSizeWouldOverflowAnInt_shouldThrow() {
+    // 46_341 squared exceeds Integer.MAX_VALUE.
+    int picks = 46_341 - 2;
+
+    assertThrows(IllegalArgumentException.class,
+        () -> distanceMatrix.tourInstance(0, 0, new int[picks], new int[picks], 0, 0));
+  }
+
+  @Test
+  void tourInstance_shouldMeasureEachCellOnlyOnce() {
+    GridPathfinder pathfinder = spy(new GridPathfinder(shelvedGrid()));
+    distanceMatrix = matrixOver(pathfinder);
+
+    distanceMatrix.tourInstance(0, 0, new int[] {4, 8}, new int[] {0, 3}, 0, 0);
+    TourInstance second = distanceMatrix.tourInstance(0, 0, new int[] {8, 4},
+        new int[] {3, 0}, 0, 0);
+
+    verify(pathfinder, times(1)).distanceField(0, 0);
+    verify(pathfinder, times(1)).distanceField(4, 0);
+    verify(pathfinder, times(1)).distanceField(8, 3);
+    assertEquals(22, second.distance(0, 2));
+    assertEquals(3, distanceMatrix.cachedRows());
+  }
+
+  @Test
+  void tourInstance_whenCacheIsFull_shouldEvictTheLeastRecentlyUsedRow() {
+    GridPathfinder pathfinder = spy(new GridPathfinder(shelvedGrid()));
+    properties.getDistanceCache().setMaxCells(2 * 20 * 20);
+    distanceMatrix = matrixOver(pathfinder);
+
+    distanceMatrix.tourInstance(0, 0, new int[] {4}, new int[] {0}, 0, 0);
+    distanceMatrix.tourInstance(0, 0, new int[] {8}, new int[] {3}, 0, 0);
+    distanceMatrix.tourInstance(4, 0, new int[] {0}, new int[] {0}, 4, 0);
+
+    assertEquals(2, distanceMatrix.cachedRows());
+    verify(pathfinder, times(2)).distanceField(4, 0);
+    verify(pathfinder, times(1)).distanceField(0, 0);
+  }
+
+  @Test
+  void invalidateCell_shouldDropTheRowOfThatCell() {
+    GridPathfinder pathfinder = spy(new GridPathfinder(shelvedGrid()));
+    distanceMatrix = matrixOver(pathfinder);
+    distanceMatrix.tourInstance(0, 0, new int[] {4}, new int[] {0}, 0, 0);
+
+    distanceMatrix.invalidateCell(4, 0);
+    distanceMatrix.tourInstance(0, 0, new int[] {4}, new int[] {0}, 0, 0);
+
+    verify(pathfinder, times(2)).distanceField(4, 0);
+    verify(pathfinder, times(1)).distanceField(0, 0);
+  }
+
+  @Test
+  void tourInstance_whenGridHasNoObstacles_shouldNotCacheAnything() {
+    GridPathfinder pathfinder = spy(new GridPathfinder(new WarehouseGrid(20, 20)));
+    distanceMatrix = matrixOver(pathfinder);
+
+    distanceMatrix.tourInstance(0, 0, new int[] {4}, new int[] {0}, 0, 0);
+
+    verify(pathfinder, never()).distanceField(anyInt(), anyInt());
+    assertEquals(0, distanceMatrix.cachedRows());
+  }
+
+  @Test
+  void warmOnStartup_shouldMeasureStoredProductCells() {
+    GridPathfinder pathfinder = spy(new GridPathfinder(shelvedGrid()));
+    distanceMatrix = matrixOver(pathfinder);
+    when(productRepository.findAll(any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(productAt(1L, 4, 0), productAt(2L, 8, 3))));
+
+    distanceMatrix.warmOnStartup();
+    distanceMatrix.tourInstance(4, 0, new int[] {8}, new int[] {3}, 4, 0);
+
+    verify(pathfinder, times(1)).distanceField(4, 0);
+    verify(pathfinder, times(1)).distanceField(8, 3);
+    assertEquals(2, distanceMatrix.cachedRows());
+  }
+
+  private WarehouseDistanceMatrix matrixOver(GridPathfinder pathfinder) {
+    return new WarehouseDistanceMatrix(pathfinder, productRepository, properties);
+  }
+
+  private static WarehouseGrid shelvedGrid() {
+    WarehouseGrid grid = new WarehouseGrid(20, 20);
+    grid.block(2, 0, 2, 8);
+    return grid;
+  }
+
+  private static Product productAt(long id, int x, int y) {
+    Location location = new Location();
+    location.setX(x);
+    location.setY(y);
+    return new Product(id, "product-" + id, BigDecimal.ONE, 1, location);
+  }
+}